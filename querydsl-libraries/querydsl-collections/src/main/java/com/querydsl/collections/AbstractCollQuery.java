@@ -30,7 +30,6 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 
 /**
  * {@code AbstractCollQuery} provides a base class for {@code Collection} query implementations.
@@ -99,6 +98,17 @@ public abstract class AbstractCollQuery<T, Q extends AbstractCollQuery<T, Q>>
     return queryMixin.getSelf();
   }
 
+  /**
+   * Evaluate this query in parallel, if the source is at least as large as the parallel threshold
+   * of the query engine
+   *
+   * @return current object
+   * @see DefaultQueryEngine#getParallelThreshold()
+   */
+  public Q parallel() {
+    return queryMixin.addFlag(DefaultQueryEngine.PARALLEL);
+  }
+
   @Override
   public Q groupBy(Expression<?> e) {
     throw new UnsupportedOperationException();
@@ -179,12 +189,7 @@ public abstract class AbstractCollQuery<T, Q extends AbstractCollQuery<T, Q>>
   public CloseableIterator<T> iterate() {
     @SuppressWarnings("unchecked") // This is the built type
     var projection = (Expression<T>) queryMixin.getMetadata().getProjection();
-    return CloseableIterator.of(fetch().iterator());
-  }
-
-  @Override
-  public Stream<T> stream() {
-    return fetch().stream();
+    return queryEngine.iterate(getMetadata(), iterables, projection);
   }
 
   @Override
@@ -73,6 +73,21 @@ public final class CollQueryFactory {
     return new CollQuery<Void>().from(path, col).select(path);
   }
 
+  /**
+   * Create an indexed snapshot of the given source
+   *
+   * <p>The indexes are used by {@link IndexedQueryEngine} to evaluate {@code eq}, {@code in} and
+   * range predicates on the given paths without a full scan. Changes of the given source after this
+   * call are not reflected.
+   *
+   * @param col source collection
+   * @param paths paths to index, relative to the query source
+   * @return indexed source
+   */
+  public static <A> IndexedList<A> indexed(Iterable<? extends A> col, Path<?>... paths) {
+    return new IndexedList<>(col, paths);
+  }
+
   /**
    * Create a new update clause
    *
@@ -212,7 +212,10 @@ public final class CollQueryFunctions {
     }
   }
 
-  private static Number reduce(Iterable<Number> source, BinaryFunction f) {
+  private static Number reduce(Collection<Number> source, BinaryFunction f, boolean parallel) {
+    if (parallel) {
+      return source.parallelStream().reduce(f::apply).orElseThrow();
+    }
     var it = source.iterator();
     var result = it.next();
     while (it.hasNext()) {
@@ -223,24 +226,40 @@ public final class CollQueryFunctions {
 
   public static Number aggregate(
       Collection<Number> source, Expression<?> expr, Operator aggregator) {
+    return aggregate(source, expr, aggregator, false);
+  }
+
+  /**
+   * Aggregate the given numbers
+   *
+   * @param source numbers to aggregate
+   * @param expr aggregated expression
+   * @param aggregator aggregation operator
+   * @param parallel true, to reduce the numbers in parallel
+   * @return aggregate
+   */
+  public static Number aggregate(
+      Collection<Number> source, Expression<?> expr, Operator aggregator, boolean parallel) {
     @SuppressWarnings("unchecked") // This is a number expression
     var numberType = (Class<Number>) expr.getType();
     if (aggregator == Ops.AggOps.AVG_AGG) {
-      var sum = reduce(source, SUM);
+      var sum = reduce(source, SUM, parallel);
       return sum.doubleValue() / source.size();
     } else if (aggregator == Ops.AggOps.COUNT_AGG) {
       return (long) source.size();
     } else if (aggregator == Ops.AggOps.COUNT_DISTINCT_AGG) {
-      if (!(source instanceof Set)) {
-        source = new HashSet<>(source);
+      if (source instanceof Set) {
+        return (long) source.size();
+      } else if (parallel) {
+        return source.parallelStream().unordered().distinct().count();
       }
-      return (long) source.size();
+      return (long) new HashSet<>(source).size();
     } else if (aggregator == Ops.AggOps.MAX_AGG) {
-      return MathUtils.cast(reduce(source, MAX), numberType);
+      return MathUtils.cast(reduce(source, MAX, parallel), numberType);
     } else if (aggregator == Ops.AggOps.MIN_AGG) {
-      return MathUtils.cast(reduce(source, MIN), numberType);
+      return MathUtils.cast(reduce(source, MIN, parallel), numberType);
     } else if (aggregator == Ops.AggOps.SUM_AGG) {
-      return MathUtils.cast(reduce(source, SUM), numberType);
+      return MathUtils.cast(reduce(source, SUM, parallel), numberType);
     } else {
       throw new IllegalArgumentException("Unknown operator " + aggregator);
     }
@@ -13,6 +13,7 @@
  */
 package com.querydsl.collections;
 
+import com.querydsl.codegen.utils.AbstractEvaluatorFactory;
 import com.querydsl.codegen.utils.ECJEvaluatorFactory;
 import com.querydsl.codegen.utils.Evaluator;
 import com.querydsl.codegen.utils.EvaluatorFactory;
@@ -36,6 +37,8 @@ import com.querydsl.core.types.ParamNotSetException;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.util.PrimitiveUtils;
 import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -59,11 +62,20 @@ public class DefaultEvaluatorFactory {
   private final CollectionAnyVisitor collectionAnyVisitor = new CollectionAnyVisitor();
 
   public DefaultEvaluatorFactory(CollQueryTemplates templates) {
-    this(
-        templates,
-        Thread.currentThread().getContextClassLoader() != null
-            ? Thread.currentThread().getContextClassLoader()
-            : DefaultEvaluatorFactory.class.getClassLoader());
+    this(templates, getDefaultClassLoader());
+  }
+
+  /**
+   * Create a new DefaultEvaluatorFactory instance, which stores the compiled evaluators in the
+   * given directory for reuse by later instances
+   *
+   * @param templates templates
+   * @param cacheDirectory cache directory
+   * @see AbstractEvaluatorFactory#setCacheDirectory(Path)
+   */
+  public DefaultEvaluatorFactory(CollQueryTemplates templates, Path cacheDirectory) {
+    this(templates, getDefaultClassLoader());
+    ((AbstractEvaluatorFactory) factory).setCacheDirectory(cacheDirectory);
   }
 
   public DefaultEvaluatorFactory(CollQueryTemplates templates, EvaluatorFactory factory) {
@@ -88,6 +100,39 @@ public class DefaultEvaluatorFactory {
     }
   }
 
+  private static ClassLoader getDefaultClassLoader() {
+    return Thread.currentThread().getContextClassLoader() != null
+        ? Thread.currentThread().getContextClassLoader()
+        : DefaultEvaluatorFactory.class.getClassLoader();
+  }
+
+  /**
+   * Get the number of evaluator classes compiled by this factory
+   *
+   * @return compilation count
+   */
+  public long getCompilationCount() {
+    return factory instanceof AbstractEvaluatorFactory f ? f.getCompilationCount() : 0L;
+  }
+
+  /**
+   * Get the total time this factory spent compiling evaluator classes
+   *
+   * @return compilation time
+   */
+  public Duration getCompilationTime() {
+    return factory instanceof AbstractEvaluatorFactory f ? f.getCompilationTime() : Duration.ZERO;
+  }
+
+  /**
+   * Get the number of evaluator classes this factory loaded from its cache directory
+   *
+   * @return cache load count
+   */
+  public long getCacheLoadCount() {
+    return factory instanceof AbstractEvaluatorFactory f ? f.getCacheLoadCount() : 0L;
+  }
+
   /**
    * Create an Evaluator for the given query sources and projection
    *
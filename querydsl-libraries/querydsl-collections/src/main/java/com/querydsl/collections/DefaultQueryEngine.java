@@ -17,6 +17,7 @@ import com.querydsl.codegen.utils.Evaluator;
 import com.querydsl.core.CloseableIterator;
 import com.querydsl.core.JoinExpression;
 import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryFlag;
 import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.types.ArrayConstructorExpression;
 import com.querydsl.core.types.Expression;
@@ -25,23 +26,53 @@ import com.querydsl.core.types.Operator;
 import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Default implementation of the {@link QueryEngine} interface
  *
+ * <p>Queries flagged via {@link AbstractCollQuery#parallel()} filter, join, order, project and
+ * aggregate in parallel on the common {@link ForkJoinPool}, when the source has at least {@link
+ * #getParallelThreshold()} elements. Results are the same as for sequential evaluation, including
+ * their order.
+ *
+ * <p>Single source queries without order are evaluated lazily in growing chunks of the source, so
+ * that {@code limit}, {@code exists} and iteration stop as soon as enough rows have been found.
+ * Queries with order and limit keep only the top rows in a bounded heap instead of sorting all
+ * rows.
+ *
  * @author tiwe
  */
 @SuppressWarnings("unchecked")
 public class DefaultQueryEngine implements QueryEngine {
 
+  /** Query flag for parallel evaluation */
+  public static final QueryFlag PARALLEL = new QueryFlag(QueryFlag.Position.START, "parallel");
+
+  /** Default minimum source size for parallel evaluation */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+  private static final int MIN_CHUNK_SIZE = 64;
+
+  private static final int MAX_CHUNK_SIZE = 4096;
+
   private static transient volatile QueryEngine defaultQueryEngine;
 
   public static QueryEngine getDefault() {
@@ -54,8 +85,22 @@ public class DefaultQueryEngine implements QueryEngine {
 
   private final DefaultEvaluatorFactory evaluatorFactory;
 
+  private final int parallelThreshold;
+
   public DefaultQueryEngine(DefaultEvaluatorFactory evaluatorFactory) {
+    this(evaluatorFactory, DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Create a new DefaultQueryEngine instance
+   *
+   * @param evaluatorFactory evaluator factory
+   * @param parallelThreshold minimum source size for parallel evaluation of queries flagged with
+   *     {@link #PARALLEL}
+   */
+  public DefaultQueryEngine(DefaultEvaluatorFactory evaluatorFactory, int parallelThreshold) {
     this.evaluatorFactory = evaluatorFactory;
+    this.parallelThreshold = parallelThreshold;
   }
 
   @Override
@@ -69,14 +114,13 @@ public class DefaultQueryEngine implements QueryEngine {
 
   @Override
   public boolean exists(QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables) {
+    if (metadata.getJoins().size() == 1) {
+      return iterateSingleSource(metadata, iterables, 0, 1L, false, false).hasNext();
+    }
     var modifiers = metadata.getModifiers();
     metadata.setLimit(1L);
     try {
-      if (metadata.getJoins().size() == 1) {
-        return !evaluateSingleSource(metadata, iterables, true).isEmpty();
-      } else {
-        return !evaluateMultipleSources(metadata, iterables, true).isEmpty();
-      }
+      return !evaluateMultipleSources(metadata, iterables, true).isEmpty();
     } finally {
       metadata.setModifiers(modifiers);
     }
@@ -86,13 +130,137 @@ public class DefaultQueryEngine implements QueryEngine {
   public <T> List<T> list(
       QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables, Expression<T> projection) {
     if (metadata.getJoins().size() == 1) {
+      if (isLazy(metadata) && metadata.getModifiers().getLimit() != null) {
+        return CloseableIterator.asList(iterate(metadata, iterables, projection));
+      } else if (isTopN(metadata)) {
+        return evaluateSingleSourceTopN(metadata, iterables);
+      }
       return evaluateSingleSource(metadata, iterables, false);
     } else {
       return evaluateMultipleSources(metadata, iterables, false);
     }
   }
 
-  private <T> List<T> distinct(List<T> list) {
+  @Override
+  public <T> CloseableIterator<T> iterate(
+      QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables, Expression<T> projection) {
+    if (isLazy(metadata)) {
+      var modifiers = metadata.getModifiers();
+      var offset = modifiers.getOffset() != null ? modifiers.getOffset() : 0L;
+      var iterator =
+          iterateSingleSource(
+              metadata, iterables, offset, modifiers.getLimit(), true, metadata.isDistinct());
+      return CloseableIterator.of((Iterator<T>) iterator);
+    }
+    return CloseableIterator.of(list(metadata, iterables, projection).iterator());
+  }
+
+  /** Single source queries without order and aggregation can be evaluated lazily */
+  private boolean isLazy(QueryMetadata metadata) {
+    return metadata.getJoins().size() == 1
+        && metadata.getOrderBy().isEmpty()
+        && !isAggregation(metadata)
+        && !metadata.getFlags().contains(PARALLEL);
+  }
+
+  /** Queries with order and limit, but without aggregation keep only the top rows */
+  private boolean isTopN(QueryMetadata metadata) {
+    return !metadata.getOrderBy().isEmpty()
+        && metadata.getModifiers().getLimit() != null
+        && !isAggregation(metadata)
+        && !metadata.getFlags().contains(PARALLEL);
+  }
+
+  private static boolean isAggregation(QueryMetadata metadata) {
+    return metadata.getProjection() instanceof Operation<?> operation
+        && Ops.aggOps.contains(operation.getOperator());
+  }
+
+  /**
+   * Compile the evaluators of the given query shapes ahead of their first execution
+   *
+   * <p>Only the structure of the queries is used, the sources aren't evaluated. Parameters need to
+   * be bound, but constants and parameter values only need to have the types of the values used in
+   * the actual queries.
+   *
+   * @param queries metadata of the queries
+   */
+  public void warmUp(Collection<? extends QueryMetadata> queries) {
+    for (QueryMetadata metadata : queries) {
+      var sources = getSources(metadata);
+      var source = sources.get(0);
+      if (sources.size() == 1) {
+        if (metadata.getWhere() != null) {
+          evaluatorFactory.createEvaluator(metadata, source, metadata.getWhere());
+        }
+      } else {
+        evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
+      }
+      if (!metadata.getOrderBy().isEmpty()) {
+        evaluatorFactory.create(metadata, sources, orderKey(metadata));
+      }
+      Expression<?> projection = metadata.getProjection();
+      if (projection != null && (sources.size() > 1 || !projection.equals(source))) {
+        if (isAggregation(metadata)) {
+          projection = ((Operation<?>) projection).getArg(0);
+        }
+        evaluatorFactory.create(metadata, sources, projection);
+      }
+    }
+  }
+
+  /**
+   * Get the evaluator factory of this engine
+   *
+   * @return evaluator factory
+   */
+  protected DefaultEvaluatorFactory getEvaluatorFactory() {
+    return evaluatorFactory;
+  }
+
+  /**
+   * Get the minimum source size for parallel evaluation
+   *
+   * @return parallel threshold
+   */
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  /**
+   * Get whether the given query should be evaluated in parallel
+   *
+   * @param metadata query metadata
+   * @param size size of the evaluated source
+   * @return true, if the query is flagged for parallel evaluation and the source is large enough
+   */
+  protected boolean isParallel(QueryMetadata metadata, long size) {
+    return size >= parallelThreshold && metadata.getFlags().contains(PARALLEL);
+  }
+
+  /**
+   * Apply the given function to consecutive chunks of the given list on the common {@link
+   * ForkJoinPool}
+   *
+   * <p>Evaluators are not thread-safe, so the function needs to create its own evaluators.
+   *
+   * @param list list to split
+   * @param function function to apply to each chunk
+   * @return concatenated results in list order
+   */
+  protected <S, T> List<T> forEachChunk(List<S> list, Function<List<S>, List<T>> function) {
+    var chunkSize = Math.max(1, list.size() / (ForkJoinPool.getCommonPoolParallelism() * 4));
+    return ForkJoinPool.commonPool()
+        .invoke(new ChunkTask<>(list, 0, list.size(), chunkSize, function));
+  }
+
+  /**
+   * Remove duplicate rows from the given list
+   *
+   * @param list rows
+   * @return distinct rows in encounter order
+   */
+  protected <T> List<T> distinct(List<T> list) {
     List<T> rv = new ArrayList<>(list.size());
     if (!list.isEmpty() && list.get(0) != null && list.get(0).getClass().isArray()) {
       Set set = new HashSet(list.size());
@@ -112,37 +280,240 @@ public class DefaultQueryEngine implements QueryEngine {
     return rv;
   }
 
-  private List evaluateMultipleSources(
-      QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables, boolean count) {
-    // from where
-    var ev = evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
+  /**
+   * Evaluate the joins and the where condition of a query with multiple sources
+   *
+   * @param metadata query metadata
+   * @param iterables source contents
+   * @return matching rows with one element per join
+   */
+  protected List<Object[]> evaluateJoins(
+      QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables) {
     List<Iterable<?>> iterableList = new ArrayList<>(metadata.getJoins().size());
     for (JoinExpression join : metadata.getJoins()) {
       if (join.getType() == JoinType.DEFAULT) {
         iterableList.add(iterables.get(join.getTarget()));
       }
     }
-    List<?> list = ev.evaluate(iterableList.toArray());
+    if (metadata.getFlags().contains(PARALLEL)) {
+      // the nested loops are split on the first source
+      var size = 1L;
+      for (var i = 0; i < iterableList.size(); i++) {
+        iterableList.set(i, asList(iterableList.get(i)));
+        size *= ((List<?>) iterableList.get(i)).size();
+      }
+      if (isParallel(metadata, size)) {
+        return forEachChunk(
+            (List<Object>) iterableList.get(0),
+            chunk -> {
+              var args = iterableList.toArray();
+              args[0] = chunk;
+              return evaluatorFactory
+                  .createEvaluator(metadata, metadata.getJoins(), metadata.getWhere())
+                  .evaluate(args);
+            });
+      }
+    }
+    var ev = evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
+    return ev.evaluate(iterableList.toArray());
+  }
 
-    if (!count && !list.isEmpty()) {
-      List<Expression<?>> sources = new ArrayList<>(metadata.getJoins().size());
-      for (JoinExpression join : metadata.getJoins()) {
-        if (join.getType() == JoinType.DEFAULT) {
-          sources.add(join.getTarget());
-        } else {
-          var target = (Operation) join.getTarget();
-          sources.add(target.getArg(1));
+  /**
+   * Evaluate the where condition of a query with a single source
+   *
+   * @param metadata query metadata
+   * @param source query source
+   * @param iterable source contents
+   * @return matching elements, may be the given iterable itself, if it is a list and the query has
+   *     no where condition
+   */
+  protected List<?> evaluateSource(
+      QueryMetadata metadata, Expression<?> source, Iterable<?> iterable) {
+    List<?> list = asList(iterable);
+    if (metadata.getWhere() != null) {
+      if (isParallel(metadata, list.size())) {
+        list =
+            forEachChunk(
+                (List<Object>) list,
+                chunk -> {
+                  Evaluator<List<Object>> evaluator =
+                      (Evaluator)
+                          evaluatorFactory.createEvaluator(metadata, source, metadata.getWhere());
+                  return evaluator.evaluate(chunk);
+                });
+      } else {
+        Evaluator<List<?>> evaluator =
+            (Evaluator) evaluatorFactory.createEvaluator(metadata, source, metadata.getWhere());
+        list = evaluator.evaluate(list);
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Evaluate the where condition of a query with a single source lazily
+   *
+   * <p>The source is consumed in chunks as the returned iterator is advanced.
+   *
+   * @param metadata query metadata
+   * @param source query source
+   * @param iterable source contents
+   * @return matching elements in consecutive chunks, chunks may be empty
+   */
+  protected Iterator<List<?>> evaluateSourceLazily(
+      QueryMetadata metadata, Expression<?> source, Iterable<?> iterable) {
+    if (metadata.getWhere() == null && iterable instanceof List<?> list) {
+      return Collections.<List<?>>singletonList(list).iterator();
+    }
+    Evaluator<List<?>> filter =
+        metadata.getWhere() != null
+            ? (Evaluator) evaluatorFactory.createEvaluator(metadata, source, metadata.getWhere())
+            : null;
+    var iterator = iterable.iterator();
+    return new Iterator<>() {
+      private int chunkSize = MIN_CHUNK_SIZE;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public List<?> next() {
+        if (!iterator.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        List<Object> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && iterator.hasNext()) {
+          chunk.add(iterator.next());
         }
+        chunkSize = Math.min(chunkSize * 2, MAX_CHUNK_SIZE);
+        return filter != null ? filter.evaluate(chunk) : chunk;
       }
-      // ordered
-      if (!metadata.getOrderBy().isEmpty()) {
-        order(metadata, sources, list);
+    };
+  }
+
+  private Iterator<Object> iterateSingleSource(
+      QueryMetadata metadata,
+      Map<Expression<?>, Iterable<?>> iterables,
+      long offset,
+      @Nullable Long limit,
+      boolean project,
+      boolean distinct) {
+    final Expression<?> source = metadata.getJoins().get(0).getTarget();
+    final Iterable<?> iterable = iterables.values().iterator().next();
+    Function<Object, ?> projection = null;
+    if (project && metadata.getProjection() != null && !metadata.getProjection().equals(source)) {
+      projection =
+          new EvaluatorFunction<>(
+              evaluatorFactory.create(
+                  metadata, Collections.singletonList(source), metadata.getProjection()));
+    }
+    return new SourceIterator(
+        evaluateSourceLazily(metadata, source, iterable),
+        projection,
+        offset,
+        limit != null ? limit : Long.MAX_VALUE,
+        distinct);
+  }
+
+  private <T> List<T> evaluateSingleSourceTopN(
+      QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables) {
+    final Expression<?> source = metadata.getJoins().get(0).getTarget();
+    final List<Expression<?>> sources = Collections.<Expression<?>>singletonList(source);
+    final Iterable<?> iterable = iterables.values().iterator().next();
+
+    List<?> list = topN(metadata, sources, evaluateSourceLazily(metadata, source, iterable));
+    if (!list.isEmpty()) {
+      if (metadata.getProjection() != null && !metadata.getProjection().equals(source)) {
+        list = project(metadata, sources, list);
       }
-      // projection
-      list = project(metadata, sources, list);
-      // limit + offset
-      if (metadata.getModifiers().isRestricting()) {
-        list = metadata.getModifiers().subList(list);
+      if (metadata.isDistinct()) {
+        list = distinct(list);
+      }
+    }
+    @SuppressWarnings("unchecked") // the rows are instances of the projection type
+    var rv = (List<T>) list;
+    return rv;
+  }
+
+  /**
+   * Select the rows of the current page via a bounded heap
+   *
+   * @param metadata query metadata with order and limit
+   * @param sources query sources
+   * @param chunks rows in chunks
+   * @return ordered rows of the current page
+   */
+  private List<Object> topN(
+      QueryMetadata metadata, List<Expression<?>> sources, Iterator<? extends List<?>> chunks) {
+    var modifiers = metadata.getModifiers();
+    long offset = modifiers.getOffset() != null ? modifiers.getOffset() : 0L;
+    long limit = modifiers.getLimit();
+    var size = limit > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + limit;
+
+    Function<Object, Object[]> keys =
+        new EvaluatorFunction<>(evaluatorFactory.create(metadata, sources, orderKey(metadata)));
+    var comparator = orderComparator(metadata, null);
+    // ties are resolved by position to keep the order of a stable sort
+    Comparator<Keyed> order =
+        (k1, k2) -> {
+          var rv = comparator.compareKeys(k1.key, k2.key);
+          return rv != 0 ? rv : Long.compare(k1.position, k2.position);
+        };
+    var heap = new PriorityQueue<>(order.reversed());
+    var position = 0L;
+    while (chunks.hasNext()) {
+      for (Object o : chunks.next()) {
+        var keyed = new Keyed(keys.apply(o), o, position++);
+        if (heap.size() < size) {
+          heap.add(keyed);
+        } else if (order.compare(keyed, heap.peek()) < 0) {
+          heap.poll();
+          heap.add(keyed);
+        }
+      }
+    }
+    List<Keyed> sorted = new ArrayList<>(heap);
+    sorted.sort(order);
+    List<Object> rv = new ArrayList<>((int) Math.max(0, sorted.size() - offset));
+    for (var i = (int) Math.min(offset, sorted.size()); i < sorted.size(); i++) {
+      rv.add(sorted.get(i).value);
+    }
+    return rv;
+  }
+
+  private static List<?> asList(Iterable<?> iterable) {
+    if (iterable instanceof List<?> list) {
+      return list;
+    } else {
+      return CloseableIterator.asList(iterable.iterator());
+    }
+  }
+
+  private List evaluateMultipleSources(
+      QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables, boolean count) {
+    // from where
+    List<?> list = evaluateJoins(metadata, iterables);
+
+    if (!count && !list.isEmpty()) {
+      var sources = getSources(metadata);
+      if (isTopN(metadata) && !isParallel(metadata, list.size())) {
+        // ordered, limit + offset
+        list = topN(metadata, sources, Collections.singletonList(list).iterator());
+        // projection
+        list = project(metadata, sources, list);
+      } else {
+        // ordered
+        if (!metadata.getOrderBy().isEmpty()) {
+          order(metadata, sources, list);
+        }
+        // projection
+        list = project(metadata, sources, list);
+        // limit + offset
+        if (metadata.getModifiers().isRestricting()) {
+          list = metadata.getModifiers().subList(list);
+        }
       }
       if (list.isEmpty()) {
         return list;
@@ -157,24 +528,27 @@ public class DefaultQueryEngine implements QueryEngine {
     return list;
   }
 
+  private static List<Expression<?>> getSources(QueryMetadata metadata) {
+    List<Expression<?>> sources = new ArrayList<>(metadata.getJoins().size());
+    for (JoinExpression join : metadata.getJoins()) {
+      if (join.getType() == JoinType.DEFAULT) {
+        sources.add(join.getTarget());
+      } else {
+        var target = (Operation) join.getTarget();
+        sources.add(target.getArg(1));
+      }
+    }
+    return sources;
+  }
+
   private List evaluateSingleSource(
       QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables, boolean count) {
     final Expression<?> source = metadata.getJoins().get(0).getTarget();
     final List<Expression<?>> sources = Collections.<Expression<?>>singletonList(source);
     final Iterable<?> iterable = iterables.values().iterator().next();
-    List<?> list;
-    if (iterable instanceof List<?> list1) {
-      list = list1;
-    } else {
-      list = CloseableIterator.asList(iterable.iterator());
-    }
 
     // from & where
-    if (metadata.getWhere() != null) {
-      Evaluator<List<?>> evaluator =
-          (Evaluator) evaluatorFactory.createEvaluator(metadata, source, metadata.getWhere());
-      list = evaluator.evaluate(list);
-    }
+    List<?> list = evaluateSource(metadata, source, iterable);
 
     if (!count && !list.isEmpty()) {
       // ordered
@@ -206,20 +580,56 @@ public class DefaultQueryEngine implements QueryEngine {
     return list;
   }
 
-  private void order(QueryMetadata metadata, List<Expression<?>> sources, List<?> list) {
-    // create a projection for the order
+  /** Create a projection for the order */
+  private static Expression<Object[]> orderKey(QueryMetadata metadata) {
     List<OrderSpecifier<?>> orderBy = metadata.getOrderBy();
     Expression<Object>[] orderByExpr = new Expression[orderBy.size()];
+    for (var i = 0; i < orderBy.size(); i++) {
+      orderByExpr[i] = (Expression) orderBy.get(i).getTarget();
+    }
+    return new ArrayConstructorExpression<>(Object[].class, orderByExpr);
+  }
+
+  private static MultiComparator<Object> orderComparator(
+      QueryMetadata metadata, @Nullable Evaluator<Object[]> orderEvaluator) {
+    List<OrderSpecifier<?>> orderBy = metadata.getOrderBy();
     var directions = new boolean[orderBy.size()];
     var nullsLast = new boolean[orderBy.size()];
     for (var i = 0; i < orderBy.size(); i++) {
-      orderByExpr[i] = (Expression) orderBy.get(i).getTarget();
       directions[i] = orderBy.get(i).getOrder() == Order.ASC;
       nullsLast[i] = orderBy.get(i).getNullHandling() == OrderSpecifier.NullHandling.NullsLast;
     }
-    Expression<?> expr = new ArrayConstructorExpression<>(Object[].class, orderByExpr);
-    Evaluator orderEvaluator = evaluatorFactory.create(metadata, sources, expr);
-    list.sort(new MultiComparator(orderEvaluator, directions, nullsLast));
+    return new MultiComparator<>(orderEvaluator, directions, nullsLast);
+  }
+
+  private void order(QueryMetadata metadata, List<Expression<?>> sources, List<?> list) {
+    var expr = orderKey(metadata);
+    if (isParallel(metadata, list.size())) {
+      // evaluate the order keys once per element and sort the keyed elements
+      List<Object[]> keyed =
+          forEachChunk(
+              (List<Object>) list,
+              chunk -> {
+                Function<Object, Object[]> keys =
+                    new EvaluatorFunction<>(evaluatorFactory.create(metadata, sources, expr));
+                List<Object[]> rv = new ArrayList<>(chunk.size());
+                for (Object o : chunk) {
+                  rv.add(new Object[] {keys.apply(o), o});
+                }
+                return rv;
+              });
+      var comparator = orderComparator(metadata, null);
+      var array = keyed.toArray(new Object[0][]);
+      Arrays.parallelSort(
+          array, (o1, o2) -> comparator.compareKeys((Object[]) o1[0], (Object[]) o2[0]));
+      var rows = (List<Object>) list;
+      for (var i = 0; i < array.length; i++) {
+        rows.set(i, array[i][1]);
+      }
+    } else {
+      list.sort(
+          (Comparator) orderComparator(metadata, evaluatorFactory.create(metadata, sources, expr)));
+    }
   }
 
   private List<?> project(QueryMetadata metadata, List<Expression<?>> sources, List<?> list) {
@@ -231,14 +641,155 @@ public class DefaultQueryEngine implements QueryEngine {
       aggregator = aggregation.getOperator();
       projection = aggregation.getArg(0);
     }
-    Evaluator projectionEvaluator = evaluatorFactory.create(metadata, sources, projection);
-    EvaluatorFunction<Object, Object> transformer = new EvaluatorFunction(projectionEvaluator);
-    List target = list.stream().map(transformer).collect(Collectors.toList());
+    var parallel = isParallel(metadata, list.size());
+    var expr = projection;
+    List<Object> target;
+    if (parallel) {
+      target =
+          forEachChunk(
+              (List<Object>) list,
+              chunk -> {
+                Function<Object, ?> transformer =
+                    new EvaluatorFunction<>(evaluatorFactory.create(metadata, sources, expr));
+                return chunk.stream().<Object>map(transformer).collect(Collectors.toList());
+              });
+    } else {
+      Function<Object, ?> transformer =
+          new EvaluatorFunction<>(evaluatorFactory.create(metadata, sources, projection));
+      target = list.stream().<Object>map(transformer).collect(Collectors.toList());
+    }
     if (aggregator != null) {
+      @SuppressWarnings("unchecked") // the argument of an aggregation is a number expression
+      var numbers = (List<Number>) (List<?>) target;
       return Collections.singletonList(
-          CollQueryFunctions.aggregate(target, projection, aggregator));
+          CollQueryFunctions.aggregate(numbers, projection, aggregator, parallel));
     } else {
       return target;
     }
   }
+
+  /** Element with its order key and source position */
+  private static final class Keyed {
+
+    private final Object[] key;
+
+    private final Object value;
+
+    private final long position;
+
+    Keyed(Object[] key, Object value, long position) {
+      this.key = key;
+      this.value = value;
+      this.position = position;
+    }
+  }
+
+  /** Pages, projects and deduplicates filtered chunks of a single source on demand */
+  private static final class SourceIterator implements Iterator<Object> {
+
+    private final Iterator<List<?>> chunks;
+
+    @Nullable private final Function<Object, ?> projection;
+
+    @Nullable private final Set<Object> seen;
+
+    private long offset, limit;
+
+    private Iterator<?> current = Collections.emptyIterator();
+
+    private Object next;
+
+    private boolean hasNext;
+
+    SourceIterator(
+        Iterator<List<?>> chunks,
+        @Nullable Function<Object, ?> projection,
+        long offset,
+        long limit,
+        boolean distinct) {
+      this.chunks = chunks;
+      this.projection = projection;
+      this.offset = offset;
+      this.limit = limit;
+      this.seen = distinct ? new HashSet<>() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!hasNext) {
+        if (current.hasNext()) {
+          var o = current.next();
+          if (projection != null) {
+            o = projection.apply(o);
+          }
+          if (seen == null || seen.add(o instanceof Object[] array ? Arrays.asList(array) : o)) {
+            next = o;
+            hasNext = true;
+          }
+        } else if (limit > 0 && chunks.hasNext()) {
+          List<?> chunk = chunks.next();
+          if (offset > 0) {
+            var skipped = (int) Math.min(offset, chunk.size());
+            offset -= skipped;
+            chunk = chunk.subList(skipped, chunk.size());
+          }
+          if (chunk.size() > limit) {
+            chunk = chunk.subList(0, (int) limit);
+          }
+          limit -= chunk.size();
+          current = chunk.iterator();
+        } else {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public Object next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      hasNext = false;
+      var rv = next;
+      next = null;
+      return rv;
+    }
+  }
+
+  /** Applies a function to the chunks of a list range and concatenates the results */
+  private static final class ChunkTask<S, T> extends RecursiveTask<List<T>> {
+
+    @Serial private static final long serialVersionUID = -3127541085376349871L;
+
+    private final List<S> list;
+
+    private final int from, to, chunkSize;
+
+    private final Function<List<S>, List<T>> function;
+
+    ChunkTask(List<S> list, int from, int to, int chunkSize, Function<List<S>, List<T>> function) {
+      this.list = list;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+      this.function = function;
+    }
+
+    @Override
+    protected List<T> compute() {
+      if (to - from <= chunkSize) {
+        return function.apply(list.subList(from, to));
+      }
+      var middle = (from + to) >>> 1;
+      var left = new ChunkTask<>(list, from, middle, chunkSize, function);
+      left.fork();
+      var right = new ChunkTask<>(list, middle, to, chunkSize, function).compute();
+      var leftResult = left.join();
+      List<T> rv = new ArrayList<>(leftResult.size() + right.size());
+      rv.addAll(leftResult);
+      rv.addAll(right);
+      return rv;
+    }
+  }
 }
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import com.querydsl.core.types.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code IndexedList} is an immutable snapshot of a query source with declared indexes
+ *
+ * <p>{@link IndexedQueryEngine} uses the indexes to answer {@code eq}, {@code in} and range
+ * predicates on the indexed paths without scanning the whole source. Indexes are built lazily on
+ * first use. Other query engines treat instances as plain lists.
+ *
+ * <p>Geometry paths can be declared via {@link #withSpatialIndex(Path[])}. Their STR-tree indexes
+ * select the candidates of JTS spatial predicates by envelope, the exact predicates are evaluated
+ * on the candidates only.
+ *
+ * <p>Usage
+ *
+ * <pre>{@code
+ * List<Cat> indexed = CollQueryFactory.indexed(cats, cat.name, cat.birthdate);
+ * List<Cat> result = new CollQuery<Void>(IndexedQueryEngine.getDefault())
+ *     .from(cat, indexed)
+ *     .where(cat.name.eq("Bob"))
+ *     .select(cat)
+ *     .fetch();
+ * }</pre>
+ *
+ * <p>Spatial queries need templates for the spatial operators, e.g. {@link JTSTemplates}
+ *
+ * <pre>{@code
+ * List<Zone> indexed = CollQueryFactory.indexed(zones).withSpatialIndex(zone.geometry);
+ * QueryEngine engine = new IndexedQueryEngine(new DefaultEvaluatorFactory(JTSTemplates.DEFAULT));
+ * List<Zone> result = new CollQuery<Void>(engine)
+ *     .from(zone, indexed)
+ *     .where(zone.geometry.contains(point))
+ *     .select(zone)
+ *     .fetch();
+ * }</pre>
+ *
+ * @param <T> element type
+ */
+public final class IndexedList<T> extends AbstractList<T> implements RandomAccess {
+
+  private static final Comparator<Object> NULLS_FIRST =
+      Comparator.nullsFirst(
+          (o1, o2) -> {
+            @SuppressWarnings("unchecked") // incomparable values fail with a ClassCastException
+            var comparable = (Comparable<Object>) o1;
+            return comparable.compareTo(o2);
+          });
+
+  /** Positions of the elements by indexed value */
+  static final class Index {
+
+    /** Key of elements whose indexed value can't be computed */
+    static final Object UNINDEXED = new Object();
+
+    private final int size;
+
+    private final Map<Object, int[]> positions;
+
+    @Nullable private final NavigableMap<Object, int[]> sorted;
+
+    @SuppressWarnings("unchecked")
+    Index(int size, Map<Object, int[]> positions) {
+      this.size = size;
+      this.positions = positions;
+      NavigableMap<Object, int[]> sorted = new TreeMap<>(NULLS_FIRST);
+      try {
+        for (Map.Entry<Object, int[]> entry : positions.entrySet()) {
+          // values which are equal by comparison, but not by equals, share a range entry
+          sorted.merge(entry.getKey(), entry.getValue(), Index::concat);
+        }
+      } catch (ClassCastException e) {
+        // not comparable
+        sorted = null;
+      }
+      this.sorted = sorted;
+    }
+
+    /**
+     * Get the positions of the elements with one of the given values
+     *
+     * @param values values
+     * @return positions
+     */
+    BitSet get(Collection<?> values) {
+      var rv = new BitSet(size);
+      for (Object value : values) {
+        var matches = positions.get(value);
+        if (matches != null) {
+          for (int position : matches) {
+            rv.set(position);
+          }
+        }
+      }
+      return rv;
+    }
+
+    private static int[] concat(int[] positions1, int[] positions2) {
+      var rv = Arrays.copyOf(positions1, positions1.length + positions2.length);
+      System.arraycopy(positions2, 0, rv, positions1.length, positions2.length);
+      return rv;
+    }
+
+    /**
+     * Get the positions of the elements within the given range, elements with null values are not
+     * included
+     *
+     * @param from lower bound or null for unbounded
+     * @param fromInclusive true, if the lower bound is inclusive
+     * @param to upper bound or null for unbounded
+     * @param toInclusive true, if the upper bound is inclusive
+     * @return positions or null, if the indexed values are not comparable
+     */
+    @Nullable
+    BitSet range(
+        @Nullable Object from, boolean fromInclusive, @Nullable Object to, boolean toInclusive) {
+      if (sorted == null) {
+        return null;
+      }
+      NavigableMap<Object, int[]> range = sorted;
+      if (from != null && to != null && NULLS_FIRST.compare(from, to) > 0) {
+        return new BitSet(size);
+      }
+      range = from != null ? range.tailMap(from, fromInclusive) : range.tailMap(null, false);
+      if (to != null) {
+        range = range.headMap(to, toInclusive);
+      }
+      var rv = new BitSet(size);
+      for (int[] matches : range.values()) {
+        for (int position : matches) {
+          rv.set(position);
+        }
+      }
+      return rv;
+    }
+  }
+
+  private final List<T> elements;
+
+  private final Set<Path<?>> paths;
+
+  private final Set<Path<?>> spatialPaths;
+
+  private final Map<Path<?>, Index> indexes;
+
+  private final Map<Path<?>, SpatialIndex> spatialIndexes;
+
+  IndexedList(Iterable<? extends T> elements, Path<?>... paths) {
+    List<T> list = new ArrayList<>();
+    for (T element : elements) {
+      list.add(element);
+    }
+    this.elements = Collections.unmodifiableList(list);
+    this.paths = Collections.unmodifiableSet(new LinkedHashSet<>(List.of(paths)));
+    this.spatialPaths = Collections.emptySet();
+    this.indexes = new ConcurrentHashMap<>();
+    this.spatialIndexes = new ConcurrentHashMap<>();
+  }
+
+  private IndexedList(IndexedList<T> list, Set<Path<?>> spatialPaths) {
+    this.elements = list.elements;
+    this.paths = list.paths;
+    this.spatialPaths = Collections.unmodifiableSet(spatialPaths);
+    // indexes only depend on the elements and paths, so they are shared
+    this.indexes = list.indexes;
+    this.spatialIndexes = list.spatialIndexes;
+  }
+
+  @Override
+  public T get(int index) {
+    return elements.get(index);
+  }
+
+  @Override
+  public int size() {
+    return elements.size();
+  }
+
+  /**
+   * Get the indexed paths
+   *
+   * @return indexed paths
+   */
+  public Set<Path<?>> getIndexedPaths() {
+    return paths;
+  }
+
+  /**
+   * Get the paths with a spatial index
+   *
+   * @return spatial indexed paths
+   */
+  public Set<Path<?>> getSpatialIndexedPaths() {
+    return spatialPaths;
+  }
+
+  /**
+   * Create a snapshot of the same elements with spatial indexes on the given paths
+   *
+   * <p>The paths need to be of a JTS geometry type of the {@code org.locationtech.jts} API.
+   *
+   * @param paths geometry paths to index, relative to the query source
+   * @return indexed source
+   */
+  public IndexedList<T> withSpatialIndex(Path<?>... paths) {
+    Set<Path<?>> spatial = new LinkedHashSet<>(spatialPaths);
+    spatial.addAll(List.of(paths));
+    return new IndexedList<>(this, spatial);
+  }
+
+  /**
+   * Get the index for the given path
+   *
+   * @param path indexed path
+   * @param keyFunction function to compute the indexed value of an element, returning {@link
+   *     Index#UNINDEXED} for elements which can't be indexed
+   * @return index
+   */
+  Index getIndex(Path<?> path, Function<Object, Object> keyFunction) {
+    return indexes.computeIfAbsent(path, p -> createIndex(keyFunction));
+  }
+
+  /**
+   * Get the spatial index for the given path
+   *
+   * @param path spatial indexed path
+   * @param keyFunction function to compute the geometry of an element
+   * @return index
+   */
+  SpatialIndex getSpatialIndex(Path<?> path, Function<Object, Object> keyFunction) {
+    return spatialIndexes.computeIfAbsent(path, p -> SpatialIndex.create(elements, keyFunction));
+  }
+
+  private Index createIndex(Function<Object, Object> keyFunction) {
+    Map<Object, List<Integer>> positions = new HashMap<>();
+    for (var i = 0; i < elements.size(); i++) {
+      var key = keyFunction.apply(elements.get(i));
+      if (key != Index.UNINDEXED) {
+        positions.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+      }
+    }
+    Map<Object, int[]> index = new HashMap<>(positions.size() * 4 / 3 + 1);
+    for (Map.Entry<Object, List<Integer>> entry : positions.entrySet()) {
+      index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+    }
+    return new Index(elements.size(), index);
+  }
+}
@@ -0,0 +1,585 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import com.querydsl.codegen.utils.Evaluator;
+import com.querydsl.core.CloseableIterator;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.support.PathsExtractor;
+import com.querydsl.core.types.ArrayConstructorExpression;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.util.PrimitiveUtils;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code IndexedQueryEngine} is a {@link QueryEngine} implementation for large in-memory sources
+ *
+ * <p>Compared to {@link DefaultQueryEngine} it
+ *
+ * <ul>
+ *   <li>answers {@code eq}, {@code in}, {@code gt}, {@code goe}, {@code lt}, {@code loe} and {@code
+ *       between} conditions on indexed paths of {@link IndexedList} sources without a full scan,
+ *   <li>evaluates spatial conditions on spatial indexed paths of {@link IndexedList} sources only
+ *       for the elements whose envelope matches,
+ *   <li>evaluates conditions of multi source queries per source before joining and joins the
+ *       sources via hash joins on the {@code eq} conditions between them instead of a nested loop,
+ *   <li>removes duplicates via hashing.
+ * </ul>
+ *
+ * <p>The results are the same as with {@link DefaultQueryEngine}, including their order. Queries
+ * with {@code innerJoin} or {@code leftJoin} clauses are evaluated like in {@link
+ * DefaultQueryEngine}.
+ *
+ * @see CollQueryFactory#indexed(Iterable, Path[])
+ */
+@SuppressWarnings("unchecked")
+public class IndexedQueryEngine extends DefaultQueryEngine {
+
+  private static transient volatile QueryEngine defaultQueryEngine;
+
+  public static QueryEngine getDefault() {
+    if (defaultQueryEngine == null) {
+      defaultQueryEngine =
+          new IndexedQueryEngine(new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT));
+    }
+    return defaultQueryEngine;
+  }
+
+  private static final Object NO_VALUE = new Object();
+
+  public IndexedQueryEngine(DefaultEvaluatorFactory evaluatorFactory) {
+    super(evaluatorFactory);
+  }
+
+  @Override
+  protected <T> List<T> distinct(List<T> list) {
+    List<T> rv = new ArrayList<>();
+    Set<Object> seen = new HashSet<>(list.size() * 4 / 3 + 1);
+    for (T o : list) {
+      if (seen.add(o instanceof Object[] array ? Arrays.asList(array) : o)) {
+        rv.add(o);
+      }
+    }
+    return rv;
+  }
+
+  @Override
+  protected List<?> evaluateSource(
+      QueryMetadata metadata, Expression<?> source, Iterable<?> iterable) {
+    if (metadata.getWhere() == null || !(iterable instanceof IndexedList<?> list)) {
+      return super.evaluateSource(metadata, source, iterable);
+    }
+    return filter(metadata, source, list, conjuncts(metadata.getWhere()));
+  }
+
+  @Override
+  protected Iterator<List<?>> evaluateSourceLazily(
+      QueryMetadata metadata, Expression<?> source, Iterable<?> iterable) {
+    if (metadata.getWhere() == null || !(iterable instanceof IndexedList<?>)) {
+      return super.evaluateSourceLazily(metadata, source, iterable);
+    }
+    return Collections.<List<?>>singletonList(evaluateSource(metadata, source, iterable))
+        .iterator();
+  }
+
+  @Override
+  protected List<Object[]> evaluateJoins(
+      QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables) {
+    if (metadata.getWhere() == null) {
+      return super.evaluateJoins(metadata, iterables);
+    }
+    List<Expression<?>> sources = new ArrayList<>(metadata.getJoins().size());
+    for (JoinExpression join : metadata.getJoins()) {
+      if (join.getType() != JoinType.DEFAULT
+          || PrimitiveUtils.isWrapperType(join.getTarget().getType())) {
+        return super.evaluateJoins(metadata, iterables);
+      }
+      sources.add(join.getTarget());
+    }
+
+    // single source conditions are evaluated before the join, the others right after all
+    // referenced sources have been joined
+    List<List<Predicate>> filters = new ArrayList<>(sources.size());
+    List<List<Predicate>> conditions = new ArrayList<>(sources.size());
+    for (var i = 0; i < sources.size(); i++) {
+      filters.add(new ArrayList<>());
+      conditions.add(new ArrayList<>());
+    }
+    for (Predicate conjunct : conjuncts(metadata.getWhere())) {
+      var roots = roots(conjunct, sources);
+      if (roots == null) {
+        conditions.get(sources.size() - 1).add(conjunct);
+      } else if (roots.cardinality() <= 1) {
+        filters.get(Math.max(roots.nextSetBit(0), 0)).add(conjunct);
+      } else {
+        conditions.get(roots.length() - 1).add(conjunct);
+      }
+    }
+
+    List<Object[]> rows = new ArrayList<>();
+    for (var i = 0; i < sources.size(); i++) {
+      var iterable = iterables.get(sources.get(i));
+      List<?> list;
+      if (iterable instanceof List<?> list1) {
+        list = list1;
+      } else {
+        list = CloseableIterator.asList(iterable.iterator());
+      }
+      if (!filters.get(i).isEmpty()) {
+        list = filter(metadata, sources.get(i), list, filters.get(i));
+      }
+      if (i == 0) {
+        for (Object o : list) {
+          rows.add(new Object[] {o});
+        }
+      } else {
+        rows = join(metadata, sources.subList(0, i + 1), rows, list, conditions.get(i));
+      }
+      if (rows.isEmpty()) {
+        return rows;
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Join the rows of the previous sources with the elements of the last source
+   *
+   * @param metadata query metadata
+   * @param sources previous sources and the joined source
+   * @param rows rows of the previous sources
+   * @param list elements of the joined source
+   * @param conditions conditions between the joined source and the previous sources
+   * @return joined rows in nested loop order
+   */
+  private List<Object[]> join(
+      QueryMetadata metadata,
+      List<Expression<?>> sources,
+      List<Object[]> rows,
+      List<?> list,
+      List<Predicate> conditions) {
+    var index = sources.size() - 1;
+    List<Expression<?>> leftKeys = new ArrayList<>();
+    List<Expression<?>> rightKeys = new ArrayList<>();
+    List<Predicate> rest = new ArrayList<>();
+    for (Predicate condition : conditions) {
+      if (condition instanceof Operation<?> operation
+          && operation.getOperator() == Ops.EQ
+          && operation.getArg(0).getType().equals(operation.getArg(1).getType())) {
+        var roots0 = roots(operation.getArg(0), sources);
+        var roots1 = roots(operation.getArg(1), sources);
+        if (isJoinKey(roots1, roots0, index)) {
+          leftKeys.add(operation.getArg(0));
+          rightKeys.add(operation.getArg(1));
+          continue;
+        } else if (isJoinKey(roots0, roots1, index)) {
+          leftKeys.add(operation.getArg(1));
+          rightKeys.add(operation.getArg(0));
+          continue;
+        }
+      }
+      rest.add(condition);
+    }
+
+    Evaluator<Boolean> filter = null;
+    if (!rest.isEmpty()) {
+      filter = getEvaluatorFactory().create(metadata, sources, ExpressionUtils.allOf(rest));
+    }
+    List<Object[]> rv = new ArrayList<>();
+    if (leftKeys.isEmpty()) {
+      for (Object[] row : rows) {
+        for (Object o : list) {
+          addRow(rv, row, o, filter);
+        }
+      }
+    } else {
+      Evaluator<?> rightKey =
+          getEvaluatorFactory().create(metadata, sources.subList(index, index + 1), key(rightKeys));
+      Map<Object, List<Object>> table = new HashMap<>();
+      for (Object o : list) {
+        var key = evaluateKey(rightKey, rightKeys, new Object[] {o});
+        if (key != NO_VALUE) {
+          table.computeIfAbsent(key, k -> new ArrayList<>()).add(o);
+        }
+      }
+      Evaluator<?> leftKey =
+          getEvaluatorFactory().create(metadata, sources.subList(0, index), key(leftKeys));
+      for (Object[] row : rows) {
+        var key = evaluateKey(leftKey, leftKeys, row);
+        var matches = key != NO_VALUE ? table.get(key) : null;
+        if (matches != null) {
+          for (Object o : matches) {
+            addRow(rv, row, o, filter);
+          }
+        }
+      }
+    }
+    return rv;
+  }
+
+  private static boolean isJoinKey(@Nullable BitSet right, @Nullable BitSet left, int index) {
+    return right != null
+        && left != null
+        && right.cardinality() == 1
+        && right.get(index)
+        && !left.isEmpty()
+        && left.length() <= index;
+  }
+
+  private static Expression<?> key(List<Expression<?>> keys) {
+    if (keys.size() == 1) {
+      return keys.get(0);
+    } else {
+      return new ArrayConstructorExpression<>(keys.toArray(new Expression<?>[0]));
+    }
+  }
+
+  /**
+   * Evaluate a hash join key
+   *
+   * @return key or {@link #NO_VALUE}, if the key doesn't match any other key
+   */
+  private static Object evaluateKey(
+      Evaluator<?> evaluator, List<Expression<?>> keys, Object[] row) {
+    Object value;
+    try {
+      value = evaluator.evaluate(row);
+    } catch (IllegalArgumentException e) {
+      if (isNullPointer(e)) {
+        return NO_VALUE;
+      }
+      throw e;
+    }
+    Object[] values = keys.size() == 1 ? new Object[] {value} : (Object[]) value;
+    for (var i = 0; i < values.length; i++) {
+      // wrapper types are compared via ==, which fails for null
+      if (values[i] == null && PrimitiveUtils.isWrapperType(keys.get(i).getType())) {
+        return NO_VALUE;
+      }
+    }
+    return keys.size() == 1 ? value : Arrays.asList(values);
+  }
+
+  private static void addRow(
+      List<Object[]> rows, Object[] row, Object o, @Nullable Evaluator<Boolean> filter) {
+    var newRow = Arrays.copyOf(row, row.length + 1);
+    newRow[row.length] = o;
+    if (filter == null || test(filter, newRow)) {
+      rows.add(newRow);
+    }
+  }
+
+  private static boolean test(Evaluator<Boolean> filter, Object[] row) {
+    try {
+      return Boolean.TRUE.equals(filter.evaluate(row));
+    } catch (IllegalArgumentException e) {
+      if (isNullPointer(e)) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Filter the elements of a single source
+   *
+   * @param metadata query metadata
+   * @param source query source
+   * @param list source contents
+   * @param conjuncts conditions on the source
+   * @return matching elements in source order
+   */
+  private List<?> filter(
+      QueryMetadata metadata, Expression<?> source, List<?> list, List<Predicate> conjuncts) {
+    List<?> candidates = list;
+    List<Predicate> rest = conjuncts;
+    if (list instanceof IndexedList<?> indexed && !PrimitiveUtils.isWrapperType(source.getType())) {
+      BitSet matches = null;
+      rest = new ArrayList<>();
+      for (Predicate conjunct : conjuncts) {
+        var positions = lookup(metadata, source, indexed, conjunct);
+        if (positions == null) {
+          rest.add(conjunct);
+          // spatial indexes only select candidates, so the condition is evaluated nevertheless
+          positions = spatialLookup(metadata, source, indexed, conjunct);
+        }
+        if (positions == null) {
+          continue;
+        } else if (matches == null) {
+          matches = positions;
+        } else {
+          matches.and(positions);
+        }
+      }
+      if (matches != null) {
+        List<Object> selected = new ArrayList<>(matches.cardinality());
+        for (var i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+          selected.add(indexed.get(i));
+        }
+        candidates = selected;
+      }
+    }
+    if (rest.isEmpty()) {
+      return candidates;
+    }
+    Evaluator<List<?>> evaluator =
+        (Evaluator)
+            getEvaluatorFactory().createEvaluator(metadata, source, ExpressionUtils.allOf(rest));
+    return evaluator.evaluate(candidates);
+  }
+
+  /**
+   * Get the positions of the elements matching the given condition via an index
+   *
+   * @return positions or null, if the condition can't be answered via an index
+   */
+  @Nullable
+  private BitSet lookup(
+      QueryMetadata metadata, Expression<?> source, IndexedList<?> list, Predicate condition) {
+    if (!(condition instanceof Operation<?> operation) || operation.getArgs().size() < 2) {
+      return null;
+    }
+    Operator operator = operation.getOperator();
+    Expression<?> path = operation.getArg(0);
+    Expression<?> value = operation.getArg(1);
+    if (operation.getArgs().size() == 2 && !isIndexed(list, source, path)) {
+      path = operation.getArg(1);
+      value = operation.getArg(0);
+      operator = reverse(operator);
+    }
+    if (operator == null || !isIndexed(list, source, path)) {
+      return null;
+    }
+
+    if (operator == Ops.IN) {
+      var values = value(metadata, value, Collection.class);
+      if (values == NO_VALUE) {
+        return null;
+      }
+      return index(metadata, source, list, (Path<?>) path).get((Collection<?>) values);
+    }
+    var type = path.getType();
+    if (operator == Ops.BETWEEN) {
+      var from = value(metadata, value, type);
+      var to = value(metadata, operation.getArg(2), type);
+      if (from == NO_VALUE || to == NO_VALUE) {
+        return null;
+      }
+      return index(metadata, source, list, (Path<?>) path).range(from, true, to, true);
+    }
+    var constant = value(metadata, value, type);
+    if (constant == NO_VALUE) {
+      return null;
+    }
+    var index = index(metadata, source, list, (Path<?>) path);
+    BitSet rv;
+    if (operator == Ops.EQ) {
+      rv = index.get(Collections.singleton(constant));
+    } else if (operator == Ops.GT || operator == Ops.GOE) {
+      rv = index.range(constant, operator == Ops.GOE, null, false);
+    } else if (operator == Ops.LT || operator == Ops.LOE) {
+      rv = index.range(null, false, constant, operator == Ops.LOE);
+      // compareTo orders null first, but wrapper types are compared via < and <=
+      if (rv != null && !PrimitiveUtils.isWrapperType(type)) {
+        rv.or(index.get(Collections.singleton(null)));
+      }
+    } else {
+      return null;
+    }
+    return rv;
+  }
+
+  /**
+   * Get the positions of the candidates for the given spatial condition via a spatial index
+   *
+   * @return positions or null, if the condition can't be answered via a spatial index
+   */
+  @Nullable
+  private BitSet spatialLookup(
+      QueryMetadata metadata, Expression<?> source, IndexedList<?> list, Predicate condition) {
+    if (list.getSpatialIndexedPaths().isEmpty()
+        || !(condition instanceof Operation<?> operation)
+        || operation.getArgs().size() < 2
+        || !SpatialIndex.isSupported(operation.getOperator())) {
+      return null;
+    }
+    // the supported operators are symmetric regarding the envelopes of their arguments
+    Expression<?> path = operation.getArg(0);
+    Expression<?> value = operation.getArg(1);
+    if (!isSpatialIndexed(list, source, path)) {
+      path = operation.getArg(1);
+      value = operation.getArg(0);
+    }
+    if (!isSpatialIndexed(list, source, path)) {
+      return null;
+    }
+    var geometry = value(metadata, value, Object.class);
+    Object distance = null;
+    if (operation.getArgs().size() > 2) {
+      distance = value(metadata, operation.getArg(2), Number.class);
+    }
+    if (geometry == NO_VALUE || distance == NO_VALUE) {
+      return null;
+    }
+    Evaluator<?> evaluator =
+        getEvaluatorFactory().create(metadata, Collections.singletonList(source), path);
+    return list.getSpatialIndex((Path<?>) path, element -> indexKey(evaluator, element))
+        .query(operation.getOperator(), geometry, (Number) distance);
+  }
+
+  @Nullable
+  private static Operator reverse(Operator operator) {
+    if (operator == Ops.EQ) {
+      return Ops.EQ;
+    } else if (operator == Ops.GT) {
+      return Ops.LT;
+    } else if (operator == Ops.GOE) {
+      return Ops.LOE;
+    } else if (operator == Ops.LT) {
+      return Ops.GT;
+    } else if (operator == Ops.LOE) {
+      return Ops.GOE;
+    } else {
+      return null;
+    }
+  }
+
+  private static boolean isIndexed(IndexedList<?> list, Expression<?> source, Expression<?> expr) {
+    return expr instanceof Path<?> path
+        && list.getIndexedPaths().contains(path)
+        && path.getRoot().equals(source);
+  }
+
+  /**
+   * Get the value of the given constant or parameter
+   *
+   * @return value or {@link #NO_VALUE}, if the value is not known or not of the given type
+   */
+  private static Object value(QueryMetadata metadata, Expression<?> expr, Class<?> type) {
+    Object value;
+    if (expr instanceof Constant<?> constant) {
+      value = constant.getConstant();
+    } else if (expr instanceof ParamExpression<?> param
+        && metadata.getParams().containsKey(param)) {
+      value = metadata.getParams().get(param);
+    } else {
+      return NO_VALUE;
+    }
+    if (value == null) {
+      return NO_VALUE;
+    }
+    // wrapper types are compared numerically, so only values of the same type can be looked up
+    var wrapped = PrimitiveUtils.wrap(type);
+    if (PrimitiveUtils.isWrapperType(wrapped)
+        ? value.getClass() != wrapped
+        : !wrapped.isInstance(value)) {
+      return NO_VALUE;
+    }
+    return value;
+  }
+
+  private static boolean isSpatialIndexed(
+      IndexedList<?> list, Expression<?> source, Expression<?> expr) {
+    return expr instanceof Path<?> path
+        && list.getSpatialIndexedPaths().contains(path)
+        && path.getRoot().equals(source);
+  }
+
+  private IndexedList.Index index(
+      QueryMetadata metadata, Expression<?> source, IndexedList<?> list, Path<?> path) {
+    Evaluator<?> evaluator =
+        getEvaluatorFactory().create(metadata, Collections.singletonList(source), path);
+    return list.getIndex(path, element -> indexKey(evaluator, element));
+  }
+
+  /**
+   * Evaluate the indexed value of an element
+   *
+   * @return value or {@link IndexedList.Index#UNINDEXED}, if the value can't be computed
+   */
+  private static Object indexKey(Evaluator<?> evaluator, Object element) {
+    try {
+      return evaluator.evaluate(element);
+    } catch (IllegalArgumentException e) {
+      if (isNullPointer(e)) {
+        return IndexedList.Index.UNINDEXED;
+      }
+      throw e;
+    }
+  }
+
+  private static List<Predicate> conjuncts(Predicate predicate) {
+    List<Predicate> rv = new ArrayList<>();
+    addConjuncts(predicate, rv);
+    return rv;
+  }
+
+  private static void addConjuncts(Predicate predicate, List<Predicate> conjuncts) {
+    if (predicate instanceof Operation<?> operation && operation.getOperator() == Ops.AND) {
+      for (Expression<?> arg : operation.getArgs()) {
+        addConjuncts((Predicate) arg, conjuncts);
+      }
+    } else {
+      conjuncts.add(predicate);
+    }
+  }
+
+  /**
+   * Get the positions of the sources referenced in the given expression
+   *
+   * @return positions or null, if the expression references other roots
+   */
+  @Nullable
+  private static BitSet roots(Expression<?> expr, List<Expression<?>> sources) {
+    List<Path<?>> paths = new ArrayList<>();
+    expr.accept(PathsExtractor.DEFAULT, paths);
+    var rv = new BitSet(sources.size());
+    for (Path<?> path : paths) {
+      var index = sources.indexOf(path.getRoot());
+      if (index < 0) {
+        return null;
+      }
+      rv.set(index);
+    }
+    return rv;
+  }
+
+  /** Evaluators wrap the exceptions of the evaluated code */
+  private static boolean isNullPointer(IllegalArgumentException e) {
+    return e.getCause() instanceof InvocationTargetException target
+        && target.getCause() instanceof NullPointerException;
+  }
+}
@@ -53,6 +53,17 @@ public class MultiComparator<T> implements Comparator<T>, Serializable {
     }
   }
 
+  /**
+   * Compare already evaluated order keys
+   *
+   * @param o1 first order key
+   * @param o2 second order key
+   * @return comparison result
+   */
+  int compareKeys(Object[] o1, Object[] o2) {
+    return innerCompare(o1, o2);
+  }
+
   private int innerCompare(Object[] o1, Object[] o2) {
     for (var i = 0; i < o1.length; i++) {
       if (o1[i] == null) {
@@ -13,6 +13,7 @@
  */
 package com.querydsl.collections;
 
+import com.querydsl.core.CloseableIterator;
 import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.types.Expression;
 import java.util.List;
@@ -44,6 +45,18 @@ public interface QueryEngine {
   <T> List<T> list(
       QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables, Expression<T> projection);
 
+  /**
+   * Evaluate the given query and return the projection as an iterator
+   *
+   * @param metadata query metadata
+   * @param iterables source contents
+   * @return matching rows
+   */
+  default <T> CloseableIterator<T> iterate(
+      QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables, Expression<T> projection) {
+    return CloseableIterator.of(list(metadata, iterables, projection).iterator());
+  }
+
   /**
    * Evaluate the given query return whether rows where matched
    *
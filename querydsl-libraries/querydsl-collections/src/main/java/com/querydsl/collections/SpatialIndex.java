@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import com.querydsl.core.types.Operator;
+import com.querydsl.spatial.SpatialOps;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.jetbrains.annotations.Nullable;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * {@code SpatialIndex} is an STR-tree over the envelopes of the geometries of an {@link
+ * IndexedList}
+ *
+ * <p>The index only selects candidates, the exact spatial condition needs to be evaluated on them
+ * afterwards. Empty geometries have no envelope, they are never candidates of the intersecting
+ * operators but are always candidates of {@code dwithin} conditions.
+ */
+final class SpatialIndex {
+
+  /** Operators which require the envelopes of both geometries to intersect */
+  private static final Set<SpatialOps> INTERSECTING =
+      EnumSet.of(
+          SpatialOps.EQUALS,
+          SpatialOps.INTERSECTS,
+          SpatialOps.TOUCHES,
+          SpatialOps.CROSSES,
+          SpatialOps.WITHIN,
+          SpatialOps.CONTAINS,
+          SpatialOps.OVERLAPS);
+
+  private final int size;
+
+  private final STRtree tree;
+
+  private final BitSet empty;
+
+  private SpatialIndex(int size, STRtree tree, BitSet empty) {
+    this.size = size;
+    this.tree = tree;
+    this.empty = empty;
+  }
+
+  /**
+   * Create an index for the given elements
+   *
+   * @param elements indexed elements
+   * @param keyFunction function to compute the geometry of an element, returning null or {@link
+   *     IndexedList.Index#UNINDEXED} for elements without geometry
+   * @return index
+   */
+  static SpatialIndex create(List<?> elements, Function<Object, Object> keyFunction) {
+    var tree = new STRtree();
+    var empty = new BitSet(elements.size());
+    for (var i = 0; i < elements.size(); i++) {
+      var key = keyFunction.apply(elements.get(i));
+      if (key == null || key == IndexedList.Index.UNINDEXED) {
+        continue;
+      } else if (!(key instanceof Geometry geometry)) {
+        throw new IllegalArgumentException(key.getClass().getName() + " is not a JTS geometry");
+      } else if (geometry.isEmpty()) {
+        empty.set(i);
+      } else {
+        tree.insert(geometry.getEnvelopeInternal(), i);
+      }
+    }
+    // queries on a built tree are read only
+    tree.build();
+    return new SpatialIndex(elements.size(), tree, empty);
+  }
+
+  /**
+   * Check whether the index can select the candidates of the given operator
+   *
+   * @param operator operator
+   * @return true, if supported
+   */
+  static boolean isSupported(Operator operator) {
+    return INTERSECTING.contains(operator) || operator == SpatialOps.DWITHIN;
+  }
+
+  /**
+   * Get the positions of the candidates for the given condition
+   *
+   * @param operator spatial operator
+   * @param value other geometry of the condition
+   * @param distance distance for {@code dwithin} conditions
+   * @return positions or null, if the candidates can't be selected via the index
+   */
+  @Nullable
+  BitSet query(Operator operator, Object value, @Nullable Number distance) {
+    if (!(value instanceof Geometry geometry)) {
+      return null;
+    }
+    var rv = new BitSet(size);
+    if (operator == SpatialOps.DWITHIN) {
+      // the distance semantics of empty geometries are left to the evaluation
+      if (distance == null || geometry.isEmpty()) {
+        return null;
+      }
+      rv.or(empty);
+    } else if (geometry.isEmpty()) {
+      return rv;
+    }
+    var envelope = new Envelope(geometry.getEnvelopeInternal());
+    if (operator == SpatialOps.DWITHIN) {
+      envelope.expandBy(distance.doubleValue());
+    }
+    for (Object position : tree.query(envelope)) {
+      rv.set((Integer) position);
+    }
+    return rv;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.QueryMetadata;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EvaluatorCacheTest extends AbstractQueryTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private List<Cat> source;
+
+  @Override
+  @Before
+  public void setUp() {
+    super.setUp();
+    source = new ArrayList<>();
+    for (var i = 0; i < 100; i++) {
+      var c = new Cat("Cat" + (i % 10), i);
+      c.setWeight(i % 7);
+      source.add(c);
+    }
+  }
+
+  private List<Function<CollQuery<Void>, CollQuery<?>>> shapes(String name, int id) {
+    return List.of(
+        q -> q.from(cat, source).where(cat.name.eq(name)).orderBy(cat.id.desc()).select(cat.id),
+        q -> q.from(cat, source).where(cat.id.gt(id)).select(cat.weight.sumAggregate()),
+        q ->
+            q.from(cat, source)
+                .from(otherCat, source)
+                .where(cat.weight.eq(otherCat.weight), otherCat.id.lt(id))
+                .select(cat.id, otherCat.id));
+  }
+
+  private List<QueryMetadata> metadata(
+      DefaultQueryEngine engine, List<Function<CollQuery<Void>, CollQuery<?>>> shapes) {
+    return shapes.stream().map(s -> s.apply(new CollQuery<>(engine)).getMetadata()).toList();
+  }
+
+  private List<List<?>> fetch(
+      QueryEngine engine, List<Function<CollQuery<Void>, CollQuery<?>>> shapes) {
+    return shapes.stream().<List<?>>map(s -> s.apply(new CollQuery<>(engine)).fetch()).toList();
+  }
+
+  @Test
+  public void warm_up() {
+    var factory = new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT);
+    var engine = new DefaultQueryEngine(factory);
+    engine.warmUp(metadata(engine, shapes("Cat0", 0)));
+    var compiled = factory.getCompilationCount();
+    assertThat(compiled).isEqualTo(7);
+    assertThat(factory.getCompilationTime()).isPositive();
+
+    // queries of the same shape don't compile again
+    var results = fetch(engine, shapes("Cat3", 50));
+    assertThat(factory.getCompilationCount()).isEqualTo(compiled);
+    assertThat(results)
+        .isEqualTo(fetch(DefaultQueryEngine.getDefault(), shapes("Cat3", 50)))
+        .allSatisfy(r -> assertThat(r).isNotEmpty());
+  }
+
+  @Test
+  public void cache_directory() throws IOException {
+    Path directory = folder.newFolder().toPath();
+    var factory = new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT, directory);
+    var engine = new DefaultQueryEngine(factory);
+    var expected = fetch(engine, shapes("Cat1", 20));
+    assertThat(factory.getCompilationCount()).isEqualTo(7);
+    assertThat(factory.getCacheLoadCount()).isZero();
+
+    // new factory instance, as after a restart
+    var factory2 = new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT, directory);
+    var engine2 = new DefaultQueryEngine(factory2);
+    engine2.warmUp(metadata(engine2, shapes("Cat1", 20)));
+    assertThat(factory2.getCompilationCount()).isZero();
+    assertThat(factory2.getCacheLoadCount()).isEqualTo(7);
+    assertThat(fetch(engine2, shapes("Cat1", 20))).isEqualTo(expected);
+    assertThat(factory2.getCompilationCount()).isZero();
+  }
+}
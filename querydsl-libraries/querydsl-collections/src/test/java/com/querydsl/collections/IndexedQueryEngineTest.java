@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.types.dsl.Param;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndexedQueryEngineTest extends AbstractQueryTest {
+
+  private List<Cat> plain;
+
+  private IndexedList<Cat> indexed;
+
+  @Override
+  @Before
+  public void setUp() {
+    super.setUp();
+    plain = new ArrayList<>();
+    for (var i = 0; i < 200; i++) {
+      var c = new Cat(i % 17 == 0 ? null : "Cat" + (i % 20), i);
+      c.setWeight(i % 7);
+      plain.add(c);
+    }
+    for (var i = 0; i < plain.size(); i += 3) {
+      plain.get(i).setMate(plain.get((i * 7) % plain.size()));
+    }
+    indexed = CollQueryFactory.indexed(plain, cat.name, cat.id, cat.weight, cat.mate);
+  }
+
+  private <T> void assertSameResults(Function<CollQuery<Void>, List<T>> query) {
+    var expected = query.apply(new CollQuery<>(DefaultQueryEngine.getDefault()));
+    var actual = query.apply(new CollQuery<>(IndexedQueryEngine.getDefault()));
+    assertThat(expected).isNotEmpty();
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void eq() {
+    assertSameResults(q -> q.from(cat, indexed).where(cat.name.eq("Cat3")).select(cat).fetch());
+    assertSameResults(q -> q.from(cat, indexed).where(cat.id.eq(42)).select(cat).fetch());
+    assertSameResults(q -> q.from(cat, indexed).where(cat.mate.eq(plain.get(21))).fetch());
+  }
+
+  @Test
+  public void eq_param() {
+    var name = new Param<>(String.class, "name");
+    assertSameResults(
+        q -> q.from(cat, indexed).where(cat.name.eq(name)).set(name, "Cat5").select(cat).fetch());
+  }
+
+  @Test
+  public void in() {
+    assertSameResults(
+        q -> q.from(cat, indexed).where(cat.name.in("Cat1", "Cat2", "Dog")).select(cat).fetch());
+    assertSameResults(q -> q.from(cat, indexed).where(cat.weight.in(1, 3)).select(cat.id).fetch());
+  }
+
+  @Test
+  public void range() {
+    assertSameResults(q -> q.from(cat, indexed).where(cat.id.gt(150)).select(cat).fetch());
+    assertSameResults(q -> q.from(cat, indexed).where(cat.id.loe(20)).select(cat).fetch());
+    assertSameResults(q -> q.from(cat, indexed).where(cat.id.between(40, 60)).select(cat).fetch());
+    assertSameResults(q -> q.from(cat, indexed).where(cat.name.lt("Cat3")).select(cat).fetch());
+    assertSameResults(q -> q.from(cat, indexed).where(cat.name.goe("Cat3")).select(cat).fetch());
+    assertThat(
+            new CollQuery<Void>(IndexedQueryEngine.getDefault())
+                .from(cat, indexed)
+                .where(cat.id.between(60, 40))
+                .fetch())
+        .isEmpty();
+  }
+
+  @Test
+  public void combined_with_unindexed_conditions() {
+    assertSameResults(
+        q ->
+            q.from(cat, indexed)
+                .where(
+                    cat.weight.eq(3),
+                    cat.id.goe(50),
+                    cat.name.startsWith("Cat1").or(cat.mate.name.eq("Cat4")))
+                .orderBy(cat.name.desc())
+                .select(cat)
+                .fetch());
+  }
+
+  @Test
+  public void join() {
+    assertSameResults(
+        q ->
+            q.from(cat, indexed)
+                .from(otherCat, plain)
+                .where(cat.mate.eq(otherCat), otherCat.weight.gt(2))
+                .select(cat, otherCat)
+                .fetch());
+  }
+
+  @Test
+  public void join_multiple_keys() {
+    assertSameResults(
+        q ->
+            q.from(cat, indexed)
+                .from(otherCat, plain)
+                .where(
+                    cat.name.eq(otherCat.name),
+                    otherCat.weight.eq(cat.weight),
+                    cat.id.lt(otherCat.id))
+                .select(cat.id, otherCat.id)
+                .fetch());
+  }
+
+  @Test
+  public void join_three_sources() {
+    assertSameResults(
+        q ->
+            q.from(cat, indexed)
+                .from(otherCat, plain)
+                .from(mate, plain)
+                .where(
+                    cat.name.eq("Cat2"),
+                    cat.weight.eq(otherCat.weight),
+                    mate.eq(otherCat.mate),
+                    mate.name.ne(cat.name))
+                .select(cat.id, otherCat.id, mate.id)
+                .fetch());
+  }
+
+  @Test
+  public void join_without_equi_conditions() {
+    assertSameResults(
+        q ->
+            q.from(cat, indexed)
+                .from(otherCat, plain)
+                .where(cat.id.lt(5), otherCat.id.gt(cat.id.add(190)))
+                .select(cat.id, otherCat.id)
+                .fetch());
+  }
+
+  @Test
+  public void distinct() {
+    assertSameResults(
+        q -> q.from(cat, indexed).where(cat.id.lt(100)).distinct().select(cat.name).fetch());
+    assertSameResults(
+        q ->
+            q.from(cat, indexed)
+                .from(otherCat, plain)
+                .where(cat.weight.eq(otherCat.weight))
+                .distinct()
+                .select(cat.weight, otherCat.weight)
+                .fetch());
+  }
+
+  @Test
+  public void count() {
+    assertThat(
+            new CollQuery<Void>(IndexedQueryEngine.getDefault())
+                .from(cat, indexed)
+                .where(cat.name.in(Arrays.asList("Cat1", "Cat2")))
+                .fetchCount())
+        .isEqualTo(
+            CollQueryFactory.from(cat, plain)
+                .where(cat.name.in(Arrays.asList("Cat1", "Cat2")))
+                .fetchCount());
+  }
+
+  @Test
+  public void indexed_list() {
+    assertThat(indexed).containsExactlyElementsOf(plain);
+    assertThat(indexed.getIndexedPaths()).containsExactly(cat.name, cat.id, cat.weight, cat.mate);
+  }
+}
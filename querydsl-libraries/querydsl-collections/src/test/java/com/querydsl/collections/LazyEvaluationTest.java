@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyEvaluationTest extends AbstractQueryTest {
+
+  private List<Cat> source;
+
+  private final AtomicInteger consumed = new AtomicInteger();
+
+  /** Endless source, which counts the consumed elements */
+  private final Iterable<Cat> endless =
+      () ->
+          new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+              return true;
+            }
+
+            @Override
+            public Cat next() {
+              var i = consumed.getAndIncrement();
+              return new Cat("Cat" + (i % 10), i);
+            }
+          };
+
+  @Override
+  @Before
+  public void setUp() {
+    super.setUp();
+    source = new ArrayList<>();
+    for (var i = 0; i < 500; i++) {
+      var c = new Cat(i % 11 == 0 ? null : "Cat" + (i % 40), i);
+      c.setWeight((i * 13) % 17);
+      source.add(c);
+    }
+  }
+
+  @Test
+  public void top_n() {
+    var all =
+        CollQueryFactory.from(cat, source)
+            .orderBy(cat.weight.desc(), cat.name.asc().nullsLast())
+            .fetch();
+    for (long offset : new long[] {0, 3, 490, 600}) {
+      for (long limit : new long[] {1, 10, 1000}) {
+        var page =
+            CollQueryFactory.from(cat, source)
+                .orderBy(cat.weight.desc(), cat.name.asc().nullsLast())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+        var from = (int) Math.min(offset, all.size());
+        assertThat(page)
+            .containsExactlyElementsOf(all.subList(from, (int) Math.min(from + limit, all.size())));
+      }
+    }
+  }
+
+  @Test
+  public void top_n_projection_and_distinct() {
+    assertThat(
+            CollQueryFactory.from(cat, source)
+                .where(cat.id.gt(100))
+                .orderBy(cat.weight.asc())
+                .limit(40)
+                .distinct()
+                .select(cat.weight)
+                .fetch())
+        .containsExactlyElementsOf(
+            CollQueryFactory.from(cat, source)
+                .where(cat.id.gt(100))
+                .orderBy(cat.weight.asc())
+                .select(cat.weight)
+                .fetch()
+                .subList(0, 40)
+                .stream()
+                .distinct()
+                .toList());
+  }
+
+  @Test
+  public void top_n_multiple_sources() {
+    var others = source.subList(0, 20);
+    var all =
+        CollQueryFactory.from(cat, source)
+            .from(otherCat, others)
+            .where(cat.weight.eq(otherCat.weight))
+            .orderBy(otherCat.name.desc(), cat.id.asc())
+            .select(cat.id, otherCat.id)
+            .fetch();
+    var page =
+        CollQueryFactory.from(cat, source)
+            .from(otherCat, others)
+            .where(cat.weight.eq(otherCat.weight))
+            .orderBy(otherCat.name.desc(), cat.id.asc())
+            .offset(5)
+            .limit(10)
+            .select(cat.id, otherCat.id)
+            .fetch();
+    assertThat(page).containsExactlyElementsOf(all.subList(5, 15));
+  }
+
+  @Test
+  public void limit_stops_evaluation() {
+    assertThat(
+            CollQueryFactory.from(cat, endless)
+                .where(cat.name.eq("Cat3"))
+                .offset(2)
+                .limit(5)
+                .select(cat.id)
+                .fetch())
+        .containsExactly(23, 33, 43, 53, 63);
+    assertThat(consumed.get()).isLessThan(1000);
+  }
+
+  @Test
+  public void exists_stops_evaluation() {
+    assertThat(CollQueryFactory.from(cat, endless).where(cat.id.goe(100)).fetchFirst().getId())
+        .isEqualTo(100);
+    var query = CollQueryFactory.from(cat, endless).where(cat.name.eq("Cat9"));
+    assertThat(DefaultQueryEngine.getDefault().exists(query.getMetadata(), Map.of(cat, endless)))
+        .isTrue();
+    assertThat(consumed.get()).isLessThan(1000);
+  }
+
+  @Test
+  public void iterate_and_stream() {
+    try (var iterator =
+        CollQueryFactory.from(cat, endless).where(cat.name.eq("Cat1")).select(cat.id).iterate()) {
+      assertThat(iterator.next()).isEqualTo(1);
+      assertThat(iterator.next()).isEqualTo(11);
+    }
+    var start = consumed.get();
+    try (var stream =
+        CollQueryFactory.from(cat, endless).where(cat.id.goe(start + 5)).select(cat.id).stream()) {
+      assertThat(stream.limit(3).toList()).containsExactly(start + 5, start + 6, start + 7);
+    }
+  }
+
+  @Test
+  public void limit_with_distinct() {
+    assertThat(CollQueryFactory.from(cat, source).limit(40).distinct().select(cat.weight).fetch())
+        .containsExactlyElementsOf(
+            CollQueryFactory.from(cat, source).select(cat.weight).fetch().subList(0, 40).stream()
+                .distinct()
+                .toList());
+  }
+
+  @Test
+  public void offset_beyond_source() {
+    assertThat(CollQueryFactory.from(cat, source).offset(1000).limit(10).fetch()).isEmpty();
+  }
+}
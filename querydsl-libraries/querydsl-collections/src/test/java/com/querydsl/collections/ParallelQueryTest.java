@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelQueryTest extends AbstractQueryTest {
+
+  private final QueryEngine engine =
+      new DefaultQueryEngine(new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT), 100);
+
+  private List<Cat> source;
+
+  @Override
+  @Before
+  public void setUp() {
+    super.setUp();
+    source = new ArrayList<>();
+    for (var i = 0; i < 1000; i++) {
+      var c = new Cat(i % 13 == 0 ? null : "Cat" + (i % 50), i);
+      c.setWeight((i * 7) % 31);
+      source.add(c);
+    }
+  }
+
+  private <T> void assertSameResults(Function<CollQuery<Void>, List<T>> query) {
+    var expected = query.apply(new CollQuery<>(engine));
+    var actual = query.apply(new CollQuery<Void>(engine).parallel());
+    assertThat(expected).isNotEmpty();
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void filter() {
+    assertSameResults(
+        q -> q.from(cat, source).where(cat.name.startsWith("Cat1"), cat.id.gt(20)).fetch());
+  }
+
+  @Test
+  public void order() {
+    assertSameResults(
+        q ->
+            q.from(cat, source)
+                .where(cat.weight.lt(20))
+                .orderBy(cat.name.asc().nullsLast(), cat.weight.desc())
+                .fetch());
+  }
+
+  @Test
+  public void order_stable() {
+    assertSameResults(q -> q.from(cat, source).orderBy(cat.weight.asc()).select(cat.id).fetch());
+  }
+
+  @Test
+  public void projection_and_paging() {
+    assertSameResults(
+        q ->
+            q.from(cat, source)
+                .orderBy(cat.id.desc())
+                .offset(10)
+                .limit(200)
+                .select(cat.name.concat("!"), cat.id.multiply(2))
+                .fetch());
+  }
+
+  @Test
+  public void aggregates() {
+    assertSameResults(q -> q.from(cat, source).select(cat.weight.sumAggregate()).fetch());
+    assertSameResults(q -> q.from(cat, source).select(cat.weight.avg()).fetch());
+    assertSameResults(q -> q.from(cat, source).select(cat.weight.max()).fetch());
+    assertSameResults(q -> q.from(cat, source).select(cat.id.min()).fetch());
+    assertSameResults(q -> q.from(cat, source).select(cat.weight.countDistinct()).fetch());
+  }
+
+  @Test
+  public void join() {
+    var others = source.subList(0, 50);
+    assertSameResults(
+        q ->
+            q.from(cat, source)
+                .from(otherCat, others)
+                .where(cat.weight.eq(otherCat.weight), cat.id.ne(otherCat.id))
+                .orderBy(otherCat.id.asc())
+                .select(cat.id, otherCat.id)
+                .fetch());
+  }
+
+  @Test
+  public void count_and_distinct() {
+    assertThat(new CollQuery<Void>(engine).parallel().from(cat, source).fetchCount())
+        .isEqualTo(source.size());
+    assertSameResults(q -> q.from(cat, source).distinct().select(cat.name).fetch());
+  }
+
+  @Test
+  public void below_threshold() {
+    var small = source.subList(0, 99);
+    assertThat(
+            new CollQuery<Void>(engine)
+                .parallel()
+                .from(cat, small)
+                .orderBy(cat.weight.asc())
+                .select(cat.weight)
+                .fetch())
+        .isSorted()
+        .hasSize(99);
+  }
+}
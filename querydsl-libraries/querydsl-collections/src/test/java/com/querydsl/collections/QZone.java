@@ -0,0 +1,24 @@
+package com.querydsl.collections;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.BeanPath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.spatial.locationtech.jts.JTSPolygonPath;
+import org.locationtech.jts.geom.Polygon;
+
+public class QZone extends BeanPath<Zone> {
+
+  public final NumberPath<Integer> id = createNumber("id", Integer.class);
+
+  public final JTSPolygonPath<Polygon> geometry = add(new JTSPolygonPath<>(this, "geometry"));
+
+  public static QZone zone = new QZone(new BeanPath<>(Zone.class, "zone"));
+
+  public QZone(BeanPath<? extends Zone> entity) {
+    super(entity.getType(), entity.getMetadata());
+  }
+
+  public QZone(PathMetadata metadata) {
+    super(Zone.class, metadata);
+  }
+}
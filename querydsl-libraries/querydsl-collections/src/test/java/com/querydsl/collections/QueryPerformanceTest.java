@@ -12,20 +12,33 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
 @Ignore
 @Category(Performance.class)
+@State(Scope.Benchmark)
 public class QueryPerformanceTest {
 
   private static final int size = 1000;
 
+  private static final int joinSize = 5000;
+
   private static List<Cat> cats = new ArrayList<>(size);
 
+  private static final QueryEngine indexedEngine = IndexedQueryEngine.getDefault();
+
+  private List<Cat> joinCats;
+
+  private IndexedList<Cat> indexedCats;
+
   @BeforeClass
   public static void setUpClass() throws SQLException, ClassNotFoundException {
     for (var i = 0; i < size; i++) {
@@ -33,6 +46,110 @@ public class QueryPerformanceTest {
     }
   }
 
+  @Setup(Level.Trial)
+  public void setUp() {
+    var cat = QCat.cat;
+    joinCats = new ArrayList<>(joinSize);
+    for (var i = 0; i < joinSize; i++) {
+      var c = new Cat("name" + (i % 500), i);
+      c.setWeight(i % 10);
+      joinCats.add(c);
+    }
+    for (var i = 0; i < joinSize; i++) {
+      joinCats.get(i).setMate(joinCats.get((i * 31) % joinSize));
+    }
+    indexedCats = CollQueryFactory.indexed(joinCats, cat.id, cat.name);
+  }
+
+  private List<Cat> lookup(QueryEngine engine, List<Cat> source) {
+    var cat = QCat.cat;
+    return new CollQuery<Void>(engine)
+        .from(cat, source)
+        .where(cat.id.eq(ThreadLocalRandom.current().nextInt(joinSize)))
+        .select(cat)
+        .fetch();
+  }
+
+  private List<Cat> range(QueryEngine engine, List<Cat> source) {
+    var cat = QCat.cat;
+    return new CollQuery<Void>(engine)
+        .from(cat, source)
+        .where(cat.id.between(100, 200), cat.weight.eq(3))
+        .select(cat)
+        .fetch();
+  }
+
+  private long join(QueryEngine engine, List<Cat> source) {
+    var cat = QCat.cat;
+    var otherCat = new QCat("otherCat");
+    return new CollQuery<Void>(engine)
+        .from(cat, source)
+        .from(otherCat, joinCats)
+        .where(cat.mate.eq(otherCat), otherCat.weight.gt(4))
+        .fetchCount();
+  }
+
+  private List<String> distinct(QueryEngine engine, List<Cat> source) {
+    var cat = QCat.cat;
+    return new CollQuery<Void>(engine).from(cat, source).distinct().select(cat.name).fetch();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<Cat> lookupDefault() {
+    return lookup(DefaultQueryEngine.getDefault(), joinCats);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<Cat> lookupIndexed() {
+    return lookup(indexedEngine, indexedCats);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<Cat> rangeDefault() {
+    return range(DefaultQueryEngine.getDefault(), joinCats);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<Cat> rangeIndexed() {
+    return range(indexedEngine, indexedCats);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public long joinDefault() {
+    return join(DefaultQueryEngine.getDefault(), joinCats);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public long joinIndexed() {
+    return join(indexedEngine, indexedCats);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<String> distinctDefault() {
+    return distinct(DefaultQueryEngine.getDefault(), joinCats);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<String> distinctIndexed() {
+    return distinct(indexedEngine, indexedCats);
+  }
+
   @Benchmark
   @BenchmarkMode(Mode.AverageTime)
   @OutputTimeUnit(TimeUnit.MICROSECONDS)
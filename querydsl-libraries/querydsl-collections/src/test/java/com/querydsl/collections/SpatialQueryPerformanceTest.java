@@ -0,0 +1,114 @@
+package com.querydsl.collections;
+
+import com.querydsl.core.testutil.Performance;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/** Throughput of point in polygon lookups with and without a spatial index */
+@Ignore
+@Category(Performance.class)
+@State(Scope.Benchmark)
+public class SpatialQueryPerformanceTest {
+
+  private static final GeometryFactory factory = new GeometryFactory();
+
+  private static final QueryEngine defaultEngine =
+      new DefaultQueryEngine(new DefaultEvaluatorFactory(JTSTemplates.DEFAULT));
+
+  private static final QueryEngine indexedEngine =
+      new IndexedQueryEngine(new DefaultEvaluatorFactory(JTSTemplates.DEFAULT));
+
+  private static final int SIDE = 1000;
+
+  @Param({"10000", "200000"})
+  public int size;
+
+  private List<Zone> zones;
+
+  private IndexedList<Zone> indexedZones;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var random = ThreadLocalRandom.current();
+    zones = new ArrayList<>(size);
+    for (var i = 0; i < size; i++) {
+      // hexagons with a radius of up to 5
+      double x = random.nextDouble(SIDE), y = random.nextDouble(SIDE), r = random.nextDouble(5);
+      var coordinates = new Coordinate[7];
+      for (var j = 0; j < 6; j++) {
+        coordinates[j] =
+            new Coordinate(x + r * Math.cos(j * Math.PI / 3), y + r * Math.sin(j * Math.PI / 3));
+      }
+      coordinates[6] = coordinates[0];
+      zones.add(new Zone(i, factory.createPolygon(coordinates)));
+    }
+    indexedZones = CollQueryFactory.indexed(zones).withSpatialIndex(QZone.zone.geometry);
+    // builds the index
+    contains(indexedEngine, indexedZones);
+  }
+
+  private List<Zone> contains(QueryEngine engine, List<Zone> source) {
+    var zone = QZone.zone;
+    var random = ThreadLocalRandom.current();
+    var point =
+        factory.createPoint(new Coordinate(random.nextDouble(SIDE), random.nextDouble(SIDE)));
+    return new CollQuery<Void>(engine)
+        .from(zone, source)
+        .where(zone.geometry.contains(point))
+        .select(zone)
+        .fetch();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public List<Zone> containsDefault() {
+    return contains(defaultEngine, zones);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public List<Zone> containsIndexed() {
+    return contains(indexedEngine, indexedZones);
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    var opt =
+        new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,208 @@
+package com.querydsl.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.spatial.SpatialOps;
+import com.querydsl.spatial.locationtech.jts.JTSGeometryExpressions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+public class SpatialQueryTest {
+
+  private static final GeometryFactory factory = new GeometryFactory();
+
+  private static final QueryEngine defaultEngine =
+      new DefaultQueryEngine(new DefaultEvaluatorFactory(JTSTemplates.DEFAULT));
+
+  private static final QueryEngine indexedEngine =
+      new IndexedQueryEngine(new DefaultEvaluatorFactory(JTSTemplates.DEFAULT));
+
+  private final QZone zone = QZone.zone;
+
+  private List<Zone> plain;
+
+  private IndexedList<Zone> indexed;
+
+  @Before
+  public void setUp() {
+    plain = new ArrayList<>();
+    for (var i = 0; i < 400; i++) {
+      var x = (i % 20) * 10;
+      var y = (i / 20) * 10;
+      var size = i % 3 == 0 ? 15 : 10;
+      plain.add(new Zone(i, i % 37 == 0 ? null : box(x, y, x + size, y + size)));
+    }
+    indexed = CollQueryFactory.indexed(plain, zone.id).withSpatialIndex(zone.geometry);
+  }
+
+  private static Polygon box(double minX, double minY, double maxX, double maxY) {
+    return (Polygon) factory.toGeometry(new Envelope(minX, maxX, minY, maxY));
+  }
+
+  private static Point point(double x, double y) {
+    return factory.createPoint(new Coordinate(x, y));
+  }
+
+  private <T> void assertSameResults(Function<CollQuery<Void>, List<T>> query) {
+    var expected = query.apply(new CollQuery<>(defaultEngine));
+    var actual = query.apply(new CollQuery<>(indexedEngine));
+    assertThat(expected).isNotEmpty();
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void contains() {
+    assertSameResults(
+        q ->
+            q.from(zone, indexed)
+                .where(zone.geometry.isNotNull(), zone.geometry.contains(point(55, 42)))
+                .select(zone.id)
+                .fetch());
+  }
+
+  @Test
+  public void intersects() {
+    assertSameResults(
+        q ->
+            q.from(zone, indexed)
+                .where(zone.geometry.isNotNull(), zone.geometry.intersects(box(30, 30, 62, 45)))
+                .select(zone.id)
+                .fetch());
+  }
+
+  @Test
+  public void within() {
+    assertSameResults(
+        q ->
+            q.from(zone, indexed)
+                .where(zone.geometry.isNotNull(), zone.geometry.within(box(0, 0, 50, 50)))
+                .select(zone.id)
+                .fetch());
+  }
+
+  @Test
+  public void reversed_arguments() {
+    var point = new Param<>(Point.class, "point");
+    assertSameResults(
+        q ->
+            q.from(zone, indexed)
+                .where(
+                    zone.geometry.isNotNull(),
+                    JTSGeometryExpressions.asJTSGeometry(point).within(zone.geometry))
+                .set(point, point(125, 95))
+                .select(zone.id)
+                .fetch());
+  }
+
+  @Test
+  public void dwithin() {
+    assertSameResults(
+        q ->
+            q.from(zone, indexed)
+                .where(
+                    zone.geometry.isNotNull(),
+                    JTSGeometryExpressions.dwithin(
+                        zone.geometry, ConstantImpl.create(point(100, 100)), 12.0))
+                .select(zone.id)
+                .fetch());
+  }
+
+  @Test
+  public void combined_with_indexed_conditions() {
+    assertSameResults(
+        q ->
+            q.from(zone, indexed)
+                .where(
+                    zone.geometry.isNotNull(),
+                    zone.id.lt(200),
+                    zone.geometry.intersects(box(0, 40, 200, 60)))
+                .select(zone.id)
+                .fetch());
+  }
+
+  @Test
+  public void null_geometries() {
+    assertSameResults(
+        q ->
+            q.from(zone, indexed)
+                .where(zone.geometry.intersects(box(0, 0, 100, 20)))
+                .select(zone.id)
+                .fetch());
+  }
+
+  @Test
+  public void index_candidates() {
+    var index = SpatialIndex.create(plain, z -> ((Zone) z).getGeometry());
+    var candidates = index.query(SpatialOps.CONTAINS, point(55, 42), null);
+    assertThat(candidates.stream().boxed()).containsExactly(84, 85);
+    assertThat(index.query(SpatialOps.DWITHIN, point(14, -5), 1).isEmpty()).isTrue();
+    assertThat(index.query(SpatialOps.DWITHIN, point(14, -5), 5).stream().boxed())
+        .containsExactly(1);
+  }
+
+  @Test
+  public void empty_geometries() {
+    var zones = new ArrayList<Zone>();
+    for (var i = 0; i < 100; i++) {
+      zones.add(new Zone(i, i % 7 == 0 ? factory.createPolygon() : box(i, 0, i + 10, 10)));
+    }
+    var list = CollQueryFactory.indexed(zones, zone.id).withSpatialIndex(zone.geometry);
+    for (var geometry : List.of(box(20, 0, 30, 5), factory.createPolygon())) {
+      var intersects =
+          (Function<CollQuery<Void>, List<Integer>>)
+              q ->
+                  q.from(zone, list)
+                      .where(zone.geometry.intersects(geometry))
+                      .select(zone.id)
+                      .fetch();
+      assertThat(intersects.apply(new CollQuery<>(indexedEngine)))
+          .containsExactlyElementsOf(intersects.apply(new CollQuery<>(defaultEngine)));
+      var dwithin =
+          (Function<CollQuery<Void>, List<Integer>>)
+              q ->
+                  q.from(zone, list)
+                      .where(
+                          JTSGeometryExpressions.dwithin(
+                              zone.geometry, ConstantImpl.create(geometry), 5.0))
+                      .select(zone.id)
+                      .fetch();
+      assertThat(dwithin.apply(new CollQuery<>(indexedEngine)))
+          .containsExactlyElementsOf(dwithin.apply(new CollQuery<>(defaultEngine)));
+    }
+
+    var index = SpatialIndex.create(zones, z -> ((Zone) z).getGeometry());
+    assertThat(index.query(SpatialOps.INTERSECTS, factory.createPolygon(), null).isEmpty())
+        .isTrue();
+    assertThat(index.query(SpatialOps.DWITHIN, factory.createPolygon(), 5)).isNull();
+    assertThat(index.query(SpatialOps.DWITHIN, point(500, 500), 5).stream().boxed())
+        .containsExactly(0, 7, 14, 21, 28, 35, 42, 49, 56, 63, 70, 77, 84, 91, 98);
+  }
+
+  @Test
+  public void evaluation() {
+    var area =
+        new CollQuery<Void>(defaultEngine)
+            .from(zone, plain)
+            .where(zone.id.eq(1))
+            .select(zone.geometry.area())
+            .fetchOne();
+    assertThat(area).isEqualTo(100.0);
+  }
+
+  @Test
+  public void spatial_indexed_list() {
+    assertThat(indexed).containsExactlyElementsOf(plain);
+    assertThat(indexed.getIndexedPaths()).containsExactly(zone.id);
+    assertThat(indexed.getSpatialIndexedPaths()).containsExactly(zone.geometry);
+  }
+}
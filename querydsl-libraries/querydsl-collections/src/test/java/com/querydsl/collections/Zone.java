@@ -0,0 +1,23 @@
+package com.querydsl.collections;
+
+import org.locationtech.jts.geom.Polygon;
+
+public class Zone {
+
+  private final int id;
+
+  private final Polygon geometry;
+
+  public Zone(int id, Polygon geometry) {
+    this.id = id;
+    this.geometry = geometry;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public Polygon getGeometry() {
+    return geometry;
+  }
+}
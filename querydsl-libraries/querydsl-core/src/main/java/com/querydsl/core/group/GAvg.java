@@ -40,6 +40,10 @@ public class GAvg<T extends Number> extends AbstractGroupExpression<T, T> {
     this.mathContext = mathContext;
   }
 
+  MathContext getMathContext() {
+    return mathContext;
+  }
+
   @Override
   public GroupCollector<T, T> createGroupCollector() {
     return new GroupCollector<>() {
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import static com.querydsl.core.util.TupleUtils.toTuple;
+
+import com.querydsl.core.FetchableQuery;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.FactoryExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.util.MathUtils;
+import com.querydsl.core.util.PrimitiveUtils;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * Provides aggregated results as a map, like {@link GroupByMap}, but keeps the state of {@link
+ * GSum}, {@link GAvg}, {@link GMin} and {@link GMax} columns of primitive number types in flat
+ * per-group {@code long} and {@code double} slots instead of a {@link GroupImpl} with a collector
+ * per column and group. Groups are looked up in an open addressing table, which stores {@link Long}
+ * and {@link Integer} keys as primitive values.
+ *
+ * <p>Other group expressions fall back to their regular collectors. Unlike {@link GroupImpl}, group
+ * expressions of the same column, e.g. {@code sum(price)} and {@code max(price)}, keep separate
+ * state. Sums and averages of {@link Double} and {@link Float} columns are accumulated in double
+ * precision and {@code min} and {@code max} ignore null values.
+ *
+ * @param <K> key type
+ */
+public class GroupByAggregate<K> extends AbstractGroupByTransformer<K, Map<K, Group>> {
+
+  private enum Kind {
+    KEY,
+    SHARED,
+    LONG_SUM,
+    LONG_AVG,
+    LONG_MIN,
+    LONG_MAX,
+    DOUBLE_SUM,
+    DOUBLE_AVG,
+    DOUBLE_MIN,
+    DOUBLE_MAX,
+    COLLECTOR
+  }
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Kind[] kinds;
+
+  private final Class<?>[] types;
+
+  // index of the long, double or collector slot of each column, or the first column of the same
+  // group expression
+  private final int[] slots;
+
+  // index of the long slot which marks min and max columns as set
+  private final int[] flags;
+
+  private final MathContext[] mathContexts;
+
+  private final int longStride, doubleStride, collectorStride;
+
+  private final Map<Expression<?>, Integer> columns = new HashMap<>();
+
+  private final Class<?> keyType;
+
+  GroupByAggregate(Expression<K> key, Expression<?>... expressions) {
+    super(key, expressions);
+    var size = groupExpressions.size();
+    kinds = new Kind[size];
+    types = new Class<?>[size];
+    slots = new int[size];
+    flags = new int[size];
+    mathContexts = new MathContext[size];
+    int longs = 0, doubles = 0, collectors = 0;
+    for (var i = 0; i < size; i++) {
+      GroupExpression<?, ?> groupExpr = groupExpressions.get(i);
+      Expression<?> expr = groupExpr.getExpression();
+      types[i] = PrimitiveUtils.wrap(groupExpr.getType());
+      var owner = groupExpressions.indexOf(groupExpr);
+      if (i == 0) {
+        kinds[i] = Kind.KEY;
+      } else if (owner < i) {
+        kinds[i] = Kind.SHARED;
+        slots[i] = owner;
+      } else {
+        kinds[i] = kind(groupExpr, types[i]);
+        switch (kinds[i]) {
+          case LONG_SUM -> slots[i] = longs++;
+          case LONG_AVG -> {
+            // 128 bit sum, so that averages don't overflow
+            slots[i] = longs;
+            longs += 2;
+            mathContexts[i] = ((GAvg<?>) groupExpr).getMathContext();
+          }
+          case LONG_MIN, LONG_MAX -> {
+            slots[i] = longs++;
+            flags[i] = longs++;
+          }
+          case DOUBLE_SUM, DOUBLE_AVG -> slots[i] = doubles++;
+          case DOUBLE_MIN, DOUBLE_MAX -> {
+            slots[i] = doubles++;
+            flags[i] = longs++;
+          }
+          default -> slots[i] = collectors++;
+        }
+      }
+      columns.putIfAbsent(expr, i);
+      if (expr instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+        columns.putIfAbsent(operation.getArg(1), i);
+      }
+    }
+    longStride = longs;
+    doubleStride = doubles;
+    collectorStride = collectors;
+    keyType = PrimitiveUtils.wrap(key.getType());
+  }
+
+  private static Kind kind(GroupExpression<?, ?> groupExpr, Class<?> type) {
+    var integral =
+        type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+    var floating = type == Double.class || type == Float.class;
+    if (!integral && !floating) {
+      return Kind.COLLECTOR;
+    }
+    // subclasses may define their own collectors
+    var exprType = groupExpr.getClass();
+    if (exprType == GSum.class) {
+      return integral ? Kind.LONG_SUM : Kind.DOUBLE_SUM;
+    } else if (exprType == GAvg.class) {
+      return integral ? Kind.LONG_AVG : Kind.DOUBLE_AVG;
+    } else if (exprType == GMin.class) {
+      return integral ? Kind.LONG_MIN : Kind.DOUBLE_MIN;
+    } else if (exprType == GMax.class) {
+      return integral ? Kind.LONG_MAX : Kind.DOUBLE_MAX;
+    } else {
+      return Kind.COLLECTOR;
+    }
+  }
+
+  @Override
+  public Map<K, Group> transform(FetchableQuery<?, ?> query) {
+    var groups = new Groups();
+
+    FactoryExpression<Tuple> expr = FactoryExpressionUtils.wrap(Projections.tuple(expressions));
+    var hasGroups = false;
+    for (Expression<?> e : expr.getArgs()) {
+      hasGroups |= e instanceof GroupExpression;
+    }
+    if (hasGroups) {
+      expr = withoutGroupExpressions(expr);
+    }
+    try (var iter = query.select(expr).iterate()) {
+      while (iter.hasNext()) {
+        var row = toTuple(iter.next(), expressions).toArray();
+        groups.add(groups.group(row[0]), row);
+      }
+    }
+
+    Map<K, Group> results = new LinkedHashMap<>();
+    for (var g = 0; g < groups.size; g++) {
+      @SuppressWarnings("unchecked") // This type is mandated by the key type
+      var key = (K) groups.key(g);
+      results.put(key, groups.new SlotGroup(g));
+    }
+    return results;
+  }
+
+  private static int hash(int h) {
+    h *= 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int hash(long key) {
+    return hash((int) (key ^ (key >>> 32)));
+  }
+
+  /** Mutable state of a single transformation */
+  private final class Groups {
+
+    // group index + 1 of the non-null keys, 0 for empty positions
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+
+    private int mask = table.length - 1;
+
+    // keys of the groups, primitive while the keys are of the declared Long or Integer type
+    private long[] longKeys;
+
+    private Object[] keys;
+
+    private int nullGroup = -1;
+
+    private int size;
+
+    private int[] counts = new int[INITIAL_CAPACITY];
+
+    private long[] longs = new long[INITIAL_CAPACITY * longStride];
+
+    private double[] doubles = new double[INITIAL_CAPACITY * doubleStride];
+
+    private Object[] collectors = new Object[INITIAL_CAPACITY * collectorStride];
+
+    Groups() {
+      if (keyType == Long.class || keyType == Integer.class) {
+        longKeys = new long[INITIAL_CAPACITY];
+      } else {
+        keys = new Object[INITIAL_CAPACITY];
+      }
+    }
+
+    Object key(int group) {
+      if (group == nullGroup) {
+        return null;
+      } else if (longKeys == null) {
+        return keys[group];
+      } else if (keyType == Integer.class) {
+        return (int) longKeys[group];
+      } else {
+        return longKeys[group];
+      }
+    }
+
+    int group(Object key) {
+      if (key == null) {
+        if (nullGroup < 0) {
+          nullGroup = newGroup();
+        }
+        return nullGroup;
+      } else if (longKeys != null) {
+        if (key.getClass() == keyType) {
+          return group(((Number) key).longValue());
+        }
+        toObjectKeys();
+      }
+      var pos = hash(key.hashCode()) & mask;
+      int g;
+      while ((g = table[pos]) != 0) {
+        if (key.equals(keys[g - 1])) {
+          return g - 1;
+        }
+        pos = (pos + 1) & mask;
+      }
+      g = newGroup();
+      keys[g] = key;
+      insert(pos, g);
+      return g;
+    }
+
+    private int group(long key) {
+      var pos = hash(key) & mask;
+      int g;
+      while ((g = table[pos]) != 0) {
+        if (longKeys[g - 1] == key) {
+          return g - 1;
+        }
+        pos = (pos + 1) & mask;
+      }
+      g = newGroup();
+      longKeys[g] = key;
+      insert(pos, g);
+      return g;
+    }
+
+    private void insert(int pos, int group) {
+      table[pos] = group + 1;
+      if (size * 2 > table.length) {
+        rehash(table.length * 2);
+      }
+    }
+
+    private int keyHash(int group) {
+      return longKeys != null ? hash(longKeys[group]) : hash(keys[group].hashCode());
+    }
+
+    private void rehash(int capacity) {
+      table = new int[capacity];
+      mask = capacity - 1;
+      for (var g = 0; g < size; g++) {
+        if (g != nullGroup) {
+          var pos = keyHash(g) & mask;
+          while (table[pos] != 0) {
+            pos = (pos + 1) & mask;
+          }
+          table[pos] = g + 1;
+        }
+      }
+    }
+
+    /** Switch to boxed keys when the runtime key type doesn't match the declared one */
+    private void toObjectKeys() {
+      keys = new Object[counts.length];
+      for (var g = 0; g < size; g++) {
+        keys[g] = key(g);
+      }
+      longKeys = null;
+      rehash(table.length);
+    }
+
+    private int newGroup() {
+      var g = size++;
+      if (g == counts.length) {
+        var capacity = counts.length * 2;
+        counts = Arrays.copyOf(counts, capacity);
+        longs = Arrays.copyOf(longs, capacity * longStride);
+        doubles = Arrays.copyOf(doubles, capacity * doubleStride);
+        collectors = Arrays.copyOf(collectors, capacity * collectorStride);
+        if (longKeys != null) {
+          longKeys = Arrays.copyOf(longKeys, capacity);
+        } else {
+          keys = Arrays.copyOf(keys, capacity);
+        }
+      }
+      for (var i = 1; i < kinds.length; i++) {
+        if (kinds[i] == Kind.COLLECTOR) {
+          collectors[g * collectorStride + slots[i]] =
+              groupExpressions.get(i).createGroupCollector();
+        }
+      }
+      return g;
+    }
+
+    @SuppressWarnings("unchecked")
+    void add(int group, Object[] row) {
+      counts[group]++;
+      var longBase = group * longStride;
+      var doubleBase = group * doubleStride;
+      for (var i = 1; i < kinds.length; i++) {
+        var value = row[i];
+        switch (kinds[i]) {
+          case KEY, SHARED -> {}
+          case COLLECTOR ->
+              ((GroupCollector<Object, ?>) collectors[group * collectorStride + slots[i]])
+                  .add(value);
+          default -> {
+            if (value != null) {
+              var number = (Number) value;
+              switch (kinds[i]) {
+                case LONG_SUM -> longs[longBase + slots[i]] += number.longValue();
+                case LONG_AVG -> {
+                  var v = number.longValue();
+                  var lo = longBase + slots[i];
+                  var sum = longs[lo] + v;
+                  // carry of the unsigned low word and sign extension of the value
+                  longs[lo + 1] += (v >> 63) + (Long.compareUnsigned(sum, longs[lo]) < 0 ? 1 : 0);
+                  longs[lo] = sum;
+                }
+                case LONG_MIN, LONG_MAX -> {
+                  var v = number.longValue();
+                  var slot = longBase + slots[i];
+                  var flag = longBase + flags[i];
+                  if (longs[flag] == 0
+                      || (kinds[i] == Kind.LONG_MIN ? v < longs[slot] : v > longs[slot])) {
+                    longs[slot] = v;
+                    longs[flag] = 1;
+                  }
+                }
+                case DOUBLE_SUM, DOUBLE_AVG ->
+                    doubles[doubleBase + slots[i]] += number.doubleValue();
+                default -> {
+                  var v = number.doubleValue();
+                  var slot = doubleBase + slots[i];
+                  var flag = longBase + flags[i];
+                  var cmp = Double.compare(v, doubles[slot]);
+                  if (longs[flag] == 0 || (kinds[i] == Kind.DOUBLE_MIN ? cmp < 0 : cmp > 0)) {
+                    doubles[slot] = v;
+                    longs[flag] = 1;
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+
+    Object value(int group, int column) {
+      var slot = slots[column];
+      var longBase = group * longStride;
+      var doubleBase = group * doubleStride;
+      return switch (kinds[column]) {
+        case KEY -> key(group);
+        case SHARED -> value(group, slot);
+        case COLLECTOR -> ((GroupCollector<?, ?>) collectors[group * collectorStride + slot]).get();
+        case LONG_SUM -> cast(longs[longBase + slot], column);
+        case LONG_AVG -> {
+          var lo = longs[longBase + slot];
+          var hi = longs[longBase + slot + 1];
+          BigDecimal sum;
+          if (hi == lo >> 63) {
+            sum = BigDecimal.valueOf(lo);
+          } else {
+            sum =
+                new BigDecimal(
+                    BigInteger.valueOf(hi)
+                        .shiftLeft(64)
+                        .add(new BigInteger(Long.toUnsignedString(lo))));
+          }
+          var avg = sum.divide(BigDecimal.valueOf(counts[group]), mathContexts[column]);
+          yield cast(avg, column);
+        }
+        case DOUBLE_SUM -> cast(doubles[doubleBase + slot], column);
+        case DOUBLE_AVG -> cast(doubles[doubleBase + slot] / counts[group], column);
+        case LONG_MIN, LONG_MAX ->
+            longs[longBase + flags[column]] != 0 ? cast(longs[longBase + slot], column) : null;
+        case DOUBLE_MIN, DOUBLE_MAX ->
+            longs[longBase + flags[column]] != 0 ? cast(doubles[doubleBase + slot], column) : null;
+      };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object cast(Number value, int column) {
+      return MathUtils.cast(value, (Class<Number>) types[column]);
+    }
+
+    /** Group view on the slots of a single group */
+    private final class SlotGroup implements Group {
+
+      private final int group;
+
+      SlotGroup(int group) {
+        this.group = group;
+      }
+
+      @SuppressWarnings("unchecked")
+      private <R> R get(Expression<?> expr) {
+        var column = columns.get(expr);
+        if (column != null) {
+          return (R) value(group, column);
+        }
+        throw new NoSuchElementException(expr.toString());
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T, R> R getGroup(GroupExpression<T, R> definition) {
+        for (var i = 0; i < groupExpressions.size(); i++) {
+          if (groupExpressions.get(i).equals(definition)) {
+            return (R) value(group, i);
+          }
+        }
+        throw new NoSuchElementException(definition.toString());
+      }
+
+      @Override
+      public <T> List<T> getList(Expression<T> expr) {
+        return get(expr);
+      }
+
+      @Override
+      public <K, V> Map<K, V> getMap(Expression<K> key, Expression<V> value) {
+        for (QPair<?, ?> pair : maps) {
+          if (pair.equals(key, value)) {
+            return get(pair);
+          }
+        }
+        throw new NoSuchElementException("GMap(" + key + ", " + value + ")");
+      }
+
+      @Override
+      public <K, V> SortedMap<K, V> getSortedMap(Expression<K> key, Expression<V> value) {
+        for (QPair<?, ?> pair : maps) {
+          if (pair.equals(key, value)) {
+            return get(pair);
+          }
+        }
+        throw new NoSuchElementException("GMap(" + key + ", " + value + ")");
+      }
+
+      @Override
+      public <T> T getOne(Expression<T> expr) {
+        return get(expr);
+      }
+
+      @Override
+      public <T> Set<T> getSet(Expression<T> expr) {
+        return get(expr);
+      }
+
+      @Override
+      public <T> SortedSet<T> getSortedSet(Expression<T> expr) {
+        return get(expr);
+      }
+
+      @Override
+      public Object[] toArray() {
+        List<Object> arr = new ArrayList<>(kinds.length);
+        for (var i = 0; i < kinds.length; i++) {
+          arr.add(value(group, i));
+        }
+        return arr.toArray();
+      }
+    }
+  }
+}
@@ -68,7 +68,34 @@ public class GroupByBuilder<K> {
   }
 
   /**
-   * Get the results as a closeable iterator
+   * Get the results as a map. Sums, averages, minimums and maximums of primitive number types are
+   * accumulated in flat per-group slots, which is cheaper than {@link #as(Expression[])} for large
+   * results with many groups.
+   *
+   * @param expressions projection
+   * @return new result transformer
+   * @see GroupByAggregate
+   */
+  public ResultTransformer<Map<K, Group>> aggregate(Expression<?>... expressions) {
+    return new GroupByAggregate<>(key, expressions);
+  }
+
+  /**
+   * Get the results as a closeable iterator of groups, which are accumulated in parallel and
+   * spilled to temporary files past a configurable number of groups. The query results don't need
+   * to be ordered by the key.
+   *
+   * @param expressions projection
+   * @return new result transformer
+   * @see GroupByPartitioned
+   */
+  public GroupByPartitioned<K> partitioned(Expression<?>... expressions) {
+    return new GroupByPartitioned<>(key, expressions);
+  }
+
+  /**
+   * Get the results as a closeable iterator. Groups are created as soon as the key changes, so the
+   * query results need to be ordered by the key.
    *
    * @param expressions projection
    * @return new result transformer
@@ -143,7 +170,8 @@ public class GroupByBuilder<K> {
   }
 
   /**
-   * Get the results as a closeable iterator
+   * Get the results as a closeable iterator. Groups are created as soon as the key changes, so the
+   * query results need to be ordered by the key.
    *
    * @param expression projection
    * @return new result transformer
@@ -234,7 +262,8 @@ public class GroupByBuilder<K> {
   }
 
   /**
-   * Get the results as a closeable iterator
+   * Get the results as a closeable iterator. Groups are created as soon as the key changes, so the
+   * query results need to be ordered by the key.
    *
    * @param expression projection
    * @return new result transformer
@@ -0,0 +1,443 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import static com.querydsl.core.util.TupleUtils.toTuple;
+
+import com.querydsl.core.CloseableIterator;
+import com.querydsl.core.FetchableQuery;
+import com.querydsl.core.QueryException;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.FactoryExpressionUtils;
+import com.querydsl.core.types.Projections;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Provides aggregated results as a closeable iterator for results which are too large to be grouped
+ * in a single map on the calling thread.
+ *
+ * <p>The rows are hash partitioned by the key over {@link #parallelism(int)} worker threads, which
+ * accumulate the groups of their partitions. When a partition holds its share of {@link
+ * #maxGroupsInMemory(int)} groups, rows of further keys are hash partitioned into temporary files,
+ * while rows of the groups in memory are still accumulated. After the groups in memory have been
+ * iterated, the spilled files are read back one by one and grouped the same way, until no rows are
+ * left. The column values need to be {@link java.io.Serializable} for spilling.
+ *
+ * <p>The query results are read completely before the iterator is returned. Groups are returned in
+ * no particular order, but the rows of each group are collected in query order. Closing the
+ * iterator deletes the remaining temporary files.
+ *
+ * @param <K> key type
+ */
+public class GroupByPartitioned<K> extends AbstractGroupByTransformer<K, CloseableIterator<Group>> {
+
+  private static final int BATCH_SIZE = 256;
+
+  // ObjectOutputStream keeps references to all written objects until reset
+  private static final int RESET_INTERVAL = 1024;
+
+  // number of files the rows of a partition are spilled to, each of which is grouped separately
+  private static final int SPILL_FAN_OUT = 8;
+
+  private static final List<Object[]> END = new ArrayList<>(0);
+
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  private int maxGroupsInMemory = Integer.MAX_VALUE;
+
+  @Nullable private Path spillDirectory;
+
+  GroupByPartitioned(Expression<K> key, Expression<?>... expressions) {
+    super(key, expressions);
+  }
+
+  /**
+   * Set the number of worker threads, which accumulate the groups. Defaults to the number of
+   * available processors, a parallelism of 1 accumulates on the calling thread.
+   *
+   * @param parallelism number of worker threads
+   * @return the current object
+   */
+  public GroupByPartitioned<K> parallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism needs to be at least 1, was " + parallelism);
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of groups which are held in memory, before rows of further groups are
+   * spilled to temporary files. Defaults to no limit.
+   *
+   * @param maxGroupsInMemory maximum number of groups in memory
+   * @return the current object
+   */
+  public GroupByPartitioned<K> maxGroupsInMemory(int maxGroupsInMemory) {
+    if (maxGroupsInMemory < 1) {
+      throw new IllegalArgumentException(
+          "maxGroupsInMemory needs to be at least 1, was " + maxGroupsInMemory);
+    }
+    this.maxGroupsInMemory = maxGroupsInMemory;
+    return this;
+  }
+
+  /**
+   * Set the directory for the temporary files. Defaults to the default temporary-file directory.
+   *
+   * @param spillDirectory directory for temporary files
+   * @return the current object
+   */
+  public GroupByPartitioned<K> spillDirectory(Path spillDirectory) {
+    this.spillDirectory = spillDirectory;
+    return this;
+  }
+
+  @Override
+  public CloseableIterator<Group> transform(FetchableQuery<?, ?> query) {
+    FactoryExpression<Tuple> expr = FactoryExpressionUtils.wrap(Projections.tuple(expressions));
+    var hasGroups = false;
+    for (Expression<?> e : expr.getArgs()) {
+      hasGroups |= e instanceof GroupExpression;
+    }
+    if (hasGroups) {
+      expr = withoutGroupExpressions(expr);
+    }
+
+    var partitionGroups = Math.max(1, maxGroupsInMemory / parallelism);
+    List<Partition> partitions = new ArrayList<>(parallelism);
+    for (var i = 0; i < parallelism; i++) {
+      partitions.add(new Partition(partitionGroups, 0));
+    }
+    try {
+      if (parallelism == 1) {
+        var partition = partitions.get(0);
+        try (var iter = query.select(expr).iterate()) {
+          while (iter.hasNext()) {
+            partition.add(toTuple(iter.next(), expressions).toArray());
+          }
+        }
+      } else {
+        accumulate(query.select(expr), partitions);
+      }
+    } catch (RuntimeException | Error e) {
+      partitions.forEach(Partition::close);
+      throw e;
+    }
+    return new PartitionIterator(partitions);
+  }
+
+  private void accumulate(FetchableQuery<Tuple, ?> query, List<Partition> partitions) {
+    var executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            runnable -> {
+              var thread = new Thread(runnable, "querydsl-groupby");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      List<BlockingQueue<List<Object[]>>> queues = new ArrayList<>(parallelism);
+      List<Future<?>> futures = new ArrayList<>(parallelism);
+      List<List<Object[]>> batches = new ArrayList<>(parallelism);
+      for (Partition partition : partitions) {
+        BlockingQueue<List<Object[]>> queue = new ArrayBlockingQueue<>(4);
+        queues.add(queue);
+        futures.add(executor.submit(() -> consume(queue, partition)));
+        batches.add(new ArrayList<>(BATCH_SIZE));
+      }
+
+      try (var iter = query.iterate()) {
+        while (iter.hasNext()) {
+          var row = toTuple(iter.next(), expressions).toArray();
+          var index = row[0] != null ? Math.floorMod(row[0].hashCode(), parallelism) : 0;
+          var batch = batches.get(index);
+          batch.add(row);
+          if (batch.size() == BATCH_SIZE) {
+            put(queues.get(index), batch);
+            batches.set(index, new ArrayList<>(BATCH_SIZE));
+          }
+        }
+        for (var i = 0; i < parallelism; i++) {
+          if (!batches.get(i).isEmpty()) {
+            put(queues.get(i), batches.get(i));
+          }
+        }
+      } finally {
+        for (BlockingQueue<List<Object[]>> queue : queues) {
+          put(queue, END);
+        }
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new QueryException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new QueryException(e.getCause());
+    } finally {
+      // workers are done or blocked on an empty queue at this point
+      executor.shutdownNow();
+      try {
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static void put(BlockingQueue<List<Object[]>> queue, List<Object[]> batch) {
+    try {
+      queue.put(batch);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new QueryException(e);
+    }
+  }
+
+  private Void consume(BlockingQueue<List<Object[]>> queue, Partition partition)
+      throws InterruptedException {
+    Throwable failure = null;
+    List<Object[]> batch;
+    while ((batch = queue.take()) != END) {
+      // keep draining after a failure, so that the producer doesn't block
+      if (failure == null) {
+        try {
+          for (Object[] row : batch) {
+            partition.add(row);
+          }
+        } catch (RuntimeException | Error e) {
+          failure = e;
+        }
+      }
+    }
+    if (failure instanceof Error error) {
+      throw error;
+    } else if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+    return null;
+  }
+
+  private static int spillIndex(@Nullable Object key, int level) {
+    var h = (key != null ? key.hashCode() : 0) ^ (level * 0x85EBCA6B);
+    h *= 0x9E3779B9;
+    return (h ^ (h >>> 16)) & (SPILL_FAN_OUT - 1);
+  }
+
+  /** Groups of a partition and the spilled rows of further groups */
+  private final class Partition {
+
+    private final int maxGroups;
+
+    // number of times the rows of this partition have been spilled
+    private final int level;
+
+    private final Map<Object, GroupImpl> groups = new LinkedHashMap<>();
+
+    private final SpillFile[] spills = new SpillFile[SPILL_FAN_OUT];
+
+    Partition(int maxGroups, int level) {
+      this.maxGroups = maxGroups;
+      this.level = level;
+    }
+
+    void add(Object[] row) {
+      var group = groups.get(row[0]);
+      if (group == null) {
+        if (groups.size() >= maxGroups) {
+          var index = spillIndex(row[0], level);
+          if (spills[index] == null) {
+            spills[index] = new SpillFile(spillDirectory, maxGroups, level + 1);
+          }
+          spills[index].write(row);
+          return;
+        }
+        group = new GroupImpl(groupExpressions, maps);
+        groups.put(row[0], group);
+      }
+      group.add(row);
+    }
+
+    void close() {
+      for (var i = 0; i < spills.length; i++) {
+        if (spills[i] != null) {
+          spills[i].delete();
+          spills[i] = null;
+        }
+      }
+    }
+  }
+
+  /** Temporary file of serialized rows */
+  private static final class SpillFile {
+
+    private final int maxGroups;
+
+    private final int level;
+
+    private final Path path;
+
+    private final ObjectOutputStream out;
+
+    private int rows;
+
+    SpillFile(@Nullable Path directory, int maxGroups, int level) {
+      this.maxGroups = maxGroups;
+      this.level = level;
+      try {
+        path =
+            directory != null
+                ? Files.createTempFile(directory, "querydsl-groupby", ".tmp")
+                : Files.createTempFile("querydsl-groupby", ".tmp");
+        out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+      } catch (IOException e) {
+        throw new QueryException("Failed to create spill file", e);
+      }
+    }
+
+    void write(Object[] row) {
+      try {
+        out.writeObject(row);
+        if (++rows % RESET_INTERVAL == 0) {
+          out.reset();
+        }
+      } catch (IOException e) {
+        throw new QueryException("Failed to spill row to " + path, e);
+      }
+    }
+
+    void readInto(GroupByPartitioned<?>.Partition partition) {
+      try {
+        out.close();
+        try (var in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+          for (var i = 0; i < rows; i++) {
+            partition.add((Object[]) in.readObject());
+          }
+        }
+      } catch (IOException | ClassNotFoundException e) {
+        partition.close();
+        throw new QueryException("Failed to read spilled rows from " + path, e);
+      } finally {
+        delete();
+      }
+    }
+
+    void delete() {
+      try {
+        out.close();
+      } catch (IOException e) {
+        // ignore, the file is deleted anyway
+      }
+      try {
+        Files.deleteIfExists(path);
+      } catch (IOException e) {
+        throw new QueryException("Failed to delete spill file " + path, e);
+      }
+    }
+  }
+
+  private final class PartitionIterator implements CloseableIterator<Group> {
+
+    private final Deque<Partition> partitions;
+
+    // spilled rows, which are grouped before the remaining partitions
+    private final Deque<SpillFile> spills = new ArrayDeque<>();
+
+    @Nullable private Partition current;
+
+    private Iterator<GroupImpl> groups = Collections.emptyIterator();
+
+    PartitionIterator(List<Partition> partitions) {
+      this.partitions = new ArrayDeque<>(partitions);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!groups.hasNext()) {
+        if (current != null) {
+          for (SpillFile spill : current.spills) {
+            if (spill != null) {
+              spills.push(spill);
+            }
+          }
+          current = null;
+        }
+        if (!spills.isEmpty()) {
+          var spill = spills.pop();
+          current = new Partition(spill.maxGroups, spill.level);
+          spill.readInto(current);
+        } else if (!partitions.isEmpty()) {
+          current = partitions.poll();
+        } else {
+          return false;
+        }
+        groups = current.groups.values().iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public Group next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return groups.next();
+    }
+
+    @Override
+    public void close() {
+      if (current != null) {
+        current.close();
+        current = null;
+      }
+      spills.forEach(SpillFile::delete);
+      spills.clear();
+      partitions.forEach(Partition::close);
+      partitions.clear();
+      groups = Collections.emptyIterator();
+    }
+  }
+}
@@ -131,6 +131,15 @@ public class ConstructorExpression<T> extends FactoryExpressionBase<T> {
     return args;
   }
 
+  /**
+   * Get the parameter types of the invoked constructor
+   *
+   * @return parameter types
+   */
+  public Class<?>[] getParameterTypes() {
+    return parameterTypes.clone();
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public T newInstance(Object... args) {
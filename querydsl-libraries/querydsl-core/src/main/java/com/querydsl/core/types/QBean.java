@@ -285,4 +285,22 @@ public class QBean<T> extends FactoryExpressionBase<T> {
   public List<Expression<?>> getArgs() {
     return new ArrayList<>(bindings.values());
   }
+
+  /**
+   * Get the bindings of this bean projection
+   *
+   * @return property names mapped to the expressions populating them
+   */
+  public Map<String, Expression<?>> getBindings() {
+    return bindings;
+  }
+
+  /**
+   * Get whether fields are populated directly instead of via setters
+   *
+   * @return true, for field access and false, for property access
+   */
+  public boolean isFieldAccess() {
+    return fieldAccess;
+  }
 }
@@ -22,13 +22,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
  * {@code TemplateFactory} is a factory for {@link Template} instances
  *
+ * <p>Parsed templates are cached in bounded concurrent maps. Templates which don't use the escape
+ * dependent like modifiers are shared between all factories, so the {@link Templates} subclasses of
+ * the different modules reuse the same parsed elements.
+ *
  * @author tiwe
  */
 public class TemplateFactory {
@@ -59,11 +63,15 @@ public class TemplateFactory {
           \\}\
           """);
 
-  private final Map<String, Template> cache = Collections.synchronizedMap(new WeakHashMap<>());
+  private static final int MAX_CACHE_SIZE = 4096;
+
+  private static final Map<String, Template> sharedCache = new ConcurrentHashMap<>();
+
+  private final Map<String, Template> cache = new ConcurrentHashMap<>();
 
   private final char escape;
 
-  private final Function<Object, Object> toLowerCase =
+  private static final Function<Object, Object> toLowerCase =
       new Function<>() {
         @Override
         public Object apply(Object arg) {
@@ -77,7 +85,7 @@ public class TemplateFactory {
         }
       };
 
-  private final Function<Object, Object> toUpperCase =
+  private static final Function<Object, Object> toUpperCase =
       new Function<>() {
         @Override
         public Object apply(Object arg) {
@@ -190,87 +198,109 @@ public class TemplateFactory {
   }
 
   public Template create(String template) {
-    if (cache.containsKey(template)) {
-      return cache.get(template);
-    } else {
-      var m = elementPattern.matcher(template);
-      final List<Element> elements = new ArrayList<>();
-      var end = 0;
-      while (m.find()) {
-        if (m.start() > end) {
-          elements.add(new Template.StaticText(template.substring(end, m.start())));
-        }
-        var premodifiers = m.group(1).toLowerCase(Locale.ENGLISH);
-        var index = Integer.parseInt(m.group(2));
-        var postmodifiers = m.group(6).toLowerCase(Locale.ENGLISH);
-        var asString = false;
-        Function<Object, Object> transformer = null;
-        switch (premodifiers.length()) {
-          case 1:
-            transformer = toEndsWithViaLike;
-            break;
-          case 2:
-            transformer = toEndsWithViaLikeLower;
-            break;
-        }
-        switch (postmodifiers.length()) {
-          case 1:
-            switch (postmodifiers.charAt(0)) {
-              case '%':
-                if (transformer == null) {
-                  transformer = toStartsWithViaLike;
-                } else {
-                  transformer = toContainsViaLike;
-                }
-                break;
-              case 'l':
-                transformer = toLowerCase;
-                break;
-              case 'u':
-                transformer = toUpperCase;
-                break;
-              case 's':
-                asString = true;
-                break;
-            }
-            break;
-          case 2:
-            if (transformer == null) {
-              transformer = toStartsWithViaLikeLower;
-            } else {
-              transformer = toContainsViaLikeLower;
-            }
-            break;
-        }
-        if (m.group(4) != null) {
-          var operator = OPERATORS.get(m.group(3));
-          var index2 = Integer.parseInt(m.group(4));
-          elements.add(new Template.Operation(index, index2, operator, asString));
-        } else if (m.group(5) != null) {
-          var operator = OPERATORS.get(m.group(3));
-          Number number;
-          if (m.group(5).contains(".")) {
-            number = new BigDecimal(m.group(5));
+    var rv = sharedCache.get(template);
+    if (rv == null) {
+      rv = cache.get(template);
+    }
+    if (rv == null) {
+      rv = parse(template);
+    }
+    return rv;
+  }
+
+  private Template parse(String template) {
+    var m = elementPattern.matcher(template);
+    final List<Element> elements = new ArrayList<>();
+    var shared = true;
+    var end = 0;
+    while (m.find()) {
+      if (m.start() > end) {
+        elements.add(new Template.StaticText(template.substring(end, m.start())));
+      }
+      var premodifiers = m.group(1).toLowerCase(Locale.ENGLISH);
+      var index = Integer.parseInt(m.group(2));
+      var postmodifiers = m.group(6).toLowerCase(Locale.ENGLISH);
+      var asString = false;
+      Function<Object, Object> transformer = null;
+      switch (premodifiers.length()) {
+        case 1:
+          transformer = toEndsWithViaLike;
+          break;
+        case 2:
+          transformer = toEndsWithViaLikeLower;
+          break;
+      }
+      switch (postmodifiers.length()) {
+        case 1:
+          switch (postmodifiers.charAt(0)) {
+            case '%':
+              if (transformer == null) {
+                transformer = toStartsWithViaLike;
+              } else {
+                transformer = toContainsViaLike;
+              }
+              break;
+            case 'l':
+              transformer = toLowerCase;
+              break;
+            case 'u':
+              transformer = toUpperCase;
+              break;
+            case 's':
+              asString = true;
+              break;
+          }
+          break;
+        case 2:
+          if (transformer == null) {
+            transformer = toStartsWithViaLikeLower;
           } else {
-            number = Integer.valueOf(m.group(5));
+            transformer = toContainsViaLikeLower;
           }
-          elements.add(new Template.OperationConst(index, number, operator, asString));
-        } else if (asString) {
-          elements.add(new Template.AsString(index));
-        } else if (transformer != null) {
-          elements.add(new Template.Transformed(index, transformer));
+          break;
+      }
+      if (m.group(4) != null) {
+        var operator = OPERATORS.get(m.group(3));
+        var index2 = Integer.parseInt(m.group(4));
+        elements.add(new Template.Operation(index, index2, operator, asString));
+      } else if (m.group(5) != null) {
+        var operator = OPERATORS.get(m.group(3));
+        Number number;
+        if (m.group(5).contains(".")) {
+          number = new BigDecimal(m.group(5));
         } else {
-          elements.add(new Template.ByIndex(index));
+          number = Integer.valueOf(m.group(5));
         }
-        end = m.end();
+        elements.add(new Template.OperationConst(index, number, operator, asString));
+      } else if (asString) {
+        elements.add(new Template.AsString(index));
+      } else if (transformer != null) {
+        shared &= transformer == toLowerCase || transformer == toUpperCase;
+        elements.add(new Template.Transformed(index, transformer));
+      } else {
+        elements.add(new Template.ByIndex(index));
       }
-      if (end < template.length()) {
-        elements.add(new Template.StaticText(template.substring(end)));
+      end = m.end();
+    }
+    if (end < template.length()) {
+      elements.add(new Template.StaticText(template.substring(end)));
+    }
+    var rv = new Template(template, CollectionUtils.unmodifiableList(elements));
+    return put(shared ? sharedCache : cache, template, rv);
+  }
+
+  private static Template put(Map<String, Template> target, String template, Template parsed) {
+    if (target.size() >= MAX_CACHE_SIZE) {
+      // evict an arbitrary entry, the templates of the Templates instances are kept in their
+      // operator maps, so only ad hoc templates are affected
+      var it = target.keySet().iterator();
+      if (it.hasNext()) {
+        it.next();
+        it.remove();
       }
-      var rv = new Template(template, CollectionUtils.unmodifiableList(elements));
-      cache.put(template, rv);
-      return rv;
     }
+    var existing = target.putIfAbsent(template, parsed);
+    return existing != null ? existing : parsed;
   }
 
   public String escapeForLike(String str) {
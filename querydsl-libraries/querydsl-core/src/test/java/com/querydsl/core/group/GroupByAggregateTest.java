@@ -0,0 +1,230 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import static com.querydsl.core.group.AbstractGroupByTest.BASIC_RESULTS;
+import static com.querydsl.core.group.AbstractGroupByTest.BASIC_RESULTS_UNORDERED;
+import static com.querydsl.core.group.AbstractGroupByTest.commentId;
+import static com.querydsl.core.group.AbstractGroupByTest.commentText;
+import static com.querydsl.core.group.AbstractGroupByTest.postId;
+import static com.querydsl.core.group.AbstractGroupByTest.postName;
+import static com.querydsl.core.group.AbstractGroupByTest.projectable;
+import static com.querydsl.core.group.AbstractGroupByTest.row;
+import static com.querydsl.core.group.GroupBy.avg;
+import static com.querydsl.core.group.GroupBy.groupBy;
+import static com.querydsl.core.group.GroupBy.list;
+import static com.querydsl.core.group.GroupBy.max;
+import static com.querydsl.core.group.GroupBy.min;
+import static com.querydsl.core.group.GroupBy.set;
+import static com.querydsl.core.group.GroupBy.sum;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.support.DummyFetchableQuery;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+
+public class GroupByAggregateTest {
+
+  private static final NumberPath<Long> groupId = Expressions.numberPath(Long.class, "groupId");
+
+  private static final NumberPath<Long> amount = Expressions.numberPath(Long.class, "amount");
+
+  private static final NumberPath<Integer> quantity =
+      Expressions.numberPath(Integer.class, "quantity");
+
+  private static final NumberPath<Double> price = Expressions.numberPath(Double.class, "price");
+
+  // [ groupId, amount, quantity, price ]
+  private static DummyFetchableQuery<Tuple> random(int rows, int groups, boolean nulls) {
+    var random = new Random(rows);
+    List<Object[]> results = new ArrayList<>(rows);
+    for (var i = 0; i < rows; i++) {
+      var isNull = nulls && random.nextInt(10) == 0;
+      results.add(
+          row(
+              i % 97 == 0 ? null : (long) random.nextInt(groups),
+              isNull ? null : random.nextLong(-1000, 1000),
+              isNull ? null : random.nextInt(100),
+              isNull ? null : random.nextInt(10000) / 4.0));
+    }
+    return projectable(results.toArray(new Object[0][]));
+  }
+
+  private static DummyFetchableQuery<Tuple> columns(
+      DummyFetchableQuery<Tuple> query, int... indexes) {
+    List<Object[]> rows = new ArrayList<>();
+    for (Tuple tuple : query.fetch()) {
+      var row = new Object[indexes.length];
+      for (var i = 0; i < indexes.length; i++) {
+        row[i] = tuple.get(indexes[i], Object.class);
+      }
+      rows.add(row);
+    }
+    return projectable(rows.toArray(new Object[0][]));
+  }
+
+  private static void assertSameGroups(
+      DummyFetchableQuery<Tuple> query, Expression<?> key, Expression<?>... expressions) {
+    @SuppressWarnings("unchecked")
+    var builder = groupBy((Expression<Object>) key);
+    Map<Object, Group> expected = query.transform(builder.as(expressions));
+    Map<Object, Group> actual = query.transform(builder.aggregate(expressions));
+    assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+    for (Map.Entry<Object, Group> entry : expected.entrySet()) {
+      assertThat(actual.get(entry.getKey()).toArray()).isEqualTo(entry.getValue().toArray());
+    }
+  }
+
+  @Test
+  public void integral_aggregates() {
+    var query = random(10000, 500, true);
+    assertSameGroups(columns(query, 0, 1), groupId, sum(amount));
+    assertSameGroups(columns(query, 0, 1), groupId, avg(amount));
+    assertSameGroups(columns(query, 0, 2), groupId, sum(quantity));
+    assertSameGroups(columns(query, 0, 2), groupId, avg(quantity));
+    // GMin and GMax don't support null values
+    query = random(10000, 500, false);
+    assertSameGroups(columns(query, 0, 1), groupId, min(amount));
+    assertSameGroups(columns(query, 0, 1), groupId, max(amount));
+    assertSameGroups(columns(query, 0, 2), groupId, min(quantity));
+    assertSameGroups(columns(query, 0, 2), groupId, max(quantity));
+  }
+
+  @Test
+  public void double_aggregates() {
+    var query = random(10000, 50, true);
+    Map<Long, Group> results =
+        columns(query, 0, 3, 3, 3, 3)
+            .transform(groupBy(groupId).aggregate(sum(price), avg(price), min(price), max(price)));
+    Map<Long, Double> sums = columns(query, 0, 3).transform(groupBy(groupId).as(sum(price)));
+    Map<Long, Double> avgs = columns(query, 0, 3).transform(groupBy(groupId).as(avg(price)));
+    assertThat(results.keySet()).containsExactlyElementsOf(sums.keySet());
+    Map<Long, List<Double>> prices = new HashMap<>();
+    for (Tuple row : query.fetch()) {
+      var value = row.get(3, Double.class);
+      if (value != null) {
+        prices.computeIfAbsent(row.get(0, Long.class), k -> new ArrayList<>()).add(value);
+      }
+    }
+    for (Map.Entry<Long, Group> entry : results.entrySet()) {
+      var group = entry.getValue();
+      assertThat(group.getGroup(sum(price))).isCloseTo(sums.get(entry.getKey()), within(1e-6));
+      assertThat(group.getGroup(avg(price))).isCloseTo(avgs.get(entry.getKey()), within(1e-6));
+      assertThat(group.getGroup(min(price))).isEqualTo(Collections.min(prices.get(entry.getKey())));
+      assertThat(group.getGroup(max(price))).isEqualTo(Collections.max(prices.get(entry.getKey())));
+    }
+  }
+
+  @Test
+  public void separate_state_per_group_expression() {
+    var query =
+        projectable(row(1L, 3L, 3L, 3L, 3L), row(1L, 1L, 1L, 1L, 1L), row(2L, 5L, 5L, 5L, 5L));
+    Map<Long, Group> results =
+        query.transform(
+            groupBy(groupId).aggregate(sum(amount), avg(amount), min(amount), max(amount)));
+    assertThat(results.get(1L).toArray()).isEqualTo(new Object[] {1L, 4L, 2L, 1L, 3L});
+    assertThat(results.get(2L).toArray()).isEqualTo(new Object[] {2L, 5L, 5L, 5L, 5L});
+    assertThat(results.get(1L).getOne(amount)).isEqualTo(4L);
+  }
+
+  @Test
+  public void collectors() {
+    assertSameGroups(BASIC_RESULTS_UNORDERED, postId, postName, set(commentId), list(commentText));
+  }
+
+  @Test
+  public void object_keys() {
+    var random = new Random(1);
+    List<Object[]> rows = new ArrayList<>();
+    for (var i = 0; i < 2000; i++) {
+      rows.add(row(i % 101 == 0 ? null : "post " + random.nextInt(300), (long) i));
+    }
+    assertSameGroups(projectable(rows.toArray(new Object[0][])), postName, sum(amount));
+  }
+
+  @Test
+  public void undeclared_key_type() {
+    // Integer values for a Long key
+    var query =
+        projectable(row(1L, 1L), row(2L, 2L), row(1, 3L), row(null, 4L), row(1L, 5L), row(1, 6L));
+    Map<Long, Group> results = query.transform(groupBy(groupId).aggregate(sum(amount)));
+    assertThat(new ArrayList<Object>(results.keySet())).containsExactly(1L, 2L, 1, null);
+    assertThat(results.get(1L).getGroup(sum(amount))).isEqualTo(6L);
+    assertThat(results.get(1).getGroup(sum(amount))).isEqualTo(9L);
+    assertThat(results.get(null).getOne(groupId)).isNull();
+  }
+
+  @Test
+  public void avg_overflow() {
+    var query = projectable(row(1L, Long.MAX_VALUE), row(1L, Long.MAX_VALUE), row(1L, 1L));
+    Map<Long, Group> results = query.transform(groupBy(groupId).aggregate(avg(amount)));
+    assertThat(results.get(1L).getGroup(avg(amount))).isEqualTo(Long.MAX_VALUE / 3 * 2 + 1);
+    results = query.transform(groupBy(groupId).aggregate(sum(amount)));
+    assertThat(results.get(1L).getGroup(sum(amount))).isEqualTo(Long.MAX_VALUE * 2 + 1);
+  }
+
+  @Test
+  public void avg_math_context() {
+    var query = projectable(row(1L, 1.0), row(1L, 2.0));
+    var avg = avg(price, new MathContext(3, RoundingMode.HALF_UP));
+    Map<Long, Group> results = query.transform(groupBy(groupId).aggregate(avg));
+    assertThat(results.get(1L).getGroup(avg)).isEqualTo(1.5);
+
+    var intAvg = avg(quantity, new MathContext(1, RoundingMode.DOWN));
+    results = projectable(row(1L, 19), row(1L, 20)).transform(groupBy(groupId).aggregate(intAvg));
+    assertThat(results.get(1L).getGroup(intAvg)).isEqualTo(10);
+  }
+
+  @Test
+  public void min_max_ignore_nulls() {
+    var query =
+        projectable(row(1L, 3L, 3L), row(1L, null, null), row(1L, 2L, 2L), row(2L, null, null));
+    Map<Long, Group> results =
+        query.transform(groupBy(groupId).aggregate(min(amount), max(amount)));
+    assertThat(results.get(1L).toArray()).isEqualTo(new Object[] {1L, 2L, 3L});
+    assertThat(results.get(2L).toArray()).isEqualTo(new Object[] {2L, null, null});
+  }
+
+  @Test
+  public void get_one() {
+    Map<Integer, Group> results =
+        BASIC_RESULTS.transform(groupBy(postId).aggregate(postName, sum(commentId)));
+    var group = results.get(1);
+    assertThat(group.getOne(postId)).isEqualTo(1);
+    assertThat(group.getOne(postName)).isEqualTo("post 1");
+    assertThat(group.getOne(commentId)).isEqualTo(6);
+    assertThat(Arrays.asList(results.get(null).toArray())).containsExactly(null, "null post", 15);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void noSuchElementException() {
+    Map<Integer, Group> results =
+        BASIC_RESULTS.transform(groupBy(postId).aggregate(postName, sum(commentId)));
+    results.get(1).getGroup(max(commentId));
+  }
+}
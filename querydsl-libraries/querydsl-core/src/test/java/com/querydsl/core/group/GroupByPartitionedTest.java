@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import static com.querydsl.core.group.AbstractGroupByTest.BASIC_RESULTS_UNORDERED;
+import static com.querydsl.core.group.AbstractGroupByTest.commentId;
+import static com.querydsl.core.group.AbstractGroupByTest.commentText;
+import static com.querydsl.core.group.AbstractGroupByTest.postId;
+import static com.querydsl.core.group.AbstractGroupByTest.postName;
+import static com.querydsl.core.group.AbstractGroupByTest.projectable;
+import static com.querydsl.core.group.AbstractGroupByTest.row;
+import static com.querydsl.core.group.GroupBy.groupBy;
+import static com.querydsl.core.group.GroupBy.list;
+import static com.querydsl.core.group.GroupBy.set;
+import static com.querydsl.core.group.GroupBy.sum;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.querydsl.core.QueryException;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.support.DummyFetchableQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GroupByPartitionedTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  // [ postId, postName, commentId, commentText ]
+  private static DummyFetchableQuery<Tuple> random(int rows, int groups) {
+    var random = new Random(rows);
+    List<Object[]> results = new ArrayList<>(rows);
+    for (var i = 0; i < rows; i++) {
+      var id = i % 101 == 0 ? null : random.nextInt(groups);
+      results.add(row(id, "post " + id, i, "comment " + i));
+    }
+    return projectable(results.toArray(new Object[0][]));
+  }
+
+  private static Map<Object, List<Object>> toMap(Iterable<Group> groups) {
+    Map<Object, List<Object>> results = new HashMap<>();
+    for (Group group : groups) {
+      var array = group.toArray();
+      assertThat(results.put(array[0], Arrays.asList(array))).isNull();
+    }
+    return results;
+  }
+
+  private void assertSameGroups(
+      DummyFetchableQuery<Tuple> query, int parallelism, int maxGroupsInMemory) {
+    Map<Integer, Group> expected =
+        query.transform(groupBy(postId).as(postName, sum(commentId), list(commentText)));
+    List<Group> actual = new ArrayList<>();
+    try (var iterator =
+        query.transform(
+            groupBy(postId)
+                .partitioned(postName, sum(commentId), list(commentText))
+                .parallelism(parallelism)
+                .maxGroupsInMemory(maxGroupsInMemory)
+                .spillDirectory(folder.getRoot().toPath()))) {
+      iterator.forEachRemaining(actual::add);
+    }
+    assertThat(toMap(actual)).isEqualTo(toMap(expected.values()));
+    assertThat(folder.getRoot().list()).isEmpty();
+  }
+
+  @Test
+  public void single_thread() {
+    assertSameGroups(BASIC_RESULTS_UNORDERED, 1, Integer.MAX_VALUE);
+    assertSameGroups(random(10000, 1000), 1, Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void parallel() {
+    assertSameGroups(random(10000, 1000), 4, Integer.MAX_VALUE);
+    assertSameGroups(random(100, 1000), 7, Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void spill() {
+    assertSameGroups(BASIC_RESULTS_UNORDERED, 1, 1);
+    assertSameGroups(random(10000, 1000), 1, 100);
+  }
+
+  @Test
+  public void parallel_spill() {
+    assertSameGroups(random(20000, 2000), 4, 100);
+    assertSameGroups(random(20000, 2000), 3, 1);
+  }
+
+  @Test
+  public void collectors() {
+    try (var iterator =
+        BASIC_RESULTS_UNORDERED.transform(
+            groupBy(postId)
+                .partitioned(postName, set(commentId), list(commentText))
+                .parallelism(2)
+                .maxGroupsInMemory(2)
+                .spillDirectory(folder.getRoot().toPath()))) {
+      Map<Integer, Group> groups = new HashMap<>();
+      iterator.forEachRemaining(group -> groups.put(group.getOne(postId), group));
+      assertThat(groups).containsOnlyKeys(null, 1, 2, 3);
+      assertThat(groups.get(1).getSet(commentId)).containsOnly(1, 2, 3);
+      assertThat(groups.get(1).getList(commentText))
+          .containsExactly("comment 2", "comment 1", "comment 3");
+      assertThat(groups.get(null).getList(commentText)).containsExactly("comment 8", "comment 7");
+    }
+  }
+
+  @Test
+  public void close_deletes_spill_files() {
+    var iterator =
+        random(10000, 1000)
+            .transform(
+                groupBy(postId)
+                    .partitioned(postName, sum(commentId))
+                    .parallelism(2)
+                    .maxGroupsInMemory(10)
+                    .spillDirectory(folder.getRoot().toPath()));
+    assertThat(iterator.next()).isNotNull();
+    assertThat(folder.getRoot().list()).isNotEmpty();
+    iterator.close();
+    assertThat(folder.getRoot().list()).isEmpty();
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void not_serializable() {
+    var query = projectable(row(1, new Object()), row(2, new Object()));
+    assertThatThrownBy(
+            () ->
+                query.transform(
+                    groupBy(postId)
+                        .partitioned(list(commentText))
+                        .parallelism(1)
+                        .maxGroupsInMemory(1)
+                        .spillDirectory(folder.getRoot().toPath())))
+        .isInstanceOf(QueryException.class);
+    assertThat(folder.getRoot().list()).isEmpty();
+  }
+
+  @Test
+  public void worker_failure() {
+    var query = projectable(row(1, 1), row(2, "2"), row(3, "three"));
+    assertThatThrownBy(
+            () -> query.transform(groupBy(postId).partitioned(sum(commentId)).parallelism(2)))
+        .isInstanceOf(ClassCastException.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void illegal_parallelism() {
+    groupBy(postId).partitioned(postName).parallelism(0);
+  }
+}
@@ -0,0 +1,116 @@
+package com.querydsl.core.group;
+
+import static com.querydsl.core.group.GroupBy.avg;
+import static com.querydsl.core.group.GroupBy.groupBy;
+import static com.querydsl.core.group.GroupBy.max;
+import static com.querydsl.core.group.GroupBy.min;
+import static com.querydsl.core.group.GroupBy.sum;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.support.DummyFetchableQuery;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+@Ignore
+@Category(Performance.class)
+@State(Scope.Benchmark)
+public class GroupByPerformanceTest {
+
+  private static final int rows = 100000;
+
+  private static final NumberPath<Long> groupId = Expressions.numberPath(Long.class, "groupId");
+
+  private static final NumberPath<Long> amount = Expressions.numberPath(Long.class, "amount");
+
+  private static final NumberPath<Integer> quantity =
+      Expressions.numberPath(Integer.class, "quantity");
+
+  private static final NumberPath<Double> price = Expressions.numberPath(Double.class, "price");
+
+  private static final NumberPath<Double> weight = Expressions.numberPath(Double.class, "weight");
+
+  private static final Expression<?>[] aggregates = {
+    sum(amount), avg(quantity), min(price), max(weight)
+  };
+
+  @Param({"100", "10000"})
+  private int groups;
+
+  private DummyFetchableQuery<Tuple> query;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var random = new Random(groups);
+    List<Tuple> tuples = new ArrayList<>(rows);
+    for (var i = 0; i < rows; i++) {
+      tuples.add(
+          new MockTuple(
+              new Object[] {
+                (long) random.nextInt(groups),
+                random.nextLong(1000),
+                random.nextInt(100),
+                random.nextInt(10000) / 4.0,
+                random.nextDouble()
+              }));
+    }
+    query = new DummyFetchableQuery<>(tuples);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Map<Long, Group> groupByMap() {
+    return query.transform(groupBy(groupId).as(aggregates));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Map<Long, Group> groupByAggregate() {
+    return query.transform(groupBy(groupId).aggregate(aggregates));
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    var opt =
+        new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
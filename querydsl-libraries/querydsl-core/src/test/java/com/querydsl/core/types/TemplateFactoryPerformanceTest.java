@@ -0,0 +1,71 @@
+package com.querydsl.core.types;
+
+import com.querydsl.core.testutil.Performance;
+import java.util.concurrent.TimeUnit;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+@Ignore
+@Category(Performance.class)
+@State(Scope.Benchmark)
+public class TemplateFactoryPerformanceTest {
+
+  private static final String[] patterns = {
+    "{0} = {1}",
+    "{0} + {1}",
+    "lower({0})",
+    "{0l} = {1l}",
+    "coalesce({0}, {1})",
+    "{0} like {1%} escape '\\'",
+    "substring({0},{1+'1'},{2-1s})",
+    "{0} between {1} and {2}"
+  };
+
+  private final TemplateFactory factory = new TemplateFactory('\\');
+
+  private final TemplateFactory other = new TemplateFactory('!');
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int create() {
+    var length = 0;
+    for (String pattern : patterns) {
+      length += factory.create(pattern).getElements().size();
+      length += other.create(pattern).getElements().size();
+    }
+    return length;
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    for (int threads : new int[] {1, 2, 4, 8, 16, 32}) {
+      var opt =
+          new OptionsBuilder()
+              .include(this.getClass().getName() + ".*")
+              .mode(Mode.Throughput)
+              .timeUnit(TimeUnit.MICROSECONDS)
+              .warmupTime(TimeValue.seconds(1))
+              .warmupIterations(3)
+              .measurementTime(TimeValue.seconds(1))
+              .measurementIterations(3)
+              .threads(threads)
+              .forks(1)
+              .shouldFailOnError(true)
+              .shouldDoGC(true)
+              .build();
+
+      new Runner(opt).run();
+    }
+  }
+}
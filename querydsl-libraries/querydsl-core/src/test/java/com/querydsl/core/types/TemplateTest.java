@@ -59,6 +59,18 @@ public class TemplateTest {
     match("[0]", factory.create("{%%0%%}"));
   }
 
+  @Test
+  public void shared_between_factories() {
+    var template = new TemplateFactory('\\').create("{0l} shared {1}");
+    assertThat(new TemplateFactory('!').create("{0l} shared {1}")).isSameAs(template);
+  }
+
+  @Test
+  public void like_not_shared_between_factories() {
+    var template = new TemplateFactory('\\').create("{0} like {1%}");
+    assertThat(new TemplateFactory('\\').create("{0} like {1%}")).isNotSameAs(template);
+  }
+
   private void match(String string, Template template) {
     assertThat(template.getElements()).hasToString(string);
   }
@@ -17,19 +17,28 @@ package com.querydsl.mongodb.document;
 
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoIterable;
 import com.querydsl.core.CloseableIterator;
 import com.querydsl.core.Fetchable;
+import com.querydsl.core.JoinExpression;
 import com.querydsl.core.NonUniqueResultException;
 import com.querydsl.core.QueryModifiers;
 import com.querydsl.core.QueryResults;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.util.MathUtils;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.bson.Document;
 import org.jetbrains.annotations.Nullable;
 
@@ -44,6 +53,8 @@ public abstract class AbstractFetchableMongodbQuery<
         K, Q extends AbstractFetchableMongodbQuery<K, Q>>
     extends AbstractMongodbQuery<Q> implements Fetchable<K> {
 
+  private static final String JOIN_FIELD_PREFIX = "__join";
+
   private final Function<Document, K> transformer;
 
   private final MongoCollection<Document> collection;
@@ -77,7 +88,51 @@ public abstract class AbstractFetchableMongodbQuery<
 
   @Override
   public CloseableIterator<K> iterate() {
-    var cursor = createCursor();
+    return iterate(transformer);
+  }
+
+  /**
+   * Iterate with the given projection. Only the fields used by the projection are fetched and the
+   * projection is populated from them instead of using the transformer of this query.
+   *
+   * @param projection projection
+   * @return iterator
+   */
+  public <T> CloseableIterator<T> iterate(FactoryExpression<T> projection) {
+    getQueryMixin().setProjection(projection);
+    return iterate(createProjectionTransformer(projection));
+  }
+
+  /**
+   * Stream with the given projection, see {@link #iterate(FactoryExpression)}. The stream needs to
+   * be closed.
+   *
+   * @param projection projection
+   * @return closeable stream
+   */
+  public <T> Stream<T> stream(FactoryExpression<T> projection) {
+    var iterator = iterate(projection);
+    var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+    return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+  }
+
+  /**
+   * Fetch with the given projection, see {@link #iterate(FactoryExpression)}
+   *
+   * @param projection projection
+   * @return results
+   */
+  public <T> List<T> fetch(FactoryExpression<T> projection) {
+    getQueryMixin().setProjection(projection);
+    try {
+      return fetch(createProjectionTransformer(projection));
+    } catch (NoResults ex) {
+      return Collections.emptyList();
+    }
+  }
+
+  private <T> CloseableIterator<T> iterate(Function<Document, T> transformer) {
+    var cursor = createResults(null);
     final var iterator = cursor.iterator();
 
     return new CloseableIterator<>() {
@@ -87,7 +142,7 @@ public abstract class AbstractFetchableMongodbQuery<
       }
 
       @Override
-      public K next() {
+      public T next() {
         return transformer.apply(iterator.next());
       }
 
@@ -101,6 +156,18 @@ public abstract class AbstractFetchableMongodbQuery<
     };
   }
 
+  /**
+   * Set the projection of this query. Next to paths, the projection may contain the aggregates
+   * {@code count}, {@code countDistinct}, {@code sum}, {@code avg}, {@code min} and {@code max}.
+   *
+   * @param exprs projection
+   * @return the current object
+   */
+  public Q select(Expression<?>... exprs) {
+    getQueryMixin().setProjection(exprs);
+    return getQueryMixin().getSelf();
+  }
+
   /**
    * Fetch with the specific fields
    *
@@ -115,17 +182,61 @@ public abstract class AbstractFetchableMongodbQuery<
   @Override
   public List<K> fetch() {
     try {
-      var cursor = createCursor();
-      List<K> results = new ArrayList<>();
-      for (Document document : cursor) {
-        results.add(transformer.apply(document));
-      }
-      return results;
+      return fetch(transformer);
     } catch (NoResults ex) {
       return Collections.emptyList();
     }
   }
 
+  private <T> List<T> fetch(Function<Document, T> transformer) {
+    List<T> results = new ArrayList<>();
+    try (var iterator = createResults(null).iterator()) {
+      while (iterator.hasNext()) {
+        results.add(transformer.apply(iterator.next()));
+      }
+    }
+    return results;
+  }
+
+  private <T> Function<Document, T> createProjectionTransformer(FactoryExpression<T> projection) {
+    var grouped = getSerializer().isAggregation(getQueryMixin().getMetadata());
+    return document -> newInstance(projection, document, grouped);
+  }
+
+  private <T> T newInstance(FactoryExpression<T> projection, Document document, boolean grouped) {
+    List<Expression<?>> args = projection.getArgs();
+    var values = new Object[args.size()];
+    for (var i = 0; i < values.length; i++) {
+      values[i] = getValue(args.get(i), document, grouped);
+    }
+    return projection.newInstance(values);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  @Nullable
+  private Object getValue(Expression<?> expr, Document document, boolean grouped) {
+    if (expr instanceof FactoryExpression<?> factory) {
+      return newInstance(factory, document, grouped);
+    } else if (expr instanceof Path<?> path && path.getMetadata().getParent() == null) {
+      return transformer.apply(document);
+    }
+
+    Object value = document;
+    for (String key : getSerializer().getResultKey(expr, grouped).split("\\.")) {
+      value = value instanceof Document doc ? doc.get(key) : null;
+    }
+
+    Class<?> type = expr.getType();
+    if (value instanceof String str && type.isEnum()) {
+      return Enum.valueOf((Class) type, str);
+    } else if (value instanceof Number number
+        && Number.class.isAssignableFrom(type)
+        && !type.isInstance(value)) {
+      return MathUtils.cast(number, (Class) type);
+    }
+    return value;
+  }
+
   /**
    * Fetch first with the specific fields
    *
@@ -140,7 +251,7 @@ public abstract class AbstractFetchableMongodbQuery<
   @Override
   public K fetchFirst() {
     try {
-      var c = createCursor().limit(1);
+      var c = createResults(1);
       var iterator = c.iterator();
       try {
 
@@ -176,7 +287,7 @@ public abstract class AbstractFetchableMongodbQuery<
         limit = 2L;
       }
 
-      var c = createCursor().limit(limit.intValue());
+      var c = createResults(limit.intValue());
       var iterator = c.iterator();
       try {
 
@@ -226,13 +337,118 @@ public abstract class AbstractFetchableMongodbQuery<
   @Override
   public long fetchCount() {
     try {
-      Predicate filter = createFilter(getQueryMixin().getMetadata());
+      var metadata = getQueryMixin().getMetadata();
+      var grouped = getSerializer().isAggregation(metadata);
+      var pipeline = grouped ? createFilterPipeline() : createJoinPipeline();
+      if (pipeline != null) {
+        if (grouped) {
+          pipeline.addAll(getSerializer().toGroupStages(metadata));
+        }
+        pipeline.add(new Document("$count", "count"));
+        var result = aggregate(pipeline).first();
+        return result != null ? ((Number) result.get("count")).longValue() : 0L;
+      }
+      Predicate filter = createFilter(metadata);
       return collection.countDocuments(createQuery(filter));
     } catch (NoResults ex) {
       return 0L;
     }
   }
 
+  private MongoIterable<Document> createResults(@Nullable Integer limit) {
+    var metadata = getQueryMixin().getMetadata();
+    var grouped = getSerializer().isAggregation(metadata);
+    var pipeline = grouped ? createFilterPipeline() : createJoinPipeline();
+    if (pipeline == null) {
+      var cursor = createCursor();
+      return limit != null ? cursor.limit(limit) : cursor;
+    }
+
+    var modifiers = metadata.getModifiers();
+    if (grouped) {
+      pipeline.addAll(getSerializer().toGroupStages(metadata));
+    } else if (!metadata.getOrderBy().isEmpty()) {
+      pipeline.add(new Document("$sort", getSerializer().toSort(metadata.getOrderBy())));
+    }
+    if (modifiers.getOffset() != null) {
+      pipeline.add(new Document("$skip", modifiers.getOffset()));
+    }
+    if (limit != null) {
+      pipeline.add(new Document("$limit", limit));
+    } else if (modifiers.getLimit() != null) {
+      pipeline.add(new Document("$limit", modifiers.getLimit()));
+    }
+    var projection = grouped ? null : createProjection(metadata.getProjection());
+    if (projection != null) {
+      pipeline.add(new Document("$project", projection));
+    }
+    return aggregate(pipeline);
+  }
+
+  private MongoIterable<Document> aggregate(List<Document> pipeline) {
+    var readPreference = getReadPreference();
+    var collectionToUse =
+        readPreference != null ? collection.withReadPreference(readPreference) : collection;
+    var iterable = collectionToUse.aggregate(pipeline);
+    return getBatchSize() != null ? iterable.batchSize(getBatchSize()) : iterable;
+  }
+
+  private List<Document> createFilterPipeline() {
+    var pipeline = createJoinPipeline();
+    if (pipeline == null) {
+      pipeline = new ArrayList<>();
+      var query = createQuery(createFilter(getQueryMixin().getMetadata()));
+      if (!query.isEmpty()) {
+        pipeline.add(new Document("$match", query));
+      }
+    }
+    return pipeline;
+  }
+
+  /**
+   * Create the aggregation stages which filter the documents by the where clause and the joins of
+   * this query, using one {@code $lookup} stage per join.
+   *
+   * @return pipeline stages or null, if the joins are to be resolved client-side
+   */
+  @Nullable
+  protected List<Document> createJoinPipeline() {
+    var metadata = getQueryMixin().getMetadata();
+    List<JoinExpression> joins = metadata.getJoins();
+    if (!isServerSideJoins() || joins.isEmpty()) {
+      return null;
+    }
+
+    Path<?> root = ((Path<?>) ((Operation<?>) joins.get(0).getTarget()).getArg(0)).getRoot();
+    List<Document> lookups = new ArrayList<>(joins.size());
+    var joined = new Document();
+    var joinFields = new Document();
+    for (var i = 0; i < joins.size(); i++) {
+      var join = joins.get(i);
+      Path<?> source = (Path<?>) ((Operation<?>) join.getTarget()).getArg(0);
+      Path<?> target = (Path<?>) ((Operation<?>) join.getTarget()).getArg(1);
+      if (!source.getRoot().equals(root)) {
+        // joins on joined documents are resolved client-side
+        return null;
+      }
+      var as = JOIN_FIELD_PREFIX + i;
+      var from = getCollection(target.getType()).getNamespace().getCollectionName();
+      lookups.add(getSerializer().toLookup(source, from, join.getCondition(), as));
+      joined.append(as, new Document("$ne", Collections.emptyList()));
+      joinFields.append(as, 0);
+    }
+
+    List<Document> pipeline = new ArrayList<>();
+    var where = createQuery(metadata.getWhere());
+    if (!where.isEmpty()) {
+      pipeline.add(new Document("$match", where));
+    }
+    pipeline.addAll(lookups);
+    pipeline.add(new Document("$match", joined));
+    pipeline.add(new Document("$project", joinFields));
+    return pipeline;
+  }
+
   protected FindIterable<Document> createCursor() {
     var metadata = getQueryMixin().getMetadata();
     Predicate filter = createFilter(metadata);
@@ -267,6 +483,9 @@ public abstract class AbstractFetchableMongodbQuery<
     if (orderBy.size() > 0) {
       cursor = cursor.sort(getSerializer().toSort(orderBy));
     }
+    if (getBatchSize() != null) {
+      cursor = cursor.batchSize(getBatchSize());
+    }
     return cursor;
   }
 
@@ -274,30 +493,18 @@ public abstract class AbstractFetchableMongodbQuery<
 
   @Override
   protected List<Object> getIds(Class<?> targetType, Predicate condition) {
+    var readPreference = getReadPreference();
     var collection = getCollection(targetType);
-    // TODO : fetch only ids
-    var cursor =
-        createCursor(
-            collection,
-            condition,
-            null,
-            QueryModifiers.EMPTY,
-            Collections.<OrderSpecifier<?>>emptyList());
-
-    var iterator = cursor.iterator();
-    try {
+    var collectionToUse =
+        readPreference != null ? collection.withReadPreference(readPreference) : collection;
+    var cursor = collectionToUse.find(createQuery(condition)).projection(new Document("_id", 1));
 
-      if (iterator.hasNext()) {
-        List<Object> ids = new ArrayList<>();
-        for (Document obj : cursor) {
-          ids.add(obj.get("_id"));
-        }
-        return ids;
-      } else {
-        return Collections.emptyList();
+    List<Object> ids = new ArrayList<>();
+    try (var iterator = cursor.iterator()) {
+      while (iterator.hasNext()) {
+        ids.add(iterator.next().get("_id"));
       }
-    } finally {
-      iterator.close();
     }
+    return ids;
   }
 }
@@ -26,6 +26,7 @@ import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.FactoryExpression;
 import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.ParamExpression;
 import com.querydsl.core.types.Path;
@@ -56,6 +57,10 @@ public abstract class AbstractMongodbQuery<Q extends AbstractMongodbQuery<Q>>
 
   private ReadPreference readPreference;
 
+  private boolean serverSideJoins;
+
+  @Nullable private Integer batchSize;
+
   /**
    * Create a new MongodbQuery instance
    *
@@ -144,6 +149,26 @@ public abstract class AbstractMongodbQuery<Q extends AbstractMongodbQuery<Q>>
 
   protected abstract List<Object> getIds(Class<?> targetType, Predicate condition);
 
+  /**
+   * Add grouping. Grouped queries are executed as an aggregation pipeline.
+   *
+   * @param o group by expressions
+   * @return the current object
+   */
+  public Q groupBy(Expression<?>... o) {
+    return queryMixin.groupBy(o);
+  }
+
+  /**
+   * Add filters on the groups
+   *
+   * @param o having conditions
+   * @return the current object
+   */
+  public Q having(Predicate... o) {
+    return queryMixin.having(o);
+  }
+
   @Override
   public Q distinct() {
     return queryMixin.distinct();
@@ -187,19 +212,36 @@ public abstract class AbstractMongodbQuery<Q extends AbstractMongodbQuery<Q>>
     return queryMixin.set(param, value);
   }
 
-  protected Document createProjection(Expression<?> projection) {
-    if (projection instanceof FactoryExpression) {
+  @Nullable
+  protected Document createProjection(@Nullable Expression<?> projection) {
+    if (projection instanceof FactoryExpression || projection instanceof Path) {
       var obj = new Document();
-      for (Object expr : ((FactoryExpression) projection).getArgs()) {
-        if (expr instanceof Expression) {
-          obj.put((String) serializer.handle((Expression) expr), 1);
-        }
+      if (appendProjection(obj, projection) && !obj.isEmpty()) {
+        return obj;
       }
-      return obj;
     }
     return null;
   }
 
+  private boolean appendProjection(Document obj, Expression<?> expr) {
+    if (expr instanceof FactoryExpression<?> factory) {
+      for (Expression<?> arg : factory.getArgs()) {
+        if (!appendProjection(obj, arg)) {
+          return false;
+        }
+      }
+    } else if (expr instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+      return appendProjection(obj, operation.getArg(0));
+    } else if (expr instanceof Path<?> path) {
+      if (path.getMetadata().getParent() == null) {
+        // the whole document is needed
+        return false;
+      }
+      obj.put((String) serializer.handle(path), 1);
+    }
+    return true;
+  }
+
   protected Document createQuery(@Nullable Predicate predicate) {
     if (predicate != null) {
       return (Document) serializer.handle(predicate);
@@ -217,6 +259,29 @@ public abstract class AbstractMongodbQuery<Q extends AbstractMongodbQuery<Q>>
     this.readPreference = readPreference;
   }
 
+  /**
+   * Sets whether joins are translated into a {@code $lookup} aggregation pipeline which is executed
+   * in a single round trip. When disabled, or when a join can't be translated, the ids of the
+   * joined documents are fetched first and used as an {@code $in} filter.
+   *
+   * <p>The {@code $lookup} stages read the ids of references with {@code $getField}, which requires
+   * MongoDB 5.0 or newer.
+   *
+   * @param serverSideJoins true, to use {@code $lookup} for joins
+   */
+  public void setServerSideJoins(boolean serverSideJoins) {
+    this.serverSideJoins = serverSideJoins;
+  }
+
+  /**
+   * Sets the number of documents the server returns per batch while the results are iterated
+   *
+   * @param batchSize batch size
+   */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
   protected QueryMixin<Q> getQueryMixin() {
     return queryMixin;
   }
@@ -229,6 +294,15 @@ public abstract class AbstractMongodbQuery<Q extends AbstractMongodbQuery<Q>>
     return readPreference;
   }
 
+  @Nullable
+  protected Integer getBatchSize() {
+    return batchSize;
+  }
+
+  protected boolean isServerSideJoins() {
+    return serverSideJoins;
+  }
+
   /**
    * Get the where definition as a Document instance
    *
@@ -16,6 +16,8 @@
 package com.querydsl.mongodb.document;
 
 import com.mongodb.DBRef;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.support.ReplaceVisitor;
 import com.querydsl.core.types.Constant;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
@@ -28,6 +30,7 @@ import com.querydsl.core.types.ParamExpression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.PathMetadata;
 import com.querydsl.core.types.PathType;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.SubQueryExpression;
 import com.querydsl.core.types.TemplateExpression;
 import com.querydsl.core.types.Visitor;
@@ -39,6 +42,7 @@ import org.bson.BsonJavaScript;
 import org.bson.BsonRegularExpression;
 import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Serializes the given Querydsl query to a Document query for MongoDB.
@@ -50,6 +54,8 @@ public abstract class MongodbDocumentSerializer implements Visitor<Object, Void>
   public static final String MONGO_EXPRESSION = "$expr";
   public static final String MONGO_EXPR_SYMBOL = "$";
 
+  private static final String AGGREGATE_FIELD_PREFIX = "__agg";
+
   public Object handle(Expression<?> expression) {
     return expression.accept(this, null);
   }
@@ -63,6 +69,256 @@ public abstract class MongodbDocumentSerializer implements Visitor<Object, Void>
     return sort;
   }
 
+  /**
+   * Get whether the given query is grouped or projects aggregates and needs to be executed as an
+   * aggregation pipeline.
+   *
+   * @param metadata query metadata
+   * @return true, if {@link #toGroupStages(QueryMetadata)} applies
+   */
+  public boolean isAggregation(QueryMetadata metadata) {
+    if (!metadata.getGroupBy().isEmpty()) {
+      return true;
+    }
+    for (Expression<?> expr : getProjectionArgs(metadata.getProjection())) {
+      if (isAggregate(unwrapAlias(expr))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Create the {@code $group}, {@code $project}, {@code $match} and {@code $sort} stages for the
+   * grouping, projection, having and order of the given query. The grouped expressions and the
+   * projected aggregates are stored at the top level of the result documents, the aggregates under
+   * their alias or, if not aliased, under the name of the aggregated field, {@code count} or {@code
+   * countDistinct}.
+   *
+   * @param metadata query metadata
+   * @return pipeline stages
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public List<Document> toGroupStages(QueryMetadata metadata) {
+    Document id = null;
+    var project = new Document("_id", 0);
+    for (Expression<?> expr : metadata.getGroupBy()) {
+      var key = (String) handle(expr);
+      var idKey = key.replace('.', '_');
+      if (id == null) {
+        id = new Document();
+      }
+      id.append(idKey, MONGO_EXPR_SYMBOL + key);
+      project.append(key, "$_id." + idKey);
+    }
+
+    var group = new Document("_id", id);
+    Map<Expression<?>, Path<?>> aggregates = new HashMap<>();
+    for (Expression<?> arg : getProjectionArgs(metadata.getProjection())) {
+      var expr = unwrapAlias(arg);
+      if (isAggregate(expr)) {
+        var name = expr != arg ? getAlias(arg) : getAggregateName((Operation<?>) expr);
+        appendAggregate(group, project, (Operation<?>) expr, name);
+        aggregates.put(expr, ExpressionUtils.path(expr.getType(), name));
+      } else if (metadata.getGroupBy().contains(expr)) {
+        if (expr != arg) {
+          project.append(getAlias(arg), "$_id." + ((String) handle(expr)).replace('.', '_'));
+        }
+      } else {
+        throw new IllegalArgumentException(arg + " is neither grouped nor aggregated");
+      }
+    }
+
+    // aggregates used only in having or order by are computed under hidden names
+    var hidden = new Document();
+    var replacer =
+        new ReplaceVisitor<Void>() {
+          @Override
+          public Expression<?> visit(Operation<?> expr, @Nullable Void context) {
+            if (!isAggregate(expr)) {
+              return super.visit(expr, context);
+            }
+            return aggregates.computeIfAbsent(
+                expr,
+                e -> {
+                  var name = AGGREGATE_FIELD_PREFIX + hidden.size();
+                  appendAggregate(group, project, expr, name);
+                  hidden.append(name, 0);
+                  return ExpressionUtils.path(e.getType(), name);
+                });
+          }
+        };
+    var having = metadata.getHaving() != null ? metadata.getHaving().accept(replacer, null) : null;
+    List<OrderSpecifier<?>> orderBy = new ArrayList<>(metadata.getOrderBy().size());
+    for (OrderSpecifier<?> order : metadata.getOrderBy()) {
+      orderBy.add(
+          new OrderSpecifier(
+              order.getOrder(), order.getTarget().accept(replacer, null), order.getNullHandling()));
+    }
+
+    List<Document> stages = new ArrayList<>();
+    stages.add(new Document("$group", group));
+    stages.add(new Document("$project", project));
+    if (having != null) {
+      stages.add(new Document("$match", handle(having)));
+    }
+    if (!orderBy.isEmpty()) {
+      stages.add(new Document("$sort", toSort(orderBy)));
+    }
+    if (!hidden.isEmpty()) {
+      stages.add(new Document("$project", hidden));
+    }
+    return stages;
+  }
+
+  private List<Expression<?>> getProjectionArgs(@Nullable Expression<?> projection) {
+    if (projection instanceof FactoryExpression<?> factory) {
+      return factory.getArgs();
+    } else if (projection != null) {
+      return List.of(projection);
+    } else {
+      return List.of();
+    }
+  }
+
+  private Expression<?> unwrapAlias(Expression<?> expr) {
+    if (expr instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+      return operation.getArg(0);
+    }
+    return expr;
+  }
+
+  private String getAlias(Expression<?> expr) {
+    return ((Path<?>) ((Operation<?>) expr).getArg(1)).getMetadata().getName();
+  }
+
+  /**
+   * Get the key under which the value of the given projection element is stored in the result
+   * documents.
+   *
+   * @param expr projection element
+   * @param grouped whether the query is an aggregation
+   * @return dotted key
+   */
+  String getResultKey(Expression<?> expr, boolean grouped) {
+    var unwrapped = unwrapAlias(expr);
+    if (grouped && unwrapped != expr) {
+      return getAlias(expr);
+    } else if (grouped && isAggregate(unwrapped)) {
+      return getAggregateName((Operation<?>) unwrapped);
+    } else {
+      return (String) handle(unwrapped);
+    }
+  }
+
+  private boolean isAggregate(Expression<?> expr) {
+    return expr instanceof Operation<?> operation && operation.getOperator() instanceof Ops.AggOps;
+  }
+
+  private String getAggregateName(Operation<?> expr) {
+    var op = expr.getOperator();
+    if (op == Ops.AggOps.COUNT_AGG || op == Ops.AggOps.COUNT_ALL_AGG) {
+      return "count";
+    } else if (op == Ops.AggOps.COUNT_DISTINCT_AGG || op == Ops.AggOps.COUNT_DISTINCT_ALL_AGG) {
+      return "countDistinct";
+    }
+    var key = (String) handle(expr.getArg(0));
+    return key.substring(key.lastIndexOf('.') + 1);
+  }
+
+  private void appendAggregate(Document group, Document project, Operation<?> expr, String name) {
+    var op = expr.getOperator();
+    String field = null;
+    if (!expr.getArgs().isEmpty()
+        && expr.getArg(0) instanceof Path<?> path
+        && path.getMetadata().getParent() != null) {
+      field = MONGO_EXPR_SYMBOL + handle(path);
+    }
+
+    if (op == Ops.AggOps.COUNT_ALL_AGG || (op == Ops.AggOps.COUNT_AGG && field == null)) {
+      group.append(name, new Document("$sum", 1));
+      project.append(name, 1);
+    } else if (field == null) {
+      throw new UnsupportedOperationException("Illegal aggregate " + expr);
+    } else if (op == Ops.AggOps.COUNT_AGG) {
+      var notNull = new Document("$gt", Arrays.asList(field, null));
+      group.append(name, new Document("$sum", new Document("$cond", Arrays.asList(notNull, 1, 0))));
+      project.append(name, 1);
+    } else if (op == Ops.AggOps.COUNT_DISTINCT_AGG) {
+      group.append(name, new Document("$addToSet", field));
+      project.append(name, new Document("$size", MONGO_EXPR_SYMBOL + name));
+    } else if (op == Ops.AggOps.SUM_AGG) {
+      group.append(name, new Document("$sum", field));
+      project.append(name, 1);
+    } else if (op == Ops.AggOps.AVG_AGG) {
+      group.append(name, new Document("$avg", field));
+      project.append(name, 1);
+    } else if (op == Ops.AggOps.MIN_AGG) {
+      group.append(name, new Document("$min", field));
+      project.append(name, 1);
+    } else if (op == Ops.AggOps.MAX_AGG) {
+      group.append(name, new Document("$max", field));
+      project.append(name, 1);
+    } else {
+      throw new UnsupportedOperationException("Illegal aggregate " + expr);
+    }
+  }
+
+  /**
+   * Create a {@code $lookup} stage which resolves the references held in {@code source} against the
+   * {@code from} collection. The {@code as} field of the looked up document receives the id of at
+   * most one referenced document matching {@code condition}, so an empty array means that the join
+   * yields no rows.
+   *
+   * @param source reference or collection of references
+   * @param from name of the joined collection
+   * @param condition join condition, relative to the joined documents
+   * @param as output field
+   * @return lookup stage
+   */
+  public Document toLookup(Path<?> source, String from, @Nullable Predicate condition, String as) {
+    var field = MONGO_EXPR_SYMBOL + visit(source, null);
+    Object ids;
+    if (Collection.class.isAssignableFrom(source.getType())) {
+      var input = new Document("$ifNull", Arrays.asList(field, List.of()));
+      var map =
+          new Document("input", input).append("as", "ref").append("in", asReferenceId("$$ref"));
+      ids = new Document("$map", map);
+    } else {
+      ids = List.of(asReferenceId(field));
+    }
+
+    List<Document> pipeline = new ArrayList<>();
+    pipeline.add(
+        new Document(
+            "$match",
+            new Document(MONGO_EXPRESSION, new Document("$in", Arrays.asList("$_id", "$$ids")))));
+    if (condition != null) {
+      pipeline.add(new Document("$match", handle(condition)));
+    }
+    pipeline.add(new Document("$project", new Document("_id", 1)));
+    pipeline.add(new Document("$limit", 1));
+
+    return new Document(
+        "$lookup",
+        new Document("from", from)
+            .append("let", new Document("ids", ids))
+            .append("pipeline", pipeline)
+            .append("as", as));
+  }
+
+  /**
+   * Get the aggregation expression for the id of the reference stored in {@code field}. The default
+   * implementation reads the {@code $id} of a {@link DBRef}, which requires MongoDB 5.0 or later.
+   *
+   * @param field field or variable expression holding the reference
+   * @return id expression
+   */
+  protected Object asReferenceId(String field) {
+    return new Document(
+        "$getField", new Document("field", new Document("$literal", "$id")).append("input", field));
+  }
+
   @Override
   public Object visit(Constant<?> expr, Void context) {
     if (Enum.class.isAssignableFrom(expr.getType())) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.mongodb.document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.querydsl.core.types.Path;
+import com.querydsl.mongodb.domain.QUser;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import java.util.List;
+import java.util.function.Function;
+import org.bson.Document;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Runs the aggregation pipeline queries against an in-process MongoDB server. */
+public class MongodbAggregationTest {
+
+  private final QUser user = QUser.user;
+
+  private MongoServer server;
+  private MongoClient mongo;
+  private MongoDatabase database;
+
+  @Before
+  public void before() {
+    server = new MongoServer(new MemoryBackend());
+    var address = server.bind();
+    mongo = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+    database = mongo.getDatabase("testdb");
+    database
+        .getCollection("user")
+        .insertMany(
+            List.of(
+                user("Jaakko", "Jantunen", 20),
+                user("Jaakki", "Jantunen", 30),
+                user("Jaana", "Aakkonen", 40),
+                user("Jaana", "BeekkoNen", 50)));
+  }
+
+  @After
+  public void after() {
+    mongo.close();
+    server.shutdown();
+  }
+
+  @Test
+  public void groupBy_sum() {
+    var results =
+        query()
+            .groupBy(user.lastName)
+            .select(user.lastName, user.age.sumAggregate(), user.count())
+            .orderBy(user.lastName.asc())
+            .fetch();
+    assertThat(results)
+        .containsExactly(
+            new Document("lastName", "Aakkonen").append("age", 40).append("count", 1),
+            new Document("lastName", "BeekkoNen").append("age", 50).append("count", 1),
+            new Document("lastName", "Jantunen").append("age", 50).append("count", 2));
+  }
+
+  @Test
+  public void groupBy_having_avg() {
+    var query =
+        query()
+            .where(user.age.gt(20))
+            .groupBy(user.firstName)
+            .select(user.firstName, user.age.avg().as("avgAge"))
+            .having(user.count().gt(1L));
+    assertThat(query.fetch())
+        .containsExactly(new Document("firstName", "Jaana").append("avgAge", 45.0));
+    assertThat(query.fetchCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void aggregate() {
+    var result = query().select(user.age.min(), user.age.max().as("maxAge")).fetchOne();
+    assertThat(result).isEqualTo(new Document("age", 20).append("maxAge", 50));
+  }
+
+  private static Document user(String firstName, String lastName, int age) {
+    return new Document("firstName", firstName).append("lastName", lastName).append("age", age);
+  }
+
+  private SimpleMongodbQuery query() {
+    return new SimpleMongodbQuery(database);
+  }
+
+  private static class SimpleMongodbQuery
+      extends AbstractFetchableMongodbQuery<Document, SimpleMongodbQuery> {
+
+    private final MongoDatabase database;
+
+    SimpleMongodbQuery(MongoDatabase database) {
+      super(
+          database.getCollection("user"),
+          Function.identity(),
+          new MongodbDocumentSerializer() {
+            @Override
+            protected DBRef asReference(Object constant) {
+              return null;
+            }
+
+            @Override
+            protected boolean isReference(Path<?> arg) {
+              return false;
+            }
+          });
+      this.database = database;
+    }
+
+    @Override
+    protected MongoCollection<Document> getCollection(Class<?> type) {
+      return database.getCollection("user");
+    }
+  }
+}
@@ -18,9 +18,11 @@ package com.querydsl.mongodb.document;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.mongodb.DBRef;
+import com.querydsl.core.DefaultQueryMetadata;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.DatePath;
 import com.querydsl.core.types.dsl.DateTimePath;
 import com.querydsl.core.types.dsl.NumberPath;
@@ -290,6 +292,133 @@ public class MongodbDocumentSerializerTest {
         .isEqualTo("mainAddress.street");
   }
 
+  @Test
+  public void lookup() {
+    var user = QUser.user;
+    var friend = new QUser("friend");
+    var refId =
+        document(
+            "$getField", document("field", document("$literal", "$id")).append("input", "$friend"));
+    var expected =
+        new Document(
+            "$lookup",
+            new Document("from", "users")
+                .append("let", new Document("ids", List.of(refId)))
+                .append(
+                    "pipeline",
+                    Arrays.asList(
+                        document(
+                            "$match",
+                            document("$expr", document("$in", Arrays.asList("$_id", "$$ids")))),
+                        document("$match", document("firstName", "Max")),
+                        document("$project", document("_id", 1)),
+                        document("$limit", 1)))
+                .append("as", "__join0"));
+
+    var lookup = serializer.toLookup(user.friend(), "users", friend.firstName.eq("Max"), "__join0");
+    assertThat(lookup.toJson()).isEqualTo(expected.toJson());
+  }
+
+  @Test
+  public void lookup_collection() {
+    var user = QUser.user;
+    var lookup = serializer.toLookup(user.friends, "users", null, "__join0");
+    var let = lookup.get("$lookup", Document.class).get("let", Document.class);
+    var map = let.get("ids", Document.class).get("$map", Document.class);
+    assertThat(map.get("input", Document.class).toJson())
+        .isEqualTo(document("$ifNull", Arrays.asList("$friends", List.of())).toJson());
+    assertThat(map.get("as")).isEqualTo("ref");
+    assertThat(lookup.get("$lookup", Document.class).getList("pipeline", Document.class))
+        .hasSize(3);
+  }
+
+  @Test
+  public void groupStages() {
+    var user = QUser.user;
+    var metadata = new DefaultQueryMetadata();
+    metadata.addGroupBy(user.lastName);
+    metadata.setProjection(Projections.tuple(user.lastName, user.age.sumAggregate().as("total")));
+    metadata.addHaving(user.age.sumAggregate().gt(10));
+    metadata.addOrderBy(user.lastName.asc());
+
+    assertThat(serializer.isAggregation(metadata)).isTrue();
+    assertStages(
+        serializer.toGroupStages(metadata),
+        document(
+            "$group",
+            document("_id", document("lastName", "$lastName"))
+                .append("total", document("$sum", "$age"))),
+        document(
+            "$project", document("_id", 0).append("lastName", "$_id.lastName").append("total", 1)),
+        document("$match", document("total", document("$gt", 10))),
+        document("$sort", document("lastName", 1)));
+  }
+
+  @Test
+  public void groupStages_aggregatesOnly() {
+    var user = QUser.user;
+    var metadata = new DefaultQueryMetadata();
+    metadata.setProjection(
+        Projections.tuple(user.count(), user.age.avg(), user.firstName.countDistinct()));
+
+    assertThat(serializer.isAggregation(metadata)).isTrue();
+    assertStages(
+        serializer.toGroupStages(metadata),
+        document(
+            "$group",
+            new Document("_id", null)
+                .append("count", document("$sum", 1))
+                .append("age", document("$avg", "$age"))
+                .append("countDistinct", document("$addToSet", "$firstName"))),
+        document(
+            "$project",
+            document("_id", 0)
+                .append("count", 1)
+                .append("age", 1)
+                .append("countDistinct", document("$size", "$countDistinct"))));
+  }
+
+  @Test
+  public void groupStages_hiddenAggregate() {
+    var user = QUser.user;
+    var metadata = new DefaultQueryMetadata();
+    metadata.addGroupBy(user.lastName);
+    metadata.setProjection(Projections.tuple(user.lastName));
+    metadata.addOrderBy(user.age.max().desc());
+
+    assertStages(
+        serializer.toGroupStages(metadata),
+        document(
+            "$group",
+            document("_id", document("lastName", "$lastName"))
+                .append("__agg0", document("$max", "$age"))),
+        document(
+            "$project", document("_id", 0).append("lastName", "$_id.lastName").append("__agg0", 1)),
+        document("$sort", document("__agg0", -1)),
+        document("$project", document("__agg0", 0)));
+  }
+
+  @Test
+  public void notGrouped() {
+    var metadata = new DefaultQueryMetadata();
+    metadata.setProjection(Projections.tuple(QUser.user.firstName));
+    assertThat(serializer.isAggregation(metadata)).isFalse();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void groupStages_ungroupedProjection() {
+    var user = QUser.user;
+    var metadata = new DefaultQueryMetadata();
+    metadata.addGroupBy(user.lastName);
+    metadata.setProjection(Projections.tuple(user.firstName));
+    serializer.toGroupStages(metadata);
+  }
+
+  private void assertStages(List<Document> stages, Document... expected) {
+    assertThat(new Document("stages", stages).toJson())
+        .isEqualTo(new Document("stages", Arrays.asList(expected)).toJson());
+  }
+
   private List<OrderSpecifier<?>> sortList(OrderSpecifier<?>... order) {
     return Arrays.asList(order);
   }
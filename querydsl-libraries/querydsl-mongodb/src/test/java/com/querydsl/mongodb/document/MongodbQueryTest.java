@@ -32,6 +32,7 @@ import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.PathMetadata;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
 import com.querydsl.mongodb.domain.AbstractEntity;
 import com.querydsl.mongodb.domain.Address;
 import com.querydsl.mongodb.domain.City;
@@ -156,6 +157,26 @@ public class MongodbQueryTest {
     assertThat(u.get("lastName")).isNull();
   }
 
+  @Test
+  public void list_projection() {
+    var tuples =
+        where(user.firstName.eq("Jaakko"))
+            .fetch(Projections.tuple(user.firstName, user.age, user.mainAddress().street));
+    assertThat(tuples).hasSize(1);
+    assertThat(tuples.get(0).get(user.firstName)).isEqualTo("Jaakko");
+    assertThat(tuples.get(0).get(user.age)).isEqualTo(20);
+    assertThat(tuples.get(0).get(user.mainAddress().street)).isEqualTo("Aakatu");
+  }
+
+  @Test
+  public void stream_projection() {
+    var query = query().orderBy(user.age.asc());
+    query.setBatchSize(2);
+    try (var names = query.stream(Projections.constructor(String.class, user.lastName))) {
+      assertThat(names).containsExactly("Jantunen", "Jantunen", "Aakkonen", "BeekkoNen");
+    }
+  }
+
   @Test
   public void list_deep_keys() {
     var u = where(user.firstName.eq("Jaakko")).fetchFirst(user.addresses.any().street);
@@ -819,6 +840,44 @@ public class MongodbQueryTest {
     }
   }
 
+  @Test
+  public void serverSideJoins() {
+    var friend = new QUser("friend");
+    var enemy = new QUser("enemy");
+    assertServerSideJoin(
+        q -> q.join(user.friends, friend).on(friend.firstName.eq("Jaakko")).orderBy(user.age.asc()),
+        3);
+    assertServerSideJoin(
+        q ->
+            q.where(user.age.gt(30))
+                .join(user.friend(), friend)
+                .on(friend.age.lt(40))
+                .orderBy(user.age.asc()),
+        1);
+    assertServerSideJoin(
+        q ->
+            q.join(user.friend(), friend)
+                .on(friend.lastName.eq("Jantunen"))
+                .join(user.enemy(), enemy)
+                .on(enemy.firstName.eq("Jaakki")),
+        1);
+    assertServerSideJoin(
+        q -> q.join(user.friends, friend).on(friend.age.gt(20)).orderBy(user.age.desc()).limit(1),
+        1);
+    assertServerSideJoin(q -> q.join(user.friends, friend).on(friend.lastName.eq("Nobody")), 0);
+  }
+
+  private void assertServerSideJoin(
+      Function<SimpleMongodbQuery, SimpleMongodbQuery> query, int expected) {
+    var clientSide = query.apply(query());
+    var serverSide = query.apply(query());
+    serverSide.setServerSideJoins(true);
+    var results = clientSide.fetch();
+    assertThat(results).hasSize(expected);
+    assertThat(serverSide.fetch()).isEqualTo(results);
+    assertThat(serverSide.fetchCount()).isEqualTo(clientSide.fetchCount());
+  }
+
   @Test
   public void userJoinTest() {
     final QUser friend = new QUser("friend");
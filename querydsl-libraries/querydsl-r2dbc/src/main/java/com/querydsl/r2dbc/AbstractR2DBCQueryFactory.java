@@ -19,6 +19,7 @@ import com.querydsl.core.types.Path;
 import com.querydsl.core.types.SubQueryExpression;
 import com.querydsl.r2dbc.dml.R2DBCDeleteClause;
 import com.querydsl.r2dbc.dml.R2DBCInsertClause;
+import com.querydsl.r2dbc.dml.R2DBCMergeClause;
 import com.querydsl.r2dbc.dml.R2DBCUpdateClause;
 import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.SQLCommonQueryFactory;
@@ -73,10 +74,15 @@ public abstract class AbstractR2DBCQueryFactory<Q extends R2DBCCommonQuery<?>>
     return new R2DBCInsertClause(connection, configuration, path);
   }
 
-  //    @Override
-  //    public final R2DBCMergeClause merge(RelationalPath<?> path) {
-  //        return new R2DBCMergeClause(connection, configuration, path);
-  //    }
+  /**
+   * Create a new MERGE clause
+   *
+   * @param path table to merge into
+   * @return merge clause
+   */
+  public final R2DBCMergeClause merge(RelationalPath<?> path) {
+    return new R2DBCMergeClause(connection, configuration, path);
+  }
 
   @Override
   public final R2DBCUpdateClause update(RelationalPath<?> path) {
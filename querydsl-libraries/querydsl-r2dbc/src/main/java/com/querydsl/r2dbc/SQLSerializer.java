@@ -40,6 +40,7 @@ import com.querydsl.core.types.TemplateFactory;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.util.CollectionUtils;
 import com.querydsl.core.util.StringUtils;
+import com.querydsl.r2dbc.dml.R2DBCInsertBatch;
 import com.querydsl.r2dbc.types.Null;
 import com.querydsl.sql.ColumnMetadata;
 import com.querydsl.sql.RelationalFunctionCall;
@@ -596,6 +597,32 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
     templates.serializeInsert(metadata, entity, columns, values, subQuery, this);
   }
 
+  public void serializeInsert(
+      QueryMetadata metadata, RelationalPath<?> entity, List<R2DBCInsertBatch> batches) {
+    this.entity = entity;
+    templates.serializeInsert(metadata, entity, batches, this);
+  }
+
+  protected void serializeForInsert(
+      QueryMetadata metadata, RelationalPath<?> entity, List<R2DBCInsertBatch> batches) {
+    serializeForInsert(
+        metadata, entity, batches.get(0).getColumns(), batches.get(0).getValues(), null);
+    for (var i = 1; i < batches.size(); i++) {
+      var batch = batches.get(i);
+      if (!useLiterals) {
+        for (var j = 0; j < batch.getColumns().size(); j++) {
+          if (batch.getValues().get(j) instanceof Constant<?>) {
+            constantPaths.add(batch.getColumns().get(j));
+          }
+        }
+      }
+      append(COMMA);
+      append("(");
+      handle(COMMA, batch.getValues());
+      append(")");
+    }
+  }
+
   protected void serializeForInsert(
       QueryMetadata metadata,
       RelationalPath<?> entity,
@@ -26,6 +26,7 @@ import com.querydsl.core.types.Path;
 import com.querydsl.core.types.SubQueryExpression;
 import com.querydsl.core.types.Templates;
 import com.querydsl.r2dbc.binding.BindMarkersFactory;
+import com.querydsl.r2dbc.dml.R2DBCInsertBatch;
 import com.querydsl.r2dbc.types.Type;
 import com.querydsl.sql.Keywords;
 import com.querydsl.sql.RelationalPath;
@@ -925,6 +926,26 @@ public class SQLTemplates extends Templates {
     }
   }
 
+  /**
+   * template method for multi-row INSERT serialization
+   *
+   * @param metadata metadata
+   * @param entity entity
+   * @param batches batches
+   * @param context context
+   */
+  public void serializeInsert(
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      List<R2DBCInsertBatch> batches,
+      SQLSerializer context) {
+    context.serializeForInsert(metadata, entity, batches);
+
+    if (!metadata.getFlags().isEmpty()) {
+      context.serialize(Position.END, metadata.getFlags());
+    }
+  }
+
   /**
    * template method for MERGE serialization
    *
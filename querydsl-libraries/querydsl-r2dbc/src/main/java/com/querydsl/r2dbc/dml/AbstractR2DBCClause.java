@@ -20,18 +20,27 @@ import com.querydsl.core.types.ParamNotSetException;
 import com.querydsl.core.types.Path;
 import com.querydsl.r2dbc.Configuration;
 import com.querydsl.r2dbc.R2DBCConnectionProvider;
+import com.querydsl.r2dbc.R2dbcUtils;
 import com.querydsl.r2dbc.SQLSerializer;
 import com.querydsl.r2dbc.binding.BindMarkers;
 import com.querydsl.r2dbc.binding.BindTarget;
+import com.querydsl.r2dbc.binding.StatementWrapper;
 import com.querydsl.sql.SQLBindings;
 import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -47,6 +56,10 @@ public abstract class AbstractR2DBCClause<C extends AbstractR2DBCClause<C>>
 
   protected boolean useLiterals;
 
+  protected int batchSize = 1000;
+
+  protected int maxConcurrency = 1;
+
   @Nullable private R2DBCConnectionProvider connProvider;
 
   @Nullable private Connection conn;
@@ -153,4 +166,129 @@ public abstract class AbstractR2DBCClause<C extends AbstractR2DBCClause<C>>
   public void setUseLiterals(boolean useLiterals) {
     this.useLiterals = useLiterals;
   }
+
+  /**
+   * Set the maximum amount of batch items executed as one chunk, defaults to 1000
+   *
+   * @param batchSize chunk size
+   * @return the current object
+   */
+  @SuppressWarnings("unchecked")
+  public C setBatchSize(@Range(from = 1, to = Integer.MAX_VALUE) int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be positive, got " + batchSize);
+    }
+    this.batchSize = batchSize;
+    return (C) this;
+  }
+
+  /**
+   * Set the maximum amount of chunks in flight at the same time, defaults to 1.
+   *
+   * <p>Concurrency is per connection: an R2DBC connection executes one statement at a time, so the
+   * chunks are executed one after another on the connection of this clause. Up to this amount of
+   * chunks have their statements created and bound ahead of the executing chunk. Chunk results are
+   * emitted in batch order.
+   *
+   * @param maxConcurrency maximum amount of chunks in flight
+   * @return the current object
+   */
+  @SuppressWarnings("unchecked")
+  public C setMaxConcurrency(@Range(from = 1, to = Integer.MAX_VALUE) int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive, got " + maxConcurrency);
+    }
+    this.maxConcurrency = maxConcurrency;
+    return (C) this;
+  }
+
+  /**
+   * Execute the given batch items in chunks of {@link #setBatchSize(int) batchSize} items
+   *
+   * @param batches batch items
+   * @param createStatements factory for the statements of a chunk
+   * @param <B> batch item type
+   * @return amount of affected rows per chunk
+   */
+  protected <B> Flux<Long> executeBatches(
+      List<B> batches, BiFunction<Connection, List<B>, List<Statement>> createStatements) {
+    return executeChunks(
+        batches,
+        createStatements,
+        statements ->
+            Flux.fromIterable(statements)
+                .concatMap(Statement::execute)
+                .concatMap(result -> result.getRowsUpdated())
+                .reduce(0L, Long::sum));
+  }
+
+  /**
+   * Execute the given batch items in chunks of {@link #setBatchSize(int) batchSize} items. The
+   * chunks are executed sequentially on one connection, with the statements of at most {@link
+   * #setMaxConcurrency(int) maxConcurrency} chunks prepared ahead
+   *
+   * @param batches batch items
+   * @param createStatements factory for the statements of a chunk
+   * @param execute execution of the statements of a chunk
+   * @param <B> batch item type
+   * @param <T> result type
+   * @return results in batch order
+   */
+  protected <B, T> Flux<T> executeChunks(
+      List<B> batches,
+      BiFunction<Connection, List<B>, List<Statement>> createStatements,
+      Function<List<Statement>, Publisher<T>> execute) {
+    List<B> items = new ArrayList<>(batches);
+    return getConnection()
+        .flatMapMany(
+            connection ->
+                Flux.fromIterable(items)
+                    .buffer(batchSize)
+                    .map(chunk -> createStatements.apply(connection, chunk))
+                    .concatMap(execute, maxConcurrency));
+  }
+
+  /**
+   * Create statements for the given serialized batch items. Items with the same SQL string share a
+   * statement and are bound as separate binding sets via {@link Statement#add()}.
+   *
+   * @param connection connection
+   * @param serializers serialized batch items
+   * @param params param values of the batch items
+   * @param logger logger for the SQL strings
+   * @return statements
+   */
+  protected List<Statement> createBatchStatements(
+      Connection connection,
+      List<SQLSerializer> serializers,
+      List<Map<ParamExpression<?>, Object>> params,
+      Logger logger) {
+    List<Statement> statements = new ArrayList<>();
+    Map<String, Statement> statementsBySql = new HashMap<>();
+    for (var i = 0; i < serializers.size(); i++) {
+      var serializer = serializers.get(i);
+      var constants = serializer.getConstants();
+      var originalSql = serializer.toString();
+      // binding sets without parameters can't be told apart, so they get their own statement
+      var statement = constants.isEmpty() ? null : statementsBySql.get(originalSql);
+      if (statement == null) {
+        var queryString =
+            R2dbcUtils.replaceBindingArguments(
+                configuration.getBindMarkerFactory().create(), constants, originalSql);
+        logQuery(logger, queryString, constants);
+        statement = connection.createStatement(queryString);
+        statementsBySql.put(originalSql, statement);
+        statements.add(statement);
+      } else {
+        statement.add();
+      }
+      setParameters(
+          new StatementWrapper(statement),
+          configuration.getBindMarkerFactory().create(),
+          constants,
+          serializer.getConstantPaths(),
+          params.get(i));
+    }
+    return statements;
+  }
 }
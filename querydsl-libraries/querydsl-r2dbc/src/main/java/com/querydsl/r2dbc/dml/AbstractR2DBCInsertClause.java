@@ -37,7 +37,6 @@ import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.SQLBindings;
 import com.querydsl.sql.dml.DefaultMapper;
 import com.querydsl.sql.dml.Mapper;
-import io.r2dbc.spi.Batch;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
@@ -78,6 +77,10 @@ public abstract class AbstractR2DBCInsertClause<C extends AbstractR2DBCInsertCla
 
   protected final List<Expression<?>> values = new ArrayList<>();
 
+  protected final List<R2DBCInsertBatch> batches = new ArrayList<>();
+
+  protected transient boolean batchToBulk;
+
   protected transient String queryString;
 
   protected transient List<Object> constants;
@@ -138,8 +141,45 @@ public abstract class AbstractR2DBCInsertClause<C extends AbstractR2DBCInsertCla
     return (C) this;
   }
 
+  /**
+   * Add the current state of bindings as a batch item
+   *
+   * @return the current object
+   */
+  public C addBatch() {
+    if (subQueryBuilder != null) {
+      subQuery = subQueryBuilder.select(values.toArray(Expression[]::new)).clone();
+      values.clear();
+    }
+    batches.add(new R2DBCInsertBatch(columns, values, subQuery));
+    columns.clear();
+    values.clear();
+    subQuery = null;
+    return (C) this;
+  }
+
+  /**
+   * Set whether batches should be executed as multi-row VALUES statements, one per chunk, instead
+   * of one binding set per batch item. Only honoured if the templates support it.
+   *
+   * @param b batch to bulk
+   */
+  public void setBatchToBulk(boolean b) {
+    this.batchToBulk = b && configuration.getTemplates().isBatchToBulkSupported();
+  }
+
+  /**
+   * Get the amount of batch items
+   *
+   * @return batch count
+   */
+  public int getBatchCount() {
+    return batches.size();
+  }
+
   @Override
   public void clear() {
+    batches.clear();
     columns.clear();
     values.clear();
     subQuery = null;
@@ -202,6 +242,14 @@ public abstract class AbstractR2DBCInsertClause<C extends AbstractR2DBCInsertCla
   }
 
   public <T> Flux<T> executeWithKeys(Class<T> type, @Nullable Path<T> path) {
+    if (!batches.isEmpty()) {
+      return executeChunks(
+          batches,
+          (connection, chunk) -> createBatchStatements(connection, chunk, true),
+          statements ->
+              Flux.fromIterable(statements)
+                  .concatMap(statement -> executeStatementWithKeys(statement, type, path)));
+    }
     return getConnection()
         .map(connection -> createStatement(connection, true))
         .flatMapMany(connection -> executeStatementWithKeys(connection, type, path));
@@ -243,15 +291,7 @@ public abstract class AbstractR2DBCInsertClause<C extends AbstractR2DBCInsertCla
     BindTarget bindTarget = new StatementWrapper(statement);
 
     if (withKeys) {
-      if (entity.getPrimaryKey() != null) {
-        var target = new String[entity.getPrimaryKey().getLocalColumns().size()];
-        for (var i = 0; i < target.length; i++) {
-          Path<?> path = entity.getPrimaryKey().getLocalColumns().get(i);
-          var column = ColumnMetadata.getName(path);
-          target[i] = column;
-        }
-        statement.returnGeneratedValues(target);
-      }
+      returnGeneratedKeys(statement);
     }
 
     setParameters(
@@ -264,6 +304,53 @@ public abstract class AbstractR2DBCInsertClause<C extends AbstractR2DBCInsertCla
     return statement;
   }
 
+  /**
+   * Create the statements for a chunk of batch items
+   *
+   * @param connection connection
+   * @param chunk batch items
+   * @param withKeys true, if generated keys should be returned
+   * @return statements
+   */
+  protected List<Statement> createBatchStatements(
+      Connection connection, List<R2DBCInsertBatch> chunk, boolean withKeys) {
+    if (batchToBulk) {
+      var serializer = createSerializer(true);
+      serializer.serializeInsert(metadata, entity, chunk);
+      return Collections.singletonList(
+          prepareStatementAndSetParameters(connection, serializer, withKeys));
+    }
+    List<SQLSerializer> serializers = new ArrayList<>(chunk.size());
+    for (R2DBCInsertBatch batch : chunk) {
+      var serializer = createSerializer(true);
+      serializer.serializeInsert(
+          metadata, entity, batch.getColumns(), batch.getValues(), batch.getSubQuery());
+      serializers.add(serializer);
+    }
+    var statements =
+        createBatchStatements(
+            connection,
+            serializers,
+            Collections.nCopies(chunk.size(), metadata.getParams()),
+            logger);
+    if (withKeys) {
+      statements.forEach(this::returnGeneratedKeys);
+    }
+    return statements;
+  }
+
+  private void returnGeneratedKeys(Statement statement) {
+    if (entity.getPrimaryKey() != null) {
+      var target = new String[entity.getPrimaryKey().getLocalColumns().size()];
+      for (var i = 0; i < target.length; i++) {
+        Path<?> path = entity.getPrimaryKey().getLocalColumns().get(i);
+        var column = ColumnMetadata.getName(path);
+        target[i] = column;
+      }
+      statement.returnGeneratedValues(target);
+    }
+  }
+
   /**
    * Execute the clause and return the generated keys as a Result
    *
@@ -295,14 +382,23 @@ public abstract class AbstractR2DBCInsertClause<C extends AbstractR2DBCInsertCla
         .reduce(0L, Long::sum);
   }
 
-  private Mono<Long> executeBatches(Batch batch) {
-    return Flux.from(batch.execute())
-        .flatMap(result -> Mono.from(result.getRowsUpdated()))
-        .reduce(0L, Long::sum);
+  /**
+   * Execute the batch items in chunks of {@link #setBatchSize(int) batchSize} items, either as one
+   * statement with a binding set per item or, with {@link #setBatchToBulk(boolean) batchToBulk}, as
+   * one multi-row VALUES statement per chunk
+   *
+   * @return amount of inserted rows per chunk
+   */
+  public Flux<Long> executeBatches() {
+    return executeBatches(
+        batches, (connection, chunk) -> createBatchStatements(connection, chunk, false));
   }
 
   @Override
   public Mono<Long> execute() {
+    if (!batches.isEmpty()) {
+      return executeBatches().reduce(0L, Long::sum);
+    }
     return getConnection()
         .map(connection -> createStatements(connection, false))
         .flatMap(this::executeStatements);
@@ -310,9 +406,28 @@ public abstract class AbstractR2DBCInsertClause<C extends AbstractR2DBCInsertCla
 
   @Override
   public List<SQLBindings> getSQL() {
-    var serializer = createSerializer(true);
-    serializer.serializeInsert(metadata, entity, columns, values, subQuery);
-    return Collections.singletonList(createBindings(metadata, serializer));
+    if (batches.isEmpty()) {
+      var serializer = createSerializer(true);
+      serializer.serializeInsert(metadata, entity, columns, values, subQuery);
+      return Collections.singletonList(createBindings(metadata, serializer));
+    }
+    List<SQLBindings> builder = new ArrayList<>();
+    if (batchToBulk) {
+      for (var i = 0; i < batches.size(); i += batchSize) {
+        var serializer = createSerializer(true);
+        serializer.serializeInsert(
+            metadata, entity, batches.subList(i, Math.min(i + batchSize, batches.size())));
+        builder.add(createBindings(metadata, serializer));
+      }
+    } else {
+      for (R2DBCInsertBatch batch : batches) {
+        var serializer = createSerializer(true);
+        serializer.serializeInsert(
+            metadata, entity, batch.getColumns(), batch.getValues(), batch.getSubQuery());
+        builder.add(createBindings(metadata, serializer));
+      }
+    }
+    return Collections.unmodifiableList(builder);
   }
 
   @Override
@@ -407,18 +522,9 @@ public abstract class AbstractR2DBCInsertClause<C extends AbstractR2DBCInsertCla
 
   @Override
   public boolean isEmpty() {
-    return values.isEmpty();
+    return values.isEmpty() && batches.isEmpty();
   }
 
-  //    private <T> void setBatchParameters(Statement stmt, R2DBCInsertBatch batch, int offset) {
-  //        List<Object> constants = batch
-  //                .getValues()
-  //                .stream()
-  //                .map(c -> ((Constant<T>) c).getConstant()) // TODO: support expressions
-  //                .collect(Collectors.toList());
-  //        setParameters(stmt, constants, batch.getColumns(), metadata.getParams());
-  //    }
-
   @FunctionalInterface
   private interface RowMapper<T> {
     @NotNull
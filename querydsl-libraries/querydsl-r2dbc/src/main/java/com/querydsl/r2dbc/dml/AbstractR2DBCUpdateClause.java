@@ -22,6 +22,7 @@ import com.querydsl.core.QueryModifiers;
 import com.querydsl.core.dml.ReactiveUpdateClause;
 import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ParamExpression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.r2dbc.Configuration;
@@ -36,12 +37,15 @@ import com.querydsl.sql.SQLBindings;
 import com.querydsl.sql.dml.Mapper;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -62,6 +66,8 @@ public abstract class AbstractR2DBCUpdateClause<C extends AbstractR2DBCUpdateCla
 
   protected QueryMetadata metadata = new DefaultQueryMetadata();
 
+  protected final List<R2DBCUpdateBatch> batches = new ArrayList<>();
+
   protected transient String queryString;
 
   protected transient List<Object> constants;
@@ -104,8 +110,31 @@ public abstract class AbstractR2DBCUpdateClause<C extends AbstractR2DBCUpdateCla
     return (C) this;
   }
 
+  /**
+   * Add the current state of bindings as a batch item
+   *
+   * @return the current object
+   */
+  public C addBatch() {
+    batches.add(new R2DBCUpdateBatch(metadata, updates));
+    updates = new LinkedHashMap<>();
+    metadata = new DefaultQueryMetadata();
+    metadata.addJoin(JoinType.DEFAULT, entity);
+    return (C) this;
+  }
+
+  /**
+   * Get the amount of batch items
+   *
+   * @return batch count
+   */
+  public int getBatchCount() {
+    return batches.size();
+  }
+
   @Override
   public void clear() {
+    batches.clear();
     updates = new LinkedHashMap<>();
     metadata = new DefaultQueryMetadata();
     metadata.addJoin(JoinType.DEFAULT, entity);
@@ -116,8 +145,39 @@ public abstract class AbstractR2DBCUpdateClause<C extends AbstractR2DBCUpdateCla
     return prepareStatementAndSetParameters(connection, serializer);
   }
 
+  /**
+   * Create the statements for a chunk of batch items
+   *
+   * @param connection connection
+   * @param chunk batch items
+   * @return statements
+   */
+  protected List<Statement> createBatchStatements(
+      Connection connection, List<R2DBCUpdateBatch> chunk) {
+    List<SQLSerializer> serializers = new ArrayList<>(chunk.size());
+    List<Map<ParamExpression<?>, Object>> params = new ArrayList<>(chunk.size());
+    for (R2DBCUpdateBatch batch : chunk) {
+      serializers.add(createSerializerAndSerialize(batch));
+      params.add(batch.getMetadata().getParams());
+    }
+    return createBatchStatements(connection, serializers, params, logger);
+  }
+
+  /**
+   * Execute the batch items in chunks of {@link #setBatchSize(int) batchSize} items. Items which
+   * serialize to the same SQL string share a statement with a binding set per item.
+   *
+   * @return amount of updated rows per chunk
+   */
+  public Flux<Long> executeBatches() {
+    return executeBatches(batches, this::createBatchStatements);
+  }
+
   @Override
   public Mono<Long> execute() {
+    if (!batches.isEmpty()) {
+      return executeBatches().reduce(0L, Long::sum);
+    }
     return getConnection().map(this::createStatement).flatMap(this::executeStatement);
   }
 
@@ -129,9 +189,16 @@ public abstract class AbstractR2DBCUpdateClause<C extends AbstractR2DBCUpdateCla
 
   @Override
   public List<SQLBindings> getSQL() {
-    var serializer = createSerializer(true);
-    serializer.serializeUpdate(metadata, entity, updates);
-    return Collections.singletonList(createBindings(metadata, serializer));
+    if (batches.isEmpty()) {
+      var serializer = createSerializer(true);
+      serializer.serializeUpdate(metadata, entity, updates);
+      return Collections.singletonList(createBindings(metadata, serializer));
+    }
+    List<SQLBindings> builder = new ArrayList<>();
+    for (R2DBCUpdateBatch batch : batches) {
+      builder.add(createBindings(batch.getMetadata(), createSerializerAndSerialize(batch)));
+    }
+    return Collections.unmodifiableList(builder);
   }
 
   @Override
@@ -237,12 +304,16 @@ public abstract class AbstractR2DBCUpdateClause<C extends AbstractR2DBCUpdateCla
 
   @Override
   public boolean isEmpty() {
-    return updates.isEmpty();
+    return updates.isEmpty() && batches.isEmpty();
   }
 
-  private SQLSerializer createSerializerAndSerialize(R2DBCUpdateBatch batch) {
+  private SQLSerializer createSerializerAndSerialize(@Nullable R2DBCUpdateBatch batch) {
     var serializer = createSerializer(true);
-    serializer.serializeUpdate(metadata, entity, updates);
+    if (batch != null) {
+      serializer.serializeUpdate(batch.getMetadata(), entity, batch.getUpdates());
+    } else {
+      serializer.serializeUpdate(metadata, entity, updates);
+    }
     return serializer;
   }
 
@@ -13,12 +13,16 @@
  */
 package com.querydsl.r2dbc.dml;
 
+import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Path;
-import com.querydsl.core.util.BeanMap;
 import com.querydsl.r2dbc.types.Null;
 import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.dml.AbstractMapper;
-import java.util.LinkedHashMap;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -43,24 +47,34 @@ public class BeanMapper extends AbstractMapper<Object> {
     this.withNullBindings = withNullBindings;
   }
 
-  @SuppressWarnings({"rawtypes", "unchecked"})
   @Override
   public Map<Path<?>, Object> createMap(RelationalPath<?> entity, Object bean) {
-    Map<Path<?>, Object> values = new LinkedHashMap<>();
-    Map<String, Object> map = new BeanMap(bean);
-    var columns = getColumns(entity);
-    // populate in column order
-    for (Map.Entry<String, Path<?>> entry : columns.entrySet()) {
-      Path<?> path = entry.getValue();
-      if (map.containsKey(entry.getKey())) {
-        var value = map.get(entry.getKey());
-        if (value != null) {
-          values.put(path, value);
-        } else if (withNullBindings && !isPrimaryKeyColumn(entity, path)) {
-          values.put(path, Null.DEFAULT);
+    return getAccessors(entity, bean.getClass())
+        .createMap(bean, withNullBindings ? Null.DEFAULT : null);
+  }
+
+  @Override
+  protected Accessors createAccessors(RelationalPath<?> entity, Class<?> beanType) {
+    try {
+      Map<String, Method> getters = new HashMap<>();
+      for (PropertyDescriptor descriptor :
+          Introspector.getBeanInfo(beanType).getPropertyDescriptors()) {
+        if (descriptor.getReadMethod() != null) {
+          getters.put(descriptor.getName(), descriptor.getReadMethod());
+        }
+      }
+      var accessors = new Accessors();
+      // populate in column order
+      for (Map.Entry<String, Path<?>> entry : getColumns(entity).entrySet()) {
+        Path<?> path = entry.getValue();
+        var getter = getters.get(entry.getKey());
+        if (getter != null) {
+          accessors.add(path, methodAccessor(getter), !isPrimaryKeyColumn(entity, path));
         }
       }
+      return accessors;
+    } catch (IntrospectionException e) {
+      throw new QueryException(e);
     }
-    return values;
   }
 }
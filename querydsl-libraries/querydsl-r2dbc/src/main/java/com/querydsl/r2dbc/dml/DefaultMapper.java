@@ -13,7 +13,6 @@
  */
 package com.querydsl.r2dbc.dml;
 
-import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.util.ReflectionUtils;
 import com.querydsl.r2dbc.types.Null;
@@ -21,7 +20,6 @@ import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.dml.AbstractMapper;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -49,27 +47,21 @@ public class DefaultMapper extends AbstractMapper<Object> {
 
   @Override
   public Map<Path<?>, Object> createMap(RelationalPath<?> entity, Object bean) {
-    try {
-      Map<Path<?>, Object> values = new LinkedHashMap<>();
-      Class<?> beanClass = bean.getClass();
-      var columns = getColumns(entity);
-      // populate in column order
-      for (Map.Entry<String, Path<?>> entry : columns.entrySet()) {
-        Path<?> path = entry.getValue();
-        Field beanField = ReflectionUtils.getFieldOrNull(beanClass, entry.getKey());
-        if (beanField != null && !Modifier.isStatic(beanField.getModifiers())) {
-          beanField.setAccessible(true);
-          var propertyValue = beanField.get(bean);
-          if (propertyValue != null) {
-            values.put(path, propertyValue);
-          } else if (withNullBindings && !isPrimaryKeyColumn(entity, path)) {
-            values.put(path, Null.DEFAULT);
-          }
-        }
+    return getAccessors(entity, bean.getClass())
+        .createMap(bean, withNullBindings ? Null.DEFAULT : null);
+  }
+
+  @Override
+  protected Accessors createAccessors(RelationalPath<?> entity, Class<?> beanType) {
+    var accessors = new Accessors();
+    // populate in column order
+    for (Map.Entry<String, Path<?>> entry : getColumns(entity).entrySet()) {
+      Path<?> path = entry.getValue();
+      Field beanField = ReflectionUtils.getFieldOrNull(beanType, entry.getKey());
+      if (beanField != null && !Modifier.isStatic(beanField.getModifiers())) {
+        accessors.add(path, fieldAccessor(beanField), !isPrimaryKeyColumn(entity, path));
       }
-      return values;
-    } catch (IllegalAccessException e) {
-      throw new QueryException(e);
     }
+    return accessors;
   }
 }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.r2dbc.dml;
+
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryFlag.Position;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.dml.ReactiveStoreClause;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.r2dbc.Configuration;
+import com.querydsl.r2dbc.R2DBCConnectionProvider;
+import com.querydsl.r2dbc.SQLSerializer;
+import com.querydsl.r2dbc.SQLTemplates;
+import com.querydsl.r2dbc.types.Null;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLBindings;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code R2DBCMergeClause} defines a MERGE INTO clause
+ *
+ * <p>Only databases with native MERGE support, such as H2, are supported. Batch items are executed
+ * in chunks of {@link #setBatchSize(int) batchSize} items like the batches of {@link
+ * R2DBCInsertClause}.
+ */
+public class R2DBCMergeClause extends AbstractR2DBCClause<R2DBCMergeClause>
+    implements ReactiveStoreClause<R2DBCMergeClause> {
+
+  protected static final Logger logger = Logger.getLogger(R2DBCMergeClause.class.getName());
+
+  protected final List<Path<?>> columns = new ArrayList<>();
+
+  protected final RelationalPath<?> entity;
+
+  protected final QueryMetadata metadata = new DefaultQueryMetadata();
+
+  protected final List<Path<?>> keys = new ArrayList<>();
+
+  @Nullable protected SubQueryExpression<?> subQuery;
+
+  protected final List<R2DBCMergeBatch> batches = new ArrayList<>();
+
+  protected final List<Expression<?>> values = new ArrayList<>();
+
+  public R2DBCMergeClause(Connection connection, SQLTemplates templates, RelationalPath<?> entity) {
+    this(connection, new Configuration(templates), entity);
+  }
+
+  public R2DBCMergeClause(
+      Connection connection, Configuration configuration, RelationalPath<?> entity) {
+    super(configuration, connection);
+    this.entity = entity;
+    metadata.addJoin(JoinType.DEFAULT, entity);
+  }
+
+  public R2DBCMergeClause(
+      R2DBCConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
+    super(configuration, connection);
+    this.entity = entity;
+    metadata.addJoin(JoinType.DEFAULT, entity);
+  }
+
+  /**
+   * Add the given String literal at the given position as a query flag
+   *
+   * @param position position
+   * @param flag query flag
+   * @return the current object
+   */
+  public R2DBCMergeClause addFlag(Position position, String flag) {
+    metadata.addFlag(new QueryFlag(position, flag));
+    return this;
+  }
+
+  /**
+   * Add the given Expression at the given position as a query flag
+   *
+   * @param position position
+   * @param flag query flag
+   * @return the current object
+   */
+  public R2DBCMergeClause addFlag(Position position, Expression<?> flag) {
+    metadata.addFlag(new QueryFlag(position, flag));
+    return this;
+  }
+
+  /**
+   * Add the current state of bindings as a batch item
+   *
+   * @return the current object
+   */
+  public R2DBCMergeClause addBatch() {
+    batches.add(new R2DBCMergeBatch(keys, columns, values, subQuery));
+    columns.clear();
+    values.clear();
+    keys.clear();
+    subQuery = null;
+    return this;
+  }
+
+  /**
+   * Get the amount of batch items
+   *
+   * @return batch count
+   */
+  public int getBatchCount() {
+    return batches.size();
+  }
+
+  @Override
+  public void clear() {
+    batches.clear();
+    columns.clear();
+    values.clear();
+    keys.clear();
+    subQuery = null;
+  }
+
+  public R2DBCMergeClause columns(Path<?>... columns) {
+    this.columns.addAll(Arrays.asList(columns));
+    return this;
+  }
+
+  /**
+   * Create the statements for a chunk of batch items
+   *
+   * @param connection connection
+   * @param chunk batch items
+   * @return statements
+   */
+  protected List<Statement> createBatchStatements(
+      Connection connection, List<R2DBCMergeBatch> chunk) {
+    List<SQLSerializer> serializers = new ArrayList<>(chunk.size());
+    for (R2DBCMergeBatch batch : chunk) {
+      serializers.add(createSerializerAndSerialize(batch));
+    }
+    return createBatchStatements(
+        connection, serializers, Collections.nCopies(chunk.size(), metadata.getParams()), logger);
+  }
+
+  /**
+   * Execute the batch items, or the current bindings if no batch items have been added, in chunks
+   * of {@link #setBatchSize(int) batchSize} items
+   *
+   * @return amount of affected rows per chunk
+   */
+  public Flux<Long> executeBatches() {
+    if (!configuration.getTemplates().isNativeMerge()) {
+      return Flux.error(
+          new UnsupportedOperationException(
+              "MERGE is only supported for databases that support native merge"));
+    }
+    List<R2DBCMergeBatch> items =
+        batches.isEmpty()
+            ? Collections.singletonList(new R2DBCMergeBatch(keys, columns, values, subQuery))
+            : batches;
+    return executeBatches(items, this::createBatchStatements);
+  }
+
+  @Override
+  public Mono<Long> execute() {
+    return executeBatches().reduce(0L, Long::sum);
+  }
+
+  @Override
+  public List<SQLBindings> getSQL() {
+    if (batches.isEmpty()) {
+      var serializer = createSerializer(true);
+      serializer.serializeMerge(metadata, entity, keys, columns, values, subQuery);
+      return Collections.singletonList(createBindings(metadata, serializer));
+    }
+    List<SQLBindings> builder = new ArrayList<>();
+    for (R2DBCMergeBatch batch : batches) {
+      builder.add(createBindings(metadata, createSerializerAndSerialize(batch)));
+    }
+    return Collections.unmodifiableList(builder);
+  }
+
+  /**
+   * Set the keys to be used in the MERGE clause
+   *
+   * @param paths keys
+   * @return the current object
+   */
+  public R2DBCMergeClause keys(Path<?>... paths) {
+    keys.addAll(Arrays.asList(paths));
+    return this;
+  }
+
+  public R2DBCMergeClause select(SubQueryExpression<?> subQuery) {
+    this.subQuery = subQuery;
+    for (var entry : subQuery.getMetadata().getParams().entrySet()) {
+      metadata.setParam((ParamExpression) entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  @Override
+  public <T> R2DBCMergeClause set(Path<T> path, @Nullable T value) {
+    columns.add(path);
+    if (value instanceof Expression<?>) {
+      values.add((Expression<?>) value);
+    } else if (value != null) {
+      values.add(ConstantImpl.create(value));
+    } else {
+      values.add(Null.CONSTANT);
+    }
+    return this;
+  }
+
+  @Override
+  public <T> R2DBCMergeClause set(Path<T> path, Expression<? extends T> expression) {
+    columns.add(path);
+    values.add(expression);
+    return this;
+  }
+
+  @Override
+  public <T> R2DBCMergeClause setNull(Path<T> path) {
+    columns.add(path);
+    values.add(Null.CONSTANT);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    var serializer = createSerializer(true);
+    serializer.serializeMerge(metadata, entity, keys, columns, values, subQuery);
+    return serializer.toString();
+  }
+
+  public R2DBCMergeClause values(Object... v) {
+    for (Object value : v) {
+      if (value instanceof Expression<?>) {
+        values.add((Expression<?>) value);
+      } else if (value != null) {
+        values.add(ConstantImpl.create(value));
+      } else {
+        values.add(Null.CONSTANT);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return values.isEmpty() && batches.isEmpty();
+  }
+
+  private SQLSerializer createSerializerAndSerialize(R2DBCMergeBatch batch) {
+    var serializer = createSerializer(true);
+    serializer.serializeMerge(
+        metadata,
+        entity,
+        batch.getKeys(),
+        batch.getColumns(),
+        batch.getValues(),
+        batch.getSubQuery());
+    return serializer;
+  }
+}
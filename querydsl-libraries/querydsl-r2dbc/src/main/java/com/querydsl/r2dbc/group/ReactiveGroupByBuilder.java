@@ -55,7 +55,8 @@ public class ReactiveGroupByBuilder<K> {
   }
 
   /**
-   * Get the results as a list
+   * Get the results as a flux. Groups are emitted as soon as the key changes, so the query results
+   * need to be ordered by the key.
    *
    * @param expressions projection
    * @return new result transformer
@@ -86,7 +87,8 @@ public class ReactiveGroupByBuilder<K> {
   }
 
   /**
-   * Get the results as a list
+   * Get the results as a flux. Groups are emitted as soon as the key changes, so the query results
+   * need to be ordered by the key.
    *
    * @param expression projection
    * @return new result transformer
@@ -144,7 +146,8 @@ public class ReactiveGroupByBuilder<K> {
   }
 
   /**
-   * Get the results as a list
+   * Get the results as a flux. Groups are emitted as soon as the key changes, so the query results
+   * need to be ordered by the key.
    *
    * @param expression projection
    * @return new result transformer
@@ -22,13 +22,15 @@ import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.FactoryExpression;
 import com.querydsl.core.types.FactoryExpressionUtils;
 import com.querydsl.core.types.Projections;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 import reactor.core.publisher.Flux;
 
 /**
- * Provides aggregated results as a list
+ * Provides aggregated results as a flux
+ *
+ * <p>Consecutive rows with the same key form a group, so the query results need to be ordered by
+ * the key. Groups are emitted as soon as the key changes, so memory use is bounded by the largest
+ * group instead of the whole result.
  *
  * @param <K>
  * @param <V>
@@ -51,33 +53,18 @@ public class ReactiveGroupByList<K, V> extends ReactiveAbstractGroupByTransforme
     if (hasGroups) {
       expr = withoutGroupExpressions(expr);
     }
-    final var result = query.select(expr).fetch();
-
-    return result
-        .collectList()
-        .flatMapMany(
-            tuples -> {
-              List<V> list = new ArrayList<>();
-              GroupImpl group = null;
-              K groupId = null;
-
-              for (Tuple tuple : tuples) {
-                var row = (K[]) tuple.toArray();
-                if (group == null) {
-                  group = new GroupImpl(groupExpressions, maps);
-                  groupId = row[0];
-                } else if (!Objects.equals(groupId, row[0])) {
-                  list.add(transform(group));
-                  group = new GroupImpl(groupExpressions, maps);
-                  groupId = row[0];
-                }
+    return query
+        .select(expr)
+        .fetch()
+        .map(Tuple::toArray)
+        .bufferUntilChanged(row -> Optional.ofNullable(row[0]))
+        .map(
+            rows -> {
+              var group = new GroupImpl(groupExpressions, maps);
+              for (Object[] row : rows) {
                 group.add(row);
               }
-              if (group != null) {
-                list.add(transform(group));
-              }
-
-              return Flux.fromIterable(list);
+              return transform(group);
             });
   }
 
@@ -21,6 +21,7 @@ import com.querydsl.core.Target;
 import com.querydsl.core.dml.ReactiveDMLClause;
 import com.querydsl.r2dbc.dml.R2DBCDeleteClause;
 import com.querydsl.r2dbc.dml.R2DBCInsertClause;
+import com.querydsl.r2dbc.dml.R2DBCMergeClause;
 import com.querydsl.r2dbc.dml.R2DBCUpdateClause;
 import com.querydsl.sql.RelationalPath;
 import io.r2dbc.spi.Connection;
@@ -107,6 +108,11 @@ public abstract class AbstractBaseTest {
     return sqlInsertClause;
   }
 
+  protected R2DBCMergeClause merge(RelationalPath<?> e) {
+    var sqlMergeClause = new R2DBCMergeClause(connection, configuration, e);
+    return sqlMergeClause;
+  }
+
   protected R2DBCDeleteClause delete(RelationalPath<?> e) {
     var sqlDeleteClause = new R2DBCDeleteClause(connection, configuration, e);
     return sqlDeleteClause;
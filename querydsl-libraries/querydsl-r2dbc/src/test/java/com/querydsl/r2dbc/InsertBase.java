@@ -126,6 +126,79 @@ public abstract class InsertBase extends AbstractBaseTest {
         .isEqualTo(1);
   }
 
+  @Test
+  public void insert_batch() {
+    var insert = insert(survey).set(survey.id, 5).set(survey.name, "55").addBatch();
+
+    assertThat(insert.getBatchCount()).isEqualTo(1);
+
+    insert.set(survey.id, 6).set(survey.name, "66").addBatch();
+
+    assertThat(insert.getBatchCount()).isEqualTo(2);
+    assertThat((long) insert.execute().block()).isEqualTo(2);
+
+    assertThat((long) query().from(survey).where(survey.name.eq("55")).fetchCount().block())
+        .isEqualTo(1L);
+    assertThat((long) query().from(survey).where(survey.name.eq("66")).fetchCount().block())
+        .isEqualTo(1L);
+  }
+
+  @Test
+  public void insert_batch_to_bulk() {
+    var insert = insert(survey);
+    insert.setBatchToBulk(true);
+
+    insert.set(survey.id, 5).set(survey.name, "55").addBatch();
+    insert.set(survey.id, 6).set(survey.name, "66").addBatch();
+
+    assertThat(insert.getBatchCount()).isEqualTo(2);
+    assertThat((long) insert.execute().block()).isEqualTo(2);
+
+    assertThat((long) query().from(survey).where(survey.name.in("55", "66")).fetchCount().block())
+        .isEqualTo(2L);
+  }
+
+  @Test
+  public void insert_batch_chunks() {
+    var insert = insert(survey).setBatchSize(3).setMaxConcurrency(2);
+    for (var i = 0; i < 10; i++) {
+      insert.set(survey.id, 100 + i).set(survey.name, "chunk").addBatch();
+    }
+    // mixed shapes end up in separate statements of the same chunk
+    insert.set(survey.id, 110).setNull(survey.name).addBatch();
+
+    assertThat(insert.executeBatches().collectList().block()).containsExactly(3L, 3L, 3L, 2L);
+    assertThat((long) query().from(survey).where(survey.id.goe(100)).fetchCount().block())
+        .isEqualTo(11L);
+  }
+
+  @Test
+  public void insert_batch_to_bulk_chunks() {
+    var insert = insert(survey).setBatchSize(4);
+    insert.setBatchToBulk(true);
+    for (var i = 0; i < 10; i++) {
+      insert.set(survey.id, 100 + i).set(survey.name, "bulk" + i).addBatch();
+    }
+
+    assertThat(insert.executeBatches().collectList().block()).containsExactly(4L, 4L, 2L);
+    assertThat(
+            (long) query().from(survey).where(survey.name.startsWith("bulk")).fetchCount().block())
+        .isEqualTo(10L);
+  }
+
+  @Test
+  @ExcludeIn({CUBRID, SQLSERVER})
+  public void insert_batch_with_keys() {
+    var insert = insert(survey).setBatchSize(2);
+    for (var i = 0; i < 5; i++) {
+      insert.set(survey.name, "keys" + i).addBatch();
+    }
+
+    assertThat(insert.executeWithKeys(survey.id).collectList().block())
+        .hasSize(5)
+        .doesNotHaveDuplicates();
+  }
+
   @Test
   public void insert_null_with_columns() {
     assertThat(
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.r2dbc;
+
+import static com.querydsl.r2dbc.Constants.survey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public abstract class MergeBase extends AbstractBaseTest {
+
+  private void reset() {
+    delete(survey).execute().block();
+    insert(survey).values(1, "Hello World", "Hello").execute().block();
+  }
+
+  @Before
+  public void setUp() {
+    reset();
+  }
+
+  @After
+  public void tearDown() {
+    reset();
+  }
+
+  @Test
+  public void merge_with_keys_columns_and_values() {
+    assertThat(
+            (long)
+                merge(survey)
+                    .keys(survey.id)
+                    .set(survey.id, 5)
+                    .set(survey.name, "Hello World")
+                    .execute()
+                    .block())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void merge_batch() {
+    var merge = merge(survey).setBatchSize(2);
+    merge.keys(survey.id).set(survey.id, 1).set(survey.name, "updated").addBatch();
+    merge.keys(survey.id).set(survey.id, 5).set(survey.name, "inserted").addBatch();
+    merge.keys(survey.id).set(survey.id, 6).set(survey.name, "inserted").addBatch();
+
+    assertThat(merge.getBatchCount()).isEqualTo(3);
+    assertThat(merge.executeBatches().collectList().block()).containsExactly(2L, 1L);
+    assertThat((long) query().from(survey).where(survey.name.eq("updated")).fetchCount().block())
+        .isEqualTo(1L);
+    assertThat((long) query().from(survey).where(survey.name.eq("inserted")).fetchCount().block())
+        .isEqualTo(2L);
+  }
+}
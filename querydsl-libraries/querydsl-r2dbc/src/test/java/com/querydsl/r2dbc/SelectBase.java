@@ -81,6 +81,7 @@ import com.querydsl.r2dbc.domain.QEmployee;
 import com.querydsl.r2dbc.domain.QEmployeeNoPK;
 import com.querydsl.r2dbc.domain.QIdName;
 import com.querydsl.r2dbc.domain.QNumberTest;
+import com.querydsl.r2dbc.group.ReactiveGroupBy;
 import com.querydsl.sql.Beans;
 import com.querydsl.sql.DatePart;
 import com.querydsl.sql.QBeans;
@@ -96,12 +97,15 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
 import org.junit.Ignore;
 import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
 public abstract class SelectBase extends AbstractBaseTest {
 
@@ -1069,6 +1073,50 @@ public abstract class SelectBase extends AbstractBaseTest {
   //        assertEquals("Mason", emps.get(21).get(employee2.lastname));
   //    }
 
+  @Test
+  public void groupBy_flux() {
+    Map<Integer, List<Integer>> expected = new LinkedHashMap<>();
+    for (Tuple row :
+        query()
+            .from(employee)
+            .orderBy(employee.superiorId.asc(), employee.id.asc())
+            .select(employee.superiorId, employee.id)
+            .fetch()
+            .toIterable()) {
+      expected
+          .computeIfAbsent(row.get(employee.superiorId), k -> new ArrayList<>())
+          .add(row.get(employee.id));
+    }
+
+    var groups =
+        Flux.from(
+                query()
+                    .from(employee)
+                    .orderBy(employee.superiorId.asc(), employee.id.asc())
+                    .transform(
+                        ReactiveGroupBy.groupBy(employee.superiorId)
+                            .flux(ReactiveGroupBy.list(employee.id))))
+            .collectList()
+            .block();
+
+    assertThat(groups).containsExactlyElementsOf(expected.values());
+  }
+
+  @Test
+  public void groupBy_flux_backpressure() {
+    StepVerifier.create(
+            query()
+                .from(employee)
+                .orderBy(employee.superiorId.asc())
+                .transform(
+                    ReactiveGroupBy.groupBy(employee.superiorId)
+                        .flux(ReactiveGroupBy.list(employee.id))),
+            1)
+        .expectNextCount(1)
+        .thenCancel()
+        .verify();
+  }
+
   @Test
   public void groupBy_yearMonth() {
     assertEquals(
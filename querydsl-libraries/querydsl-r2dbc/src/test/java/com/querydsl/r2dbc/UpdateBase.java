@@ -74,6 +74,22 @@ public abstract class UpdateBase extends AbstractBaseTest {
         .isEqualTo(count);
   }
 
+  @Test
+  public void update_batch() {
+    assertThat((long) insert(survey).values(2, "A", "B").execute().block()).isEqualTo(1);
+    assertThat((long) insert(survey).values(3, "B", "C").execute().block()).isEqualTo(1);
+
+    var update = update(survey).setBatchSize(2);
+    update.set(survey.name, "AA").where(survey.name.eq("A")).addBatch();
+    update.set(survey.name, "BB").where(survey.name.eq("B")).addBatch();
+    update.set(survey.name, "XX").where(survey.name.eq("X")).addBatch();
+
+    assertThat(update.getBatchCount()).isEqualTo(3);
+    assertThat(update.executeBatches().collectList().block()).containsExactly(2L, 0L);
+    assertThat((long) query().from(survey).where(survey.name.in("AA", "BB")).fetchCount().block())
+        .isEqualTo(2L);
+  }
+
   @Test
   @IncludeIn({CUBRID, H2, MYSQL, ORACLE, SQLSERVER})
   public void update_limit() {
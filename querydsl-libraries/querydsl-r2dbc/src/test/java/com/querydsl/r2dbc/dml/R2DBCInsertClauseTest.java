@@ -4,8 +4,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.querydsl.r2dbc.KeyAccessorsTest.QEmployee;
 import com.querydsl.r2dbc.SQLTemplates;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
+import reactor.core.publisher.Mono;
 
 public class R2DBCInsertClauseTest {
 
@@ -28,6 +35,36 @@ public class R2DBCInsertClauseTest {
     assertThat(sql.getNullFriendlyBindings()).isEqualTo(Collections.singletonList(1));
   }
 
+  @Test
+  public void getSQL_batches() {
+    var emp1 = new QEmployee("emp1");
+    var insert = new R2DBCInsertClause(null, SQLTemplates.DEFAULT, emp1);
+    insert.set(emp1.id, 1).addBatch();
+    insert.set(emp1.id, 2).addBatch();
+    insert.set(emp1.id, 3).addBatch();
+
+    assertThat(insert.getSQL()).hasSize(3);
+    assertThat(insert.getSQL().get(2).getSQL()).isEqualTo("insert into EMPLOYEE (ID)\nvalues (?)");
+    assertThat(insert.getSQL().get(2).getNullFriendlyBindings())
+        .isEqualTo(Collections.singletonList(3));
+  }
+
+  @Test
+  public void getSQL_batchToBulk() {
+    var emp1 = new QEmployee("emp1");
+    var insert = new R2DBCInsertClause(null, SQLTemplates.DEFAULT, emp1).setBatchSize(2);
+    insert.setBatchToBulk(true);
+    insert.set(emp1.id, 1).addBatch();
+    insert.set(emp1.id, 2).addBatch();
+    insert.set(emp1.id, 3).addBatch();
+
+    var sql = insert.getSQL();
+    assertThat(sql).hasSize(2);
+    assertThat(sql.getFirst().getSQL()).isEqualTo("insert into EMPLOYEE (ID)\nvalues (?), (?)");
+    assertThat(sql.getFirst().getNullFriendlyBindings()).containsExactly(1, 2);
+    assertThat(sql.get(1).getSQL()).isEqualTo("insert into EMPLOYEE (ID)\nvalues (?)");
+  }
+
   @Test
   public void getSQLWithPreservedColumnOrder() {
     var emp1 = new com.querydsl.r2dbc.domain.QEmployee("emp1");
@@ -45,4 +82,63 @@ public class R2DBCInsertClauseTest {
              EMPLOYEE.DATEFIELD, EMPLOYEE.TIMEFIELD, EMPLOYEE.SUPERIOR_ID)\
             """);
   }
+
+  @Test
+  public void chunks_are_executed_one_at_a_time() {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var emp1 = new QEmployee("emp1");
+    var insert =
+        new R2DBCInsertClause(connection(inFlight, maxInFlight), SQLTemplates.DEFAULT, emp1)
+            .setBatchSize(2)
+            .setMaxConcurrency(4);
+    for (var i = 0; i < 10; i++) {
+      insert.set(emp1.id, i).addBatch();
+    }
+
+    assertThat(insert.executeBatches().collectList().block()).hasSize(5);
+    assertThat(maxInFlight).hasValue(1);
+  }
+
+  /** Connection whose statements take some time and record how many are executed at once */
+  private static Connection connection(AtomicInteger inFlight, AtomicInteger maxInFlight) {
+    var result =
+        (Result)
+            Proxy.newProxyInstance(
+                Result.class.getClassLoader(),
+                new Class<?>[] {Result.class},
+                (proxy, method, args) -> {
+                  if (method.getName().equals("getRowsUpdated")) {
+                    return Mono.just(1L);
+                  }
+                  throw new UnsupportedOperationException(method.getName());
+                });
+    var statement =
+        (Statement)
+            Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[] {Statement.class},
+                (proxy, method, args) -> {
+                  if (method.getName().equals("execute")) {
+                    return Mono.defer(
+                        () -> {
+                          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                          return Mono.delay(Duration.ofMillis(10))
+                              .doOnNext(l -> inFlight.decrementAndGet())
+                              .thenReturn(result);
+                        });
+                  }
+                  return proxy;
+                });
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              if (method.getName().equals("createStatement")) {
+                return statement;
+              }
+              throw new UnsupportedOperationException(method.getName());
+            });
+  }
 }
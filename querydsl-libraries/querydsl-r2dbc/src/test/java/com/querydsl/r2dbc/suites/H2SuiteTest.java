@@ -8,6 +8,7 @@ import com.querydsl.r2dbc.H2Templates;
 import com.querydsl.r2dbc.InsertBase;
 import com.querydsl.r2dbc.KeywordQuotingBase;
 import com.querydsl.r2dbc.LikeEscapeBase;
+import com.querydsl.r2dbc.MergeBase;
 import com.querydsl.r2dbc.SelectBase;
 import com.querydsl.r2dbc.SubqueriesBase;
 import com.querydsl.r2dbc.TypesBase;
@@ -29,6 +30,8 @@ public class H2SuiteTest extends AbstractSuite {
 
   public static class LikeEscape extends LikeEscapeBase {}
 
+  public static class Merge extends MergeBase {}
+
   public static class Select extends SelectBase {}
 
   public static class Subqueries extends SubqueriesBase {}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.spatial;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.types.AbstractType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.geolatte.geom.ByteBuffer;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.codec.Wkb;
+import org.geolatte.geom.codec.WkbDecoder;
+import org.geolatte.geom.codec.WkbEncoder;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code AbstractWkbType} is the base class for geometry types which are stored as WKB with an
+ * optional vendor specific header
+ *
+ * <p>Values are read from the binary stream of the column into a buffer which is reused by the
+ * reading thread, and the codecs, which are stateless, are shared by all instances.
+ *
+ * <p>The WKB types are registered as custom types by the spatial templates of H2GIS, GeoDB and
+ * MySQL. Use {@link #getGeometries(Configuration, ResultSet, int)} to decode whole columns.
+ */
+public abstract class AbstractWkbType extends AbstractType<Geometry> {
+
+  static final WkbDecoder DECODER = Wkb.newDecoder(Wkb.Dialect.POSTGIS_EWKB_1);
+
+  static final WkbEncoder ENCODER = Wkb.newEncoder(Wkb.Dialect.POSTGIS_EWKB_1);
+
+  private static final ThreadLocal<ReadBuffer> buffers = ThreadLocal.withInitial(ReadBuffer::new);
+
+  AbstractWkbType(int type) {
+    super(type);
+  }
+
+  @Override
+  public Class<Geometry> getReturnedClass() {
+    return Geometry.class;
+  }
+
+  @Override
+  @Nullable
+  public Geometry getValue(ResultSet rs, int startIndex) throws SQLException {
+    return getValue(rs, startIndex, buffers.get());
+  }
+
+  /**
+   * Decode the geometries of the given column for all remaining rows of the result set
+   *
+   * <p>The WKB type of the templates of the given configuration is used for decoding, if there is
+   * one, otherwise each value is read via {@link Configuration#get(ResultSet,
+   * com.querydsl.core.types.Path, int, Class)}.
+   *
+   * @param configuration configuration
+   * @param rs result set
+   * @param startIndex column index
+   * @return geometries in row order, null for null values
+   * @throws SQLException
+   */
+  public static List<Geometry> getGeometries(
+      Configuration configuration, ResultSet rs, int startIndex) throws SQLException {
+    for (var type : configuration.getTemplates().getCustomTypes()) {
+      if (type instanceof AbstractWkbType wkbType) {
+        return wkbType.getValues(rs, startIndex);
+      }
+    }
+    List<Geometry> rv = new ArrayList<>();
+    while (rs.next()) {
+      rv.add(configuration.get(rs, null, startIndex, Geometry.class));
+    }
+    return rv;
+  }
+
+  /**
+   * Decode the geometries of the given column for all remaining rows of the result set
+   *
+   * @param rs result set
+   * @param startIndex column index
+   * @return geometries in row order, null for null values
+   * @throws SQLException
+   */
+  public List<Geometry> getValues(ResultSet rs, int startIndex) throws SQLException {
+    List<Geometry> rv = new ArrayList<>();
+    var buffer = buffers.get();
+    while (rs.next()) {
+      rv.add(getValue(rs, startIndex, buffer));
+    }
+    return rv;
+  }
+
+  /**
+   * Get the length of the vendor specific header preceding the WKB
+   *
+   * @param firstByte first byte of the value
+   * @return header length
+   */
+  protected int getHeaderLength(int firstByte) {
+    return 0;
+  }
+
+  @Nullable
+  private Geometry getValue(ResultSet rs, int startIndex, ReadBuffer buffer) throws SQLException {
+    var in = getBinaryStream(rs, startIndex);
+    if (in == null) {
+      return null;
+    }
+    try (in) {
+      var first = in.read();
+      if (first < 0) {
+        return null;
+      }
+      var headerLength = getHeaderLength(first);
+      if (headerLength > 0) {
+        in.skipNBytes(headerLength - 1);
+        buffer.read(in, 0);
+      } else {
+        buffer.bytes[0] = (byte) first;
+        buffer.read(in, 1);
+      }
+      return buffer.decode();
+    } catch (IOException e) {
+      throw new SQLException(e);
+    }
+  }
+
+  @Nullable
+  private static InputStream getBinaryStream(ResultSet rs, int startIndex) throws SQLException {
+    try {
+      return rs.getBinaryStream(startIndex);
+    } catch (SQLFeatureNotSupportedException e) {
+      var bytes = rs.getBytes(startIndex);
+      return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    }
+  }
+
+  /** Thread confined buffer for the WKB of a single value */
+  private static final class ReadBuffer {
+
+    private static final int INITIAL_SIZE = 1024;
+
+    // larger buffers are released after use
+    private static final int MAX_RETAINED_SIZE = 1 << 20;
+
+    private byte[] bytes = new byte[INITIAL_SIZE];
+
+    private ByteBuffer wrapper = ByteBuffer.from(bytes);
+
+    void read(InputStream in, int offset) throws IOException {
+      var length = offset;
+      int n;
+      while ((n = in.read(bytes, length, bytes.length - length)) >= 0) {
+        length += n;
+        if (length == bytes.length) {
+          bytes = Arrays.copyOf(bytes, bytes.length * 2);
+          wrapper = ByteBuffer.from(bytes);
+        }
+      }
+    }
+
+    Geometry decode() {
+      // the decoder reads the WKB sequentially, so bytes after the value are ignored
+      wrapper.rewind();
+      try {
+        return DECODER.decode(wrapper);
+      } finally {
+        if (bytes.length > MAX_RETAINED_SIZE) {
+          bytes = new byte[INITIAL_SIZE];
+          wrapper = ByteBuffer.from(bytes);
+        }
+      }
+    }
+  }
+}
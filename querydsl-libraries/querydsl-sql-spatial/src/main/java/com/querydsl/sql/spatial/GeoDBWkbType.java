@@ -13,19 +13,13 @@
  */
 package com.querydsl.sql.spatial;
 
-import com.querydsl.sql.types.AbstractType;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
-import org.geolatte.geom.ByteBuffer;
 import org.geolatte.geom.ByteOrder;
 import org.geolatte.geom.Geometry;
-import org.geolatte.geom.codec.Wkb;
-import org.geolatte.geom.codec.Wkt;
-import org.jetbrains.annotations.Nullable;
 
-class GeoDBWkbType extends AbstractType<Geometry> {
+class GeoDBWkbType extends AbstractWkbType {
 
   public static final GeoDBWkbType DEFAULT = new GeoDBWkbType();
 
@@ -36,39 +30,19 @@ class GeoDBWkbType extends AbstractType<Geometry> {
   }
 
   @Override
-  public Class<Geometry> getReturnedClass() {
-    return Geometry.class;
-  }
-
-  @Override
-  @Nullable
-  public Geometry getValue(ResultSet rs, int startIndex) throws SQLException {
-    var bytes = rs.getBytes(startIndex);
-    if (bytes != null) {
-      byte[] wkb;
-      if (bytes[0] != 0 && bytes[0] != 1) { // decodes EWKB
-        wkb = new byte[bytes.length - 32];
-        System.arraycopy(bytes, 32, wkb, 0, wkb.length);
-      } else {
-        wkb = bytes;
-      }
-      var decoder = Wkb.newDecoder(Wkb.Dialect.POSTGIS_EWKB_1);
-      return decoder.decode(ByteBuffer.from(wkb));
-    } else {
-      return null;
-    }
+  protected int getHeaderLength(int firstByte) {
+    // values not starting with a byte order mark have a 32 byte header
+    return firstByte != 0 && firstByte != 1 ? 32 : 0;
   }
 
   @Override
   public void setValue(PreparedStatement st, int startIndex, Geometry value) throws SQLException {
-    var encoder = Wkb.newEncoder(Wkb.Dialect.POSTGIS_EWKB_1);
-    var buffer = encoder.encode(value, byteOrder);
-    st.setBytes(startIndex, buffer.toByteArray());
+    st.setBytes(startIndex, ENCODER.encode(value, byteOrder).toByteArray());
   }
 
   @Override
   public String getLiteral(Geometry geometry) {
-    var str = Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(geometry);
+    var str = GeometryWktType.ENCODER.encode(geometry);
     if (geometry.getSRID() > -1) {
       return "ST_GeomFromText('" + str + "', " + geometry.getSRID() + ")";
     } else {
@@ -13,19 +13,13 @@
  */
 package com.querydsl.sql.spatial;
 
-import com.querydsl.sql.types.AbstractType;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
-import org.geolatte.geom.ByteBuffer;
 import org.geolatte.geom.ByteOrder;
 import org.geolatte.geom.Geometry;
-import org.geolatte.geom.codec.Wkb;
-import org.geolatte.geom.codec.Wkt;
-import org.jetbrains.annotations.Nullable;
 
-class GeometryWkbType extends AbstractType<Geometry> {
+class GeometryWkbType extends AbstractWkbType {
 
   public static final GeometryWkbType NDR = new GeometryWkbType(ByteOrder.NDR);
 
@@ -38,32 +32,13 @@ class GeometryWkbType extends AbstractType<Geometry> {
     this.byteOrder = byteOrder;
   }
 
-  @Override
-  public Class<Geometry> getReturnedClass() {
-    return Geometry.class;
-  }
-
-  @Override
-  @Nullable
-  public Geometry getValue(ResultSet rs, int startIndex) throws SQLException {
-    var bytes = rs.getBytes(startIndex);
-    if (bytes != null) {
-      var decoder = Wkb.newDecoder(Wkb.Dialect.POSTGIS_EWKB_1);
-      return decoder.decode(ByteBuffer.from(bytes));
-    } else {
-      return null;
-    }
-  }
-
   @Override
   public void setValue(PreparedStatement st, int startIndex, Geometry value) throws SQLException {
-    var encoder = Wkb.newEncoder(Wkb.Dialect.POSTGIS_EWKB_1);
-    var buffer = encoder.encode(value, byteOrder);
-    st.setBytes(startIndex, buffer.toByteArray());
+    st.setBytes(startIndex, ENCODER.encode(value, byteOrder).toByteArray());
   }
 
   @Override
   public String getLiteral(Geometry geometry) {
-    return "'" + Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(geometry) + "'";
+    return "'" + GeometryWktType.ENCODER.encode(geometry) + "'";
   }
 }
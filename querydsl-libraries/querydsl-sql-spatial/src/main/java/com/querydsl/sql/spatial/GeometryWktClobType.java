@@ -19,7 +19,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import org.geolatte.geom.Geometry;
-import org.geolatte.geom.codec.Wkt;
 import org.jetbrains.annotations.Nullable;
 
 class GeometryWktClobType extends AbstractType<Geometry> {
@@ -41,7 +40,7 @@ class GeometryWktClobType extends AbstractType<Geometry> {
     var clob = rs.getClob(startIndex);
     var str = clob != null ? clob.getSubString(1, (int) clob.length()) : null;
     if (str != null) {
-      return Wkt.newDecoder(Wkt.Dialect.POSTGIS_EWKT_1).decode(str);
+      return GeometryWktType.DECODER.decode(str);
     } else {
       return null;
     }
@@ -49,12 +48,12 @@ class GeometryWktClobType extends AbstractType<Geometry> {
 
   @Override
   public void setValue(PreparedStatement st, int startIndex, Geometry value) throws SQLException {
-    var str = Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(value);
+    var str = GeometryWktType.ENCODER.encode(value);
     st.setString(startIndex, str);
   }
 
   @Override
   public String getLiteral(Geometry geometry) {
-    return "'" + Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(geometry) + "'";
+    return "'" + GeometryWktType.ENCODER.encode(geometry) + "'";
   }
 }
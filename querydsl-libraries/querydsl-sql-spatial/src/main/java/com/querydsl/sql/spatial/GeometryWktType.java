@@ -20,12 +20,19 @@ import java.sql.SQLException;
 import java.sql.Types;
 import org.geolatte.geom.Geometry;
 import org.geolatte.geom.codec.Wkt;
+import org.geolatte.geom.codec.WktDecoder;
+import org.geolatte.geom.codec.WktEncoder;
 import org.jetbrains.annotations.Nullable;
 
 class GeometryWktType extends AbstractType<Geometry> {
 
   public static final GeometryWktType DEFAULT = new GeometryWktType();
 
+  // the codecs are stateless and shared by the spatial types
+  static final WktDecoder DECODER = Wkt.newDecoder(Wkt.Dialect.POSTGIS_EWKT_1);
+
+  static final WktEncoder ENCODER = Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1);
+
   GeometryWktType() {
     super(Types.VARCHAR);
   }
@@ -40,7 +47,7 @@ class GeometryWktType extends AbstractType<Geometry> {
   public Geometry getValue(ResultSet rs, int startIndex) throws SQLException {
     var str = rs.getString(startIndex);
     if (str != null) {
-      return Wkt.newDecoder(Wkt.Dialect.POSTGIS_EWKT_1).decode(str);
+      return DECODER.decode(str);
     } else {
       return null;
     }
@@ -48,12 +55,12 @@ class GeometryWktType extends AbstractType<Geometry> {
 
   @Override
   public void setValue(PreparedStatement st, int startIndex, Geometry value) throws SQLException {
-    var str = Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(value);
+    var str = ENCODER.encode(value);
     st.setString(startIndex, str);
   }
 
   @Override
   public String getLiteral(Geometry geometry) {
-    return "'" + Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(geometry) + "'";
+    return "'" + ENCODER.encode(geometry) + "'";
   }
 }
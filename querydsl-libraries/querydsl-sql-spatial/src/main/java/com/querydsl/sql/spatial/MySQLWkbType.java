@@ -13,19 +13,13 @@
  */
 package com.querydsl.sql.spatial;
 
-import com.querydsl.sql.types.AbstractType;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
-import org.geolatte.geom.ByteBuffer;
 import org.geolatte.geom.ByteOrder;
 import org.geolatte.geom.Geometry;
-import org.geolatte.geom.codec.Wkb;
-import org.geolatte.geom.codec.Wkt;
-import org.jetbrains.annotations.Nullable;
 
-class MySQLWkbType extends AbstractType<Geometry> {
+class MySQLWkbType extends AbstractWkbType {
 
   public static final MySQLWkbType DEFAULT = new MySQLWkbType();
 
@@ -36,31 +30,15 @@ class MySQLWkbType extends AbstractType<Geometry> {
   }
 
   @Override
-  public Class<Geometry> getReturnedClass() {
-    return Geometry.class;
-  }
-
-  @Override
-  @Nullable
-  public Geometry getValue(ResultSet rs, int startIndex) throws SQLException {
-    var bytes = rs.getBytes(startIndex);
-    if (bytes != null) {
-      var wkb = new byte[bytes.length - 4];
-      System.arraycopy(bytes, 4, wkb, 0, wkb.length);
-      var srid =
-          bytes[3] << 24 | (bytes[2] & 0xff) << 16 | (bytes[1] & 0xff) << 8 | (bytes[0] & 0xff);
-      // TODO make sure srid is set
-      var decoder = Wkb.newDecoder(Wkb.Dialect.POSTGIS_EWKB_1);
-      return decoder.decode(ByteBuffer.from(wkb));
-    } else {
-      return null;
-    }
+  protected int getHeaderLength(int firstByte) {
+    // the WKB is preceded by the srid
+    // TODO make sure srid is set
+    return 4;
   }
 
   @Override
   public void setValue(PreparedStatement st, int startIndex, Geometry value) throws SQLException {
-    var encoder = Wkb.newEncoder(Wkb.Dialect.POSTGIS_EWKB_1);
-    var buffer = encoder.encode(value, byteOrder);
+    var buffer = ENCODER.encode(value, byteOrder);
     var srid = value.getSRID();
 
     // prepend srid into first 4 bytes
@@ -77,7 +55,7 @@ class MySQLWkbType extends AbstractType<Geometry> {
 
   @Override
   public String getLiteral(Geometry geometry) {
-    var str = Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(geometry);
+    var str = GeometryWktType.ENCODER.encode(geometry);
     if (geometry.getSRID() > -1) {
       return "GeomFromText('" + str + "', " + geometry.getSRID() + ")";
     } else {
@@ -20,7 +20,6 @@ import java.sql.SQLException;
 import java.sql.Types;
 import net.postgis.jdbc.PGgeometry;
 import org.geolatte.geom.Geometry;
-import org.geolatte.geom.codec.Wkt;
 import org.jetbrains.annotations.Nullable;
 
 class PGgeometryType extends AbstractType<Geometry> {
@@ -43,18 +42,18 @@ class PGgeometryType extends AbstractType<Geometry> {
     if (obj == null) {
       return null;
     }
-    return Wkt.newDecoder(Wkt.Dialect.POSTGIS_EWKT_1).decode(obj.getValue());
+    return GeometryWktType.DECODER.decode(obj.getValue());
   }
 
   @Override
   public void setValue(PreparedStatement st, int startIndex, Geometry value) throws SQLException {
-    final var encode = Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(value);
+    final var encode = GeometryWktType.ENCODER.encode(value);
     var geometry = new PGgeometry(encode);
     st.setObject(startIndex, geometry);
   }
 
   @Override
   public String getLiteral(Geometry geometry) {
-    return "'" + Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(geometry) + "'";
+    return "'" + GeometryWktType.ENCODER.encode(geometry) + "'";
   }
 }
@@ -19,7 +19,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import org.geolatte.geom.Geometry;
-import org.geolatte.geom.codec.Wkt;
 import org.geolatte.geom.codec.db.sqlserver.Decoders;
 import org.geolatte.geom.codec.db.sqlserver.Encoders;
 import org.jetbrains.annotations.Nullable;
@@ -58,7 +57,7 @@ class SQLServerGeometryType extends AbstractType<Geometry> {
 
   @Override
   public String getLiteral(Geometry geometry) {
-    var str = Wkt.newEncoder(Wkt.Dialect.POSTGIS_EWKT_1).encode(geometry);
+    var str = GeometryWktType.ENCODER.encode(geometry);
     if (geometry.getSRID() > -1) {
       return "geometry::STGeomFromText('" + str + "', " + geometry.getSRID() + ")";
     } else {
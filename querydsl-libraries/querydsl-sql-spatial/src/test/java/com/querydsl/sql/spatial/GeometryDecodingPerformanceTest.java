@@ -0,0 +1,141 @@
+package com.querydsl.sql.spatial;
+
+import com.querydsl.core.testutil.Performance;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.geolatte.geom.ByteBuffer;
+import org.geolatte.geom.ByteOrder;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.codec.Wkb;
+import org.geolatte.geom.codec.Wkt;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/** Throughput of decoding H2GIS geometry columns with and without buffer and codec reuse */
+@Category(Performance.class)
+@State(Scope.Benchmark)
+public class GeometryDecodingPerformanceTest {
+
+  private static final int ROWS = 1000;
+
+  @Param({"10", "1000"})
+  public int points;
+
+  private Connection conn;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    conn = DriverManager.getConnection("jdbc:h2:mem:decoding");
+    try (var stmt = conn.createStatement()) {
+      stmt.execute("create table geometries(id int, geom varbinary)");
+    }
+    var wkt = new StringBuilder("LINESTRING(");
+    for (var i = 0; i < points; i++) {
+      wkt.append(i > 0 ? "," : "").append(i).append(' ').append(i % 7);
+    }
+    var wkb = Wkb.toWkb(Wkt.fromWkt(wkt.append(")").toString()), ByteOrder.NDR).toByteArray();
+    try (var stmt = conn.prepareStatement("insert into geometries values (?, ?)")) {
+      for (var i = 0; i < ROWS; i++) {
+        stmt.setInt(1, i);
+        stmt.setBytes(2, wkb);
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    conn.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public int legacy() throws SQLException {
+    List<Geometry> rv = new ArrayList<>(ROWS);
+    try (var stmt = conn.createStatement();
+        var rs = stmt.executeQuery("select geom from geometries")) {
+      while (rs.next()) {
+        rv.add(legacyDecode(rs));
+      }
+    }
+    return rv.size();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public int getValue() throws SQLException {
+    List<Geometry> rv = new ArrayList<>(ROWS);
+    try (var stmt = conn.createStatement();
+        var rs = stmt.executeQuery("select geom from geometries")) {
+      while (rs.next()) {
+        rv.add(H2GISWkbType.DEFAULT.getValue(rs, 1));
+      }
+    }
+    return rv.size();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public int getValues() throws SQLException {
+    try (var stmt = conn.createStatement();
+        var rs = stmt.executeQuery("select geom from geometries")) {
+      return H2GISWkbType.DEFAULT.getValues(rs, 1).size();
+    }
+  }
+
+  // decoding as done before H2GISWkbType extended AbstractWkbType
+  private static Geometry legacyDecode(ResultSet rs) throws SQLException {
+    var bytes = rs.getBytes(1);
+    byte[] wkb;
+    if (bytes[0] != 0 && bytes[0] != 1) {
+      wkb = new byte[bytes.length - 32];
+      System.arraycopy(bytes, 32, wkb, 0, wkb.length);
+    } else {
+      wkb = bytes;
+    }
+    var decoder = Wkb.newDecoder(Wkb.Dialect.POSTGIS_EWKB_1);
+    return decoder.decode(ByteBuffer.from(wkb));
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    var opt =
+        new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
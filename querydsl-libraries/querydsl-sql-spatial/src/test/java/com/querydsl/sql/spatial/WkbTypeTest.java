@@ -0,0 +1,148 @@
+package com.querydsl.sql.spatial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.geolatte.geom.ByteOrder;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.codec.Wkb;
+import org.geolatte.geom.codec.Wkt;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WkbTypeTest {
+
+  private static final List<String> WKT =
+      Arrays.asList(
+          "SRID=4326;POINT(2 2)",
+          "LINESTRING(30 10,10 30,40 40)",
+          "POLYGON((35 10,45 45,15 40,10 20,35 10),(20 30,35 35,30 20,20 30))");
+
+  private Connection conn;
+
+  @Before
+  public void setUp() throws SQLException {
+    conn = DriverManager.getConnection("jdbc:h2:mem:wkb");
+    try (Statement stmt = conn.createStatement()) {
+      stmt.execute("create table geometries(id int, geom varbinary)");
+    }
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.execute("drop table geometries");
+    }
+    conn.close();
+  }
+
+  @Test
+  public void wkb() throws SQLException {
+    insert(0);
+    assertThat(select(GeometryWkbType.NDR)).isEqualTo(expected());
+  }
+
+  @Test
+  public void wkb_with_header() throws SQLException {
+    insert(32);
+    assertThat(select(H2GISWkbType.DEFAULT)).isEqualTo(expected());
+    assertThat(select(GeoDBWkbType.DEFAULT)).isEqualTo(expected());
+  }
+
+  @Test
+  public void large_value() throws SQLException {
+    var wkt = new StringBuilder("LINESTRING(");
+    for (var i = 0; i < 10_000; i++) {
+      wkt.append(i > 0 ? "," : "").append(i).append(' ').append(-i);
+    }
+    var geometry = Wkt.fromWkt(wkt.append(")").toString());
+    try (var stmt = conn.prepareStatement("insert into geometries values (?, ?)")) {
+      stmt.setInt(1, 0);
+      GeometryWkbType.NDR.setValue(stmt, 2, geometry);
+      stmt.executeUpdate();
+    }
+    assertThat(select(GeometryWkbType.NDR)).containsExactly(geometry);
+  }
+
+  @Test
+  public void null_value() throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.execute("insert into geometries values (0, null)");
+    }
+    assertThat(select(GeometryWkbType.NDR)).containsExactly((Geometry) null);
+  }
+
+  @Test
+  public void getValues() throws SQLException {
+    insert(32);
+    try (Statement stmt = conn.createStatement();
+        var rs = stmt.executeQuery("select geom from geometries order by id")) {
+      assertThat(H2GISWkbType.DEFAULT.getValues(rs, 1)).isEqualTo(expected());
+    }
+  }
+
+  @Test
+  public void getGeometries() throws SQLException {
+    insert(32);
+    try (Statement stmt = conn.createStatement();
+        var rs = stmt.executeQuery("select geom from geometries order by id")) {
+      var configuration = new Configuration(H2GISTemplates.DEFAULT);
+      assertThat(AbstractWkbType.getGeometries(configuration, rs, 1)).isEqualTo(expected());
+    }
+  }
+
+  @Test
+  public void getGeometries_without_wkb_type() throws SQLException {
+    var configuration = new Configuration(H2Templates.DEFAULT);
+    configuration.register(GeometryWktType.DEFAULT);
+    try (Statement stmt = conn.createStatement();
+        var rs = stmt.executeQuery("select '" + WKT.get(0) + "'")) {
+      assertThat(AbstractWkbType.getGeometries(configuration, rs, 1))
+          .containsExactly(Wkt.fromWkt(WKT.get(0)));
+    }
+  }
+
+  private List<Geometry> expected() {
+    List<Geometry> rv = new ArrayList<>();
+    for (String wkt : WKT) {
+      rv.add(Wkt.fromWkt(wkt));
+    }
+    return rv;
+  }
+
+  private void insert(int headerLength) throws SQLException {
+    try (var stmt = conn.prepareStatement("insert into geometries values (?, ?)")) {
+      for (var i = 0; i < WKT.size(); i++) {
+        var wkb = Wkb.toWkb(Wkt.fromWkt(WKT.get(i)), ByteOrder.NDR).toByteArray();
+        var bytes = new byte[headerLength + wkb.length];
+        if (headerLength > 0) {
+          bytes[0] = (byte) 0xff;
+        }
+        System.arraycopy(wkb, 0, bytes, headerLength, wkb.length);
+        stmt.setInt(1, i);
+        stmt.setBytes(2, bytes);
+        stmt.executeUpdate();
+      }
+    }
+  }
+
+  private List<Geometry> select(AbstractWkbType type) throws SQLException {
+    List<Geometry> rv = new ArrayList<>();
+    try (Statement stmt = conn.createStatement();
+        var rs = stmt.executeQuery("select geom from geometries order by id")) {
+      while (rs.next()) {
+        rv.add(type.getValue(rs, 1));
+      }
+    }
+    return rv;
+  }
+}
@@ -29,6 +29,7 @@ import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.SimpleExpression;
 import com.querydsl.core.types.dsl.Wildcard;
 import com.querydsl.core.util.ResultSetAdapter;
+import com.querydsl.sql.types.Type;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -204,8 +205,9 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>>
   }
 
   @Nullable
-  private <U> U get(ResultSet rs, Expression<?> expr, int i, Class<U> type) throws SQLException {
-    return configuration.get(rs, expr instanceof Path ? (Path<?>) expr : null, i, type);
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <U> U get(ResultSet rs, Type type, int i, Class<U> clazz) throws SQLException {
+    return (U) type.getValue(rs, i, clazz);
   }
 
   private void set(PreparedStatement stmt, Path<?> path, int i, Object value) throws SQLException {
@@ -316,6 +318,53 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>>
     }
   }
 
+  /**
+   * Serialize this query once into a reusable {@link PreparedSQLQuery}. The returned plan can be
+   * executed many times with different parameter values without rendering the query again.
+   *
+   * @return prepared query
+   */
+  @SuppressWarnings("unchecked")
+  public PreparedSQLQuery<T> prepare() {
+    var metadata = queryMixin.getMetadata();
+    var expr = (Expression<T>) metadata.getProjection();
+    try {
+      return new PreparedSQLQuery<>(
+          configuration,
+          conn,
+          connProvider,
+          listeners,
+          statementOptions,
+          metadata.clone(),
+          serialize(false),
+          expr);
+    } finally {
+      reset();
+    }
+  }
+
+  /**
+   * Serialize the count query of this query once into a reusable {@link PreparedSQLQuery}. Use
+   * {@link PreparedSQLQuery#fetchFirst(Object...)} to obtain the row count.
+   *
+   * @return prepared count query
+   */
+  public PreparedSQLQuery<Long> prepareCount() {
+    try {
+      return new PreparedSQLQuery<>(
+          configuration,
+          conn,
+          connProvider,
+          listeners,
+          statementOptions,
+          queryMixin.getMetadata().clone(),
+          serialize(true),
+          Wildcard.count);
+    } finally {
+      reset();
+    }
+  }
+
   private PreparedStatement getPreparedStatement(String queryString) throws SQLException {
     var statement = connection().prepareStatement(queryString);
     if (statementOptions.getFetchSize() != null) {
@@ -380,10 +429,14 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>>
           }
         };
       } else if (expr instanceof FactoryExpression) {
+        var fe = (FactoryExpression<T>) expr;
+        var mapper = configuration.getRowMapper(fe);
+        var args = fe.getArgs();
+        var types = configuration.getTypes(args);
         return new SQLResultIterator<>(configuration, stmt, rs, listeners, context) {
           @Override
           public T produceNext(ResultSet rs) throws Exception {
-            return newInstance((FactoryExpression<T>) expr, rs, 0);
+            return mapper != null ? mapper.map(rs) : newInstance(fe, args, types, rs);
           }
         };
       } else if (expr.equals(Wildcard.all)) {
@@ -398,10 +451,11 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>>
           }
         };
       } else {
+        var type = configuration.getTypes(Collections.singletonList(expr))[0];
         return new SQLResultIterator<>(configuration, stmt, rs, listeners, context) {
           @Override
           public T produceNext(ResultSet rs) throws Exception {
-            return get(rs, expr, 1, expr.getType());
+            return get(rs, type, 1, expr.getType());
           }
         };
       }
@@ -453,12 +507,15 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>>
           final List<T> rv = new ArrayList<>();
           if (expr instanceof FactoryExpression) {
             var fe = (FactoryExpression<T>) expr;
+            var mapper = configuration.getRowMapper(fe);
+            var args = fe.getArgs();
+            var types = configuration.getTypes(args);
             while (rs.next()) {
               if (getLastCell) {
-                lastCell = rs.getObject(fe.getArgs().size() + 1);
+                lastCell = rs.getObject(types.length + 1);
                 getLastCell = false;
               }
-              rv.add(newInstance(fe, rs, 0));
+              rv.add(mapper != null ? mapper.map(rs) : newInstance(fe, args, types, rs));
             }
           } else if (expr.equals(Wildcard.all)) {
             while (rs.next()) {
@@ -473,12 +530,13 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>>
               rv.add((T) row);
             }
           } else {
+            var type = configuration.getTypes(Collections.singletonList(expr))[0];
             while (rs.next()) {
               if (getLastCell) {
                 lastCell = rs.getObject(2);
                 getLastCell = false;
               }
-              rv.add(get(rs, expr, 1, expr.getType()));
+              rv.add(get(rs, type, 1, expr.getType()));
             }
           }
           return rv;
@@ -546,16 +604,17 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>>
     }
   }
 
-  private <RT> RT newInstance(FactoryExpression<RT> c, ResultSet rs, int offset)
+  private <RT> RT newInstance(
+      FactoryExpression<RT> c, List<Expression<?>> args, Type<?>[] types, ResultSet rs)
       throws InstantiationException,
           IllegalAccessException,
           InvocationTargetException,
           SQLException {
-    var args = new Object[c.getArgs().size()];
-    for (var i = 0; i < args.length; i++) {
-      args[i] = get(rs, c.getArgs().get(i), offset + i + 1, c.getArgs().get(i).getType());
+    var values = new Object[types.length];
+    for (var i = 0; i < values.length; i++) {
+      values[i] = get(rs, types[i], i + 1, args.get(i).getType());
     }
-    return c.newInstance(args);
+    return c.newInstance(values);
   }
 
   private void reset() {}
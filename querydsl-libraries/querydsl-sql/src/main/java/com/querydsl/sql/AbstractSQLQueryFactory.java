@@ -17,6 +17,7 @@ import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.sql.dml.SQLBulkLoader;
 import com.querydsl.sql.dml.SQLDeleteClause;
 import com.querydsl.sql.dml.SQLInsertClause;
 import com.querydsl.sql.dml.SQLMergeClause;
@@ -72,6 +73,16 @@ public abstract class AbstractSQLQueryFactory<Q extends SQLCommonQuery<?>>
     return new SQLInsertClause(connection, configuration, path);
   }
 
+  /**
+   * Create a new bulk loader for the given table, which inserts rows in chunks of bounded size
+   *
+   * @param path table to insert into
+   * @return bulk loader
+   */
+  public final SQLBulkLoader bulkLoad(RelationalPath<?> path) {
+    return new SQLBulkLoader(insert(path));
+  }
+
   @Override
   public final SQLMergeClause merge(RelationalPath<?> path) {
     return new SQLMergeClause(connection, configuration, path);
@@ -13,6 +13,8 @@
  */
 package com.querydsl.sql;
 
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.util.PrimitiveUtils;
 import com.querydsl.sql.namemapping.ChainedNameMapping;
@@ -68,6 +70,18 @@ public final class Configuration {
 
   private StatementOptions statementOptions;
 
+  @Nullable private SQLSerializationCache serializationCache;
+
+  private boolean useGeneratedMappers = false;
+
+  private boolean useIdentifierCache = false;
+
+  private InListStrategy inListStrategy = InListStrategy.EXPAND;
+
+  private final RowMappers rowMappers = new RowMappers(this);
+
+  private final QuotedIdentifiers identifiers;
+
   /**
    * Create a new Configuration instance
    *
@@ -80,6 +94,8 @@ public final class Configuration {
   @SuppressWarnings("unchecked")
   public Configuration(SQLTemplates templates, StatementOptions statementOptions) {
     this.templates = templates;
+    this.identifiers =
+        new QuotedIdentifiers(templates, this::resolveOverride, this::resolveColumnOverride);
     for (Type<?> customType : templates.getCustomTypes()) {
       javaTypeMapping.register(customType);
     }
@@ -239,6 +255,10 @@ public final class Configuration {
    */
   @Nullable
   public SchemaAndTable getOverride(SchemaAndTable key) {
+    return useIdentifierCache ? identifiers.get(key).getSchemaAndTable() : resolveOverride(key);
+  }
+
+  private SchemaAndTable resolveOverride(SchemaAndTable key) {
     var result = nameMapping.getOverride(key).orElse(key);
     if (schemaMapping.containsKey(key.getSchema())) {
       result = new SchemaAndTable(schemaMapping.get(key.getSchema()), result.getTable());
@@ -254,6 +274,12 @@ public final class Configuration {
    * @return overridden column
    */
   public String getColumnOverride(SchemaAndTable key, String column) {
+    return useIdentifierCache
+        ? identifiers.get(key).getColumnOverride(column)
+        : resolveColumnOverride(key, column);
+  }
+
+  private String resolveColumnOverride(SchemaAndTable key, String column) {
     return nameMapping.getColumnOverride(key, column).orElse(column);
   }
 
@@ -270,6 +296,7 @@ public final class Configuration {
     } else {
       this.nameMapping = new ChainedNameMapping(this.internalNameMapping, nameMapping);
     }
+    invalidateCaches();
   }
 
   /**
@@ -302,6 +329,21 @@ public final class Configuration {
     }
   }
 
+  /**
+   * Resolve the types used to read the values of the given expressions from a result set row
+   *
+   * @param exprs projected expressions
+   * @return types by column
+   */
+  Type<?>[] getTypes(List<? extends Expression<?>> exprs) {
+    var types = new Type<?>[exprs.size()];
+    for (var i = 0; i < types.length; i++) {
+      Expression<?> expr = exprs.get(i);
+      types[i] = getType(expr instanceof Path<?> path ? path : null, expr.getType());
+    }
+    return types;
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   private <T> Type<T> getType(@Nullable Path<?> path, Class<T> clazz) {
     if (hasTableColumnTypes
@@ -356,6 +398,7 @@ public final class Configuration {
    */
   @Deprecated
   public String registerSchemaOverride(String oldSchema, String newSchema) {
+    invalidateCaches();
     return schemaMapping.put(oldSchema, newSchema);
   }
 
@@ -369,6 +412,7 @@ public final class Configuration {
    */
   @Deprecated
   public String registerTableOverride(String oldTable, String newTable) {
+    invalidateCaches();
     return internalNameMapping.registerTableOverride(oldTable, newTable);
   }
 
@@ -414,6 +458,7 @@ public final class Configuration {
    */
   @Deprecated
   public SchemaAndTable registerTableOverride(SchemaAndTable from, SchemaAndTable to) {
+    invalidateCaches();
     return internalNameMapping.registerTableOverride(from, to);
   }
 
@@ -430,6 +475,7 @@ public final class Configuration {
   @Deprecated
   public String registerColumnOverride(
       String schema, String table, String oldColumn, String newColumn) {
+    invalidateCaches();
     return internalNameMapping.registerColumnOverride(schema, table, oldColumn, newColumn);
   }
 
@@ -444,6 +490,7 @@ public final class Configuration {
    */
   @Deprecated
   public String registerColumnOverride(String table, String oldColumn, String newColumn) {
+    invalidateCaches();
     return internalNameMapping.registerColumnOverride(table, oldColumn, newColumn);
   }
 
@@ -455,6 +502,7 @@ public final class Configuration {
   public void register(Type<?> type) {
     jdbcTypeMapping.register(type.getSQLTypes()[0], type.getReturnedClass());
     javaTypeMapping.register(type);
+    rowMappers.clear();
   }
 
   /**
@@ -517,6 +565,7 @@ public final class Configuration {
   public void register(String table, String column, Type<?> type) {
     javaTypeMapping.setType(table, column, type);
     hasTableColumnTypes = true;
+    rowMappers.clear();
   }
 
   /**
@@ -596,6 +645,138 @@ public final class Configuration {
    */
   public void setTemplates(SQLTemplates templates) {
     this.templates = templates;
+    invalidateCaches();
+  }
+
+  /**
+   * Get the serialization cache
+   *
+   * @return serialization cache or null, if SQL strings are not cached
+   */
+  @Nullable
+  public SQLSerializationCache getSerializationCache() {
+    return serializationCache;
+  }
+
+  /**
+   * Set the cache used to reuse the serialized form of queries with the same shape (default: none)
+   *
+   * <p>The cache is cleared whenever name mappings, overrides or templates of this configuration
+   * are changed.
+   *
+   * @param serializationCache serialization cache or null to disable caching
+   */
+  public void setSerializationCache(@Nullable SQLSerializationCache serializationCache) {
+    this.serializationCache = serializationCache;
+  }
+
+  /**
+   * Get whether generated row mappers are used for bean and constructor projections
+   *
+   * @return true for generated mappers and false for reflective population
+   */
+  public boolean getUseGeneratedMappers() {
+    return useGeneratedMappers;
+  }
+
+  /**
+   * Set whether bean and constructor projections are populated through generated row mappers
+   * instead of reflection (default: false)
+   *
+   * <p>Mappers are generated once per projection and populate the projection directly from the
+   * result set. Projections which can't be mapped this way are populated reflectively.
+   *
+   * @param useGeneratedMappers true for generated mappers and false for reflective population
+   */
+  public void setUseGeneratedMappers(boolean useGeneratedMappers) {
+    this.useGeneratedMappers = useGeneratedMappers;
+  }
+
+  /**
+   * Get whether resolved and quoted table and column names are cached
+   *
+   * @return true, if names are cached
+   */
+  public boolean getUseIdentifierCache() {
+    return useIdentifierCache;
+  }
+
+  /**
+   * Set whether the overridden and quoted names of tables and columns are cached (default: false)
+   *
+   * <p>Names are resolved once per table and column and reused until name mappings, overrides or
+   * templates of this configuration are changed. The {@link NameMapping} given via {@link
+   * #setDynamicNameMapping(NameMapping)} needs to be deterministic when the cache is used.
+   *
+   * @param useIdentifierCache true, to cache names
+   */
+  public void setUseIdentifierCache(boolean useIdentifierCache) {
+    this.useIdentifierCache = useIdentifierCache;
+    identifiers.clear(templates);
+  }
+
+  /**
+   * Get the strategy for rendering IN predicates with collection constants
+   *
+   * @return IN list strategy
+   */
+  public InListStrategy getInListStrategy() {
+    return inListStrategy;
+  }
+
+  /**
+   * Set the strategy for rendering IN predicates with collection constants (default: {@link
+   * InListStrategy#EXPAND})
+   *
+   * @param inListStrategy IN list strategy
+   */
+  public void setInListStrategy(InListStrategy inListStrategy) {
+    this.inListStrategy = inListStrategy;
+    invalidateCaches();
+  }
+
+  /**
+   * Get whether arrays of the given element type can be bound as parameters
+   *
+   * @param elementType element type
+   * @return true, if an array type is registered
+   */
+  boolean isArrayBindable(Class<?> elementType) {
+    return javaTypeMapping.getType(Array.newInstance(elementType, 0).getClass())
+        instanceof ArrayType;
+  }
+
+  /**
+   * Get the generated row mapper for the given projection
+   *
+   * @param expr projection
+   * @return row mapper or null, if the projection is to be populated reflectively
+   */
+  @Nullable
+  <T> RowMappers.RowMapper<T> getRowMapper(FactoryExpression<T> expr) {
+    return useGeneratedMappers ? rowMappers.get(expr) : null;
+  }
+
+  RowMappers getRowMappers() {
+    return rowMappers;
+  }
+
+  /**
+   * Get the resolved and quoted names of the given table
+   *
+   * @param key schema and table of the relational path
+   * @return table names or null, if names are not cached
+   */
+  @Nullable
+  QuotedIdentifiers.TableNames getQuotedIdentifiers(SchemaAndTable key) {
+    return useIdentifierCache ? identifiers.get(key) : null;
+  }
+
+  private void invalidateCaches() {
+    identifiers.clear(templates);
+    if (serializationCache != null) {
+      serializationCache.clear();
+    }
   }
 
   public Type<?> getType(String tableName, String columnName) {
@@ -54,6 +54,8 @@ public class H2Templates extends SQLTemplates {
     setPrecedence(Precedence.COMPARISON, Ops.EQ, Ops.EQ_IGNORE_CASE, Ops.NE);
 
     add(Ops.MOD, "{0} % {1}", Precedence.ARITH_HIGH);
+    add(SQLOps.IN_ARRAY, "{0} = any({1})", Precedence.COMPARISON);
+    add(SQLOps.NOT_IN_ARRAY, "{0} <> all({1})", Precedence.COMPARISON);
 
     add(Ops.MathOps.ROUND, "round({0},0)");
     add(Ops.TRIM, "trim(both from {0})");
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+/**
+ * {@code InListStrategy} defines how {@code IN} predicates with collection constants are rendered
+ *
+ * <p>With the default strategy each collection size results in a different SQL string. The other
+ * strategies reduce the amount of distinct SQL strings, so that statement caches of JDBC drivers
+ * and plan caches of databases are used more effectively.
+ *
+ * @see Configuration#setInListStrategy(InListStrategy)
+ */
+public enum InListStrategy {
+
+  /** Render one parameter per element */
+  EXPAND,
+
+  /**
+   * Render one parameter per element, padded to the next power of two by repeating the last element
+   */
+  PAD,
+
+  /**
+   * Bind the collection as a single array parameter, if the templates support array comparisons and
+   * the element type is registered as an array type, otherwise pad as for {@link #PAD}
+   */
+  ARRAY
+}
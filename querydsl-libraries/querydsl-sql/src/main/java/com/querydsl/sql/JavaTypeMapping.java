@@ -49,11 +49,14 @@ import com.querydsl.sql.types.UtilUUIDType;
 import com.querydsl.sql.types.ZonedDateTimeType;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * {@code JavaTypeMapping} provides a mapping from Class to Type instances
  *
+ * <p>Lookups are thread-safe, so a shared {@link Configuration} can be used concurrently.
+ *
  * @author tiwe
  */
 class JavaTypeMapping {
@@ -104,11 +107,11 @@ class JavaTypeMapping {
     }
   }
 
-  private final Map<Class<?>, Type<?>> typeByClass = new HashMap<>();
+  private final Map<Class<?>, Type<?>> typeByClass = new ConcurrentHashMap<>();
 
-  private final Map<Class<?>, Type<?>> resolvedTypesByClass = new HashMap<>();
+  private final Map<Class<?>, Type<?>> resolvedTypesByClass = new ConcurrentHashMap<>();
 
-  private final Map<String, Map<String, Type<?>>> typeByColumn = new HashMap<>();
+  private final Map<String, Map<String, Type<?>>> typeByColumn = new ConcurrentHashMap<>();
 
   @Nullable
   public Type<?> getType(String table, String column) {
@@ -170,7 +173,7 @@ class JavaTypeMapping {
   }
 
   public void setType(String table, String column, Type<?> type) {
-    var columns = typeByColumn.computeIfAbsent(table, k -> new HashMap<String, Type<?>>());
+    var columns = typeByColumn.computeIfAbsent(table, k -> new ConcurrentHashMap<>());
     columns.put(column, type);
   }
 }
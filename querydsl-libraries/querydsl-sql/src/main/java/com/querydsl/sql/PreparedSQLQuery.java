@@ -0,0 +1,381 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import com.querydsl.core.CloseableIterator;
+import com.querydsl.core.QueryException;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.ParamNotSetException;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.sql.types.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code PreparedSQLQuery} is a reusable execution plan for a SQL query. The SQL string, the
+ * constant paths and the projection mapping are resolved once in {@link AbstractSQLQuery#prepare()}
+ * and each execution only binds new parameter values.
+ *
+ * <p>Parameters can be bound either by {@link ParamExpression} or positionally, in the order of the
+ * bindings returned by {@link #getSQL()}. Instances are immutable and can be shared between threads
+ * as long as the underlying connection handling allows it.
+ *
+ * @param <T> result type
+ */
+public class PreparedSQLQuery<T> {
+
+  private final Configuration configuration;
+
+  @Nullable private final Connection conn;
+
+  @Nullable private final Supplier<Connection> connProvider;
+
+  private final SQLListeners listener;
+
+  private final StatementOptions statementOptions;
+
+  private final QueryMetadata metadata;
+
+  private final String queryString;
+
+  private final List<Object> constants;
+
+  private final List<Path<?>> constantPaths;
+
+  private final Map<ParamExpression<?>, Object> params;
+
+  @Nullable private final Expression<T> projection;
+
+  @Nullable private final Expression<?>[] args;
+
+  @Nullable private final Type<?>[] types;
+
+  @Nullable private final RowMappers.RowMapper<T> mapper;
+
+  PreparedSQLQuery(
+      Configuration configuration,
+      @Nullable Connection conn,
+      @Nullable Supplier<Connection> connProvider,
+      SQLListeners listeners,
+      StatementOptions statementOptions,
+      QueryMetadata metadata,
+      SQLSerializer serializer,
+      @Nullable Expression<T> projection) {
+    this.configuration = configuration;
+    this.conn = conn;
+    this.connProvider = connProvider;
+    this.listener = new SQLListeners(listeners);
+    this.statementOptions = statementOptions;
+    this.metadata = metadata;
+    this.queryString = serializer.toString();
+    this.constants = Collections.unmodifiableList(new ArrayList<>(serializer.getConstants()));
+    this.constantPaths =
+        Collections.unmodifiableList(new ArrayList<>(serializer.getConstantPaths()));
+    this.params = Collections.unmodifiableMap(metadata.getParams());
+    this.projection = projection;
+    if (projection instanceof FactoryExpression<T> factoryExpression) {
+      this.args = factoryExpression.getArgs().toArray(new Expression<?>[0]);
+      this.types = configuration.getTypes(factoryExpression.getArgs());
+      this.mapper = configuration.getRowMapper(factoryExpression);
+    } else {
+      this.args = null;
+      this.types =
+          projection != null && !projection.equals(Wildcard.all)
+              ? configuration.getTypes(Collections.singletonList(projection))
+              : null;
+      this.mapper = null;
+    }
+    if (constants.size() != constantPaths.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + constants.size() + " paths, but got " + constantPaths.size());
+    }
+  }
+
+  private PreparedSQLQuery(PreparedSQLQuery<T> other, Connection conn) {
+    this.configuration = other.configuration;
+    this.conn = conn;
+    this.connProvider = null;
+    this.listener = other.listener;
+    this.statementOptions = other.statementOptions;
+    this.metadata = other.metadata;
+    this.queryString = other.queryString;
+    this.constants = other.constants;
+    this.constantPaths = other.constantPaths;
+    this.params = other.params;
+    this.projection = other.projection;
+    this.args = other.args;
+    this.types = other.types;
+    this.mapper = other.mapper;
+  }
+
+  /**
+   * Create a copy of this prepared query which is executed on the given connection
+   *
+   * @param conn connection to be used
+   * @return prepared query bound to the connection
+   */
+  public PreparedSQLQuery<T> withConnection(Connection conn) {
+    return new PreparedSQLQuery<>(this, conn);
+  }
+
+  /**
+   * Get the number of parameter slots of the prepared statement
+   *
+   * @return number of bindings
+   */
+  public int getBindingCount() {
+    return constants.size();
+  }
+
+  /**
+   * Get the SQL string and the default bindings of this query
+   *
+   * @return SQL string and bindings
+   */
+  public SQLBindings getSQL() {
+    return new SQLBindings(queryString, resolve(Collections.emptyMap()));
+  }
+
+  /**
+   * Execute the query with the given positional bindings. If no bindings are given, the constants
+   * and parameters of the original query are used.
+   *
+   * @param bindings values for all parameter slots in order
+   * @return results
+   */
+  public List<T> fetch(Object... bindings) {
+    return fetchInternal(resolve(bindings));
+  }
+
+  /**
+   * Execute the query with the given parameter values
+   *
+   * @param params parameter values, overriding the ones set on the original query
+   * @return results
+   */
+  public List<T> fetch(Map<ParamExpression<?>, ?> params) {
+    return fetchInternal(resolve(params));
+  }
+
+  /**
+   * Execute the query with the given positional bindings and return the first result
+   *
+   * @param bindings values for all parameter slots in order
+   * @return first result or null
+   */
+  @Nullable
+  public T fetchFirst(Object... bindings) {
+    try (var it = iterate(bindings)) {
+      return it.hasNext() ? it.next() : null;
+    }
+  }
+
+  /**
+   * Execute the query with the given parameter values and return the first result
+   *
+   * @param params parameter values, overriding the ones set on the original query
+   * @return first result or null
+   */
+  @Nullable
+  public T fetchFirst(Map<ParamExpression<?>, ?> params) {
+    try (var it = iterate(params)) {
+      return it.hasNext() ? it.next() : null;
+    }
+  }
+
+  /**
+   * Execute the query with the given positional bindings and iterate over the results
+   *
+   * @param bindings values for all parameter slots in order
+   * @return result iterator
+   */
+  public CloseableIterator<T> iterate(Object... bindings) {
+    return iterateInternal(resolve(bindings));
+  }
+
+  /**
+   * Execute the query with the given parameter values and iterate over the results
+   *
+   * @param params parameter values, overriding the ones set on the original query
+   * @return result iterator
+   */
+  public CloseableIterator<T> iterate(Map<ParamExpression<?>, ?> params) {
+    return iterateInternal(resolve(params));
+  }
+
+  private List<Object> resolve(Object[] bindings) {
+    if (bindings.length == 0) {
+      return resolve(Collections.emptyMap());
+    } else if (bindings.length != constants.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + constants.size() + " bindings, but got " + bindings.length);
+    }
+    return Arrays.asList(bindings);
+  }
+
+  private List<Object> resolve(Map<ParamExpression<?>, ?> overrides) {
+    List<Object> rv = new ArrayList<>(constants.size());
+    for (Object o : constants) {
+      if (o instanceof ParamExpression) {
+        if (overrides.containsKey(o)) {
+          o = overrides.get(o);
+        } else if (params.containsKey(o)) {
+          o = params.get(o);
+        } else {
+          throw new ParamNotSetException((ParamExpression<?>) o);
+        }
+      }
+      rv.add(o);
+    }
+    return rv;
+  }
+
+  private Connection connection() {
+    if (connProvider != null) {
+      return connProvider.get();
+    } else if (conn != null) {
+      return conn;
+    } else {
+      throw new IllegalStateException("No connection provided");
+    }
+  }
+
+  private SQLListenerContextImpl startContext(Connection connection, List<Object> bindings) {
+    var context = new SQLListenerContextImpl(metadata, connection);
+    listener.start(context);
+    context.addSQL(new SQLBindings(queryString, bindings));
+    return context;
+  }
+
+  private PreparedStatement prepare(SQLListenerContextImpl context, List<Object> bindings)
+      throws SQLException {
+    listener.prePrepare(context);
+    var stmt = context.getConnection().prepareStatement(queryString);
+    if (statementOptions.getFetchSize() != null) {
+      stmt.setFetchSize(statementOptions.getFetchSize());
+    }
+    if (statementOptions.getMaxFieldSize() != null) {
+      stmt.setMaxFieldSize(statementOptions.getMaxFieldSize());
+    }
+    if (statementOptions.getQueryTimeout() != null) {
+      stmt.setQueryTimeout(statementOptions.getQueryTimeout());
+    }
+    if (statementOptions.getMaxRows() != null) {
+      stmt.setMaxRows(statementOptions.getMaxRows());
+    }
+    context.addPreparedStatement(stmt);
+    for (var i = 0; i < bindings.size(); i++) {
+      configuration.set(stmt, constantPaths.get(i), i + 1, bindings.get(i));
+    }
+    listener.prepared(context);
+    return stmt;
+  }
+
+  private List<T> fetchInternal(List<Object> bindings) {
+    var context = startContext(connection(), bindings);
+    try (var stmt = prepare(context, bindings)) {
+      listener.preExecute(context);
+      try (var rs = stmt.executeQuery()) {
+        listener.executed(context);
+        final List<T> rv = new ArrayList<>();
+        while (rs.next()) {
+          rv.add(produce(rs));
+        }
+        return rv;
+      }
+    } catch (SQLException e) {
+      context.setException(e);
+      listener.exception(context);
+      throw configuration.translate(queryString, bindings, e);
+    } catch (ReflectiveOperationException e) {
+      context.setException(e);
+      listener.exception(context);
+      throw new QueryException(e);
+    } finally {
+      listener.end(context);
+    }
+  }
+
+  private CloseableIterator<T> iterateInternal(List<Object> bindings) {
+    var context = startContext(connection(), bindings);
+    PreparedStatement stmt = null;
+    try {
+      stmt = prepare(context, bindings);
+      listener.preExecute(context);
+      var rs = stmt.executeQuery();
+      listener.executed(context);
+      return new SQLResultIterator<>(configuration, stmt, rs, listener, context) {
+        @Override
+        protected T produceNext(ResultSet rs) throws Exception {
+          return produce(rs);
+        }
+      };
+    } catch (SQLException e) {
+      context.setException(e);
+      listener.exception(context);
+      try {
+        if (stmt != null) {
+          stmt.close();
+        }
+      } catch (SQLException e2) {
+        e.addSuppressed(e2);
+      }
+      listener.end(context);
+      throw configuration.translate(queryString, bindings, e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private T produce(ResultSet rs) throws SQLException, ReflectiveOperationException {
+    if (mapper != null) {
+      return mapper.map(rs);
+    } else if (args != null) {
+      var values = new Object[args.length];
+      for (var i = 0; i < args.length; i++) {
+        values[i] = get(rs, types[i], i + 1, args[i]);
+      }
+      return ((FactoryExpression<T>) projection).newInstance(values);
+    } else if (projection == null) {
+      return (T) rs.getObject(1);
+    } else if (projection.equals(Wildcard.all)) {
+      var row = new Object[rs.getMetaData().getColumnCount()];
+      for (var i = 0; i < row.length; i++) {
+        row[i] = rs.getObject(i + 1);
+      }
+      return (T) row;
+    } else {
+      return (T) get(rs, types[0], 1, projection);
+    }
+  }
+
+  @Nullable
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Object get(ResultSet rs, Type type, int i, Expression<?> expr)
+      throws SQLException {
+    return type.getValue(rs, i, expr.getType());
+  }
+}
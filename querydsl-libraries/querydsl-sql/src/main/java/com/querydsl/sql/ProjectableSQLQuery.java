@@ -506,6 +506,10 @@ public abstract class ProjectableSQLQuery<T, Q extends ProjectableSQLQuery<T, Q>
         }
         serializer.serialize(mixin2.getMetadata(), forCountRow);
       }
+    } else if (configuration.getSerializationCache() != null) {
+      configuration
+          .getSerializationCache()
+          .serialize(serializer, queryMixin.getMetadata(), forCountRow);
     } else {
       serializer.serialize(queryMixin.getMetadata(), forCountRow);
     }
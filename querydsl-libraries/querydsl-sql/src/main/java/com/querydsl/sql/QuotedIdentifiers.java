@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code QuotedIdentifiers} caches the overridden and quoted table and column names of a {@link
+ * Configuration}
+ *
+ * <p>Name mappings and identifier quoting are invariant for a given table as long as the overrides
+ * and templates of the configuration stay the same, so they are resolved once per table and column.
+ * The cache is cleared by the configuration when overrides or templates are changed. Dynamic name
+ * mappings need to be deterministic, which is why the cache is only used if enabled via {@link
+ * Configuration#setUseIdentifierCache(boolean)}.
+ */
+final class QuotedIdentifiers {
+
+  private final Map<SchemaAndTable, TableNames> tables = new ConcurrentHashMap<>();
+
+  private final Function<SchemaAndTable, SchemaAndTable> tableOverride;
+
+  private final BiFunction<SchemaAndTable, String, String> columnOverride;
+
+  private final Function<SchemaAndTable, TableNames> factory = this::create;
+
+  private volatile SQLTemplates templates;
+
+  QuotedIdentifiers(
+      SQLTemplates templates,
+      Function<SchemaAndTable, SchemaAndTable> tableOverride,
+      BiFunction<SchemaAndTable, String, String> columnOverride) {
+    this.templates = templates;
+    this.tableOverride = tableOverride;
+    this.columnOverride = columnOverride;
+  }
+
+  /**
+   * Get the resolved names of the given table
+   *
+   * @param key schema and table of the relational path
+   * @return resolved names
+   */
+  TableNames get(SchemaAndTable key) {
+    var names = tables.get(key);
+    return names != null ? names : tables.computeIfAbsent(key, factory);
+  }
+
+  void clear(SQLTemplates templates) {
+    this.templates = templates;
+    tables.clear();
+  }
+
+  private TableNames create(SchemaAndTable key) {
+    return new TableNames(key, tableOverride.apply(key), templates);
+  }
+
+  /** {@code TableNames} holds the resolved names of a single table and its columns */
+  final class TableNames {
+
+    private final SchemaAndTable key;
+
+    private final SchemaAndTable override;
+
+    private final SQLTemplates templates;
+
+    private final String table;
+
+    @Nullable private final String qualifiedTable;
+
+    private final Map<String, ColumnNames> columns = new ConcurrentHashMap<>();
+
+    private final Function<String, ColumnNames> columnFactory = this::createColumn;
+
+    TableNames(SchemaAndTable key, SchemaAndTable override, SQLTemplates templates) {
+      this.key = key;
+      this.override = override;
+      this.templates = templates;
+      this.table = templates.quoteIdentifier(override.getTable());
+      if (override.getSchema() != null) {
+        this.qualifiedTable =
+            templates.quoteIdentifier(override.getSchema())
+                + "."
+                + templates.quoteIdentifier(override.getTable(), true);
+      } else {
+        this.qualifiedTable = null;
+      }
+    }
+
+    /**
+     * Get the overridden schema and table
+     *
+     * @return schema and table
+     */
+    SchemaAndTable getSchemaAndTable() {
+      return override;
+    }
+
+    /**
+     * Get the quoted table name
+     *
+     * @param withSchema true, to prefix the table with the schema
+     * @return table name or null, if the schema was requested but the table has none
+     */
+    @Nullable
+    String getTable(boolean withSchema) {
+      return withSchema ? qualifiedTable : table;
+    }
+
+    /**
+     * Get the overridden column name
+     *
+     * @param column column name
+     * @return overridden column name
+     */
+    String getColumnOverride(String column) {
+      return getColumnNames(column).override;
+    }
+
+    /**
+     * Get the overridden and quoted column name
+     *
+     * @param column column name
+     * @param precededByDot true, if the column is qualified by its table
+     * @return quoted column name
+     */
+    String getColumn(String column, boolean precededByDot) {
+      var names = getColumnNames(column);
+      return precededByDot ? names.quotedAfterDot : names.quoted;
+    }
+
+    private ColumnNames getColumnNames(String column) {
+      var names = columns.get(column);
+      return names != null ? names : columns.computeIfAbsent(column, columnFactory);
+    }
+
+    private ColumnNames createColumn(String column) {
+      var override = columnOverride.apply(key, column);
+      return new ColumnNames(
+          override,
+          templates.quoteIdentifier(override, false),
+          templates.quoteIdentifier(override, true));
+    }
+  }
+
+  private static final class ColumnNames {
+
+    private final String override, quoted, quotedAfterDot;
+
+    ColumnNames(String override, String quoted, String quotedAfterDot) {
+      this.override = override;
+      this.quoted = quoted;
+      this.quotedAfterDot = quotedAfterDot;
+    }
+  }
+}
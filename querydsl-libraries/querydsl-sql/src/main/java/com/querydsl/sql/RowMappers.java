@@ -0,0 +1,390 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionException;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.QBean;
+import com.querydsl.core.util.ConstructorUtils;
+import com.querydsl.core.util.PrimitiveUtils;
+import com.querydsl.sql.types.Type;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code RowMappers} creates and caches {@link RowMapper} instances for projections of a {@link
+ * Configuration}
+ *
+ * <p>Mappers are generated for plain {@link QBean} and {@link ConstructorExpression} projections
+ * with flat arguments. Beans are instantiated and populated through {@link LambdaMetafactory}
+ * generated accessors and constructor invocations are composed into a single {@link MethodHandle},
+ * so rows are mapped without reflection and without an intermediate argument array. Other
+ * projections, and projections whose members are not accessible, are mapped reflectively.
+ *
+ * <p>At most {@link #MAX_SIZE} mappers are cached, the least recently used ones are evicted.
+ */
+final class RowMappers {
+
+  /**
+   * {@code RowMapper} creates a projection instance from the current row of a {@link ResultSet}
+   *
+   * @param <T> projection type
+   */
+  interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+  }
+
+  /** Maximum amount of cached mappers */
+  static final int MAX_SIZE = 1000;
+
+  private static final RowMapper<?> UNSUPPORTED = rs -> null;
+
+  private static final MethodHandle READ;
+
+  static {
+    try {
+      READ =
+          MethodHandles.lookup()
+              .findVirtual(
+                  Column.class, "read", MethodType.methodType(Object.class, ResultSet.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Configuration configuration;
+
+  private final Map<Object, RowMapper<?>> mappers =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, RowMapper<?>> eldest) {
+          return size() > MAX_SIZE;
+        }
+      };
+
+  RowMappers(Configuration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Get the mapper for the given projection
+   *
+   * @param expr projection
+   * @return mapper or null, if the projection needs to be mapped reflectively
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  <T> RowMapper<T> get(FactoryExpression<T> expr) {
+    Object key;
+    if (expr.getClass() == QBean.class) {
+      var bean = (QBean<T>) expr;
+      key =
+          List.of(bean.getType(), bean.isFieldAccess(), List.copyOf(bean.getBindings().entrySet()));
+    } else if (expr.getClass() == ConstructorExpression.class) {
+      key = expr;
+    } else {
+      return null;
+    }
+    RowMapper<?> mapper;
+    synchronized (mappers) {
+      mapper = mappers.get(key);
+    }
+    if (mapper == null) {
+      // mappers are created outside of the lock, concurrent creations keep the first one
+      var created = create(expr);
+      synchronized (mappers) {
+        mapper = mappers.putIfAbsent(key, created);
+      }
+      if (mapper == null) {
+        mapper = created;
+      }
+    }
+    return mapper != UNSUPPORTED ? (RowMapper<T>) mapper : null;
+  }
+
+  int size() {
+    synchronized (mappers) {
+      return mappers.size();
+    }
+  }
+
+  /** Discard the generated mappers, since they capture the column types resolved on creation */
+  void clear() {
+    synchronized (mappers) {
+      mappers.clear();
+    }
+  }
+
+  private RowMapper<?> create(FactoryExpression<?> expr) {
+    var types = configuration.getTypes(expr.getArgs());
+    var columns = new Column[types.length];
+    for (var i = 0; i < columns.length; i++) {
+      Expression<?> arg = expr.getArgs().get(i);
+      if (arg instanceof FactoryExpression) {
+        return UNSUPPORTED;
+      }
+      columns[i] = new Column(types[i], arg.getType(), i + 1);
+    }
+    try {
+      RowMapper<?> mapper;
+      if (expr instanceof QBean<?> bean) {
+        mapper = createBeanMapper(bean, columns);
+      } else {
+        mapper = createConstructorMapper((ConstructorExpression<?>) expr, columns);
+      }
+      return mapper != null ? mapper : UNSUPPORTED;
+    } catch (ReflectiveOperationException
+        | LambdaConversionException
+        | IntrospectionException
+        | IllegalArgumentException
+        | WrongMethodTypeException
+        | SecurityException e) {
+      // inaccessible members or unsupported signatures are mapped reflectively
+      return UNSUPPORTED;
+    }
+  }
+
+  @Nullable
+  private static <T> RowMapper<T> createBeanMapper(QBean<T> bean, Column[] columns)
+      throws ReflectiveOperationException, LambdaConversionException, IntrospectionException {
+    Class<? extends T> type = bean.getType();
+    if (Modifier.isAbstract(type.getModifiers())) {
+      return null;
+    }
+    var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    Supplier<T> constructor =
+        newInstance(
+            LambdaMetafactory.metafactory(
+                lookup,
+                "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                lookup.findConstructor(type, MethodType.methodType(void.class)),
+                MethodType.methodType(type)));
+
+    List<BiConsumer<Object, Object>> setters = new ArrayList<>(columns.length);
+    if (bean.isFieldAccess()) {
+      for (String property : bean.getBindings().keySet()) {
+        setters.add(fieldSetter(type, property));
+      }
+    } else {
+      var descriptors = Introspector.getBeanInfo(type).getPropertyDescriptors();
+      for (String property : bean.getBindings().keySet()) {
+        setters.add(methodSetter(descriptors, property));
+      }
+    }
+    return new BeanMapper<>(constructor, setters, columns);
+  }
+
+  /**
+   * Create the function of the given lambda call site
+   *
+   * @param site call site of a non-capturing lambda
+   * @return function
+   */
+  @SuppressWarnings("unchecked")
+  private static <F> F newInstance(CallSite site) {
+    try {
+      return (F) site.getTarget().invoke();
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      // lambda factories don't throw checked exceptions
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Nullable
+  private static BiConsumer<Object, Object> fieldSetter(Class<?> type, String property)
+      throws IllegalAccessException {
+    for (Class<?> cl = type; !cl.equals(Object.class); cl = cl.getSuperclass()) {
+      Field field;
+      try {
+        field = cl.getDeclaredField(property);
+      } catch (NoSuchFieldException e) {
+        continue;
+      }
+      var handle =
+          MethodHandles.privateLookupIn(cl, MethodHandles.lookup())
+              .unreflectSetter(field)
+              .asType(MethodType.methodType(void.class, Object.class, Object.class));
+      return (bean, value) -> {
+        try {
+          handle.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new ExpressionException(e.getMessage(), e);
+        }
+      };
+    }
+    return null;
+  }
+
+  @Nullable
+  private static BiConsumer<Object, Object> methodSetter(
+      PropertyDescriptor[] descriptors, String property)
+      throws ReflectiveOperationException, LambdaConversionException {
+    for (PropertyDescriptor descriptor : descriptors) {
+      if (descriptor.getName().equals(property)) {
+        Method setter = descriptor.getWriteMethod();
+        if (setter == null) {
+          return null;
+        }
+        Class<?> owner = setter.getDeclaringClass();
+        var lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+        return newInstance(
+            LambdaMetafactory.metafactory(
+                lookup,
+                "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                lookup.unreflect(setter),
+                MethodType.methodType(
+                    void.class, owner, PrimitiveUtils.wrap(setter.getParameterTypes()[0]))));
+      }
+    }
+    return null;
+  }
+
+  @Nullable
+  private static <T> RowMapper<T> createConstructorMapper(
+      ConstructorExpression<T> expr, Column[] columns) throws ReflectiveOperationException {
+    var constructor = ConstructorUtils.getConstructor(expr.getType(), expr.getParameterTypes());
+    if (constructor.isVarArgs()) {
+      return null;
+    }
+    var lookup = MethodHandles.privateLookupIn(expr.getType(), MethodHandles.lookup());
+    var handle = lookup.unreflectConstructor(constructor);
+    var parameterTypes = constructor.getParameterTypes();
+    var readers = new MethodHandle[columns.length];
+    for (var i = 0; i < readers.length; i++) {
+      Class<?> parameterType = parameterTypes[i];
+      if (parameterType.isPrimitive()) {
+        columns[i].defaultValue = Array.get(Array.newInstance(parameterType, 1), 0);
+      }
+      readers[i] =
+          READ.bindTo(columns[i]).asType(MethodType.methodType(parameterType, ResultSet.class));
+    }
+    // (ResultSet, ..., ResultSet) -> T is collapsed into (ResultSet) -> Object
+    handle = MethodHandles.filterArguments(handle, 0, readers);
+    handle =
+        MethodHandles.permuteArguments(
+            handle,
+            MethodType.methodType(expr.getType(), ResultSet.class),
+            new int[readers.length]);
+    return new ConstructorMapper<>(
+        handle.asType(MethodType.methodType(Object.class, ResultSet.class)));
+  }
+
+  /** Reads a single projection column */
+  private static final class Column {
+
+    @SuppressWarnings("rawtypes")
+    private final Type type;
+
+    private final Class<?> clazz;
+
+    private final int index;
+
+    @Nullable private Object defaultValue;
+
+    Column(Type<?> type, Class<?> clazz, int index) {
+      this.type = type;
+      this.clazz = clazz;
+      this.index = index;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    Object read(ResultSet rs) throws SQLException {
+      Object value = type.getValue(rs, index, clazz);
+      return value != null ? value : defaultValue;
+    }
+  }
+
+  private static final class BeanMapper<T> implements RowMapper<T> {
+
+    private final Supplier<T> constructor;
+
+    private final List<BiConsumer<Object, Object>> setters;
+
+    private final Column[] columns;
+
+    BeanMapper(
+        Supplier<T> constructor, List<BiConsumer<Object, Object>> setters, Column[] columns) {
+      this.constructor = constructor;
+      this.setters = setters;
+      this.columns = columns;
+    }
+
+    @Override
+    public T map(ResultSet rs) throws SQLException {
+      var rv = constructor.get();
+      for (var i = 0; i < columns.length; i++) {
+        var value = columns[i].read(rs);
+        var setter = setters.get(i);
+        if (value != null && setter != null) {
+          setter.accept(rv, value);
+        }
+      }
+      return rv;
+    }
+  }
+
+  private static final class ConstructorMapper<T> implements RowMapper<T> {
+
+    private final MethodHandle constructor;
+
+    ConstructorMapper(MethodHandle constructor) {
+      this.constructor = constructor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet rs) throws SQLException {
+      try {
+        return (T) (Object) constructor.invokeExact(rs);
+      } catch (SQLException | RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new ExpressionException(e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -37,12 +37,14 @@ public enum SQLOps implements Operator {
   FIRSTVALUE(Object.class),
   FOR_SHARE(Object.class),
   FOR_UPDATE(Object.class),
+  IN_ARRAY(Boolean.class),
   LAG(Object.class),
   LASTVALUE(Object.class),
   LEAD(Object.class),
   LISTAGG(Object.class),
   NEXTVAL(Object.class),
   NO_WAIT(Object.class),
+  NOT_IN_ARRAY(Boolean.class),
   NTHVALUE(Object.class),
   NTILE(Object.class),
   PERCENTRANK(Double.class),
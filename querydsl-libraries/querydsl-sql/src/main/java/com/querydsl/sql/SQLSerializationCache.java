@@ -0,0 +1,876 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinFlag;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.Template;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.Visitor;
+import com.querydsl.sql.types.Null;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code SQLSerializationCache} caches the rendered SQL of queries by their shape.
+ *
+ * <p>The shape of a query covers its joins, filters, projection, ordering, modifiers and flags, but
+ * not the values of constants which are bound as statement parameters. Queries with the same shape
+ * reuse the SQL string and constant layout of the first serialization instead of walking the
+ * expression tree again. Constants which influence the SQL text (e.g. limit and offset, cast types
+ * or values rendered as literals by templates) are part of the shape.
+ *
+ * <p>Batch executions of insert, update and merge clauses use the same mechanism to render batch
+ * items which share a column layout only once.
+ *
+ * <p>The cache is bounded and evicts the least recently used shapes. It is safe to share between
+ * many queries using the same {@link Configuration}.
+ *
+ * <p>Usage
+ *
+ * <pre>{@code
+ * Configuration configuration = new Configuration(templates);
+ * configuration.setSerializationCache(new SQLSerializationCache(1000));
+ * }</pre>
+ */
+public final class SQLSerializationCache {
+
+  private static final CachedSql UNCACHEABLE = new CachedSql(null, null, null, null);
+
+  private final Map<Key, CachedSql> entries;
+
+  private final Map<Template, boolean[]> bindableArgs = new ConcurrentHashMap<>();
+
+  private final int maxSize;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Create a new cache
+   *
+   * @param maxSize maximum amount of cached query shapes
+   */
+  public SQLSerializationCache(final int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize needs to be positive, got " + maxSize);
+    }
+    this.maxSize = maxSize;
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, CachedSql> eldest) {
+            if (size() > SQLSerializationCache.this.maxSize) {
+              evictions.incrementAndGet();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /**
+   * Get the maximum amount of cached query shapes
+   *
+   * @return maximum size
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Get the current amount of cached query shapes
+   *
+   * @return size
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Get the amount of serializations served from the cache
+   *
+   * @return hit count
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Get the amount of serializations which required a full serialization
+   *
+   * @return miss count
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * Get the amount of query shapes evicted from the cache
+   *
+   * @return eviction count
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  /** Remove all cached query shapes */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /**
+   * Serialize the given query into the given serializer, using a cached rendering if available
+   *
+   * @param serializer empty serializer
+   * @param metadata query metadata
+   * @param forCountRow true for count query
+   */
+  public void serialize(SQLSerializer serializer, QueryMetadata metadata, boolean forCountRow) {
+    var shape = new Shape(serializer.configuration, s -> s.serialize(metadata, forCountRow));
+    shape.tokens.add(forCountRow);
+    shape.metadata(metadata);
+    serialize(serializer, shape);
+  }
+
+  /**
+   * Serialize the given INSERT into the given serializer, using a cached rendering if available
+   *
+   * @param serializer empty serializer
+   * @param metadata clause metadata
+   * @param entity target table
+   * @param columns columns
+   * @param values values
+   * @param subQuery subquery or null
+   */
+  public void serializeInsert(
+      SQLSerializer serializer,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      List<Path<?>> columns,
+      List<Expression<?>> values,
+      @Nullable SubQueryExpression<?> subQuery) {
+    serialize(
+        serializer,
+        insertShape(serializer.configuration, metadata, entity, columns, values, subQuery));
+  }
+
+  /**
+   * Serialize the given UPDATE into the given serializer, using a cached rendering if available
+   *
+   * @param serializer empty serializer
+   * @param metadata clause metadata
+   * @param entity target table
+   * @param updates updates
+   */
+  public void serializeUpdate(
+      SQLSerializer serializer,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      Map<Path<?>, Expression<?>> updates) {
+    serialize(serializer, updateShape(serializer.configuration, metadata, entity, updates));
+  }
+
+  /**
+   * Serialize the given MERGE into the given serializer, using a cached rendering if available
+   *
+   * @param serializer empty serializer
+   * @param metadata clause metadata
+   * @param entity target table
+   * @param keys key columns
+   * @param columns columns
+   * @param values values
+   * @param subQuery subquery or null
+   */
+  public void serializeMerge(
+      SQLSerializer serializer,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      List<Path<?>> keys,
+      List<Path<?>> columns,
+      List<Expression<?>> values,
+      @Nullable SubQueryExpression<?> subQuery) {
+    serialize(
+        serializer,
+        mergeShape(serializer.configuration, metadata, entity, keys, columns, values, subQuery));
+  }
+
+  /**
+   * Get the layout of the given INSERT batch item
+   *
+   * @param configuration configuration
+   * @param metadata clause metadata
+   * @param entity target table
+   * @param columns columns
+   * @param values values
+   * @param subQuery subquery or null
+   * @return layout
+   */
+  public Layout insertLayout(
+      Configuration configuration,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      List<Path<?>> columns,
+      List<Expression<?>> values,
+      @Nullable SubQueryExpression<?> subQuery) {
+    return new Layout(insertShape(configuration, metadata, entity, columns, values, subQuery));
+  }
+
+  /**
+   * Get the layout of the given UPDATE batch item
+   *
+   * @param configuration configuration
+   * @param metadata clause metadata
+   * @param entity target table
+   * @param updates updates
+   * @return layout
+   */
+  public Layout updateLayout(
+      Configuration configuration,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      Map<Path<?>, Expression<?>> updates) {
+    return new Layout(updateShape(configuration, metadata, entity, updates));
+  }
+
+  /**
+   * Get the layout of the given MERGE batch item
+   *
+   * @param configuration configuration
+   * @param metadata clause metadata
+   * @param entity target table
+   * @param keys key columns
+   * @param columns columns
+   * @param values values
+   * @param subQuery subquery or null
+   * @return layout
+   */
+  public Layout mergeLayout(
+      Configuration configuration,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      List<Path<?>> keys,
+      List<Path<?>> columns,
+      List<Expression<?>> values,
+      @Nullable SubQueryExpression<?> subQuery) {
+    return new Layout(mergeShape(configuration, metadata, entity, keys, columns, values, subQuery));
+  }
+
+  /**
+   * Serialize the given batch item into the given serializer, using a cached rendering if
+   * available. Afterwards the constants of other items with the same layout can be bound via {@link
+   * Layout#getConstants(Layout)}.
+   *
+   * @param serializer empty serializer
+   * @param layout batch item
+   */
+  public void serialize(SQLSerializer serializer, Layout layout) {
+    layout.cached = serialize(serializer, layout.shape);
+  }
+
+  private Shape insertShape(
+      Configuration configuration,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      List<Path<?>> columns,
+      List<Expression<?>> values,
+      @Nullable SubQueryExpression<?> subQuery) {
+    var shape =
+        new Shape(
+            configuration, s -> s.serializeInsert(metadata, entity, columns, values, subQuery));
+    shape.tokens.add("insert");
+    shape.path(entity);
+    shape.metadata(metadata);
+    shape.paths(columns);
+    shape.values(values);
+    shape.handle(subQuery);
+    return shape;
+  }
+
+  private Shape updateShape(
+      Configuration configuration,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      Map<Path<?>, Expression<?>> updates) {
+    var shape = new Shape(configuration, s -> s.serializeUpdate(metadata, entity, updates));
+    shape.tokens.add("update");
+    shape.path(entity);
+    shape.metadata(metadata);
+    shape.paths(updates.keySet());
+    shape.values(updates.values());
+    return shape;
+  }
+
+  private Shape mergeShape(
+      Configuration configuration,
+      QueryMetadata metadata,
+      RelationalPath<?> entity,
+      List<Path<?>> keys,
+      List<Path<?>> columns,
+      List<Expression<?>> values,
+      @Nullable SubQueryExpression<?> subQuery) {
+    var shape =
+        new Shape(
+            configuration,
+            s -> s.serializeMerge(metadata, entity, keys, columns, values, subQuery));
+    shape.tokens.add("merge");
+    shape.path(entity);
+    shape.metadata(metadata);
+    shape.paths(keys);
+    shape.paths(columns);
+    shape.values(values);
+    shape.handle(subQuery);
+    return shape;
+  }
+
+  /**
+   * Serialize the given shape
+   *
+   * @return cached rendering or null, if the serializer can't use the cache
+   */
+  @Nullable
+  private CachedSql serialize(SQLSerializer serializer, Shape shape) {
+    if (serializer.getClass() != SQLSerializer.class || serializer.useLiterals) {
+      shape.full.accept(serializer);
+      return null;
+    }
+
+    var key = shape.key(serializer.dml);
+    CachedSql cached;
+    synchronized (entries) {
+      cached = entries.get(key);
+    }
+
+    if (cached != null && cached != UNCACHEABLE) {
+      hits.incrementAndGet();
+      serializer.append(cached.sql);
+      List<Object> constants = serializer.getConstants();
+      List<Path<?>> constantPaths = serializer.getConstantPaths();
+      for (var i = 0; i < cached.slots.length; i++) {
+        constants.add(cached.constant(i, shape));
+        constantPaths.add(cached.paths[i]);
+      }
+      return cached;
+    }
+
+    misses.incrementAndGet();
+    if (cached == null) {
+      serializer.constantSources = new ArrayList<>();
+      shape.full.accept(serializer);
+      cached = createCachedSql(shape, serializer);
+      serializer.constantSources = null;
+      synchronized (entries) {
+        entries.put(key, cached);
+      }
+    } else {
+      shape.full.accept(serializer);
+    }
+    return cached;
+  }
+
+  /**
+   * Derive the constant layout of a serialized query. The serializer records the constant
+   * expression or template argument each bound value originates from, which is mapped to the
+   * binding slot of the shape.
+   */
+  private static CachedSql createCachedSql(Shape shape, SQLSerializer serializer) {
+    List<Object> constants = serializer.getConstants();
+    List<Path<?>> constantPaths = serializer.getConstantPaths();
+    List<Source> sources = serializer.constantSources;
+    if (constants.size() != constantPaths.size() || constants.size() != sources.size()) {
+      return UNCACHEABLE;
+    }
+    var slots = new int[constants.size()];
+    var fixed = new Object[constants.size()];
+    var referenced = new boolean[shape.bindings.size()];
+    var i = 0;
+    for (Object constant : constants) {
+      var slot = shape.slot(sources.get(i));
+      if (slot >= 0) {
+        slots[i] = slot;
+        referenced[slot] = true;
+      } else {
+        slots[i] = -1;
+        fixed[i] = constant;
+      }
+      i++;
+    }
+    for (boolean r : referenced) {
+      if (!r) {
+        // binding was rendered in a transformed form
+        return UNCACHEABLE;
+      }
+    }
+    return new CachedSql(
+        serializer.toString(), slots, fixed, constantPaths.toArray(new Path<?>[0]));
+  }
+
+  private boolean[] getBindableArgs(Template template) {
+    return bindableArgs.computeIfAbsent(
+        template,
+        t -> {
+          var maxIndex = -1;
+          for (Template.Element element : t.getElements()) {
+            if (element instanceof Template.ByIndex byIndex) {
+              maxIndex = Math.max(maxIndex, byIndex.getIndex());
+            }
+          }
+          var rv = new boolean[maxIndex + 1];
+          for (Template.Element element : t.getElements()) {
+            if (element instanceof Template.ByIndex byIndex) {
+              rv[byIndex.getIndex()] = true;
+            }
+          }
+          for (Template.Element element : t.getElements()) {
+            if (element instanceof Template.AsString asString) {
+              if (asString.getIndex() < rv.length) {
+                rv[asString.getIndex()] = false;
+              }
+            } else if (element instanceof Template.Transformed transformed) {
+              if (transformed.getIndex() < rv.length) {
+                rv[transformed.getIndex()] = false;
+              }
+            } else if (!(element instanceof Template.ByIndex)
+                && !(element instanceof Template.StaticText)) {
+              return new boolean[0];
+            }
+          }
+          return rv;
+        });
+  }
+
+  private static final class CachedSql {
+
+    private final String sql;
+
+    private final int[] slots;
+
+    private final Object[] fixed;
+
+    private final Path<?>[] paths;
+
+    CachedSql(String sql, int[] slots, Object[] fixed, Path<?>[] paths) {
+      this.sql = sql;
+      this.slots = slots;
+      this.fixed = fixed;
+      this.paths = paths;
+    }
+
+    Object constant(int i, Shape shape) {
+      return slots[i] < 0 ? fixed[i] : shape.bindings.get(slots[i]);
+    }
+  }
+
+  /**
+   * {@code Layout} is the shape of an INSERT, UPDATE or MERGE batch item. Items with equal layouts
+   * are rendered to the same SQL and differ only in their bindings.
+   */
+  public static final class Layout {
+
+    private final Shape shape;
+
+    private final Key key;
+
+    @Nullable private CachedSql cached;
+
+    private Layout(Shape shape) {
+      this.shape = shape;
+      this.key = shape.key(true);
+    }
+
+    /**
+     * Get the constants of the given item, using the rendering of this item
+     *
+     * @param item batch item with the same layout
+     * @return constants or null, if this item has not been serialized with a cached rendering
+     */
+    @Nullable
+    public List<Object> getConstants(Layout item) {
+      if (cached == null || cached == UNCACHEABLE || !key.equals(item.key)) {
+        return null;
+      }
+      List<Object> rv = new ArrayList<>(cached.slots.length);
+      for (var i = 0; i < cached.slots.length; i++) {
+        rv.add(cached.constant(i, item.shape));
+      }
+      return rv;
+    }
+
+    /**
+     * Get the SQL of the rendering of this item
+     *
+     * @return SQL or null, if this item has not been serialized with a cached rendering
+     */
+    @Nullable
+    public String getSQL() {
+      return cached != null && cached != UNCACHEABLE ? cached.sql : null;
+    }
+
+    /**
+     * Get the paths related to the constants of the rendering of this item
+     *
+     * @return constant paths
+     */
+    public List<Path<?>> getConstantPaths() {
+      return cached != null && cached != UNCACHEABLE
+          ? Arrays.asList(cached.paths)
+          : Collections.emptyList();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o == this || (o instanceof Layout layout && layout.key.equals(key));
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode();
+    }
+  }
+
+  /**
+   * Origin of a constant bound by the serializer
+   *
+   * @param owner constant expression or argument list of a template
+   * @param argument index of the template argument
+   * @param element index of the collection element
+   */
+  record Source(Object owner, int argument, int element) {}
+
+  private static final class Key {
+
+    private final List<Object> tokens;
+
+    private final int hashCode;
+
+    Key(List<Object> tokens) {
+      this.tokens = tokens;
+      this.hashCode = tokens.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o == this
+          || (o instanceof Key key && key.hashCode == hashCode && key.tokens.equals(tokens));
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * Collects the structure of a query. Constants which are bound as parameters are replaced by
+   * their type in the tokens and collected as bindings, all other constants are part of the tokens.
+   * Constant expressions which occur more than once are bound once and referenced by their slot.
+   */
+  private final class Shape implements Visitor<Void, Void> {
+
+    private final List<Object> tokens = new ArrayList<>();
+
+    private final List<Object> bindings = new ArrayList<>();
+
+    private final Map<Object, int[]> sources = new IdentityHashMap<>();
+
+    private final Configuration configuration;
+
+    private final SQLTemplates templates;
+
+    private final Consumer<SQLSerializer> full;
+
+    private boolean bindable;
+
+    @Nullable private Key key;
+
+    Shape(Configuration configuration, Consumer<SQLSerializer> full) {
+      this.configuration = configuration;
+      this.templates = configuration.getTemplates();
+      this.full = full;
+    }
+
+    Key key(boolean dml) {
+      if (key == null) {
+        tokens.add(dml);
+        key = new Key(tokens);
+      } else if (!tokens.get(tokens.size() - 1).equals(dml)) {
+        List<Object> other = new ArrayList<>(tokens);
+        other.set(other.size() - 1, dml);
+        return new Key(other);
+      }
+      return key;
+    }
+
+    void metadata(QueryMetadata metadata) {
+      tokens.add(metadata.isDistinct());
+      handle(metadata.getProjection());
+      tokens.add(metadata.getJoins().size());
+      for (JoinExpression join : metadata.getJoins()) {
+        tokens.add(join.getType());
+        for (JoinFlag flag : join.getFlags()) {
+          tokens.add(flag.getPosition());
+          handle(flag.getFlag());
+        }
+        handle(join.getTarget());
+        handle(join.getCondition());
+      }
+      handle(metadata.getWhere());
+      tokens.add(metadata.getGroupBy().size());
+      for (Expression<?> expr : metadata.getGroupBy()) {
+        handle(expr);
+      }
+      handle(metadata.getHaving());
+      tokens.add(metadata.getOrderBy().size());
+      for (OrderSpecifier<?> order : metadata.getOrderBy()) {
+        tokens.add(order.getOrder());
+        tokens.add(order.getNullHandling());
+        handle(order.getTarget());
+      }
+      value(metadata.getModifiers().getLimit());
+      value(metadata.getModifiers().getOffset());
+      tokens.add(metadata.getFlags().size());
+      for (QueryFlag flag : metadata.getFlags()) {
+        tokens.add(flag.getPosition());
+        handle(flag.getFlag());
+      }
+    }
+
+    void paths(Collection<Path<?>> paths) {
+      tokens.add(paths.size());
+      for (Path<?> path : paths) {
+        path(path);
+      }
+    }
+
+    /**
+     * Path equality covers only the path metadata, so the table and column of relational paths are
+     * added to tell apart equally named paths of different tables.
+     */
+    void path(Path<?> path) {
+      tokens.add(path);
+      if (path instanceof RelationalPath<?> entity) {
+        tokens.add(entity.getClass());
+        tokens.add(entity.getSchemaAndTable());
+      } else if (path.getMetadata().getParent() instanceof RelationalPath<?> entity) {
+        tokens.add(entity.getClass());
+        tokens.add(entity.getSchemaAndTable());
+        var column = entity.getMetadata(path);
+        tokens.add(column != null ? column.getName() : null);
+      }
+    }
+
+    void values(Collection<Expression<?>> values) {
+      tokens.add(values.size());
+      for (Expression<?> value : values) {
+        handle(value, true);
+      }
+    }
+
+    void handle(@Nullable Expression<?> expr) {
+      if (expr != null) {
+        bindable = false;
+        expr.accept(this, null);
+      } else {
+        tokens.add(null);
+      }
+    }
+
+    private void handle(Expression<?> expr, boolean bindableArg) {
+      bindable = bindableArg;
+      expr.accept(this, null);
+    }
+
+    private void value(@Nullable Object value) {
+      tokens.add(value);
+    }
+
+    private void binding(Object value, Object owner, int argument, int arguments) {
+      var slots =
+          sources.computeIfAbsent(
+              owner,
+              o -> {
+                var rv = new int[arguments];
+                Arrays.fill(rv, -1);
+                return rv;
+              });
+      if (slots[argument] >= 0) {
+        // the same constant is rendered again
+        tokens.add("repeated");
+        tokens.add(slots[argument]);
+        return;
+      }
+      slots[argument] = bindings.size();
+      if (value instanceof Collection<?> collection) {
+        // collections are rendered alike regardless of their implementation
+        tokens.add(Collection.class);
+        tokens.add(collection.size());
+        for (Object o : collection) {
+          tokens.add(o != null ? o.getClass() : null);
+          bindings.add(o);
+        }
+      } else {
+        tokens.add(value.getClass());
+        bindings.add(value);
+      }
+    }
+
+    int slot(@Nullable Source source) {
+      var slots = source != null ? sources.get(source.owner()) : null;
+      if (slots == null || slots[source.argument()] < 0) {
+        return -1;
+      }
+      var slot = slots[source.argument()] + source.element();
+      return slot < bindings.size() ? slot : -1;
+    }
+
+    @Override
+    public Void visit(Constant<?> expr, Void context) {
+      if (bindable && !(expr.getConstant() instanceof Null)) {
+        binding(expr.getConstant(), expr, 0, 1);
+      } else {
+        value(expr.getConstant());
+      }
+      return null;
+    }
+
+    @Override
+    public Void visit(FactoryExpression<?> expr, Void context) {
+      tokens.add(expr.getClass());
+      tokens.add(expr.getArgs().size());
+      for (Expression<?> arg : expr.getArgs()) {
+        handle(arg);
+      }
+      return null;
+    }
+
+    @Override
+    public Void visit(Operation<?> expr, Void context) {
+      Operator operator = expr.getOperator();
+      tokens.add(operator);
+      tokens.add(expr.getType());
+      List<Expression<?>> args = expr.getArgs();
+      tokens.add(args.size());
+      if (operator == Ops.LIKE && args.get(1) instanceof Constant<?> constant) {
+        handle(args.get(0));
+        // escaped patterns are rendered as new constants
+        var escape = String.valueOf(templates.getEscapeChar());
+        if (constant.getConstant() instanceof String pattern && !pattern.contains(escape)) {
+          binding(pattern, constant, 0, 1);
+        } else {
+          value(constant.getConstant());
+        }
+      } else if ((operator == Ops.IN || operator == Ops.NOT_IN)
+          && configuration.getInListStrategy() != InListStrategy.EXPAND
+          && args.get(0) instanceof Path<?> path
+          && args.get(1) instanceof Constant<?> constant
+          && constant.getConstant() instanceof Collection<?> collection
+          && !collection.isEmpty()) {
+        handle(path);
+        // bind the list in the form rendered by the serializer
+        var array =
+            configuration.getInListStrategy() == InListStrategy.ARRAY
+                ? SQLSerializer.toArray(configuration, path.getType(), collection)
+                : null;
+        if (array != null) {
+          tokens.add(SQLOps.IN_ARRAY);
+          binding(array, constant, 0, 1);
+        } else {
+          binding(SQLSerializer.pad(templates, collection), constant, 0, 1);
+        }
+      } else if (operator == Ops.NUMCAST || operator == Ops.ORDER) {
+        for (Expression<?> arg : args) {
+          handle(arg, false);
+        }
+      } else {
+        var template = templates.getTemplate(operator);
+        var bindableArgs = template != null ? getBindableArgs(template) : new boolean[0];
+        for (var i = 0; i < args.size(); i++) {
+          handle(args.get(i), i < bindableArgs.length && bindableArgs[i]);
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public Void visit(ParamExpression<?> expr, Void context) {
+      value(expr);
+      return null;
+    }
+
+    @Override
+    public Void visit(Path<?> expr, Void context) {
+      path(expr);
+      return null;
+    }
+
+    @Override
+    public Void visit(SubQueryExpression<?> expr, Void context) {
+      tokens.add(SubQueryExpression.class);
+      metadata(expr.getMetadata());
+      return null;
+    }
+
+    @Override
+    public Void visit(TemplateExpression<?> expr, Void context) {
+      tokens.add(expr.getClass());
+      tokens.add(expr.getTemplate());
+      tokens.add(expr.getType());
+      List<?> args = expr.getArgs();
+      tokens.add(args.size());
+      var bindableArgs = getBindableArgs(expr.getTemplate());
+      for (var i = 0; i < args.size(); i++) {
+        Object arg = args.get(i);
+        var bindableArg = i < bindableArgs.length && bindableArgs[i];
+        if (arg instanceof Expression<?> e) {
+          handle(ExpressionUtils.extract(e), bindableArg);
+        } else if (bindableArg && arg != null) {
+          binding(arg, args, i, args.size());
+        } else {
+          value(arg);
+        }
+      }
+      return null;
+    }
+  }
+}
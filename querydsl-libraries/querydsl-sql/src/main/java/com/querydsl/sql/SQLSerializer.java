@@ -50,6 +50,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -78,6 +79,22 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
 
   protected static final String COMMA = ", ";
 
+  /** Whether serializer classes render table names via the default hooks */
+  private static final ClassValue<Boolean> DEFAULT_TABLE_NAMES =
+      new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          for (Class<?> c = type; c != SQLSerializer.class; c = c.getSuperclass()) {
+            if (declares(c, "getSchemaAndTable", RelationalPath.class)
+                || declares(c, "appendSchemaName", String.class)
+                || declares(c, "appendTableName", String.class, boolean.class)) {
+              return false;
+            }
+          }
+          return true;
+        }
+      };
+
   protected final LinkedList<Path<?>> constantPaths = new LinkedList<>();
 
   protected final Set<Path<?>> withAliases = new HashSet<>();
@@ -104,6 +121,15 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
 
   protected boolean useLiterals = false;
 
+  /** Origins of the bound constants, recorded for the {@link SQLSerializationCache} */
+  @Nullable List<SQLSerializationCache.Source> constantSources;
+
+  @Nullable private Constant<?> visitedConstant;
+
+  @Nullable private List<?> visitedArgs;
+
+  @Nullable private Map<Constant<?>, Constant<?>> rewrittenConstants;
+
   public SQLSerializer(Configuration conf) {
     this(conf, false);
   }
@@ -115,10 +141,24 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
     this.dml = dml;
   }
 
+  private static boolean declares(Class<?> type, String name, Class<?>... parameterTypes) {
+    try {
+      type.getDeclaredMethod(name, parameterTypes);
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
   protected void appendAsColumnName(Path<?> path, boolean precededByDot) {
     var column = ColumnMetadata.getName(path);
     if (path.getMetadata().getParent() instanceof RelationalPath) {
       RelationalPath<?> parent = (RelationalPath<?>) path.getMetadata().getParent();
+      var names = configuration.getQuotedIdentifiers(parent.getSchemaAndTable());
+      if (names != null) {
+        append(names.getColumn(column, precededByDot));
+        return;
+      }
       column = configuration.getColumnOverride(parent.getSchemaAndTable(), column);
     }
     append(templates.quoteIdentifier(column, precededByDot));
@@ -136,6 +176,34 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
     append(templates.quoteIdentifier(table, precededByDot));
   }
 
+  /**
+   * Append the overridden and quoted name of the given table
+   *
+   * <p>Cached names are only used if the identifier cache of the configuration is enabled and none
+   * of {@link #getSchemaAndTable(RelationalPath)}, {@link #appendSchemaName(String)} and {@link
+   * #appendTableName(String, boolean)} is overridden.
+   *
+   * @param path table
+   * @param withSchema true, to prefix the table with the schema
+   */
+  protected void appendTable(RelationalPath<?> path, boolean withSchema) {
+    var names =
+        DEFAULT_TABLE_NAMES.get(getClass())
+            ? configuration.getQuotedIdentifiers(path.getSchemaAndTable())
+            : null;
+    var table = names != null ? names.getTable(withSchema) : null;
+    if (table != null) {
+      append(table);
+    } else {
+      var schemaAndTable = names != null ? names.getSchemaAndTable() : getSchemaAndTable(path);
+      if (withSchema) {
+        appendSchemaName(schemaAndTable.getSchema());
+        append(".");
+      }
+      appendTableName(schemaAndTable.getTable(), withSchema);
+    }
+  }
+
   public List<Path<?>> getConstantPaths() {
     return constantPaths;
   }
@@ -222,16 +290,7 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
           appendTableName(pe.getMetadata().getName(), false);
           append(templates.getTableAlias());
         } else {
-          var schemaAndTable = getSchemaAndTable(pe);
-          boolean precededByDot;
-          if (templates.isPrintSchema()) {
-            appendSchemaName(schemaAndTable.getSchema());
-            append(".");
-            precededByDot = true;
-          } else {
-            precededByDot = false;
-          }
-          appendTableName(schemaAndTable.getTable(), precededByDot);
+          appendTable(pe, templates.isPrintSchema());
           append(templates.getTableAlias());
         }
       }
@@ -930,9 +989,74 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
     stage = oldStage;
   }
 
+  @Override
+  public Void visit(Constant<?> expr, Void context) {
+    if (constantSources == null) {
+      return super.visit(expr, context);
+    }
+    var previous = visitedConstant;
+    var original = rewrittenConstants != null ? rewrittenConstants.get(expr) : null;
+    visitedConstant = original != null ? original : expr;
+    try {
+      return super.visit(expr, context);
+    } finally {
+      visitedConstant = previous;
+    }
+  }
+
+  @Override
+  protected void handleTemplate(Template template, List<?> args) {
+    if (constantSources == null) {
+      super.handleTemplate(template, args);
+      return;
+    }
+    var previous = visitedArgs;
+    visitedArgs = args;
+    try {
+      super.handleTemplate(template, args);
+    } finally {
+      visitedArgs = previous;
+    }
+  }
+
+  /**
+   * Create a constant replacing the given constant. The bindings of the new constant are recorded
+   * as bindings of the given constant, which allows the serialization cache to bind them.
+   */
+  private Constant<?> rewrite(Expression<?> constant, Object value) {
+    var rv = ConstantImpl.create(value);
+    if (constantSources != null) {
+      if (rewrittenConstants == null) {
+        rewrittenConstants = new IdentityHashMap<>();
+      }
+      rewrittenConstants.put(rv, (Constant<?>) constant);
+    }
+    return rv;
+  }
+
+  private void recordSource(@Nullable Constant<?> constant, Object value, int element) {
+    if (constantSources == null) {
+      return;
+    }
+    SQLSerializationCache.Source source = null;
+    if (constant != null) {
+      source = new SQLSerializationCache.Source(constant, 0, element);
+    } else if (visitedArgs != null) {
+      // constant given as plain template argument
+      for (var i = 0; i < visitedArgs.size() && source == null; i++) {
+        if (visitedArgs.get(i) == value) {
+          source = new SQLSerializationCache.Source(visitedArgs, i, element);
+        }
+      }
+    }
+    constantSources.add(source);
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public void visitConstant(Object constant) {
+    var source = visitedConstant;
+    visitedConstant = null;
     if (useLiterals) {
       if (constant instanceof Collection<?> collection) {
         append("(");
@@ -951,12 +1075,14 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
     } else if (constant instanceof Collection<?> collection) {
       append("(");
       var first = true;
+      var index = 0;
       for (Object o : collection) {
         if (!first) {
           append(COMMA);
         }
         serializeConstant(constants.size() + 1, null);
         constants.add(o);
+        recordSource(source, constant, index++);
         if (first && (constantPaths.size() < constants.size())) {
           constantPaths.add(null);
         }
@@ -981,6 +1107,7 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
         serializeConstant(constants.size() + 1, null);
       }
       constants.add(constant);
+      recordSource(source, constant, 0);
       if (constantPaths.size() < constants.size()) {
         constantPaths.add(null);
       }
@@ -990,6 +1117,7 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
   @Override
   public Void visit(ParamExpression<?> param, Void context) {
     constants.add(param);
+    recordSource(null, param, 0);
     serializeConstant(constants.size(), null);
     if (constantPaths.size() < constants.size()) {
       constantPaths.add(null);
@@ -1006,16 +1134,7 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
   public Void visit(Path<?> path, Void context) {
     if (dml) {
       if (path.equals(entity) && path instanceof RelationalPath<?> relationalPath) {
-        var schemaAndTable = getSchemaAndTable(relationalPath);
-        boolean precededByDot;
-        if (dmlWithSchema && templates.isPrintSchema()) {
-          appendSchemaName(schemaAndTable.getSchema());
-          append(".");
-          precededByDot = true;
-        } else {
-          precededByDot = false;
-        }
-        appendTableName(schemaAndTable.getTable(), precededByDot);
+        appendTable(relationalPath, dmlWithSchema && templates.isPrintSchema());
         return null;
       } else if (entity.equals(path.getMetadata().getParent()) && skipParent) {
         appendAsColumnName(path, false);
@@ -1104,9 +1223,13 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
 
     } else if (operator == Ops.LIKE && args.get(1) instanceof Constant<?>) {
       final var escape = String.valueOf(templates.getEscapeChar());
-      final var escaped = args.get(1).toString().replace(escape, escape + escape);
+      final var pattern = args.get(1).toString();
+      final var escaped = pattern.replace(escape, escape + escape);
       super.visitOperation(
-          String.class, Ops.LIKE, Arrays.asList(args.get(0), ConstantImpl.create(escaped)));
+          String.class,
+          Ops.LIKE,
+          Arrays.asList(
+              args.get(0), escaped.equals(pattern) ? args.get(1) : ConstantImpl.create(escaped)));
 
     } else if (operator == Ops.STRING_CAST) {
       final var typeName = configuration.getTypeNameForCast(String.class);
@@ -1149,27 +1272,47 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
             operator == Ops.IN ? Ops.EQ : Ops.NE,
             Arrays.asList(Expressions.ONE, Expressions.TWO));
       } else {
-        if (templates.getListMaxSize() == 0 || coll.size() <= templates.getListMaxSize()) {
-          super.visitOperation(type, operator, args);
-        } else {
-          // The type of the path is compatible with the constant
-          // expression, since the compile time checking mandates it to be
-          @SuppressWarnings("unchecked")
-          var path = (Expression<Object>) args.get(0);
+        var strategy = useLiterals ? InListStrategy.EXPAND : configuration.getInListStrategy();
+        Object array =
+            strategy == InListStrategy.ARRAY
+                ? toArray(configuration, args.get(0).getType(), coll)
+                : null;
+        if (array != null) {
+          // the array is bound with its own type, not with the type of the path
           if (pathAdded) {
             constantPaths.removeLast();
           }
-          Iterable<List<Object>> partitioned =
-              CollectionUtils.partition(new ArrayList<>(coll), templates.getListMaxSize());
-          Predicate result;
-          if (operator == Ops.IN) {
-            result = ExpressionUtils.inAny(path, partitioned);
+          super.visitOperation(
+              type,
+              operator == Ops.IN ? SQLOps.IN_ARRAY : SQLOps.NOT_IN_ARRAY,
+              Arrays.asList(args.get(0), rewrite(args.get(1), array)));
+        } else {
+          if (strategy != InListStrategy.EXPAND) {
+            coll = pad(templates, coll);
+            args = Arrays.asList(args.get(0), rewrite(args.get(1), coll));
+          }
+          if (templates.getListMaxSize() == 0 || coll.size() <= templates.getListMaxSize()) {
+            super.visitOperation(type, operator, args);
           } else {
-            result = ExpressionUtils.notInAny(path, partitioned);
+            // The type of the path is compatible with the constant
+            // expression, since the compile time checking mandates it to be
+            @SuppressWarnings("unchecked")
+            var path = (Expression<Object>) args.get(0);
+            if (pathAdded) {
+              constantPaths.removeLast();
+            }
+            Iterable<List<Object>> partitioned =
+                CollectionUtils.partition(new ArrayList<>(coll), templates.getListMaxSize());
+            Predicate result;
+            if (operator == Ops.IN) {
+              result = ExpressionUtils.inAny(path, partitioned);
+            } else {
+              result = ExpressionUtils.notInAny(path, partitioned);
+            }
+            append("(");
+            result.accept(this, null);
+            append(")");
           }
-          append("(");
-          result.accept(this, null);
-          append(")");
         }
       }
 
@@ -1196,6 +1339,60 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
     }
   }
 
+  /**
+   * Pad the given collection to the next power of two, or to the next multiple of the maximum list
+   * size for partitioned lists, by repeating the last element
+   */
+  static <T> Collection<T> pad(SQLTemplates templates, Collection<T> coll) {
+    var size = coll.size();
+    var maxSize = templates.getListMaxSize();
+    int paddedSize;
+    if (maxSize > 0 && size > maxSize) {
+      paddedSize = (size + maxSize - 1) / maxSize * maxSize;
+    } else {
+      paddedSize = Integer.highestOneBit(size);
+      if (paddedSize < size) {
+        paddedSize <<= 1;
+      }
+      if (maxSize > 0) {
+        paddedSize = Math.min(paddedSize, maxSize);
+      }
+    }
+    if (paddedSize == size) {
+      return coll;
+    }
+    List<T> rv = new ArrayList<>(paddedSize);
+    rv.addAll(coll);
+    var last = rv.get(size - 1);
+    while (rv.size() < paddedSize) {
+      rv.add(last);
+    }
+    return rv;
+  }
+
+  /**
+   * Convert the given collection into an array, which can be bound as a single parameter
+   *
+   * @return array or null, if not supported for the templates or element type
+   */
+  @Nullable
+  static Object toArray(Configuration configuration, Class<?> elementType, Collection<?> coll) {
+    if (configuration.getTemplates().getTemplate(SQLOps.IN_ARRAY) == null
+        || elementType.isArray()
+        || !configuration.isArrayBindable(elementType)) {
+      return null;
+    }
+    var array = java.lang.reflect.Array.newInstance(elementType, coll.size());
+    var i = 0;
+    for (Object o : coll) {
+      if (o != null && !elementType.isInstance(o)) {
+        return null;
+      }
+      java.lang.reflect.Array.set(array, i++, o);
+    }
+    return array;
+  }
+
   public void setUseLiterals(boolean useLiterals) {
     this.useLiterals = useLiterals;
   }
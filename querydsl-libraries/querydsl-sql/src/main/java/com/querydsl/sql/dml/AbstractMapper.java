@@ -13,10 +13,24 @@
  */
 package com.querydsl.sql.dml;
 
+import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Path;
+import com.querydsl.core.util.PrimitiveUtils;
 import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.RelationalPathBase;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Abstract base class for Mapper implementations
@@ -26,6 +40,15 @@ import java.util.Map;
  */
 public abstract class AbstractMapper<T> implements Mapper<T> {
 
+  /** Accessors per bean type, released together with the bean type */
+  private static final ClassValue<Map<List<Object>, Accessors>> accessors =
+      new ClassValue<>() {
+        @Override
+        protected Map<List<Object>, Accessors> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   protected Map<String, Path<?>> getColumns(RelationalPath<?> path) {
     Map<String, Path<?>> columns = new LinkedHashMap<>();
     for (Path<?> column : path.getColumns()) {
@@ -38,4 +61,153 @@ public abstract class AbstractMapper<T> implements Mapper<T> {
     return parent.getPrimaryKey() != null
         && parent.getPrimaryKey().getLocalColumns().contains(property);
   }
+
+  /**
+   * Get the accessors for the given entity and bean type
+   *
+   * <p>Accessors are created once per mapper type, bean type and entity and are kept as long as the
+   * bean type is reachable. Entities of the plain {@link RelationalPathBase} type are not cached,
+   * since their columns are added dynamically.
+   *
+   * @param entity entity
+   * @param beanType bean type
+   * @return accessors or null, if this mapper doesn't create accessors
+   */
+  @Nullable
+  protected Accessors getAccessors(RelationalPath<?> entity, Class<?> beanType) {
+    if (entity.getClass() == RelationalPathBase.class) {
+      return createAccessors(entity, beanType);
+    }
+    var cache = accessors.get(beanType);
+    List<Object> key = List.of(getClass(), entity.getClass(), entity.getMetadata());
+    var rv = cache.get(key);
+    return rv != null ? rv : cache.computeIfAbsent(key, k -> createAccessors(entity, beanType));
+  }
+
+  /**
+   * Create the accessors for the given entity and bean type
+   *
+   * <p>Mappers which use {@link #getAccessors(RelationalPath, Class)} need to override this method,
+   * the default implementation creates no accessors.
+   *
+   * @param entity entity
+   * @param beanType bean type
+   * @return accessors or null, if this mapper doesn't create accessors
+   */
+  @Nullable
+  protected Accessors createAccessors(RelationalPath<?> entity, Class<?> beanType) {
+    return null;
+  }
+
+  /**
+   * Create an accessor for the given field
+   *
+   * @param field field
+   * @return accessor
+   */
+  protected static Function<Object, Object> fieldAccessor(Field field) {
+    try {
+      var handle =
+          MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+              .unreflectGetter(field)
+              .asType(MethodType.methodType(Object.class, Object.class));
+      return bean -> {
+        try {
+          return handle.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new QueryException(e);
+        }
+      };
+    } catch (IllegalAccessException | RuntimeException e) {
+      // inaccessible fields are read reflectively
+      field.setAccessible(true);
+      return bean -> {
+        try {
+          return field.get(bean);
+        } catch (IllegalAccessException ex) {
+          throw new QueryException(ex);
+        }
+      };
+    }
+  }
+
+  /**
+   * Create an accessor for the given getter
+   *
+   * @param getter getter method
+   * @return accessor
+   */
+  @SuppressWarnings("unchecked")
+  protected static Function<Object, Object> methodAccessor(Method getter) {
+    Class<?> owner = getter.getDeclaringClass();
+    try {
+      var lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+      return (Function<Object, Object>)
+          LambdaMetafactory.metafactory(
+                  lookup,
+                  "apply",
+                  MethodType.methodType(Function.class),
+                  MethodType.methodType(Object.class, Object.class),
+                  lookup.unreflect(getter),
+                  MethodType.methodType(PrimitiveUtils.wrap(getter.getReturnType()), owner))
+              .getTarget()
+              .invokeExact();
+    } catch (Throwable e) {
+      // inaccessible getters are invoked reflectively
+      return bean -> {
+        try {
+          return getter.invoke(bean);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+          throw new QueryException(ex);
+        }
+      };
+    }
+  }
+
+  /** {@code Accessors} reads the column values of a bean type in column order */
+  public static final class Accessors {
+
+    private final List<Path<?>> paths = new ArrayList<>();
+
+    private final List<Function<Object, Object>> getters = new ArrayList<>();
+
+    private final List<Boolean> nullBindable = new ArrayList<>();
+
+    public Accessors() {}
+
+    /**
+     * Add an accessor
+     *
+     * @param path column
+     * @param getter accessor of the column value
+     * @param nullBindable true, if null values are bound for the column
+     */
+    public void add(Path<?> path, Function<Object, Object> getter, boolean nullBindable) {
+      this.paths.add(path);
+      this.getters.add(getter);
+      this.nullBindable.add(nullBindable);
+    }
+
+    /**
+     * Create the bindings for the given bean
+     *
+     * @param bean bean
+     * @param nullValue value to bind for null values or null to skip them
+     * @return bindings
+     */
+    public Map<Path<?>, Object> createMap(Object bean, @Nullable Object nullValue) {
+      Map<Path<?>, Object> values = new LinkedHashMap<>((int) (paths.size() / 0.75f) + 1);
+      for (var i = 0; i < paths.size(); i++) {
+        var value = getters.get(i).apply(bean);
+        if (value != null) {
+          values.put(paths.get(i), value);
+        } else if (nullValue != null && nullBindable.get(i)) {
+          values.put(paths.get(i), nullValue);
+        }
+      }
+      return values;
+    }
+  }
 }
@@ -24,6 +24,7 @@ import com.querydsl.sql.SQLBindings;
 import com.querydsl.sql.SQLListener;
 import com.querydsl.sql.SQLListenerContextImpl;
 import com.querydsl.sql.SQLListeners;
+import com.querydsl.sql.SQLSerializationCache;
 import com.querydsl.sql.SQLSerializer;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -47,6 +48,8 @@ import org.jetbrains.annotations.Nullable;
  */
 public abstract class AbstractSQLClause<C extends AbstractSQLClause<C>> implements DMLClause<C> {
 
+  private static final int BATCH_LAYOUTS = 16;
+
   protected final Configuration configuration;
 
   protected final SQLListeners listeners;
@@ -124,10 +127,14 @@ public abstract class AbstractSQLClause<C extends AbstractSQLClause<C>> implemen
   }
 
   protected SQLBindings createBindings(QueryMetadata metadata, SQLSerializer serializer) {
-    var queryString = serializer.toString();
+    return createBindings(metadata, serializer.toString(), serializer.getConstants());
+  }
+
+  protected SQLBindings createBindings(
+      QueryMetadata metadata, String queryString, List<Object> constants) {
     List<Object> args = new ArrayList<>();
     Map<ParamExpression<?>, Object> params = metadata.getParams();
-    for (Object o : serializer.getConstants()) {
+    for (Object o : constants) {
       if (o instanceof ParamExpression) {
         if (!params.containsKey(o)) {
           throw new ParamNotSetException((ParamExpression<?>) o);
@@ -145,6 +152,17 @@ public abstract class AbstractSQLClause<C extends AbstractSQLClause<C>> implemen
     return serializer;
   }
 
+  /**
+   * Create the cache used to render batch items with the same layout only once. The cache of the
+   * configuration is used if available.
+   *
+   * @return serialization cache
+   */
+  protected SQLSerializationCache createBatchSerializationCache() {
+    var cache = configuration.getSerializationCache();
+    return cache != null ? cache : new SQLSerializationCache(BATCH_LAYOUTS);
+  }
+
   /**
    * Get the SQL string and bindings
    *
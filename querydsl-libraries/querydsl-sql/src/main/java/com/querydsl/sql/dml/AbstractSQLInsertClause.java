@@ -31,6 +31,7 @@ import com.querydsl.sql.Configuration;
 import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.SQLBindings;
 import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLSerializationCache;
 import com.querydsl.sql.SQLSerializer;
 import com.querydsl.sql.types.Null;
 import java.sql.Connection;
@@ -42,7 +43,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -277,52 +278,60 @@ public abstract class AbstractSQLInsertClause<C extends AbstractSQLInsertClause<
 
   protected Collection<PreparedStatement> createStatements(boolean withKeys) throws SQLException {
     var addBatches = !configuration.getUseLiterals();
-    listeners.preRender(context);
-
     if (subQueryBuilder != null) {
       subQuery = subQueryBuilder.select(values.toArray(new Expression[0])).clone();
       values.clear();
     }
 
-    Map<String, PreparedStatement> stmts = new HashMap<>();
-
-    // add first batch
-    var serializer = createSerializer();
-    serializer.serializeInsert(
-        metadata,
-        entity,
-        batches.get(0).getColumns(),
-        batches.get(0).getValues(),
-        batches.get(0).getSubQuery());
-    var stmt = prepareStatementAndSetParameters(serializer, withKeys);
-    if (addBatches) {
-      stmt.addBatch();
+    // group the batches by layout, the SQL is rendered once per layout
+    var cache = createBatchSerializationCache();
+    Map<SQLSerializationCache.Layout, List<SQLSerializationCache.Layout>> layouts =
+        new LinkedHashMap<>();
+    for (SQLInsertBatch batch : batches) {
+      var layout =
+          cache.insertLayout(
+              configuration,
+              metadata,
+              entity,
+              batch.getColumns(),
+              batch.getValues(),
+              batch.getSubQuery());
+      layouts.computeIfAbsent(layout, l -> new ArrayList<>()).add(layout);
     }
-    stmts.put(serializer.toString(), stmt);
-    context.addSQL(createBindings(metadata, serializer));
-    listeners.rendered(context);
 
-    // add other batches
-    for (var i = 1; i < batches.size(); i++) {
-      var batch = batches.get(i);
-
-      listeners.preRender(context);
-      serializer = createSerializer();
-      serializer.serializeInsert(
-          metadata, entity, batch.getColumns(), batch.getValues(), batch.getSubQuery());
-      context.addSQL(createBindings(metadata, serializer));
-      listeners.rendered(context);
-
-      stmt = stmts.get(serializer.toString());
-      if (stmt == null) {
-        stmt = prepareStatementAndSetParameters(serializer, withKeys);
-        stmts.put(serializer.toString(), stmt);
-      } else {
-        setParameters(
-            stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams());
-      }
-      if (addBatches) {
-        stmt.addBatch();
+    Map<String, PreparedStatement> stmts = new LinkedHashMap<>();
+    for (List<SQLSerializationCache.Layout> items : layouts.values()) {
+      var rendered = items.get(0);
+      PreparedStatement stmt = null;
+      for (SQLSerializationCache.Layout item : items) {
+        var bindings = rendered.getConstants(item);
+        if (bindings != null) {
+          listeners.preRender(context);
+          context.addSQL(createBindings(metadata, rendered.getSQL(), bindings));
+          listeners.rendered(context);
+          setParameters(stmt, bindings, rendered.getConstantPaths(), metadata.getParams());
+        } else {
+          listeners.preRender(context);
+          var serializer = createSerializer();
+          cache.serialize(serializer, item);
+          context.addSQL(createBindings(metadata, serializer));
+          listeners.rendered(context);
+
+          stmt = stmts.get(serializer.toString());
+          if (stmt == null) {
+            stmt = prepareStatementAndSetParameters(serializer, withKeys);
+            stmts.put(serializer.toString(), stmt);
+          } else {
+            setParameters(
+                stmt,
+                serializer.getConstants(),
+                serializer.getConstantPaths(),
+                metadata.getParams());
+          }
+        }
+        if (addBatches) {
+          stmt.addBatch();
+        }
       }
     }
 
@@ -478,10 +487,16 @@ public abstract class AbstractSQLInsertClause<C extends AbstractSQLInsertClause<
       return Collections.singletonList(createBindings(metadata, serializer));
     } else {
       List<SQLBindings> builder = new ArrayList<>();
+      var cache = createBatchSerializationCache();
       for (SQLInsertBatch batch : batches) {
         var serializer = createSerializer();
-        serializer.serializeInsert(
-            metadata, entity, batch.getColumns(), batch.getValues(), batch.getSubQuery());
+        cache.serializeInsert(
+            serializer,
+            metadata,
+            entity,
+            batch.getColumns(),
+            batch.getValues(),
+            batch.getSubQuery());
         builder.add(createBindings(metadata, serializer));
       }
       return CollectionUtils.unmodifiableList(builder);
@@ -27,6 +27,7 @@ import com.querydsl.core.types.Predicate;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLSerializationCache;
 import com.querydsl.sql.types.Null;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -34,7 +35,6 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -146,49 +146,54 @@ public abstract class AbstractSQLUpdateClause<C extends AbstractSQLUpdateClause<
 
   protected Collection<PreparedStatement> createStatements() throws SQLException {
     var addBatches = !configuration.getUseLiterals();
-    listeners.preRender(context);
-    var serializer = createSerializer();
-    serializer.serializeUpdate(batches.get(0).getMetadata(), entity, batches.get(0).getUpdates());
-    queryString = serializer.toString();
-    constants = serializer.getConstants();
-    logQuery(logger, queryString, constants);
-    context.addSQL(createBindings(metadata, serializer));
-    listeners.rendered(context);
-
-    Map<String, PreparedStatement> stmts = new HashMap<>();
 
-    // add first batch
-    listeners.prePrepare(context);
-    var stmt = connection().prepareStatement(queryString);
-    setParameters(
-        stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams());
-    if (addBatches) {
-      stmt.addBatch();
+    // group the batches by layout, the SQL is rendered once per layout
+    var cache = createBatchSerializationCache();
+    Map<SQLSerializationCache.Layout, List<SQLSerializationCache.Layout>> layouts =
+        new LinkedHashMap<>();
+    for (SQLUpdateBatch batch : batches) {
+      var layout =
+          cache.updateLayout(configuration, batch.getMetadata(), entity, batch.getUpdates());
+      layouts.computeIfAbsent(layout, l -> new ArrayList<>()).add(layout);
     }
-    stmts.put(serializer.toString(), stmt);
-    context.addPreparedStatement(stmt);
-    listeners.prepared(context);
 
-    // add other batches
-    for (var i = 1; i < batches.size(); i++) {
-      listeners.preRender(context);
-      serializer = createSerializer();
-      serializer.serializeUpdate(batches.get(i).getMetadata(), entity, batches.get(i).getUpdates());
-      context.addSQL(createBindings(metadata, serializer));
-      listeners.rendered(context);
-
-      stmt = stmts.get(serializer.toString());
-      if (stmt == null) {
-        listeners.prePrepare(context);
-        stmt = connection().prepareStatement(serializer.toString());
-        stmts.put(serializer.toString(), stmt);
-        context.addPreparedStatement(stmt);
-        listeners.prepared(context);
-      }
-      setParameters(
-          stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams());
-      if (addBatches) {
-        stmt.addBatch();
+    Map<String, PreparedStatement> stmts = new LinkedHashMap<>();
+    for (List<SQLSerializationCache.Layout> items : layouts.values()) {
+      var rendered = items.get(0);
+      PreparedStatement stmt = null;
+      for (SQLSerializationCache.Layout item : items) {
+        var bindings = rendered.getConstants(item);
+        if (bindings != null) {
+          listeners.preRender(context);
+          context.addSQL(createBindings(metadata, rendered.getSQL(), bindings));
+          listeners.rendered(context);
+          setParameters(stmt, bindings, rendered.getConstantPaths(), metadata.getParams());
+        } else {
+          listeners.preRender(context);
+          var serializer = createSerializer();
+          cache.serialize(serializer, item);
+          if (stmts.isEmpty()) {
+            queryString = serializer.toString();
+            constants = serializer.getConstants();
+            logQuery(logger, queryString, constants);
+          }
+          context.addSQL(createBindings(metadata, serializer));
+          listeners.rendered(context);
+
+          stmt = stmts.get(serializer.toString());
+          if (stmt == null) {
+            listeners.prePrepare(context);
+            stmt = connection().prepareStatement(serializer.toString());
+            stmts.put(serializer.toString(), stmt);
+            context.addPreparedStatement(stmt);
+            listeners.prepared(context);
+          }
+          setParameters(
+              stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams());
+        }
+        if (addBatches) {
+          stmt.addBatch();
+        }
       }
     }
 
@@ -242,9 +247,10 @@ public abstract class AbstractSQLUpdateClause<C extends AbstractSQLUpdateClause<
       return Collections.singletonList(createBindings(metadata, serializer));
     } else {
       List<SQLBindings> builder = new ArrayList<>();
+      var cache = createBatchSerializationCache();
       for (SQLUpdateBatch batch : batches) {
         var serializer = createSerializer();
-        serializer.serializeUpdate(batch.getMetadata(), entity, batch.getUpdates());
+        cache.serializeUpdate(serializer, batch.getMetadata(), entity, batch.getUpdates());
         builder.add(createBindings(metadata, serializer));
       }
       return Collections.unmodifiableList(builder);
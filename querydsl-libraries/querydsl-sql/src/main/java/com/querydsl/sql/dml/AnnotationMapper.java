@@ -13,7 +13,6 @@
  */
 package com.querydsl.sql.dml;
 
-import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.util.ReflectionUtils;
 import com.querydsl.sql.Column;
@@ -30,7 +29,7 @@ import java.util.Map;
  *
  * @author tiwe
  */
-public class AnnotationMapper implements Mapper<Object> {
+public class AnnotationMapper extends AbstractMapper<Object> {
 
   public static final AnnotationMapper DEFAULT = new AnnotationMapper(false);
 
@@ -48,29 +47,23 @@ public class AnnotationMapper implements Mapper<Object> {
 
   @Override
   public Map<Path<?>, Object> createMap(RelationalPath<?> path, Object object) {
-    try {
-      Map<String, Path<?>> columnToPath = new HashMap<>();
-      for (Path<?> column : path.getColumns()) {
-        columnToPath.put(ColumnMetadata.getName(column), column);
-      }
-      Map<Path<?>, Object> values = new HashMap<>();
-      for (Field field : ReflectionUtils.getFields(object.getClass())) {
-        var ann = field.getAnnotation(Column.class);
-        if (ann != null) {
-          field.setAccessible(true);
-          var propertyValue = field.get(object);
-          if (propertyValue != null) {
-            if (columnToPath.containsKey(ann.value())) {
-              values.put(columnToPath.get(ann.value()), propertyValue);
-            }
-          } else if (withNullBindings) {
-            values.put(columnToPath.get(ann.value()), Null.DEFAULT);
-          }
-        }
+    return getAccessors(path, object.getClass())
+        .createMap(object, withNullBindings ? Null.DEFAULT : null);
+  }
+
+  @Override
+  protected Accessors createAccessors(RelationalPath<?> entity, Class<?> beanType) {
+    Map<String, Path<?>> columnToPath = new HashMap<>();
+    for (Path<?> column : entity.getColumns()) {
+      columnToPath.put(ColumnMetadata.getName(column), column);
+    }
+    var accessors = new Accessors();
+    for (Field field : ReflectionUtils.getFields(beanType)) {
+      var ann = field.getAnnotation(Column.class);
+      if (ann != null && columnToPath.containsKey(ann.value())) {
+        accessors.add(columnToPath.get(ann.value()), fieldAccessor(field), true);
       }
-      return values;
-    } catch (IllegalAccessException e) {
-      throw new QueryException(e);
     }
+    return accessors;
   }
 }
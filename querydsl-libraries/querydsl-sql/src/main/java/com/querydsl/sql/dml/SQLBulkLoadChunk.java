@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.time.Duration;
+
+/**
+ * {@code SQLBulkLoadChunk} provides statistics of a single chunk flushed by {@link SQLBulkLoader}
+ */
+public final class SQLBulkLoadChunk {
+
+  private final int index;
+
+  private final int rows;
+
+  private final long estimatedBytes;
+
+  private final long affectedRows;
+
+  private final Duration duration;
+
+  public SQLBulkLoadChunk(
+      int index, int rows, long estimatedBytes, long affectedRows, Duration duration) {
+    this.index = index;
+    this.rows = rows;
+    this.estimatedBytes = estimatedBytes;
+    this.affectedRows = affectedRows;
+    this.duration = duration;
+  }
+
+  /**
+   * Get the zero based index of the chunk
+   *
+   * @return index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Get the amount of rows in the chunk
+   *
+   * @return rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Get the estimated size of the bound values of the chunk
+   *
+   * @return size in bytes
+   */
+  public long getEstimatedBytes() {
+    return estimatedBytes;
+  }
+
+  /**
+   * Get the amount of affected rows reported by the database
+   *
+   * @return affected rows
+   */
+  public long getAffectedRows() {
+    return affectedRows;
+  }
+
+  /**
+   * Get the time it took to render and execute the chunk
+   *
+   * @return duration
+   */
+  public Duration getDuration() {
+    return duration;
+  }
+
+  @Override
+  public String toString() {
+    return "chunk "
+        + index
+        + ": "
+        + rows
+        + " rows, "
+        + estimatedBytes
+        + " bytes, "
+        + affectedRows
+        + " affected in "
+        + duration.toMillis()
+        + " ms";
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.RelationalPath;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code SQLBulkLoader} inserts large amounts of rows in chunks of bounded size.
+ *
+ * <p>Rows are added to an underlying {@link SQLInsertClause} batch, which is executed and cleared
+ * whenever the configured row count or estimated byte size of a chunk is reached. Input is consumed
+ * lazily, so memory usage stays bounded by the chunk size independent of the input size.
+ *
+ * <p>Usage
+ *
+ * <pre>{@code
+ * long inserted = queryFactory.bulkLoad(survey)
+ *     .chunkSize(5000)
+ *     .listener(chunk -> log.info(chunk.toString()))
+ *     .load(surveys);
+ * }</pre>
+ *
+ * <p>Instances are not thread-safe.
+ */
+public class SQLBulkLoader {
+
+  private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+  private final SQLInsertClause insert;
+
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  private long maxChunkBytes = Long.MAX_VALUE;
+
+  private Mapper<Object> mapper = DefaultMapper.DEFAULT;
+
+  @Nullable private Consumer<SQLBulkLoadChunk> listener;
+
+  private int chunks;
+
+  private int rows;
+
+  private long bytes;
+
+  private long startTime;
+
+  public SQLBulkLoader(SQLInsertClause insert) {
+    this.insert = insert;
+  }
+
+  /**
+   * Set the maximum amount of rows per chunk (default: 1000)
+   *
+   * @param chunkSize maximum amount of rows
+   * @return the current object
+   */
+  public SQLBulkLoader chunkSize(int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize needs to be positive, got " + chunkSize);
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  /**
+   * Set the maximum estimated size of the bound values per chunk (default: unbounded)
+   *
+   * @param maxChunkBytes maximum size in bytes
+   * @return the current object
+   */
+  public SQLBulkLoader maxChunkBytes(long maxChunkBytes) {
+    if (maxChunkBytes <= 0) {
+      throw new IllegalArgumentException(
+          "maxChunkBytes needs to be positive, got " + maxChunkBytes);
+    }
+    this.maxChunkBytes = maxChunkBytes;
+    return this;
+  }
+
+  /**
+   * Set whether chunks are executed as a single multi-row insert instead of a JDBC batch
+   *
+   * @param batchToBulk true for multi-row inserts
+   * @return the current object
+   * @see SQLInsertClause#setBatchToBulk(boolean)
+   */
+  public SQLBulkLoader batchToBulk(boolean batchToBulk) {
+    insert.setBatchToBulk(batchToBulk);
+    return this;
+  }
+
+  /**
+   * Set the mapper used to convert beans into rows (default: {@link DefaultMapper#DEFAULT})
+   *
+   * @param mapper mapper
+   * @return the current object
+   */
+  @SuppressWarnings("unchecked")
+  public SQLBulkLoader mapper(Mapper<?> mapper) {
+    this.mapper = (Mapper<Object>) mapper;
+    return this;
+  }
+
+  /**
+   * Set the listener to be notified after each flushed chunk
+   *
+   * @param listener listener
+   * @return the current object
+   */
+  public SQLBulkLoader listener(Consumer<SQLBulkLoadChunk> listener) {
+    this.listener = listener;
+    return this;
+  }
+
+  /**
+   * Insert the given beans
+   *
+   * @param beans beans to insert
+   * @return amount of affected rows
+   */
+  public long load(Iterable<?> beans) {
+    return load(beans.iterator());
+  }
+
+  /**
+   * Insert the given beans
+   *
+   * @param beans beans to insert
+   * @return amount of affected rows
+   */
+  public long load(Stream<?> beans) {
+    return load(beans.iterator());
+  }
+
+  /**
+   * Insert the given rows
+   *
+   * @param rows rows to insert
+   * @return amount of affected rows
+   */
+  public long loadRows(Iterable<? extends Map<? extends Path<?>, ?>> rows) {
+    return loadRows(rows.iterator());
+  }
+
+  /**
+   * Insert the given rows
+   *
+   * @param rows rows to insert
+   * @return amount of affected rows
+   */
+  public long loadRows(Stream<? extends Map<? extends Path<?>, ?>> rows) {
+    return loadRows(rows.iterator());
+  }
+
+  private long load(Iterator<?> beans) {
+    RelationalPath<?> entity = insert.entity;
+    long affected = 0;
+    while (beans.hasNext()) {
+      affected += add(mapper.createMap(entity, beans.next()));
+    }
+    return affected + flush();
+  }
+
+  private long loadRows(Iterator<? extends Map<? extends Path<?>, ?>> rows) {
+    long affected = 0;
+    while (rows.hasNext()) {
+      affected += add(rows.next());
+    }
+    return affected + flush();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private long add(Map<? extends Path<?>, ?> row) {
+    if (rows == 0) {
+      startTime = System.nanoTime();
+    }
+    for (Map.Entry<? extends Path<?>, ?> entry : row.entrySet()) {
+      insert.set((Path) entry.getKey(), entry.getValue());
+      bytes += estimateSize(entry.getValue());
+    }
+    insert.addBatch();
+    rows++;
+    if (rows >= chunkSize || bytes >= maxChunkBytes) {
+      return flush();
+    } else {
+      return 0;
+    }
+  }
+
+  private long flush() {
+    if (rows == 0) {
+      return 0;
+    }
+    var chunkRows = rows;
+    var chunkBytes = bytes;
+    long affected;
+    try {
+      affected = insert.execute();
+    } finally {
+      insert.clear();
+      rows = 0;
+      bytes = 0;
+    }
+    var chunk =
+        new SQLBulkLoadChunk(
+            chunks++,
+            chunkRows,
+            chunkBytes,
+            affected,
+            Duration.ofNanos(System.nanoTime() - startTime));
+    if (listener != null) {
+      listener.accept(chunk);
+    }
+    return affected;
+  }
+
+  private static long estimateSize(@Nullable Object value) {
+    if (value == null) {
+      return 0;
+    } else if (value instanceof CharSequence charSequence) {
+      return 2L * charSequence.length();
+    } else if (value instanceof byte[] bytes) {
+      return bytes.length;
+    } else if (value instanceof Expression<?>) {
+      return 0;
+    } else {
+      return 8;
+    }
+  }
+}
@@ -37,6 +37,7 @@ import com.querydsl.sql.SQLBindings;
 import com.querydsl.sql.SQLListener;
 import com.querydsl.sql.SQLNoCloseListener;
 import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLSerializationCache;
 import com.querydsl.sql.SQLSerializer;
 import com.querydsl.sql.SQLTemplates;
 import com.querydsl.sql.types.Null;
@@ -49,7 +50,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -340,9 +341,11 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause>
       return Collections.singletonList(createBindings(metadata, serializer));
     } else {
       List<SQLBindings> builder = new ArrayList<>();
+      var cache = createBatchSerializationCache();
       for (SQLMergeBatch batch : batches) {
         var serializer = createSerializer();
-        serializer.serializeMerge(
+        cache.serializeMerge(
+            serializer,
             metadata,
             entity,
             batch.getKeys(),
@@ -425,13 +428,9 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause>
       context.addPreparedStatement(stmt);
       listeners.prepared(context);
     } else {
-      serializer.serializeMerge(
-          metadata,
-          entity,
-          batches.get(0).getKeys(),
-          batches.get(0).getColumns(),
-          batches.get(0).getValues(),
-          batches.get(0).getSubQuery());
+      var cache = createBatchSerializationCache();
+      var rendered = layout(cache, batches.get(0));
+      cache.serialize(serializer, rendered);
       context.addSQL(createBindings(metadata, serializer));
       listeners.rendered(context);
 
@@ -444,21 +443,23 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause>
 
       // add other batches
       for (var i = 1; i < batches.size(); i++) {
-        var batch = batches.get(i);
-        listeners.preRender(context);
-        serializer = createSerializer();
-        serializer.serializeMerge(
-            metadata,
-            entity,
-            batch.getKeys(),
-            batch.getColumns(),
-            batch.getValues(),
-            batch.getSubQuery());
-        context.addSQL(createBindings(metadata, serializer));
-        listeners.rendered(context);
-
-        setParameters(
-            stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams());
+        var item = layout(cache, batches.get(i));
+        var bindings = rendered.getConstants(item);
+        if (bindings != null) {
+          listeners.preRender(context);
+          context.addSQL(createBindings(metadata, rendered.getSQL(), bindings));
+          listeners.rendered(context);
+          setParameters(stmt, bindings, rendered.getConstantPaths(), metadata.getParams());
+        } else {
+          listeners.preRender(context);
+          serializer = createSerializer();
+          cache.serialize(serializer, item);
+          context.addSQL(createBindings(metadata, serializer));
+          listeners.rendered(context);
+
+          setParameters(
+              stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams());
+        }
         if (addBatches) {
           stmt.addBatch();
         }
@@ -469,54 +470,66 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause>
 
   protected Collection<PreparedStatement> createStatements(boolean withKeys) throws SQLException {
     var addBatches = !configuration.getUseLiterals();
-    Map<String, PreparedStatement> stmts = new HashMap<>();
 
-    // add first batch
-    listeners.preRender(context);
-    var serializer = createSerializer();
-    serializer.serializeMerge(
-        metadata,
-        entity,
-        batches.get(0).getKeys(),
-        batches.get(0).getColumns(),
-        batches.get(0).getValues(),
-        batches.get(0).getSubQuery());
-    context.addSQL(createBindings(metadata, serializer));
-    listeners.rendered(context);
-
-    var stmt = prepareStatementAndSetParameters(serializer, withKeys);
-    stmts.put(serializer.toString(), stmt);
-    if (addBatches) {
-      stmt.addBatch();
+    // group the batches by layout, the SQL is rendered once per layout
+    var cache = createBatchSerializationCache();
+    Map<SQLSerializationCache.Layout, List<SQLSerializationCache.Layout>> layouts =
+        new LinkedHashMap<>();
+    for (SQLMergeBatch batch : batches) {
+      var layout = layout(cache, batch);
+      layouts.computeIfAbsent(layout, l -> new ArrayList<>()).add(layout);
     }
 
-    // add other batches
-    for (var i = 1; i < batches.size(); i++) {
-      var batch = batches.get(i);
-      serializer = createSerializer();
-      serializer.serializeMerge(
-          metadata,
-          entity,
-          batch.getKeys(),
-          batch.getColumns(),
-          batch.getValues(),
-          batch.getSubQuery());
-      stmt = stmts.get(serializer.toString());
-      if (stmt == null) {
-        stmt = prepareStatementAndSetParameters(serializer, withKeys);
-        stmts.put(serializer.toString(), stmt);
-      } else {
-        setParameters(
-            stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams());
-      }
-      if (addBatches) {
-        stmt.addBatch();
+    Map<String, PreparedStatement> stmts = new LinkedHashMap<>();
+    for (List<SQLSerializationCache.Layout> items : layouts.values()) {
+      var rendered = items.get(0);
+      PreparedStatement stmt = null;
+      for (SQLSerializationCache.Layout item : items) {
+        var bindings = rendered.getConstants(item);
+        if (bindings != null) {
+          listeners.preRender(context);
+          context.addSQL(createBindings(metadata, rendered.getSQL(), bindings));
+          listeners.rendered(context);
+          setParameters(stmt, bindings, rendered.getConstantPaths(), metadata.getParams());
+        } else {
+          listeners.preRender(context);
+          var serializer = createSerializer();
+          cache.serialize(serializer, item);
+          context.addSQL(createBindings(metadata, serializer));
+          listeners.rendered(context);
+
+          stmt = stmts.get(serializer.toString());
+          if (stmt == null) {
+            stmt = prepareStatementAndSetParameters(serializer, withKeys);
+            stmts.put(serializer.toString(), stmt);
+          } else {
+            setParameters(
+                stmt,
+                serializer.getConstants(),
+                serializer.getConstantPaths(),
+                metadata.getParams());
+          }
+        }
+        if (addBatches) {
+          stmt.addBatch();
+        }
       }
     }
 
     return stmts.values();
   }
 
+  private SQLSerializationCache.Layout layout(SQLSerializationCache cache, SQLMergeBatch batch) {
+    return cache.mergeLayout(
+        configuration,
+        metadata,
+        entity,
+        batch.getKeys(),
+        batch.getColumns(),
+        batch.getValues(),
+        batch.getSubQuery());
+  }
+
   protected PreparedStatement prepareStatementAndSetParameters(
       SQLSerializer serializer, boolean withKeys) throws SQLException {
     listeners.prePrepare(context);
@@ -0,0 +1,200 @@
+package com.querydsl.sql;
+
+import com.querydsl.core.testutil.H2;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.dml.SQLInsertClause;
+import com.querydsl.sql.dml.SQLUpdateClause;
+import java.sql.Connection;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+@Category({H2.class, Performance.class})
+@State(Scope.Benchmark)
+public class BatchPerformanceTest {
+
+  public static class QBatchRow extends RelationalPathBase<QBatchRow> {
+
+    public static final QBatchRow batchRow = new QBatchRow("BATCH_ROW");
+
+    public final NumberPath<Integer> id = createNumber("id", Integer.class);
+
+    public final StringPath name = createString("name");
+
+    public final NumberPath<Integer> amount = createNumber("amount", Integer.class);
+
+    public QBatchRow(String variable) {
+      super(QBatchRow.class, PathMetadataFactory.forVariable(variable), "PUBLIC", "BATCH_ROW");
+      addMetadata(id, ColumnMetadata.named("ID").ofType(Types.INTEGER));
+      addMetadata(name, ColumnMetadata.named("NAME").ofType(Types.VARCHAR));
+      addMetadata(amount, ColumnMetadata.named("AMOUNT").ofType(Types.INTEGER));
+    }
+  }
+
+  private static final Configuration conf = new Configuration(new H2Templates());
+
+  private static final QBatchRow batchRow = QBatchRow.batchRow;
+
+  @Param({"10000", "100000"})
+  public int rows;
+
+  private Connection conn;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    conn = Connections.getH2();
+    try (var stmt = conn.createStatement()) {
+      stmt.execute(
+          "create or replace table batch_row (id int primary key, name varchar(30), amount int)");
+    }
+    conn.setAutoCommit(false);
+    try (var stmt = conn.prepareStatement("insert into batch_row values (?, ?, ?)")) {
+      for (var i = 0; i < rows; i++) {
+        stmt.setInt(1, i);
+        stmt.setString(2, String.valueOf(i));
+        stmt.setInt(3, i);
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+    conn.commit();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    try (var stmt = conn.createStatement()) {
+      stmt.execute("drop table batch_row");
+    }
+    conn.commit();
+    conn.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void jdbcInsert() throws Exception {
+    try (var stmt = conn.prepareStatement("insert into batch_row values (?, ?, ?)")) {
+      for (var i = 0; i < rows; i++) {
+        stmt.setInt(1, rows + i);
+        stmt.setString(2, String.valueOf(i));
+        stmt.setInt(3, i);
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+    conn.rollback();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void querydslInsert() throws Exception {
+    var insert = new SQLInsertClause(conn, conf, batchRow);
+    for (var i = 0; i < rows; i++) {
+      insert
+          .set(batchRow.id, rows + i)
+          .set(batchRow.name, String.valueOf(i))
+          .set(batchRow.amount, i)
+          .addBatch();
+    }
+    insert.execute();
+    conn.rollback();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void querydslInsertSmallValues() throws Exception {
+    var insert = new SQLInsertClause(conn, conf, batchRow);
+    for (var i = 0; i < rows; i++) {
+      insert
+          .set(batchRow.id, rows + i)
+          .set(batchRow.name, i % 2 == 0 ? "even" : "odd")
+          .set(batchRow.amount, i % 100)
+          .addBatch();
+    }
+    insert.execute();
+    conn.rollback();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void jdbcUpdate() throws Exception {
+    try (var stmt = conn.prepareStatement("update batch_row set amount = ? where id = ?")) {
+      for (var i = 0; i < rows; i++) {
+        stmt.setInt(1, -i);
+        stmt.setInt(2, i);
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+    conn.rollback();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void querydslUpdate() throws Exception {
+    var update = new SQLUpdateClause(conn, conf, batchRow);
+    for (var i = 0; i < rows; i++) {
+      update.set(batchRow.amount, -i).where(batchRow.id.eq(i)).addBatch();
+    }
+    update.execute();
+    conn.rollback();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void querydslUpdateRepeatedValues() throws Exception {
+    var update = new SQLUpdateClause(conn, conf, batchRow);
+    for (var i = 0; i < rows; i++) {
+      var amount = Expressions.constant(i % 10);
+      update
+          .set(batchRow.amount, amount)
+          .where(batchRow.id.eq(i), batchRow.amount.ne(amount))
+          .addBatch();
+    }
+    update.execute();
+    conn.rollback();
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    var opt =
+        new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(1)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
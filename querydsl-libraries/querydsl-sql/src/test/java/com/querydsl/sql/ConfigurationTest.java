@@ -16,6 +16,7 @@ package com.querydsl.sql;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.querydsl.core.alias.Gender;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.sql.domain.QSurvey;
 import com.querydsl.sql.namemapping.ChainedNameMapping;
 import com.querydsl.sql.namemapping.ChangeLetterCaseNameMapping;
@@ -24,6 +25,7 @@ import com.querydsl.sql.namemapping.NameMapping;
 import com.querydsl.sql.namemapping.PreConfiguredNameMapping;
 import com.querydsl.sql.types.EnumByNameType;
 import com.querydsl.sql.types.InputStreamType;
+import com.querydsl.sql.types.IntegerType;
 import com.querydsl.sql.types.Null;
 import com.querydsl.sql.types.StringType;
 import com.querydsl.sql.types.UtilDateType;
@@ -32,7 +34,10 @@ import java.math.BigInteger;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.easymock.EasyMock;
 import org.junit.Test;
 
@@ -50,6 +55,22 @@ public class ConfigurationTest {
         .isEqualTo(Gender.class);
   }
 
+  @Test
+  public void getTypes() {
+    var configuration = new Configuration(new H2Templates());
+    var encrypted = new EncryptedString();
+    configuration.register("SURVEY", "NAME", encrypted);
+    var survey = QSurvey.survey;
+
+    var types =
+        configuration.getTypes(
+            Arrays.asList(survey.name, survey.id, Expressions.stringTemplate("'x'")));
+    assertThat(types).hasSize(3);
+    assertThat(types[0]).isSameAs(encrypted);
+    assertThat(types[1]).isInstanceOf(IntegerType.class);
+    assertThat(types[2]).isInstanceOf(StringType.class);
+  }
+
   @Test
   public void custom_type() {
     var configuration = new Configuration(new H2Templates());
@@ -150,6 +171,38 @@ public class ConfigurationTest {
     new ChainedNameMapping(new NameMapping[] {null});
   }
 
+  @Test
+  public void identifierCache() {
+    var calls = new AtomicInteger();
+    NameMapping mapping =
+        new NameMapping() {
+          @Override
+          public Optional<String> getColumnOverride(SchemaAndTable key, String column) {
+            return Optional.of(column + calls.incrementAndGet());
+          }
+
+          @Override
+          public Optional<SchemaAndTable> getOverride(SchemaAndTable key) {
+            return Optional.empty();
+          }
+        };
+    var configuration = new Configuration(new H2Templates());
+    configuration.setDynamicNameMapping(mapping);
+    var key = new SchemaAndTable("PUBLIC", "SURVEY");
+
+    // not cached by default
+    assertThat(configuration.getUseIdentifierCache()).isFalse();
+    assertThat(configuration.getColumnOverride(key, "NAME")).isEqualTo("NAME1");
+    assertThat(configuration.getColumnOverride(key, "NAME")).isEqualTo("NAME2");
+
+    configuration.setUseIdentifierCache(true);
+    assertThat(configuration.getColumnOverride(key, "NAME")).isEqualTo("NAME3");
+    assertThat(configuration.getColumnOverride(key, "NAME")).isEqualTo("NAME3");
+
+    configuration.setDynamicNameMapping(mapping);
+    assertThat(configuration.getColumnOverride(key, "NAME")).isEqualTo("NAME4");
+  }
+
   @Test
   public void numericOverriden() {
     var configuration = new Configuration(new H2Templates());
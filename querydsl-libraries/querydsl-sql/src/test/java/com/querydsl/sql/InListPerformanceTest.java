@@ -0,0 +1,137 @@
+package com.querydsl.sql;
+
+import com.querydsl.core.testutil.H2;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import java.sql.Connection;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/** Latency and amount of distinct SQL strings for IN lists with 1 to 5000 elements */
+@Category({H2.class, Performance.class})
+@State(Scope.Benchmark)
+public class InListPerformanceTest {
+
+  public static class QInListRow extends RelationalPathBase<QInListRow> {
+
+    public static final QInListRow inListRow = new QInListRow("IN_LIST_ROW");
+
+    public final NumberPath<Integer> id = createNumber("id", Integer.class);
+
+    public final StringPath name = createString("name");
+
+    public QInListRow(String variable) {
+      super(QInListRow.class, PathMetadataFactory.forVariable(variable), "PUBLIC", "IN_LIST_ROW");
+      addMetadata(id, ColumnMetadata.named("ID").ofType(Types.INTEGER));
+      addMetadata(name, ColumnMetadata.named("NAME").ofType(Types.VARCHAR));
+    }
+  }
+
+  private static final int ROWS = 10000;
+
+  private static final int MAX_LIST_SIZE = 5000;
+
+  private static final QInListRow inListRow = QInListRow.inListRow;
+
+  @Param({"EXPAND", "PAD", "ARRAY"})
+  public InListStrategy strategy;
+
+  private final Set<String> statements = ConcurrentHashMap.newKeySet();
+
+  private Configuration conf;
+
+  private Connection conn;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    conf = new Configuration(new H2Templates());
+    conf.setInListStrategy(strategy);
+    conf.addListener(
+        new SQLBaseListener() {
+          @Override
+          public void prepared(SQLListenerContext context) {
+            statements.add(context.getSQL());
+          }
+        });
+    conn = Connections.getH2();
+    try (var stmt = conn.createStatement()) {
+      stmt.execute("create or replace table in_list_row (id int primary key, name varchar(30))");
+    }
+    try (var stmt = conn.prepareStatement("insert into in_list_row values (?, ?)")) {
+      for (var i = 0; i < ROWS; i++) {
+        stmt.setInt(1, i);
+        stmt.setString(2, String.valueOf(i));
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    System.err.println(strategy + ": " + statements.size() + " distinct statements");
+    try (var stmt = conn.createStatement()) {
+      stmt.execute("drop table in_list_row");
+    }
+    conn.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<String> querydslIn() {
+    var random = ThreadLocalRandom.current();
+    var size = random.nextInt(1, MAX_LIST_SIZE + 1);
+    List<Integer> ids = new ArrayList<>(size);
+    for (var i = 0; i < size; i++) {
+      ids.add(random.nextInt(ROWS));
+    }
+    return new SQLQuery<Void>(conn, conf)
+        .select(inListRow.name)
+        .from(inListRow)
+        .where(inListRow.id.in(ids))
+        .fetch();
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    var opt =
+        new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(1)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
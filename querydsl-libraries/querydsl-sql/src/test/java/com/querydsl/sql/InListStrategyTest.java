@@ -0,0 +1,94 @@
+package com.querydsl.sql;
+
+import static com.querydsl.sql.Constants.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.testutil.H2;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(H2.class)
+public class InListStrategyTest {
+
+  private Configuration configuration;
+
+  @Before
+  public void setUp() throws SQLException, ClassNotFoundException {
+    Connections.initH2();
+    configuration = new Configuration(H2Templates.DEFAULT);
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    Connections.close();
+  }
+
+  private List<Integer> fetch(List<Integer> ids, boolean in) {
+    return new SQLQuery<Void>(Connections.getConnection(), configuration)
+        .select(employee.id)
+        .from(employee)
+        .where(in ? employee.id.in(ids) : employee.id.notIn(ids))
+        .orderBy(employee.id.asc())
+        .fetch();
+  }
+
+  private void assertSameResults(InListStrategy strategy) {
+    for (var size : new int[] {1, 2, 3, 5, 9, 17}) {
+      List<Integer> ids = new ArrayList<>();
+      for (var i = 0; i < size; i++) {
+        ids.add(i * 3);
+      }
+      configuration.setInListStrategy(InListStrategy.EXPAND);
+      var expectedIn = fetch(ids, true);
+      var expectedNotIn = fetch(ids, false);
+      configuration.setInListStrategy(strategy);
+      assertThat(fetch(ids, true)).isEqualTo(expectedIn);
+      assertThat(fetch(ids, false)).isEqualTo(expectedNotIn);
+    }
+  }
+
+  @Test
+  public void pad() {
+    assertSameResults(InListStrategy.PAD);
+  }
+
+  @Test
+  public void array() {
+    assertSameResults(InListStrategy.ARRAY);
+  }
+
+  @Test
+  public void distinct_statements() {
+    for (InListStrategy strategy : InListStrategy.values()) {
+      configuration.setInListStrategy(strategy);
+      var statements = new HashSet<String>();
+      for (var size = 1; size <= 100; size++) {
+        List<Integer> ids = new ArrayList<>();
+        for (var i = 0; i < size; i++) {
+          ids.add(i);
+        }
+        statements.add(
+            new SQLQuery<Void>(configuration)
+                .select(employee.id)
+                .from(employee)
+                .where(employee.id.in(ids))
+                .getSQL()
+                .getSQL());
+      }
+      // single element lists are rendered as equality
+      assertThat(statements)
+          .hasSize(
+              switch (strategy) {
+                case EXPAND -> 100;
+                case PAD -> 8;
+                case ARRAY -> 2;
+              });
+    }
+  }
+}
@@ -28,6 +28,12 @@ import com.querydsl.sql.types.ObjectType;
 import com.querydsl.sql.types.ShortType;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 
 public class JavaTypeMappingTest {
@@ -46,6 +52,29 @@ public class JavaTypeMappingTest {
     assertThat(typeMapping.getType(DummyBlob.class).getClass()).isEqualTo(BlobType.class);
   }
 
+  @Test
+  public void getType_concurrently() throws InterruptedException {
+    var executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (var i = 0; i < 100; i++) {
+      var table = "TABLE" + i;
+      futures.add(
+          executor.submit(
+              () -> {
+                typeMapping.register(new InputStreamType());
+                typeMapping.setType(table, "COLUMN", new LongType());
+                assertThat(typeMapping.getType(FileInputStream.class))
+                    .isInstanceOf(InputStreamType.class);
+                assertThat(typeMapping.getType(table, "COLUMN")).isInstanceOf(LongType.class);
+              }));
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    for (Future<?> future : futures) {
+      assertThat(future).succeedsWithin(Duration.ZERO);
+    }
+  }
+
   @Test
   public void getType_for_object() {
     assertThat(typeMapping.getType(Object.class).getClass()).isEqualTo(ObjectType.class);
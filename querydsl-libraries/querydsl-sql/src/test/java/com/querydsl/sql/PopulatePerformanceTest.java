@@ -0,0 +1,138 @@
+package com.querydsl.sql;
+
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.sql.dml.AnnotationMapper;
+import com.querydsl.sql.dml.BeanMapper;
+import com.querydsl.sql.dml.DefaultMapper;
+import com.querydsl.sql.dml.Mapper;
+import com.querydsl.sql.dml.SQLInsertClause;
+import com.querydsl.sql.domain.Employee;
+import com.querydsl.sql.domain.QEmployee;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.easymock.EasyMock;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/** Throughput of populating insert batches from beans with the different mappers */
+@Category(Performance.class)
+@State(Scope.Benchmark)
+public class PopulatePerformanceTest {
+
+  public static class AnnotatedEmployee {
+
+    @Column("ID")
+    Integer id;
+
+    @Column("FIRSTNAME")
+    String firstname;
+
+    @Column("LASTNAME")
+    String lastname;
+
+    @Column("SALARY")
+    BigDecimal salary;
+
+    @Column("DATEFIELD")
+    Date datefield;
+
+    @Column("TIMEFIELD")
+    Time timefield;
+
+    @Column("SUPERIOR_ID")
+    Integer superiorId;
+  }
+
+  private static final int BATCH_SIZE = 1000;
+
+  private static final Configuration conf = new Configuration(new H2Templates());
+
+  private static final QEmployee employee = QEmployee.employee;
+
+  @Param({"DEFAULT", "BEAN", "ANNOTATION"})
+  public String mapper;
+
+  private final Connection conn = EasyMock.createNiceMock(Connection.class);
+
+  private final List<Object> beans = new ArrayList<>(BATCH_SIZE);
+
+  private Mapper<Object> beanMapper;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    for (var i = 0; i < BATCH_SIZE; i++) {
+      if (mapper.equals("ANNOTATION")) {
+        var bean = new AnnotatedEmployee();
+        bean.id = i;
+        bean.firstname = "John";
+        bean.lastname = "Smith";
+        bean.salary = BigDecimal.valueOf(i);
+        bean.datefield = new Date(0);
+        bean.timefield = new Time(0);
+        beans.add(bean);
+      } else {
+        var bean = new Employee(i);
+        bean.setFirstname("John");
+        bean.setLastname("Smith");
+        bean.setSalary(BigDecimal.valueOf(i));
+        bean.setDatefield(new Date(0));
+        bean.setTimefield(new Time(0));
+        beans.add(bean);
+      }
+    }
+    beanMapper =
+        switch (mapper) {
+          case "BEAN" -> BeanMapper.WITH_NULL_BINDINGS;
+          case "ANNOTATION" -> AnnotationMapper.WITH_NULL_BINDINGS;
+          default -> DefaultMapper.WITH_NULL_BINDINGS;
+        };
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int populate() {
+    var insert = new SQLInsertClause(conn, conf, employee);
+    for (Object bean : beans) {
+      insert.populate(bean, beanMapper).addBatch();
+    }
+    return insert.getBatchCount();
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    var opt =
+        new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
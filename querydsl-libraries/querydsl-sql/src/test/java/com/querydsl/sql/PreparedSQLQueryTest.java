@@ -0,0 +1,129 @@
+package com.querydsl.sql;
+
+import static com.querydsl.sql.Constants.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.querydsl.core.testutil.H2;
+import com.querydsl.core.types.ParamNotSetException;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.sql.domain.Employee;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(H2.class)
+public class PreparedSQLQueryTest {
+
+  private final Param<Integer> id = new Param<>(Integer.class, "id");
+
+  private SQLQuery<?> query;
+
+  @Before
+  public void setUp() throws SQLException, ClassNotFoundException {
+    Connections.initH2();
+    query = new SQLQuery<Void>(Connections.getConnection(), new Configuration(H2Templates.DEFAULT));
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    Connections.close();
+  }
+
+  @Test
+  public void fetch_positional() {
+    var prepared =
+        query.select(employee.firstname).from(employee).where(employee.id.eq(1)).prepare();
+
+    assertThat(prepared.getBindingCount()).isEqualTo(1);
+    assertThat(prepared.fetch()).containsExactly("Mike");
+    assertThat(prepared.fetch(2)).containsExactly("Mary");
+    assertThat(prepared.fetch(-1)).isEmpty();
+  }
+
+  @Test
+  public void fetch_params() {
+    var prepared =
+        query.select(employee.firstname).from(employee).where(employee.id.eq(id)).prepare();
+
+    assertThat(prepared.fetch(Collections.singletonMap(id, 1))).containsExactly("Mike");
+    assertThat(prepared.fetch(Collections.singletonMap(id, 2))).containsExactly("Mary");
+  }
+
+  @Test
+  public void fetch_params_default() {
+    query.set(id, 2);
+    var prepared =
+        query.select(employee.firstname).from(employee).where(employee.id.eq(id)).prepare();
+
+    assertThat(prepared.fetch()).containsExactly("Mary");
+    assertThat(prepared.getSQL().getNullFriendlyBindings()).containsExactly(2);
+  }
+
+  @Test
+  public void fetch_params_not_set() {
+    var prepared =
+        query.select(employee.firstname).from(employee).where(employee.id.eq(id)).prepare();
+
+    assertThatThrownBy(prepared::fetch).isInstanceOf(ParamNotSetException.class);
+  }
+
+  @Test
+  public void fetch_wrong_binding_count() {
+    var prepared =
+        query.select(employee.firstname).from(employee).where(employee.id.eq(1)).prepare();
+
+    assertThatThrownBy(() -> prepared.fetch(1, 2)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void fetch_factoryExpression() {
+    var prepared =
+        query
+            .select(Projections.bean(Employee.class, employee.id, employee.firstname))
+            .from(employee)
+            .where(employee.id.eq(1))
+            .prepare();
+
+    var result = prepared.fetchFirst(10);
+    assertThat(result.getId()).isEqualTo(10);
+    assertThat(result.getFirstname()).isEqualTo("Joe");
+  }
+
+  @Test
+  public void iterate() {
+    var prepared =
+        query.select(employee.id).from(employee).where(employee.superiorId.eq(1)).prepare();
+
+    List<Integer> ids = new ArrayList<>();
+    try (var it = prepared.iterate(2)) {
+      while (it.hasNext()) {
+        ids.add(it.next());
+      }
+    }
+    assertThat(ids).containsExactlyInAnyOrder(20, 21, 22, 23);
+  }
+
+  @Test
+  public void prepareCount() {
+    var prepared = query.from(employee).where(employee.superiorId.eq(1)).prepareCount();
+
+    assertThat(prepared.fetchFirst()).isEqualTo(4L);
+    assertThat(prepared.fetchFirst(-1)).isZero();
+  }
+
+  @Test
+  public void query_is_unaffected() {
+    var firstnames = query.select(employee.firstname).from(employee).where(employee.id.eq(1));
+    var prepared = firstnames.prepare();
+    firstnames.where(employee.lastname.eq("Doe"));
+
+    assertThat(prepared.fetch(2)).containsExactly("Mary");
+  }
+}
@@ -0,0 +1,294 @@
+package com.querydsl.sql;
+
+import com.querydsl.core.testutil.H2;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import java.sql.Connection;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+@Category({H2.class, Performance.class})
+@State(Scope.Benchmark)
+public class ProjectionPerformanceTest {
+
+  public static class QWideRow extends RelationalPathBase<QWideRow> {
+
+    public static final QWideRow wideRow = new QWideRow("WIDE_ROW");
+
+    public final NumberPath<Integer> id = createNumber("id", Integer.class);
+
+    public final StringPath name = createString("name");
+
+    public final StringPath street = createString("street");
+
+    public final StringPath city = createString("city");
+
+    public final StringPath country = createString("country");
+
+    public final NumberPath<Integer> amount = createNumber("amount", Integer.class);
+
+    public final NumberPath<Long> total = createNumber("total", Long.class);
+
+    public final NumberPath<Double> ratio = createNumber("ratio", Double.class);
+
+    public QWideRow(String variable) {
+      super(QWideRow.class, PathMetadataFactory.forVariable(variable), "PUBLIC", "WIDE_ROW");
+      addMetadata(id, ColumnMetadata.named("ID").ofType(Types.INTEGER));
+      addMetadata(name, ColumnMetadata.named("NAME").ofType(Types.VARCHAR));
+      addMetadata(street, ColumnMetadata.named("STREET").ofType(Types.VARCHAR));
+      addMetadata(city, ColumnMetadata.named("CITY").ofType(Types.VARCHAR));
+      addMetadata(country, ColumnMetadata.named("COUNTRY").ofType(Types.VARCHAR));
+      addMetadata(amount, ColumnMetadata.named("AMOUNT").ofType(Types.INTEGER));
+      addMetadata(total, ColumnMetadata.named("TOTAL").ofType(Types.BIGINT));
+      addMetadata(ratio, ColumnMetadata.named("RATIO").ofType(Types.DOUBLE));
+    }
+  }
+
+  public static class WideRow {
+
+    private Integer id;
+
+    private String name;
+
+    private String street;
+
+    private String city;
+
+    private String country;
+
+    private Integer amount;
+
+    private Long total;
+
+    private Double ratio;
+
+    public WideRow() {}
+
+    public WideRow(
+        int id,
+        String name,
+        String street,
+        String city,
+        String country,
+        int amount,
+        long total,
+        double ratio) {
+      this.id = id;
+      this.name = name;
+      this.street = street;
+      this.city = city;
+      this.country = country;
+      this.amount = amount;
+      this.total = total;
+      this.ratio = ratio;
+    }
+
+    public Integer getId() {
+      return id;
+    }
+
+    public void setId(Integer id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getStreet() {
+      return street;
+    }
+
+    public void setStreet(String street) {
+      this.street = street;
+    }
+
+    public String getCity() {
+      return city;
+    }
+
+    public void setCity(String city) {
+      this.city = city;
+    }
+
+    public String getCountry() {
+      return country;
+    }
+
+    public void setCountry(String country) {
+      this.country = country;
+    }
+
+    public Integer getAmount() {
+      return amount;
+    }
+
+    public void setAmount(Integer amount) {
+      this.amount = amount;
+    }
+
+    public Long getTotal() {
+      return total;
+    }
+
+    public void setTotal(Long total) {
+      this.total = total;
+    }
+
+    public Double getRatio() {
+      return ratio;
+    }
+
+    public void setRatio(Double ratio) {
+      this.ratio = ratio;
+    }
+  }
+
+  private static final QWideRow wideRow = QWideRow.wideRow;
+
+  private static final Expression<?>[] columns = {
+    wideRow.id,
+    wideRow.name,
+    wideRow.street,
+    wideRow.city,
+    wideRow.country,
+    wideRow.amount,
+    wideRow.total,
+    wideRow.ratio
+  };
+
+  private static final Configuration reflective = new Configuration(new H2Templates());
+
+  private static final Configuration generated = new Configuration(new H2Templates());
+
+  static {
+    generated.setUseGeneratedMappers(true);
+  }
+
+  @Param({"10000", "100000"})
+  public int rows;
+
+  private Connection conn;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    conn = Connections.getH2();
+    try (var stmt = conn.createStatement()) {
+      stmt.execute(
+          "create or replace table wide_row (id int primary key, name varchar(30), street"
+              + " varchar(30), city varchar(30), country varchar(30), amount int, total bigint,"
+              + " ratio double)");
+    }
+    conn.setAutoCommit(false);
+    try (var stmt = conn.prepareStatement("insert into wide_row values (?, ?, ?, ?, ?, ?, ?, ?)")) {
+      for (var i = 0; i < rows; i++) {
+        stmt.setInt(1, i);
+        stmt.setString(2, "name" + i);
+        stmt.setString(3, "street" + i);
+        stmt.setString(4, "city" + i);
+        stmt.setString(5, "country" + i);
+        stmt.setInt(6, i);
+        stmt.setLong(7, 10L * i);
+        stmt.setDouble(8, i / 10.0);
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+    conn.commit();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    try (var stmt = conn.createStatement()) {
+      stmt.execute("drop table wide_row");
+    }
+    conn.commit();
+    conn.close();
+  }
+
+  private List<WideRow> fetchBeans(Configuration conf) {
+    return new SQLQuery<Void>(conn, conf)
+        .select(Projections.bean(WideRow.class, columns))
+        .from(wideRow)
+        .fetch();
+  }
+
+  private List<WideRow> fetchConstructors(Configuration conf) {
+    return new SQLQuery<Void>(conn, conf)
+        .select(Projections.constructor(WideRow.class, columns))
+        .from(wideRow)
+        .fetch();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int reflectiveBean() {
+    return fetchBeans(reflective).size();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int generatedBean() {
+    return fetchBeans(generated).size();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int reflectiveConstructor() {
+    return fetchConstructors(reflective).size();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int generatedConstructor() {
+    return fetchConstructors(generated).size();
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    var opt =
+        new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(1)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -36,6 +36,20 @@ public class QueryPerformanceTest {
 
   private static final Configuration conf = new Configuration(templates);
 
+  private static final PreparedSQLQuery<String> preparedById =
+      new SQLQuery<Void>(conf)
+          .select(QCompanies.companies.name)
+          .from(QCompanies.companies)
+          .where(QCompanies.companies.id.eq(0L))
+          .prepare();
+
+  private static final PreparedSQLQuery<String> preparedByName =
+      new SQLQuery<Void>(conf)
+          .select(QCompanies.companies.name)
+          .from(QCompanies.companies)
+          .where(QCompanies.companies.name.eq(""))
+          .prepare();
+
   @BeforeClass
   public static void setUpClass() throws SQLException, ClassNotFoundException {
     Connections.initH2();
@@ -231,6 +245,39 @@ public class QueryPerformanceTest {
     }
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void querydslPrepared1() throws Exception {
+    try (var conn = Connections.getH2()) {
+      preparedById.withConnection(conn).fetch(ThreadLocalRandom.current().nextLong());
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void querydslPrepared12() throws Exception {
+    try (var conn = Connections.getH2();
+        var it =
+            preparedById.withConnection(conn).iterate(ThreadLocalRandom.current().nextLong())) {
+      while (it.hasNext()) {
+        it.next();
+      }
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void querydslPrepared2() throws Exception {
+    try (var conn = Connections.getH2()) {
+      preparedByName
+          .withConnection(conn)
+          .fetch(String.valueOf(ThreadLocalRandom.current().nextLong()));
+    }
+  }
+
   @Benchmark
   @BenchmarkMode(Mode.AverageTime)
   @OutputTimeUnit(TimeUnit.MICROSECONDS)
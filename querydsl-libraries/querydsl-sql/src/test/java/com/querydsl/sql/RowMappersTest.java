@@ -0,0 +1,199 @@
+package com.querydsl.sql;
+
+import static com.querydsl.sql.Constants.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.testutil.H2;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QBean;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.domain.Employee;
+import com.querydsl.sql.types.StringType;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(H2.class)
+public class RowMappersTest {
+
+  public static class IdSuperior {
+
+    private final int id;
+
+    private final int superiorId;
+
+    public IdSuperior(int id, int superiorId) {
+      this.id = id;
+      this.superiorId = superiorId;
+    }
+  }
+
+  public static class NameSalary {
+
+    private final String name;
+
+    private final BigDecimal salary;
+
+    public NameSalary(String name, BigDecimal salary) {
+      this.name = name;
+      this.salary = salary;
+    }
+  }
+
+  public static class Holder {
+
+    private Employee employee;
+
+    public Employee getEmployee() {
+      return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+      this.employee = employee;
+    }
+  }
+
+  private Configuration generated;
+
+  private Configuration reflective;
+
+  @Before
+  public void setUp() throws SQLException, ClassNotFoundException {
+    Connections.initH2();
+    generated = new Configuration(H2Templates.DEFAULT);
+    generated.setUseGeneratedMappers(true);
+    reflective = new Configuration(H2Templates.DEFAULT);
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    Connections.close();
+  }
+
+  private <T> List<T> fetch(Configuration configuration, Expression<T> projection) {
+    return new SQLQuery<Void>(Connections.getConnection(), configuration)
+        .select(projection)
+        .from(employee)
+        .orderBy(employee.id.asc())
+        .fetch();
+  }
+
+  private <T> void assertSameResults(Expression<T> projection) {
+    var expected = fetch(reflective, projection);
+    var actual = fetch(generated, projection);
+    assertThat(expected).isNotEmpty();
+    assertThat(actual).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+  }
+
+  @Test
+  public void bean() {
+    QBean<Employee> projection =
+        Projections.bean(
+            Employee.class,
+            employee.id,
+            employee.firstname,
+            employee.lastname,
+            employee.salary,
+            employee.superiorId);
+    assertSameResults(projection);
+    assertThat(generated.getRowMapper(projection)).isNotNull();
+  }
+
+  @Test
+  public void fields() {
+    QBean<Employee> projection =
+        Projections.fields(
+            Employee.class,
+            employee.id,
+            employee.firstname,
+            employee.datefield,
+            employee.superiorId);
+    assertSameResults(projection);
+    assertThat(generated.getRowMapper(projection)).isNotNull();
+  }
+
+  @Test
+  public void constructor() {
+    var projection =
+        Projections.constructor(
+            NameSalary.class, employee.firstname.concat(employee.lastname), employee.salary);
+    assertSameResults(projection);
+    assertThat(generated.getRowMapper(projection)).isNotNull();
+  }
+
+  @Test
+  public void constructor_primitives() {
+    var projection = Projections.constructor(IdSuperior.class, employee.id, employee.superiorId);
+    assertSameResults(projection);
+    assertThat(fetch(generated, projection)).extracting(r -> r.superiorId).contains(0);
+  }
+
+  @Test
+  public void iterate_and_prepared() {
+    var projection = Projections.bean(Employee.class, employee.id, employee.firstname);
+    var query =
+        new SQLQuery<Void>(Connections.getConnection(), generated)
+            .select(projection)
+            .from(employee)
+            .where(employee.id.eq(1));
+
+    List<Employee> iterated = new ArrayList<>();
+    try (var iterator = query.clone().iterate()) {
+      iterator.forEachRemaining(iterated::add);
+    }
+    assertThat(iterated).extracting(Employee::getFirstname).containsExactly("Mike");
+    assertThat(query.prepare().fetch()).extracting(Employee::getFirstname).containsExactly("Mike");
+  }
+
+  @Test
+  public void cached_per_projection() {
+    fetch(generated, Projections.bean(Employee.class, employee.id, employee.firstname));
+    fetch(generated, Projections.bean(Employee.class, employee.id, employee.firstname));
+    fetch(generated, Projections.fields(Employee.class, employee.id, employee.firstname));
+
+    assertThat(generated.getRowMappers().size()).isEqualTo(2);
+  }
+
+  @Test
+  public void bounded() {
+    for (var i = 0; i < RowMappers.MAX_SIZE + 10; i++) {
+      var projection =
+          Projections.constructor(
+              NameSalary.class, Expressions.constant("name" + i), employee.salary);
+      assertThat(generated.getRowMapper(projection)).isNotNull();
+    }
+    assertThat(generated.getRowMappers().size()).isEqualTo(RowMappers.MAX_SIZE);
+  }
+
+  @Test
+  public void cleared_on_type_registration() {
+    fetch(generated, Projections.bean(Employee.class, employee.id, employee.firstname));
+    assertThat(generated.getRowMappers().size()).isEqualTo(1);
+
+    generated.register("EMPLOYEE", "FIRSTNAME", new StringType());
+    assertThat(generated.getRowMappers().size()).isZero();
+  }
+
+  @Test
+  public void nested_projections_are_populated_reflectively() {
+    var projection =
+        Projections.bean(
+            Holder.class,
+            Projections.bean(Employee.class, employee.id, employee.firstname).as("employee"));
+    assertThat(generated.getRowMapper(projection)).isNull();
+    assertThat(fetch(generated, projection))
+        .extracting(h -> h.getEmployee().getFirstname())
+        .contains("Mike");
+  }
+
+  @Test
+  public void disabled() {
+    assertThat(reflective.getRowMapper(Projections.bean(Employee.class, employee.id))).isNull();
+  }
+}
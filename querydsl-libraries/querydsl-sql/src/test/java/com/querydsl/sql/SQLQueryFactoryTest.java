@@ -52,6 +52,11 @@ public class SQLQueryFactoryTest {
     assertThat(queryFactory.insert(QSurvey.survey)).isNotNull();
   }
 
+  @Test
+  public void bulkLoad() {
+    assertThat(queryFactory.bulkLoad(QSurvey.survey)).isNotNull();
+  }
+
   @Test
   public void update() {
     assertThat(queryFactory.update(QSurvey.survey)).isNotNull();
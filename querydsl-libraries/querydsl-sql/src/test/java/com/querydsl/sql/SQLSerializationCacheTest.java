@@ -0,0 +1,374 @@
+package com.querydsl.sql;
+
+import static com.querydsl.sql.SQLExpressions.select;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.domain.QEmployee;
+import com.querydsl.sql.domain.QSurvey;
+import com.querydsl.sql.types.Null;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SQLSerializationCacheTest {
+
+  private static final QEmployee employee = QEmployee.employee;
+
+  private Configuration cached;
+
+  private SQLSerializationCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new SQLSerializationCache(10);
+    cached = new Configuration(H2Templates.DEFAULT);
+    cached.setSerializationCache(cache);
+  }
+
+  private void assertSame(Function<SQLQuery<?>, SQLQuery<?>> query) {
+    var expected = query.apply(new SQLQuery<Void>(new Configuration(H2Templates.DEFAULT))).getSQL();
+    var actual = query.apply(new SQLQuery<Void>(cached)).getSQL();
+    assertThat(actual.getSQL()).isEqualTo(expected.getSQL());
+    assertThat(actual.getNullFriendlyBindings()).isEqualTo(expected.getNullFriendlyBindings());
+  }
+
+  @Test
+  public void hit() {
+    assertSame(q -> q.select(employee.firstname).from(employee).where(employee.id.eq(1000)));
+    assertSame(q -> q.select(employee.firstname).from(employee).where(employee.id.eq(2000)));
+    assertSame(q -> q.select(employee.firstname).from(employee).where(employee.id.eq(3000)));
+
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void small_values() {
+    assertSame(q -> q.select(employee.id).from(employee).where(employee.id.eq(1)));
+    assertSame(q -> q.select(employee.id).from(employee).where(employee.id.eq(2)));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(employee.id.eq(3), employee.superiorId.eq(4), employee.salary.gt(5)));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(employee.id.eq(6), employee.superiorId.eq(7), employee.salary.gt(8)));
+
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void booleans() {
+    for (var value : Arrays.asList(true, false, true)) {
+      assertSame(
+          q ->
+              q.select(employee.id)
+                  .from(employee)
+                  .where(Expressions.booleanPath("active").eq(value)));
+    }
+    assertThat(cache.getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void repeated_values() {
+    // equal values in different constants are bound separately
+    assertSame(
+        q -> q.select(employee.id).from(employee).where(employee.id.eq(1), employee.salary.gt(1)));
+    assertSame(
+        q -> q.select(employee.id).from(employee).where(employee.id.eq(2), employee.salary.gt(3)));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(employee.id.eq(1000), employee.salary.gt(1000)));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(employee.id.eq(2000), employee.salary.gt(3000)));
+
+    // the same constant used twice
+    for (var i = 0; i < 3; i++) {
+      var value = Expressions.constant(1000 + i);
+      assertSame(
+          q ->
+              q.select(employee.id)
+                  .from(employee)
+                  .where(employee.id.eq(value), employee.salary.gt(value)));
+    }
+
+    // the same value as template arguments
+    for (var i = 0; i < 3; i++) {
+      var value = i;
+      assertSame(
+          q ->
+              q.select(employee.id)
+                  .from(employee)
+                  .where(Expressions.booleanTemplate("{0} = {1}", value, value)));
+    }
+  }
+
+  @Test
+  public void different_shapes() {
+    assertSame(q -> q.select(employee.firstname).from(employee).where(employee.id.eq(1000)));
+    assertSame(q -> q.select(employee.firstname).from(employee).where(employee.id.gt(1000)));
+    assertSame(
+        q -> q.select(employee.firstname).from(employee).where(employee.firstname.eq("Bob")));
+
+    assertThat(cache.getMissCount()).isEqualTo(3);
+    assertThat(cache.getHitCount()).isZero();
+  }
+
+  @Test
+  public void same_alias_different_tables() {
+    var e = new QEmployee("x");
+    var s = new QSurvey("x");
+    assertSame(q -> q.select(e.id).from(e).where(e.id.eq(1)));
+    assertSame(q -> q.select(s.id).from(s).where(s.id.eq(2)));
+    assertThat(new SQLQuery<Void>(cached).select(s.id).from(s).where(s.id.eq(3)).getSQL().getSQL())
+        .contains("SURVEY");
+
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void modifiers_are_part_of_shape() {
+    assertSame(q -> q.select(employee.id).from(employee).limit(1000).offset(2000));
+    assertSame(q -> q.select(employee.id).from(employee).limit(3000).offset(4000));
+
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void collections() {
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(employee.id.in(Arrays.asList(1000, 2000)), employee.lastname.eq("Smith")));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(employee.id.in(Arrays.asList(3000, 4000)), employee.lastname.eq("Doe")));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(
+                    employee.id.in(Arrays.asList(3000, 4000, 5000)), employee.lastname.eq("Doe")));
+
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void in_list_strategies() {
+    List<List<Integer>> lists = Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6, 7));
+    Map<InListStrategy, Long> expectedHits = new LinkedHashMap<>();
+    expectedHits.put(InListStrategy.EXPAND, 1L);
+    // padded and array lists of different sizes share the rendering
+    expectedHits.put(InListStrategy.PAD, 2L);
+    expectedHits.put(InListStrategy.ARRAY, 2L);
+    for (var entry : expectedHits.entrySet()) {
+      cache = new SQLSerializationCache(10);
+      cached.setSerializationCache(cache);
+      cached.setInListStrategy(entry.getKey());
+      var uncached = new Configuration(H2Templates.DEFAULT);
+      uncached.setInListStrategy(entry.getKey());
+      for (var i = 0; i < 3; i++) {
+        var ids = lists.get(i % 2);
+        Function<SQLQuery<?>, SQLQuery<?>> query =
+            q -> q.select(employee.id).from(employee).where(employee.id.in(ids));
+        var expected = query.apply(new SQLQuery<Void>(uncached)).getSQL();
+        var actual = query.apply(new SQLQuery<Void>(cached)).getSQL();
+        assertThat(actual.getSQL()).isEqualTo(expected.getSQL());
+        assertThat(Arrays.deepToString(actual.getNullFriendlyBindings().toArray()))
+            .isEqualTo(Arrays.deepToString(expected.getNullFriendlyBindings().toArray()));
+      }
+      assertThat(cache.getHitCount()).as(entry.getKey().name()).isEqualTo(entry.getValue());
+    }
+  }
+
+  @Test
+  public void like() {
+    assertSame(q -> q.select(employee.id).from(employee).where(employee.firstname.like("A%")));
+    assertSame(q -> q.select(employee.id).from(employee).where(employee.firstname.like("B%")));
+    assertSame(q -> q.select(employee.id).from(employee).where(employee.firstname.like("C\\%")));
+    assertSame(
+        q -> q.select(employee.id).from(employee).where(employee.firstname.startsWith("a_")));
+    assertSame(
+        q -> q.select(employee.id).from(employee).where(employee.firstname.startsWith("b\\")));
+  }
+
+  @Test
+  public void subQueries_and_templates() {
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(
+                    employee.id.in(
+                        select(employee.superiorId).from(employee).where(employee.salary.gt(1000))),
+                    Expressions.booleanTemplate("{0} = {1}", employee.firstname, "Jane")));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(
+                    employee.id.in(
+                        select(employee.superiorId).from(employee).where(employee.salary.gt(2000))),
+                    Expressions.booleanTemplate("{0} = {1}", employee.firstname, "John")));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(Expressions.booleanTemplate("{0} = '{1s}'", employee.firstname, "Jane")));
+    assertSame(
+        q ->
+            q.select(employee.id)
+                .from(employee)
+                .where(Expressions.booleanTemplate("{0} = '{1s}'", employee.firstname, "John")));
+
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void count() {
+    var query = new SQLQuery<Void>(cached).from(employee).where(employee.id.gt(1000));
+    var expected =
+        new SQLQuery<Void>(new Configuration(H2Templates.DEFAULT))
+            .from(employee)
+            .where(employee.id.gt(1000));
+    assertThat(query.serialize(true).toString()).isEqualTo(expected.serialize(true).toString());
+    assertThat(query.serialize(false).toString()).isEqualTo(expected.serialize(false).toString());
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void eviction() {
+    for (var i = 0; i < 15; i++) {
+      var limit = 1000L + i;
+      assertSame(q -> q.select(employee.id).from(employee).limit(limit));
+    }
+    assertThat(cache.size()).isEqualTo(10);
+    assertThat(cache.getEvictionCount()).isEqualTo(5);
+  }
+
+  @Test
+  public void invalidated_by_overrides() {
+    assertSame(q -> q.select(employee.id).from(employee).where(employee.id.eq(1000)));
+    assertThat(cache.size()).isEqualTo(1);
+
+    cached.registerTableOverride("EMPLOYEE", "EMPLOYEE2");
+    assertThat(cache.size()).isZero();
+    assertThat(new SQLQuery<Void>(cached).select(employee.id).from(employee).getSQL().getSQL())
+        .contains("EMPLOYEE2");
+  }
+
+  @Test
+  public void insert() {
+    List<Path<?>> columns = Arrays.asList(employee.id, employee.firstname, employee.lastname);
+    for (var i = 0; i < 3; i++) {
+      List<Expression<?>> values =
+          Arrays.asList(
+              Expressions.constant(1000 + i),
+              Expressions.constant("John" + i),
+              i == 2 ? Null.CONSTANT : Expressions.constant("Doe" + i));
+      var expected = new SQLSerializer(new Configuration(H2Templates.DEFAULT), true);
+      expected.serializeInsert(new DefaultQueryMetadata(), employee, columns, values, null);
+      var actual = new SQLSerializer(cached, true);
+      cache.serializeInsert(actual, new DefaultQueryMetadata(), employee, columns, values, null);
+
+      assertThat(actual).hasToString(expected.toString());
+      assertThat(actual.getConstants()).isEqualTo(expected.getConstants());
+      assertThat(actual.getConstantPaths()).isEqualTo(expected.getConstantPaths());
+    }
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void update() {
+    for (var i = 0; i < 3; i++) {
+      Map<Path<?>, Expression<?>> updates = new LinkedHashMap<>();
+      updates.put(employee.firstname, Expressions.constant("John" + i));
+      updates.put(employee.salary, employee.salary.add(1000 + i));
+      var metadata = new DefaultQueryMetadata();
+      metadata.addWhere(employee.id.eq(2000 + i));
+
+      var expected = new SQLSerializer(new Configuration(H2Templates.DEFAULT), true);
+      expected.serializeUpdate(metadata, employee, updates);
+      var actual = new SQLSerializer(cached, true);
+      cache.serializeUpdate(actual, metadata, employee, updates);
+
+      assertThat(actual).hasToString(expected.toString());
+      assertThat(actual.getConstants()).isEqualTo(expected.getConstants());
+      assertThat(actual.getConstantPaths()).isEqualTo(expected.getConstantPaths());
+    }
+    assertThat(cache.getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void layouts() {
+    List<SQLSerializationCache.Layout> layouts = new ArrayList<>();
+    for (var i = 0; i < 3; i++) {
+      Map<Path<?>, Expression<?>> updates = new LinkedHashMap<>();
+      var value = Expressions.constant(i);
+      updates.put(employee.superiorId, value);
+      updates.put(employee.firstname, Expressions.constant(true));
+      var metadata = new DefaultQueryMetadata();
+      metadata.addWhere(employee.id.eq(i).and(employee.superiorId.ne(value)));
+      layouts.add(cache.updateLayout(cached, metadata, employee, updates));
+    }
+    var rendered = layouts.get(0);
+    assertThat(rendered.getConstants(layouts.get(1))).isNull();
+
+    var serializer = new SQLSerializer(cached, true);
+    cache.serialize(serializer, rendered);
+    assertThat(layouts).allMatch(rendered::equals);
+    assertThat(rendered.getConstants(rendered)).isEqualTo(serializer.getConstants());
+    assertThat(rendered.getConstants(layouts.get(1))).containsExactly(1, true, 1, 1);
+    assertThat(rendered.getConstants(layouts.get(2))).containsExactly(2, true, 2, 2);
+    assertThat(rendered.getConstantPaths()).isEqualTo(serializer.getConstantPaths());
+
+    var other = new LinkedHashMap<Path<?>, Expression<?>>();
+    other.put(employee.salary, Expressions.constant(3));
+    assertThat(rendered)
+        .isNotEqualTo(cache.updateLayout(cached, new DefaultQueryMetadata(), employee, other));
+  }
+
+  @Test
+  public void merge() {
+    List<Path<?>> keys = Arrays.asList(employee.id);
+    List<Path<?>> columns = Arrays.asList(employee.id, employee.firstname);
+    for (var i = 0; i < 3; i++) {
+      List<Expression<?>> values =
+          Arrays.asList(Expressions.constant(1000 + i), Expressions.constant("John" + i));
+      var expected = new SQLSerializer(new Configuration(H2Templates.DEFAULT), true);
+      expected.serializeMerge(new DefaultQueryMetadata(), employee, keys, columns, values, null);
+      var actual = new SQLSerializer(cached, true);
+      cache.serializeMerge(
+          actual, new DefaultQueryMetadata(), employee, keys, columns, values, null);
+
+      assertThat(actual).hasToString(expected.toString());
+      assertThat(actual.getConstants()).isEqualTo(expected.getConstants());
+    }
+    assertThat(cache.getHitCount()).isEqualTo(2);
+  }
+}
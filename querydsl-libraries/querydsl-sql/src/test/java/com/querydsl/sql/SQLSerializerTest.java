@@ -20,6 +20,8 @@ import static com.querydsl.sql.SQLExpressions.unionAll;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinType;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
@@ -139,6 +141,84 @@ from EMPLOYEE EMPLOYEE) internal\
     assertThat(serializer.getConstants()).hasSize(3);
   }
 
+  @Test
+  public void in_padded() {
+    var configuration = new Configuration(SQLTemplates.DEFAULT);
+    configuration.setInListStrategy(InListStrategy.PAD);
+    var path = Expressions.stringPath("str");
+
+    var serializer = new SQLSerializer(configuration);
+    serializer.handle(ExpressionUtils.in(path, Arrays.asList("1", "2", "3")));
+    assertThat(serializer).hasToString("str in (?, ?, ?, ?)");
+    assertThat(serializer.getConstants()).containsExactly("1", "2", "3", "3");
+    assertThat(serializer.getConstantPaths()).isEqualTo(Arrays.asList(path, path, path, path));
+
+    serializer = new SQLSerializer(configuration);
+    serializer.handle(ExpressionUtils.notIn(path, Arrays.asList("1", "2", "3", "4")));
+    assertThat(serializer).hasToString("str not in (?, ?, ?, ?)");
+  }
+
+  @Test
+  public void in_padded_partitioned() {
+    var configuration = new Configuration(OracleTemplates.DEFAULT);
+    configuration.setInListStrategy(InListStrategy.PAD);
+    var path = Expressions.numberPath(Integer.class, "num");
+    List<Integer> values = new ArrayList<>();
+    for (var i = 0; i < 1001; i++) {
+      values.add(i);
+    }
+
+    var serializer = new SQLSerializer(configuration);
+    serializer.handle(ExpressionUtils.in(path, values.subList(0, 600)));
+    assertThat(serializer.getConstants()).hasSize(1000);
+
+    serializer = new SQLSerializer(configuration);
+    serializer.handle(ExpressionUtils.in(path, values));
+    assertThat(serializer.getConstants()).hasSize(2000);
+    assertThat(serializer.getConstantPaths()).hasSize(2000);
+  }
+
+  @Test
+  public void in_array() {
+    var configuration = new Configuration(PostgreSQLTemplates.DEFAULT);
+    configuration.setInListStrategy(InListStrategy.ARRAY);
+    var path = Expressions.numberPath(Integer.class, "num");
+
+    var serializer = new SQLSerializer(configuration);
+    serializer.handle(ExpressionUtils.in(path, Arrays.asList(1, 2, 3)));
+    assertThat(serializer).hasToString("num = any(?)");
+    assertThat(serializer.getConstants()).containsExactly((Object) new Integer[] {1, 2, 3});
+    assertThat(serializer.getConstantPaths()).containsExactly((Path<?>) null);
+
+    serializer = new SQLSerializer(configuration);
+    serializer.handle(ExpressionUtils.notIn(path, Arrays.asList(1, 2)));
+    assertThat(serializer).hasToString("num <> all(?)");
+  }
+
+  @Test
+  public void in_array_not_supported() {
+    var configuration = new Configuration(MySQLTemplates.DEFAULT);
+    configuration.setInListStrategy(InListStrategy.ARRAY);
+    var path = Expressions.numberPath(Integer.class, "num");
+
+    var serializer = new SQLSerializer(configuration);
+    serializer.handle(ExpressionUtils.in(path, Arrays.asList(1, 2, 3)));
+    assertThat(serializer).hasToString("num in (?, ?, ?, ?)");
+  }
+
+  @Test
+  public void in_literals() {
+    var configuration = new Configuration(PostgreSQLTemplates.DEFAULT);
+    configuration.setInListStrategy(InListStrategy.ARRAY);
+    configuration.setUseLiterals(true);
+
+    var serializer = new SQLSerializer(configuration);
+    serializer.setUseLiterals(true);
+    serializer.handle(
+        ExpressionUtils.in(Expressions.numberPath(Integer.class, "num"), Arrays.asList(1, 2, 3)));
+    assertThat(serializer).hasToString("num in (1, 2, 3)");
+  }
+
   @Test
   public void fullJoinWithoutCodeGeneration() {
     SQLQuery<?> sqlQuery = queryForMYSQLTemplate();
@@ -316,6 +396,37 @@ from EMPLOYEE EMPLOYEE) internal\
     assertThat(query).hasToString("from SURVEY SURVEY\n" + "where SURVEY.LABEL is null");
   }
 
+  @Test
+  public void overrides_registered_after_serialization() {
+    var conf = new Configuration(new DerbyTemplates());
+    conf.setUseIdentifierCache(true);
+    assertThat(new SQLQuery<Void>(conf).from(survey).where(survey.name.isNull()))
+        .hasToString("from SURVEY SURVEY\n" + "where SURVEY.NAME is null");
+
+    conf.registerTableOverride("SURVEY", "surveys");
+    conf.registerColumnOverride("SURVEY", "NAME", "LABEL");
+    assertThat(new SQLQuery<Void>(conf).from(survey).where(survey.name.isNull()))
+        .hasToString("from surveys SURVEY\n" + "where SURVEY.LABEL is null");
+  }
+
+  @Test
+  public void identifier_cache_with_overridden_hooks() {
+    var conf = new Configuration(new DerbyTemplates());
+    conf.setUseIdentifierCache(true);
+    var serializer =
+        new SQLSerializer(conf) {
+          @Override
+          protected void appendTableName(String table, boolean precededByDot) {
+            append(table.toLowerCase());
+          }
+        };
+    var metadata = new DefaultQueryMetadata();
+    metadata.addJoin(JoinType.DEFAULT, survey);
+    metadata.addWhere(survey.name.isNull());
+    serializer.serialize(metadata, false);
+    assertThat(serializer).hasToString("\nfrom survey SURVEY\nwhere SURVEY.NAME is null");
+  }
+
   @Test
   public void columnOverrides2() {
     var conf = new Configuration(new DerbyTemplates());
@@ -0,0 +1,111 @@
+package com.querydsl.sql;
+
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.dml.SQLInsertClause;
+import com.querydsl.sql.dml.SQLUpdateClause;
+import java.sql.Connection;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+import org.easymock.EasyMock;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/** Serialization time of queries and DML clauses for a table with 100 columns */
+@Category(Performance.class)
+@State(Scope.Benchmark)
+public class WideTablePerformanceTest {
+
+  public static class QWideRow extends RelationalPathBase<QWideRow> {
+
+    public static final QWideRow wideRow = new QWideRow("WIDE_ROW");
+
+    public final StringPath[] columns = new StringPath[100];
+
+    public QWideRow(String variable) {
+      super(QWideRow.class, PathMetadataFactory.forVariable(variable), "PUBLIC", "WIDE_ROW");
+      for (var i = 0; i < columns.length; i++) {
+        columns[i] = createString("col" + i);
+        // every tenth column is a reserved word and needs quoting
+        var name = i % 10 == 0 ? "ORDER" + i / 10 : "COL" + i;
+        addMetadata(columns[i], ColumnMetadata.named(name).ofType(Types.VARCHAR));
+      }
+    }
+  }
+
+  private static final QWideRow wideRow = QWideRow.wideRow;
+
+  private final Connection conn = EasyMock.createNiceMock(Connection.class);
+
+  private Configuration conf;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    conf = new Configuration(PostgreSQLTemplates.builder().printSchema().build());
+    conf.setUseIdentifierCache(true);
+    conf.registerColumnOverride("PUBLIC", "WIDE_ROW", "COL1", "COLUMN1");
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public String select() {
+    var query = new SQLQuery<Void>(conn, conf).select(wideRow.columns).from(wideRow);
+    return query.getSQL().getSQL();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public String insert() {
+    var insert = new SQLInsertClause(conn, conf, wideRow);
+    for (Path<String> column : wideRow.columns) {
+      insert.set(column, "x");
+    }
+    return insert.getSQL().get(0).getSQL();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public String update() {
+    var update = new SQLUpdateClause(conn, conf, wideRow);
+    for (Path<String> column : wideRow.columns) {
+      update.set(column, "x");
+    }
+    return update.where(wideRow.columns[0].eq("x")).getSQL().get(0).getSQL();
+  }
+
+  @Test
+  public void launchBenchmark() throws Exception {
+    var opt =
+        new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
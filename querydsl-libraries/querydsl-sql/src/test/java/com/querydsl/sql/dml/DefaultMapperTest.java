@@ -2,10 +2,15 @@ package com.querydsl.sql.dml;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.domain.Employee;
 import com.querydsl.sql.domain.QEmployee;
+import com.querydsl.sql.types.Null;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 
 public class DefaultMapperTest extends AbstractMapperTest {
@@ -23,12 +28,44 @@ public class DefaultMapperTest extends AbstractMapperTest {
     assertThat(values).containsEntry(emp.timefield, employee.getTimefield());
   }
 
+  @Test
+  public void no_accessors() {
+    var mapper =
+        new AbstractMapper<Object>() {
+          @Override
+          public Map<Path<?>, Object> createMap(RelationalPath<?> path, Object object) {
+            return Map.of();
+          }
+        };
+    assertThat(mapper.getAccessors(emp, Employee.class)).isNull();
+  }
+
   @Test
   public void extract2() {
     var values = DefaultMapper.DEFAULT.createMap(emp, new EmployeeX());
     assertThat(values).isEmpty();
   }
 
+  @Test
+  public void accessors_cached() {
+    assertThat(DefaultMapper.DEFAULT.getAccessors(emp, Employee.class))
+        .isSameAs(DefaultMapper.WITH_NULL_BINDINGS.getAccessors(emp, Employee.class))
+        .isNotSameAs(BeanMapper.DEFAULT.getAccessors(emp, Employee.class));
+
+    var alias = new QEmployee("alias");
+    var values = DefaultMapper.DEFAULT.createMap(alias, employee);
+    assertThat(values).containsEntry(alias.firstname, employee.getFirstname());
+  }
+
+  @Test
+  public void nullBindings() {
+    employee.setFirstname(null);
+    var values = DefaultMapper.WITH_NULL_BINDINGS.createMap(emp, employee);
+    assertThat(values).containsEntry(emp.firstname, Null.DEFAULT);
+    assertThat(values).doesNotContainKey(emp.id);
+    assertThat(values.keySet()).first().isEqualTo(emp.firstname);
+  }
+
   @Test
   public void preservedColumnOrder() {
     final var columns = DefaultMapper.DEFAULT.getColumns(emp);
@@ -0,0 +1,154 @@
+package com.querydsl.sql.dml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.testutil.H2;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.Connections;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.domain.QSurvey;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(H2.class)
+public class SQLBulkLoaderTest {
+
+  public static class SurveyBean {
+
+    private Integer id;
+
+    private String name;
+
+    public SurveyBean(Integer id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    public Integer getId() {
+      return id;
+    }
+
+    public void setId(Integer id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  private static final QSurvey survey = QSurvey.survey;
+
+  private SQLQueryFactory queryFactory;
+
+  private final List<SQLBulkLoadChunk> chunks = new ArrayList<>();
+
+  @Before
+  public void setUp() throws SQLException, ClassNotFoundException {
+    Connections.initH2();
+    queryFactory = new SQLQueryFactory(H2Templates.DEFAULT, Connections::getConnection);
+  }
+
+  @After
+  public void tearDown() throws SQLException {
+    queryFactory.delete(survey).where(survey.id.goe(100)).execute();
+    Connections.close();
+  }
+
+  private long count() {
+    return queryFactory.from(survey).where(survey.id.goe(100)).fetchCount();
+  }
+
+  @Test
+  public void load_rows() {
+    var rows =
+        IntStream.range(100, 125)
+            .mapToObj(i -> Map.<Path<?>, Object>of(survey.id, i, survey.name, "name" + i));
+
+    var affected = queryFactory.bulkLoad(survey).chunkSize(10).listener(chunks::add).loadRows(rows);
+
+    assertThat(affected).isEqualTo(25);
+    assertThat(count()).isEqualTo(25);
+    assertThat(chunks).extracting(SQLBulkLoadChunk::getRows).containsExactly(10, 10, 5);
+    assertThat(chunks).extracting(SQLBulkLoadChunk::getIndex).containsExactly(0, 1, 2);
+    assertThat(chunks).extracting(SQLBulkLoadChunk::getAffectedRows).containsExactly(10L, 10L, 5L);
+  }
+
+  @Test
+  public void load_beans() {
+    List<SurveyBean> beans = new ArrayList<>();
+    for (var i = 100; i < 107; i++) {
+      beans.add(new SurveyBean(i, "name" + i));
+    }
+
+    var affected =
+        queryFactory
+            .bulkLoad(survey)
+            .mapper(BeanMapper.DEFAULT)
+            .chunkSize(3)
+            .listener(chunks::add)
+            .load(beans);
+
+    assertThat(affected).isEqualTo(7);
+    assertThat(queryFactory.select(survey.name).from(survey).where(survey.id.eq(106)).fetchOne())
+        .isEqualTo("name106");
+    assertThat(chunks).extracting(SQLBulkLoadChunk::getRows).containsExactly(3, 3, 1);
+  }
+
+  @Test
+  public void maxChunkBytes() {
+    var rows =
+        IntStream.range(100, 110)
+            .mapToObj(i -> Map.<Path<?>, Object>of(survey.id, i, survey.name, "abcdefghij"));
+
+    queryFactory
+        .bulkLoad(survey)
+        .chunkSize(100)
+        .maxChunkBytes(60)
+        .listener(chunks::add)
+        .loadRows(rows);
+
+    assertThat(count()).isEqualTo(10);
+    assertThat(chunks).extracting(SQLBulkLoadChunk::getRows).containsExactly(3, 3, 3, 1);
+    assertThat(chunks.getFirst().getEstimatedBytes()).isEqualTo(84);
+  }
+
+  @Test
+  public void batchToBulk() {
+    var rows =
+        IntStream.range(100, 120)
+            .mapToObj(i -> Map.<Path<?>, Object>of(survey.id, i, survey.name, "name" + i));
+
+    var affected =
+        queryFactory
+            .bulkLoad(survey)
+            .batchToBulk(true)
+            .chunkSize(8)
+            .listener(chunks::add)
+            .loadRows(rows);
+
+    assertThat(affected).isEqualTo(20);
+    assertThat(count()).isEqualTo(20);
+    assertThat(chunks).extracting(SQLBulkLoadChunk::getAffectedRows).containsExactly(8L, 8L, 4L);
+  }
+
+  @Test
+  public void empty() {
+    var affected = queryFactory.bulkLoad(survey).listener(chunks::add).load(List.of());
+
+    assertThat(affected).isZero();
+    assertThat(chunks).isEmpty();
+  }
+}
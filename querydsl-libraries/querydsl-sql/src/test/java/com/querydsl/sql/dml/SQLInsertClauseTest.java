@@ -3,9 +3,19 @@ package com.querydsl.sql.dml;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.querydsl.core.QueryFlag;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
 import com.querydsl.sql.KeyAccessorsTest.QEmployee;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLSerializationCache;
 import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.domain.QSurvey;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import org.junit.Test;
 
 public class SQLInsertClauseTest {
@@ -69,4 +79,51 @@ values (EMPLOYEE.ID, EMPLOYEE.FIRSTNAME, EMPLOYEE.LASTNAME, EMPLOYEE.SALARY, EMP
     insert.clear();
     assertThat(insert.getBatchCount()).isEqualTo(0);
   }
+
+  @Test
+  public void batch_with_shared_cache() throws SQLException {
+    var configuration = new Configuration(H2Templates.DEFAULT);
+    configuration.setSerializationCache(new SQLSerializationCache(10));
+    List<Integer> rendered = new ArrayList<>();
+    configuration.addListener(
+        new SQLBaseListener() {
+          @Override
+          public void end(SQLListenerContext context) {
+            rendered.add(context.getAllSQLBindings().size());
+          }
+        });
+    var e = new com.querydsl.sql.domain.QEmployee("x");
+    var s = new QSurvey("x");
+    try (var conn = DriverManager.getConnection("jdbc:h2:mem:", "sa", "")) {
+      try (var stmt = conn.createStatement()) {
+        stmt.execute("create table EMPLOYEE (ID int)");
+        stmt.execute("create table SURVEY (ID int)");
+      }
+      new SQLInsertClause(conn, configuration, e)
+          .set(e.id, 1)
+          .addBatch()
+          .set(e.id, 2)
+          .addBatch()
+          .execute();
+      var insert =
+          new SQLInsertClause(conn, configuration, s)
+              .set(s.id, 3)
+              .addBatch()
+              .set(s.id, 4)
+              .addBatch()
+              .set(s.id, 5)
+              .addBatch();
+      assertThat(insert.getSQL().get(1).getSQL()).isEqualTo("insert into SURVEY (ID)\nvalues (?)");
+      assertThat(insert.getSQL().get(1).getNullFriendlyBindings()).containsExactly(4);
+      assertThat(insert.execute()).isEqualTo(3);
+
+      try (var stmt = conn.createStatement();
+          var rs = stmt.executeQuery("select count(*) from SURVEY")) {
+        rs.next();
+        assertThat(rs.getInt(1)).isEqualTo(3);
+      }
+    }
+    // one rendering per batch row, also for rows bound to the rendering of an earlier row
+    assertThat(rendered).containsExactly(2, 3);
+  }
 }
@@ -4,9 +4,17 @@ import static com.querydsl.sql.SQLExpressions.select;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.querydsl.core.QueryFlag.Position;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
 import com.querydsl.sql.KeyAccessorsTest.QEmployee;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
 import com.querydsl.sql.SQLTemplates;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import org.junit.Test;
 
 public class SQLUpdateClauseTest {
@@ -133,4 +141,31 @@ public class SQLUpdateClauseTest {
     update.clear();
     assertThat(update.getBatchCount()).isEqualTo(0);
   }
+
+  @Test
+  public void batch_listeners() throws SQLException {
+    var configuration = new Configuration(H2Templates.DEFAULT);
+    List<Integer> rendered = new ArrayList<>();
+    configuration.addListener(
+        new SQLBaseListener() {
+          @Override
+          public void end(SQLListenerContext context) {
+            rendered.add(context.getAllSQLBindings().size());
+          }
+        });
+    var emp1 = new QEmployee("emp1");
+    try (var conn = DriverManager.getConnection("jdbc:h2:mem:", "sa", "")) {
+      try (var stmt = conn.createStatement()) {
+        stmt.execute("create table EMPLOYEE (ID int, SUPERIOR_ID int)");
+        stmt.execute("insert into EMPLOYEE values (1, null), (2, null), (3, null)");
+      }
+      var update = new SQLUpdateClause(conn, configuration, emp1);
+      for (var i = 1; i <= 3; i++) {
+        update.set(emp1.superiorId, 10 + i).where(emp1.id.eq(i)).addBatch();
+      }
+      assertThat(update.execute()).isEqualTo(3);
+    }
+    // one rendering per batch row, also for rows bound to the rendering of an earlier row
+    assertThat(rendered).containsExactly(3);
+  }
 }
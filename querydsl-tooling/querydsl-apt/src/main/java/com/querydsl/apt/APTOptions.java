@@ -69,6 +69,13 @@ public final class APTOptions {
   /** set whether info level messages should be written to stdout (default: false) */
   public static final String QUERYDSL_LOG_INFO = "querydsl.logInfo";
 
+  /**
+   * set whether unchanged query types are left untouched and the query types of dependent sources
+   * are regenerated, based on a dependency index kept next to the generated sources (default:
+   * false)
+   */
+  public static final String QUERYDSL_INCREMENTAL = "querydsl.incremental";
+
   /**
    * the class instance of the <em>Single-Element Annotation</em> (with {@code String} element) to
    * be used on the generated classes. (default: depending on java version:
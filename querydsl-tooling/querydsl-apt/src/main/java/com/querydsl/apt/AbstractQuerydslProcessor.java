@@ -20,6 +20,7 @@ import static com.querydsl.apt.APTOptions.QUERYDSL_EXCLUDED_PACKAGES;
 import static com.querydsl.apt.APTOptions.QUERYDSL_GENERATED_ANNOTATION_CLASS;
 import static com.querydsl.apt.APTOptions.QUERYDSL_INCLUDED_CLASSES;
 import static com.querydsl.apt.APTOptions.QUERYDSL_INCLUDED_PACKAGES;
+import static com.querydsl.apt.APTOptions.QUERYDSL_INCREMENTAL;
 import static com.querydsl.apt.APTOptions.QUERYDSL_LIST_ACCESSORS;
 import static com.querydsl.apt.APTOptions.QUERYDSL_LOG_INFO;
 import static com.querydsl.apt.APTOptions.QUERYDSL_MAP_ACCESSORS;
@@ -45,6 +46,7 @@ import com.querydsl.core.annotations.QueryDelegate;
 import com.querydsl.core.annotations.QueryExclude;
 import com.querydsl.core.annotations.QueryProjection;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.annotation.Annotation;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -71,6 +73,7 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.NoType;
 import javax.lang.model.util.ElementFilter;
 import javax.tools.Diagnostic.Kind;
+import javax.tools.StandardLocation;
 
 /**
  * {@code AbstractQuerydslProcessor} is the base class for Querydsl annotation processors and
@@ -96,12 +99,22 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
 
   private boolean shouldLogInfo;
 
+  private boolean incremental;
+
+  private DependencyIndex dependencyIndex;
+
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
     setLogInfo();
     logInfo("Running " + getClass().getSimpleName());
+    setIncremental();
 
-    if (roundEnv.processingOver() || annotations.size() == 0) {
+    if (roundEnv.processingOver()) {
+      writeDependencyIndex();
+      return ALLOW_OTHER_PROCESSORS_TO_CLAIM_ANNOTATIONS;
+    }
+
+    if (annotations.size() == 0) {
       return ALLOW_OTHER_PROCESSORS_TO_CLAIM_ANNOTATIONS;
     }
 
@@ -152,6 +165,11 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
 
     var elements = collectElements();
 
+    // regenerate types depending on changed sources
+    if (incremental) {
+      elements.addAll(getDependentElements(elements));
+    }
+
     // create meta models
     for (Element element : elements) {
       typeFactory.getEntityType(element.asType(), false);
@@ -316,6 +334,61 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
     return elements;
   }
 
+  private Set<TypeElement> getDependentElements(Set<TypeElement> elements) {
+    Set<String> changed = new HashSet<>();
+    Deque<Element> roots = new ArrayDeque<>(roundEnv.getRootElements());
+    while (!roots.isEmpty()) {
+      var root = roots.pop();
+      if (root instanceof TypeElement typeElement) {
+        changed.add(typeElement.getQualifiedName().toString());
+        roots.addAll(ElementFilter.typesIn(typeElement.getEnclosedElements()));
+      }
+    }
+
+    Set<TypeElement> rv = new HashSet<>();
+    for (String name : dependencyIndex.getDependents(changed)) {
+      var element = processingEnv.getElementUtils().getTypeElement(name);
+      if (element != null
+          && !elements.contains(element)
+          && TypeUtils.hasAnnotationOfType(element, conf.getEntityAnnotations())) {
+        logInfo("Regenerating " + name + " for changed dependencies");
+        rv.add(element);
+      }
+    }
+    return rv;
+  }
+
+  private Set<String> getDependencies(EntityType model, Set<TypeElement> elements) {
+    Set<String> rv = new HashSet<>();
+    for (TypeElement element : elements) {
+      rv.add(element.getQualifiedName().toString());
+    }
+    Deque<EntityType> models = new ArrayDeque<>();
+    models.push(model);
+    while (!models.isEmpty()) {
+      var current = models.pop();
+      for (Supertype supertype : current.getSuperTypes()) {
+        if (addDependency(rv, supertype.getType()) && supertype.getEntityType() != null) {
+          models.push(supertype.getEntityType());
+        }
+      }
+    }
+    for (Property property : model.getProperties()) {
+      addDependency(rv, property.getType());
+      for (Type parameter : property.getType().getParameters()) {
+        addDependency(rv, parameter);
+      }
+    }
+    return rv;
+  }
+
+  private boolean addDependency(Set<String> dependencies, Type type) {
+    var name = type.getFullName();
+    return !type.getPackageName().startsWith("java.")
+        && (type instanceof EntityType || context.allTypes.containsKey(name))
+        && dependencies.add(name);
+  }
+
   private Set<TypeElement> getAnnotationlessSupertypes(Set<TypeElement> elements) {
     Set<TypeElement> rv = new HashSet<>();
     for (TypeElement element : elements) {
@@ -627,9 +700,66 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
             QUERYDSL_UNKNOWN_AS_EMBEDDABLE,
             QUERYDSL_VARIABLE_NAME_FUNCTION_CLASS,
             QUERYDSL_LOG_INFO,
+            QUERYDSL_INCREMENTAL,
             QUERYDSL_GENERATED_ANNOTATION_CLASS));
   }
 
+  private void setIncremental() {
+    if (dependencyIndex == null) {
+      incremental = Boolean.parseBoolean(processingEnv.getOptions().get(QUERYDSL_INCREMENTAL));
+      dependencyIndex = new DependencyIndex();
+      if (incremental) {
+        try (var reader =
+            processingEnv
+                .getFiler()
+                .getResource(StandardLocation.SOURCE_OUTPUT, "", getDependencyIndexName())
+                .openReader(true)) {
+          dependencyIndex.read(reader);
+        } catch (IOException e) {
+          logInfo("No dependency index found, generating all types");
+        }
+      }
+    }
+  }
+
+  private void writeDependencyIndex() {
+    if (incremental && !dependencyIndex.isEmpty()) {
+      var elementUtils = processingEnv.getElementUtils();
+      dependencyIndex.removeIf(name -> elementUtils.getTypeElement(name) == null);
+      try (var writer =
+          processingEnv
+              .getFiler()
+              .createResource(StandardLocation.SOURCE_OUTPUT, "", getDependencyIndexName())
+              .openWriter()) {
+        dependencyIndex.write(writer);
+      } catch (IOException e) {
+        processingEnv.getMessager().printMessage(Kind.WARNING, e.getMessage());
+      }
+    }
+  }
+
+  private String getDependencyIndexName() {
+    return "META-INF/querydsl/" + getClass().getName() + ".dependencies";
+  }
+
+  private boolean isUnchanged(String className, String content) {
+    var index = className.lastIndexOf('.');
+    var packageName = index > 0 ? className.substring(0, index) : "";
+    var fileName = className.substring(index + 1) + ".java";
+    try {
+      var existing =
+          processingEnv
+              .getFiler()
+              .getResource(StandardLocation.SOURCE_OUTPUT, packageName, fileName)
+              .getCharContent(true);
+      // the skipped type needs to be visible to the compiler from the source or class path
+      return content.contentEquals(existing)
+          && processingEnv.getElementUtils().getTypeElement(className) != null;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
   private void setLogInfo() {
     var hasProperty = processingEnv.getOptions().containsKey(QUERYDSL_LOG_INFO);
     if (hasProperty) {
@@ -669,9 +799,24 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
           }
         }
 
+        var serializerConfig = conf.getSerializerConfig(model);
+        if (incremental) {
+          dependencyIndex.put(model.getFullName(), getDependencies(model, elements));
+          var content = new StringWriter();
+          serializer.serialize(model, serializerConfig, new JavaWriter(content));
+          if (isUnchanged(className, content.toString())) {
+            logInfo("Skipping unchanged " + className);
+            continue;
+          }
+          logInfo("Generating " + className + " for " + elements);
+          try (var writer = conf.getFiler().createFile(processingEnv, className, elements)) {
+            writer.write(content.toString());
+          }
+          continue;
+        }
+
         logInfo("Generating " + className + " for " + elements);
         try (var writer = conf.getFiler().createFile(processingEnv, className, elements)) {
-          var serializerConfig = conf.getSerializerConfig(model);
           serializer.serialize(model, serializerConfig, new JavaWriter(writer));
         }
 
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.apt;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * {@code DependencyIndex} tracks the source types each generated query type depends on, so that
+ * incremental builds can regenerate the query types of unchanged sources when one of their
+ * supertypes or referenced types changes
+ *
+ * <p>The index is stored as one line per model type, followed by its dependencies separated by
+ * spaces.
+ */
+class DependencyIndex {
+
+  private final Map<String, Set<String>> dependencies = new TreeMap<>();
+
+  public void read(Reader reader) throws IOException {
+    var lines = new BufferedReader(reader);
+    String line;
+    while ((line = lines.readLine()) != null) {
+      var names = line.trim().split(" ");
+      if (!names[0].isEmpty()) {
+        dependencies.put(names[0], new TreeSet<>(Arrays.asList(names).subList(1, names.length)));
+      }
+    }
+  }
+
+  public void write(Writer writer) throws IOException {
+    for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+      writer.write(entry.getKey());
+      for (String dependency : entry.getValue()) {
+        writer.write(' ');
+        writer.write(dependency);
+      }
+      writer.write('\n');
+    }
+  }
+
+  public void put(String type, Collection<String> typeDependencies) {
+    Set<String> names = new TreeSet<>(typeDependencies);
+    names.remove(type);
+    dependencies.put(type, names);
+  }
+
+  /**
+   * Get the model types which depend on any of the given types
+   *
+   * @param types changed types
+   * @return dependent model types
+   */
+  public Set<String> getDependents(Set<String> types) {
+    Set<String> rv = new HashSet<>();
+    for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+      if (!types.contains(entry.getKey())) {
+        for (String dependency : entry.getValue()) {
+          if (types.contains(dependency)) {
+            rv.add(entry.getKey());
+            break;
+          }
+        }
+      }
+    }
+    return rv;
+  }
+
+  public void removeIf(Predicate<String> predicate) {
+    dependencies.keySet().removeIf(predicate);
+  }
+
+  public boolean isEmpty() {
+    return dependencies.isEmpty();
+  }
+}
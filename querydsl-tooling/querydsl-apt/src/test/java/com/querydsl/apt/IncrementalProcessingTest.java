@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.apt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import com.querydsl.codegen.utils.SimpleCompiler;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IncrementalProcessingTest {
+
+  private static final long UNCHANGED = 1_000_000_000L;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private File src, out;
+
+  @Before
+  public void setUp() throws IOException {
+    src = folder.newFolder("src");
+    assertThat(new File(src, "incremental").mkdir()).isTrue();
+    out = folder.newFolder("out");
+    write("Base", "@QuerySupertype public class Base { String createdBy; }");
+    write("Customer", "@QueryEntity public class Customer extends Base { String name; }");
+    write("Purchase", "@QueryEntity public class Purchase { Customer customer; int amount; }");
+    write("Item", "@QueryEntity public class Item { String sku; }");
+  }
+
+  @Test
+  public void unchanged_sources() throws IOException {
+    assertThat(process("Base", "Customer", "Purchase", "Item")).hasSize(4);
+
+    assertThat(process("Base", "Customer", "Purchase", "Item")).isEmpty();
+  }
+
+  @Test
+  public void single_entity_change() throws IOException {
+    process("Base", "Customer", "Purchase", "Item");
+
+    write("Item", "@QueryEntity public class Item { String sku; String label; }");
+    assertThat(process("Base", "Customer", "Purchase", "Item")).containsExactly("QItem.java");
+  }
+
+  @Test
+  public void supertype_change() throws IOException {
+    process("Base", "Customer", "Purchase", "Item");
+
+    // only the changed source is compiled, the subtype is regenerated via the dependency index
+    write("Base", "@QuerySupertype public class Base { String createdBy; String updatedBy; }");
+    assertThat(process("Base")).containsExactlyInAnyOrder("QBase.java", "QCustomer.java");
+  }
+
+  private void write(String name, String body) throws IOException {
+    var source =
+        "package incremental;\n"
+            + "import com.querydsl.core.annotations.QueryEntity;\n"
+            + "import com.querydsl.core.annotations.QuerySupertype;\n"
+            + body
+            + "\n";
+    Files.writeString(src.toPath().resolve(Path.of("incremental", name + ".java")), source);
+  }
+
+  /**
+   * Run the processor on the given sources
+   *
+   * @return names of the rewritten query types
+   */
+  private List<String> process(String... names) throws IOException {
+    var generated = new File(out, "incremental");
+    var before = generated.exists() ? generated.listFiles() : new File[0];
+    for (File file : before) {
+      assertThat(file.setLastModified(UNCHANGED)).isTrue();
+    }
+
+    List<String> options = new ArrayList<>();
+    options.addAll(
+        Arrays.asList(
+            "-s",
+            out.getPath(),
+            "-proc:only",
+            "-processor",
+            QuerydslAnnotationProcessor.class.getName(),
+            "-sourcepath",
+            src.getPath() + File.pathSeparator + out.getPath(),
+            "-Aquerydsl.incremental=true"));
+    for (String name : names) {
+      options.add(src.toPath().resolve(Path.of("incremental", name + ".java")).toString());
+    }
+    var err = new ByteArrayOutputStream();
+    var result =
+        new SimpleCompiler()
+            .run(null, new ByteArrayOutputStream(), err, options.toArray(new String[0]));
+    if (result != 0) {
+      fail("Compilation Failed:\n " + err.toString(StandardCharsets.UTF_8));
+    }
+
+    List<String> rewritten = new ArrayList<>();
+    for (File file : generated.listFiles()) {
+      if (file.lastModified() != UNCHANGED) {
+        rewritten.add(file.getName());
+      }
+    }
+    assertThat(Files.exists(out.toPath().resolve(Path.of("META-INF", "querydsl")))).isTrue();
+    return rewritten;
+  }
+}
@@ -19,20 +19,63 @@ import com.querydsl.codegen.utils.model.SimpleType;
 import com.querydsl.codegen.utils.model.Type;
 import com.querydsl.codegen.utils.model.TypeCategory;
 import com.querydsl.codegen.utils.support.ClassUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Properties;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * {@code AbstractEvaluatorFactory} is the base class for compiling {@link EvaluatorFactory}
+ * implementations
+ *
+ * <p>Compiled classes are cached in memory. Optionally they are also stored in a cache directory,
+ * so that later instances, also in other JVMs, can load them instead of compiling them again. The
+ * entries of the cache directory are keyed by the Querydsl version and a hash of the generated
+ * source. The types used in the expressions are not part of the key, so the cache directory should
+ * be cleared or changed when they change.
+ *
  * @author tiwe
  */
 public abstract class AbstractEvaluatorFactory implements EvaluatorFactory {
 
+  private static final String POM_PROPERTIES =
+      "/META-INF/maven/io.github.openfeign.querydsl/querydsl-codegen-utils/pom.properties";
+
+  private static final int CACHE_FILE_MAGIC = 0x51444543;
+
+  private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+  private static final String CACHE_VERSION = getCacheVersion();
+
   private final Map<String, Method> cache = new WeakHashMap<>();
 
+  private final AtomicLong compilationCount = new AtomicLong();
+
+  private final AtomicLong compilationTime = new AtomicLong();
+
+  private final AtomicLong cacheLoadCount = new AtomicLong();
+
+  private volatile Path cacheDirectory;
+
   protected ClassLoader loader;
 
   /**
@@ -143,7 +186,21 @@ public abstract class AbstractEvaluatorFactory implements EvaluatorFactory {
         try {
           clazz = loader.loadClass(id);
         } catch (ClassNotFoundException e) {
-          compile(source, projection, names, types, id, constants);
+          var directory = cacheDirectory;
+          if (directory != null) {
+            var file =
+                directory
+                    .resolve(CACHE_VERSION)
+                    .resolve(
+                        digest(createSource(source, projection, names, types, id, constants))
+                            + ".classes");
+            if (!loadClassFiles(file)) {
+              compileAndCount(source, projection, names, types, id, constants);
+              storeClassFiles(file, getClassFiles(id));
+            }
+          } else {
+            compileAndCount(source, projection, names, types, id, constants);
+          }
           // reload
           clazz = loader.loadClass(id);
         }
@@ -161,6 +218,177 @@ public abstract class AbstractEvaluatorFactory implements EvaluatorFactory {
     }
   }
 
+  private void compileAndCount(
+      String source,
+      ClassType projection,
+      String[] names,
+      Type[] types,
+      String id,
+      Map<String, Object> constants)
+      throws IOException {
+    var start = System.nanoTime();
+    compile(source, projection, names, types, id, constants);
+    compilationTime.addAndGet(System.nanoTime() - start);
+    compilationCount.incrementAndGet();
+  }
+
+  /**
+   * Get the compiled class files of the given evaluator class
+   *
+   * <p>The default implementation returns no class files, which disables the cache directory
+   *
+   * @param id name of the evaluator class
+   * @return class files of the evaluator class and its nested classes by binary name
+   */
+  protected Map<String, byte[]> getClassFiles(String id) {
+    return Map.of();
+  }
+
+  /**
+   * Make the given previously compiled class files available to the class loader of this factory
+   *
+   * <p>The default implementation defines no classes, so the evaluator class is compiled again
+   *
+   * @param classFiles class files by binary name
+   * @return true, if the class files were defined
+   * @throws IOException
+   */
+  protected boolean defineClassFiles(Map<String, byte[]> classFiles) throws IOException {
+    return false;
+  }
+
+  private boolean loadClassFiles(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return false;
+    }
+    Map<String, byte[]> classFiles = new LinkedHashMap<>();
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != CACHE_FILE_MAGIC) {
+        return false;
+      }
+      var count = in.readInt();
+      for (var i = 0; i < count; i++) {
+        var name = in.readUTF();
+        var bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        if (bytes.length < 4 || ByteBuffer.wrap(bytes).getInt() != CLASS_FILE_MAGIC) {
+          return false;
+        }
+        classFiles.put(name, bytes);
+      }
+      if (classFiles.isEmpty() || !defineClassFiles(classFiles)) {
+        return false;
+      }
+    } catch (IOException | RuntimeException e) {
+      // unreadable entries are replaced by compiling again
+      return false;
+    }
+    cacheLoadCount.incrementAndGet();
+    return true;
+  }
+
+  private static void storeClassFiles(Path file, Map<String, byte[]> classFiles) {
+    if (classFiles.isEmpty()) {
+      return;
+    }
+    Path tmp = null;
+    try {
+      Files.createDirectories(file.getParent());
+      tmp = Files.createTempFile(file.getParent(), "evaluator", ".tmp");
+      try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        out.writeInt(CACHE_FILE_MAGIC);
+        out.writeInt(classFiles.size());
+        for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+          out.writeUTF(entry.getKey());
+          out.writeInt(entry.getValue().length);
+          out.write(entry.getValue());
+        }
+      }
+      try {
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      // the cache directory is optional, the class stays available in memory
+      if (tmp != null) {
+        try {
+          Files.deleteIfExists(tmp);
+        } catch (IOException e2) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  private static String digest(String source) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new CodegenException(e);
+    }
+  }
+
+  private static String getCacheVersion() {
+    var version = "unknown";
+    try (var in = AbstractEvaluatorFactory.class.getResourceAsStream(POM_PROPERTIES)) {
+      if (in != null) {
+        var properties = new Properties();
+        properties.load(in);
+        version = properties.getProperty("version", version);
+      }
+    } catch (IOException e) {
+      // use default
+    }
+    return version + "-java" + Runtime.version().feature();
+  }
+
+  /**
+   * Set the directory for storing compiled classes across factory instances and JVM restarts
+   *
+   * @param cacheDirectory cache directory or null to disable
+   */
+  public void setCacheDirectory(Path cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  /**
+   * Get the directory for storing compiled classes
+   *
+   * @return cache directory or null, if disabled
+   */
+  public Path getCacheDirectory() {
+    return cacheDirectory;
+  }
+
+  /**
+   * Get the number of compiled evaluator classes
+   *
+   * @return compilation count
+   */
+  public long getCompilationCount() {
+    return compilationCount.get();
+  }
+
+  /**
+   * Get the total time spent compiling evaluator classes
+   *
+   * @return compilation time
+   */
+  public Duration getCompilationTime() {
+    return Duration.ofNanos(compilationTime.get());
+  }
+
+  /**
+   * Get the number of evaluator classes loaded from the cache directory
+   *
+   * @return cache load count
+   */
+  public long getCacheLoadCount() {
+    return cacheLoadCount.get();
+  }
+
   protected Method findEvalMethod(Class<?> clazz) {
     /*
      * Note 1:
@@ -326,4 +326,15 @@ public class ECJEvaluatorFactory extends AbstractEvaluatorFactory {
   public CompilerOptions getCompilerOptions() {
     return compilerOptions;
   }
+
+  @Override
+  protected Map<String, byte[]> getClassFiles(String id) {
+    return fileManager.getClassFiles(id);
+  }
+
+  @Override
+  protected boolean defineClassFiles(Map<String, byte[]> classFiles) throws IOException {
+    fileManager.putClassFiles(classFiles);
+    return true;
+  }
 }
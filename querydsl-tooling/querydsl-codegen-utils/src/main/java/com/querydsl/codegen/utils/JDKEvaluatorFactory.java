@@ -87,4 +87,15 @@ public class JDKEvaluatorFactory extends AbstractEvaluatorFactory {
       throw new CodegenException("Compilation of " + source + " failed.\n" + out.toString());
     }
   }
+
+  @Override
+  protected Map<String, byte[]> getClassFiles(String id) {
+    return fileManager.getClassFiles(id);
+  }
+
+  @Override
+  protected boolean defineClassFiles(Map<String, byte[]> classFiles) throws IOException {
+    fileManager.putClassFiles(classFiles);
+    return true;
+  }
 }
@@ -16,6 +16,7 @@ package com.querydsl.codegen.utils;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -158,6 +159,42 @@ public class MemFileManager extends ForwardingJavaFileManager<JavaFileManager> {
     return result;
   }
 
+  /**
+   * Get the compiled class files of the given top level class and its nested classes
+   *
+   * @param className binary name of the top level class
+   * @return class files by binary class name
+   */
+  public Map<String, byte[]> getClassFiles(String className) {
+    Map<String, byte[]> rv = new LinkedHashMap<>();
+    var classes = ramFileSystem.get(new LocationAndKind(StandardLocation.CLASS_OUTPUT, Kind.CLASS));
+    if (classes != null) {
+      for (Map.Entry<String, JavaFileObject> entry : classes.entrySet()) {
+        var name = entry.getKey();
+        if (name.equals(className) || name.startsWith(className + "$")) {
+          rv.put(name, ((MemJavaFileObject) entry.getValue()).getByteArray());
+        }
+      }
+    }
+    return rv;
+  }
+
+  /**
+   * Register previously compiled class files for loading via the class loader of this file manager
+   *
+   * @param classFiles class files by binary class name
+   * @throws IOException
+   */
+  public void putClassFiles(Map<String, byte[]> classFiles) throws IOException {
+    for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+      try (var out =
+          getJavaFileForOutput(StandardLocation.CLASS_OUTPUT, entry.getKey(), Kind.CLASS, null)
+              .openOutputStream()) {
+        out.write(entry.getValue());
+      }
+    }
+  }
+
   private void register(LocationAndKind key, JavaFileObject javaFileObject) {
     if (!ramFileSystem.containsKey(key)) {
       ramFileSystem.put(key, new HashMap<>());
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2010 Mysema Ltd.
+ * All rights reserved.
+ *
+ */
+package com.querydsl.codegen.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EvaluatorCacheTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Object evaluate(AbstractEvaluatorFactory factory, String source, Object... args) {
+    return factory
+        .createEvaluator(
+            "return " + source + ";",
+            int.class,
+            new String[] {"a", "b"},
+            new Class<?>[] {int.class, int.class},
+            Map.of())
+        .evaluate(args);
+  }
+
+  private void assertCached(Supplier<AbstractEvaluatorFactory> supplier) throws IOException {
+    var directory = folder.newFolder().toPath();
+
+    var factory = supplier.get();
+    factory.setCacheDirectory(directory);
+    assertThat(evaluate(factory, "a + b", 1, 2)).isEqualTo(3);
+    assertThat(evaluate(factory, "a + b", 3, 4)).isEqualTo(7);
+    assertThat(factory.getCompilationCount()).isEqualTo(1);
+    assertThat(factory.getCompilationTime()).isPositive();
+    assertThat(factory.getCacheLoadCount()).isZero();
+    try (var files = Files.walk(directory)) {
+      assertThat(files.filter(p -> p.toString().endsWith(".classes")).count()).isEqualTo(1);
+    }
+
+    // new instance with the same cache directory
+    var factory2 = supplier.get();
+    factory2.setCacheDirectory(directory);
+    assertThat(evaluate(factory2, "a + b", 5, 6)).isEqualTo(11);
+    assertThat(evaluate(factory2, "a * b", 5, 6)).isEqualTo(30);
+    assertThat(factory2.getCompilationCount()).isEqualTo(1);
+    assertThat(factory2.getCacheLoadCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void ecj() throws IOException {
+    assertCached(() -> new ECJEvaluatorFactory(getClass().getClassLoader()));
+  }
+
+  @Test
+  public void jdk() throws IOException {
+    assertCached(
+        () ->
+            new JDKEvaluatorFactory(
+                getClass().getClassLoader(), ToolProvider.getSystemJavaCompiler()));
+  }
+
+  @Test
+  public void corrupt_entries_are_recompiled() throws IOException {
+    var directory = folder.newFolder().toPath();
+    var factory = new ECJEvaluatorFactory(getClass().getClassLoader());
+    factory.setCacheDirectory(directory);
+    evaluate(factory, "a - b", 1, 2);
+    try (var files = Files.walk(directory)) {
+      for (var file : files.filter(p -> p.toString().endsWith(".classes")).toList()) {
+        Files.write(file, new byte[] {1, 2, 3});
+      }
+    }
+
+    var factory2 = new ECJEvaluatorFactory(getClass().getClassLoader());
+    factory2.setCacheDirectory(directory);
+    assertThat(evaluate(factory2, "a - b", 5, 2)).isEqualTo(3);
+    assertThat(factory2.getCompilationCount()).isEqualTo(1);
+    assertThat(factory2.getCacheLoadCount()).isZero();
+  }
+
+  @Test
+  public void undefined_class_files_are_recompiled() throws IOException {
+    var directory = folder.newFolder().toPath();
+    var factory = new ECJEvaluatorFactory(getClass().getClassLoader());
+    factory.setCacheDirectory(directory);
+    evaluate(factory, "a % b", 5, 3);
+
+    var factory2 =
+        new ECJEvaluatorFactory(getClass().getClassLoader()) {
+          @Override
+          protected boolean defineClassFiles(Map<String, byte[]> classFiles) {
+            return false;
+          }
+        };
+    factory2.setCacheDirectory(directory);
+    assertThat(evaluate(factory2, "a % b", 7, 4)).isEqualTo(3);
+    assertThat(factory2.getCompilationCount()).isEqualTo(1);
+    assertThat(factory2.getCacheLoadCount()).isZero();
+  }
+
+  @Test
+  public void disabled_by_default() {
+    var factory = new ECJEvaluatorFactory(getClass().getClassLoader());
+    assertThat(factory.getCacheDirectory()).isNull();
+    assertThat(evaluate(factory, "a / b", 6, 2)).isEqualTo(3);
+    assertThat(factory.getCompilationCount()).isEqualTo(1);
+  }
+}
@@ -219,6 +219,14 @@ public abstract class AbstractMetaDataExportMojo extends AbstractMojo
   @Parameter(defaultValue = "true")
   private boolean exportInverseForeignKeys;
 
+  /** switch to fetch columns and keys once per schema instead of once per table */
+  @Parameter(defaultValue = "false")
+  private boolean bulkMetadata;
+
+  /** number of schemas to fetch concurrently when bulkMetadata is enabled */
+  @Parameter(defaultValue = "1")
+  private int metadataThreads = 1;
+
   /** override default column order (default: alphabetical) */
   @Parameter private String columnComparatorClass;
 
@@ -302,8 +310,13 @@ public abstract class AbstractMetaDataExportMojo extends AbstractMojo
         }
       }
       try (var conn = DriverManager.getConnection(jdbcUrl, user, password)) {
-        exporter.export(conn.getMetaData());
+        exporter.export(
+            conn.getMetaData(), () -> DriverManager.getConnection(jdbcUrl, user, password));
       }
+      exporter
+          .getPhaseTimings()
+          .forEach(
+              (phase, millis) -> getLog().info("Metadata export " + phase + ": " + millis + " ms"));
     } catch (ClassNotFoundException | SQLException e) {
       throw new MojoExecutionException(e.getMessage(), e);
     }
@@ -447,6 +460,14 @@ public abstract class AbstractMetaDataExportMojo extends AbstractMojo
     this.imports = imports;
   }
 
+  public void setBulkMetadata(boolean bulkMetadata) {
+    this.bulkMetadata = bulkMetadata;
+  }
+
+  public void setMetadataThreads(int metadataThreads) {
+    this.metadataThreads = metadataThreads;
+  }
+
   public void setSkip(boolean skip) {
     this.skip = skip;
   }
@@ -606,6 +627,16 @@ public abstract class AbstractMetaDataExportMojo extends AbstractMojo
     return exportInverseForeignKeys;
   }
 
+  @Override
+  public boolean isBulkMetadata() {
+    return bulkMetadata;
+  }
+
+  @Override
+  public int getMetadataThreads() {
+    return metadataThreads;
+  }
+
   @Override
   public Charset getSourceEncoding() {
     var sourceEncoding = (String) project.getProperties().get("project.build.sourceEncoding");
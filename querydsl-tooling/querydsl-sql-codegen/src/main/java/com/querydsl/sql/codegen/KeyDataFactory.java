@@ -20,9 +20,12 @@ import com.querydsl.sql.codegen.support.ForeignKeyData;
 import com.querydsl.sql.codegen.support.InverseForeignKeyData;
 import com.querydsl.sql.codegen.support.PrimaryKeyData;
 import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.logging.Logger;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -32,6 +35,8 @@ import org.jetbrains.annotations.Nullable;
  */
 public class KeyDataFactory {
 
+  private static final Logger logger = Logger.getLogger(KeyDataFactory.class.getName());
+
   private static final int FK_FOREIGN_COLUMN_NAME = 8;
 
   private static final int FK_FOREIGN_TABLE_NAME = 7;
@@ -46,6 +51,8 @@ public class KeyDataFactory {
 
   private static final int FK_PARENT_SCHEMA_NAME = 2;
 
+  private static final int PK_TABLE_NAME = 3;
+
   private static final int PK_COLUMN_NAME = 4;
 
   private static final int PK_NAME = 6;
@@ -56,6 +63,11 @@ public class KeyDataFactory {
 
   private final boolean schemaToPackage;
 
+  // schema wide lookups which failed once are not tried again
+  private volatile boolean schemaWideExportedKeys = true,
+      schemaWideImportedKeys = true,
+      schemaWidePrimaryKeys = true;
+
   public KeyDataFactory(
       NamingStrategy namingStrategy,
       String packageName,
@@ -74,33 +86,78 @@ public class KeyDataFactory {
     try (var foreignKeys = md.getExportedKeys(catalog, schema, tableName)) {
       Map<String, InverseForeignKeyData> inverseForeignKeyData = new TreeMap<>();
       while (foreignKeys.next()) {
-        var name = foreignKeys.getString(FK_NAME);
-        var parentColumnName =
-            namingStrategy.normalizeColumnName(foreignKeys.getString(FK_PARENT_COLUMN_NAME));
-        var foreignSchemaName =
-            namingStrategy.normalizeSchemaName(foreignKeys.getString(FK_FOREIGN_SCHEMA_NAME));
-        var foreignTableName =
-            namingStrategy.normalizeTableName(foreignKeys.getString(FK_FOREIGN_TABLE_NAME));
-        var foreignColumn =
-            namingStrategy.normalizeColumnName(foreignKeys.getString(FK_FOREIGN_COLUMN_NAME));
-        if (name == null || name.isEmpty()) {
-          name = tableName + "_" + foreignTableName + "_IFK";
-        }
+        addExportedKey(inverseForeignKeyData, tableName, foreignKeys);
+      }
+      return inverseForeignKeyData;
+    }
+  }
 
-        var data = inverseForeignKeyData.get(name);
-        if (data == null) {
-          data =
-              new InverseForeignKeyData(
-                  name,
-                  foreignSchemaName,
-                  foreignTableName,
-                  createType(foreignSchemaName, foreignTableName));
-          inverseForeignKeyData.put(name, data);
+  /**
+   * Get the inverse foreign keys of the given tables of a schema, grouped by table name
+   *
+   * <p>The keys are fetched with one metadata call for the whole schema, falling back to one call
+   * per table if the driver requires a table name.
+   *
+   * @param tableNames table names as reported by the metadata, mapped to the table names used for
+   *     per table lookups
+   * @return keys by table name as reported by the metadata
+   */
+  public Map<String, Map<String, InverseForeignKeyData>> getExportedKeys(
+      DatabaseMetaData md, String catalog, String schema, Map<String, String> tableNames)
+      throws SQLException {
+    Map<String, Map<String, InverseForeignKeyData>> rv = new HashMap<>();
+    if (schemaWideExportedKeys) {
+      try (var foreignKeys = md.getExportedKeys(catalog, schema, null)) {
+        while (foreignKeys.next()) {
+          var rawTableName = foreignKeys.getString(FK_PARENT_TABLE_NAME);
+          var tableName = tableNames.get(rawTableName);
+          if (tableName != null) {
+            addExportedKey(
+                rv.computeIfAbsent(rawTableName, k -> new TreeMap<>()), tableName, foreignKeys);
+          }
         }
-        data.add(parentColumnName, foreignColumn);
+        return rv;
+      } catch (SQLException e) {
+        logger.fine("Schema wide lookup of exported keys failed: " + e.getMessage());
+        schemaWideExportedKeys = false;
+        rv.clear();
       }
-      return inverseForeignKeyData;
     }
+    for (Map.Entry<String, String> entry : tableNames.entrySet()) {
+      rv.put(entry.getKey(), getExportedKeys(md, catalog, schema, entry.getValue()));
+    }
+    return rv;
+  }
+
+  private void addExportedKey(
+      Map<String, InverseForeignKeyData> inverseForeignKeyData,
+      String tableName,
+      ResultSet foreignKeys)
+      throws SQLException {
+    var name = foreignKeys.getString(FK_NAME);
+    var parentColumnName =
+        namingStrategy.normalizeColumnName(foreignKeys.getString(FK_PARENT_COLUMN_NAME));
+    var foreignSchemaName =
+        namingStrategy.normalizeSchemaName(foreignKeys.getString(FK_FOREIGN_SCHEMA_NAME));
+    var foreignTableName =
+        namingStrategy.normalizeTableName(foreignKeys.getString(FK_FOREIGN_TABLE_NAME));
+    var foreignColumn =
+        namingStrategy.normalizeColumnName(foreignKeys.getString(FK_FOREIGN_COLUMN_NAME));
+    if (name == null || name.isEmpty()) {
+      name = tableName + "_" + foreignTableName + "_IFK";
+    }
+
+    var data = inverseForeignKeyData.get(name);
+    if (data == null) {
+      data =
+          new InverseForeignKeyData(
+              name,
+              foreignSchemaName,
+              foreignTableName,
+              createType(foreignSchemaName, foreignTableName));
+      inverseForeignKeyData.put(name, data);
+    }
+    data.add(parentColumnName, foreignColumn);
   }
 
   public Map<String, ForeignKeyData> getImportedKeys(
@@ -108,33 +165,76 @@ public class KeyDataFactory {
     try (var foreignKeys = md.getImportedKeys(catalog, schema, tableName)) {
       Map<String, ForeignKeyData> foreignKeyData = new TreeMap<>();
       while (foreignKeys.next()) {
-        var name = foreignKeys.getString(FK_NAME);
-        var parentSchemaName =
-            namingStrategy.normalizeSchemaName(foreignKeys.getString(FK_PARENT_SCHEMA_NAME));
-        var parentTableName =
-            namingStrategy.normalizeTableName(foreignKeys.getString(FK_PARENT_TABLE_NAME));
-        var parentColumnName =
-            namingStrategy.normalizeColumnName(foreignKeys.getString(FK_PARENT_COLUMN_NAME));
-        var foreignColumn =
-            namingStrategy.normalizeColumnName(foreignKeys.getString(FK_FOREIGN_COLUMN_NAME));
-        if (name == null || name.isEmpty()) {
-          name = tableName + "_" + parentTableName + "_FK";
-        }
+        addImportedKey(foreignKeyData, tableName, foreignKeys);
+      }
+      return foreignKeyData;
+    }
+  }
 
-        var data = foreignKeyData.get(name);
-        if (data == null) {
-          data =
-              new ForeignKeyData(
-                  name,
-                  parentSchemaName,
-                  parentTableName,
-                  createType(parentSchemaName, parentTableName));
-          foreignKeyData.put(name, data);
+  /**
+   * Get the foreign keys of the given tables of a schema, grouped by table name
+   *
+   * <p>The keys are fetched with one metadata call for the whole schema, falling back to one call
+   * per table if the driver requires a table name.
+   *
+   * @param tableNames table names as reported by the metadata, mapped to the table names used for
+   *     per table lookups
+   * @return keys by table name as reported by the metadata
+   */
+  public Map<String, Map<String, ForeignKeyData>> getImportedKeys(
+      DatabaseMetaData md, String catalog, String schema, Map<String, String> tableNames)
+      throws SQLException {
+    Map<String, Map<String, ForeignKeyData>> rv = new HashMap<>();
+    if (schemaWideImportedKeys) {
+      try (var foreignKeys = md.getImportedKeys(catalog, schema, null)) {
+        while (foreignKeys.next()) {
+          var rawTableName = foreignKeys.getString(FK_FOREIGN_TABLE_NAME);
+          var tableName = tableNames.get(rawTableName);
+          if (tableName != null) {
+            addImportedKey(
+                rv.computeIfAbsent(rawTableName, k -> new TreeMap<>()), tableName, foreignKeys);
+          }
         }
-        data.add(foreignColumn, parentColumnName);
+        return rv;
+      } catch (SQLException e) {
+        logger.fine("Schema wide lookup of imported keys failed: " + e.getMessage());
+        schemaWideImportedKeys = false;
+        rv.clear();
       }
-      return foreignKeyData;
     }
+    for (Map.Entry<String, String> entry : tableNames.entrySet()) {
+      rv.put(entry.getKey(), getImportedKeys(md, catalog, schema, entry.getValue()));
+    }
+    return rv;
+  }
+
+  private void addImportedKey(
+      Map<String, ForeignKeyData> foreignKeyData, String tableName, ResultSet foreignKeys)
+      throws SQLException {
+    var name = foreignKeys.getString(FK_NAME);
+    var parentSchemaName =
+        namingStrategy.normalizeSchemaName(foreignKeys.getString(FK_PARENT_SCHEMA_NAME));
+    var parentTableName =
+        namingStrategy.normalizeTableName(foreignKeys.getString(FK_PARENT_TABLE_NAME));
+    var parentColumnName =
+        namingStrategy.normalizeColumnName(foreignKeys.getString(FK_PARENT_COLUMN_NAME));
+    var foreignColumn =
+        namingStrategy.normalizeColumnName(foreignKeys.getString(FK_FOREIGN_COLUMN_NAME));
+    if (name == null || name.isEmpty()) {
+      name = tableName + "_" + parentTableName + "_FK";
+    }
+
+    var data = foreignKeyData.get(name);
+    if (data == null) {
+      data =
+          new ForeignKeyData(
+              name,
+              parentSchemaName,
+              parentTableName,
+              createType(parentSchemaName, parentTableName));
+      foreignKeyData.put(name, data);
+    }
+    data.add(foreignColumn, parentColumnName);
   }
 
   public Map<String, PrimaryKeyData> getPrimaryKeys(
@@ -142,21 +242,64 @@ public class KeyDataFactory {
     try (var primaryKeys = md.getPrimaryKeys(catalog, schema, tableName)) {
       Map<String, PrimaryKeyData> primaryKeyData = new TreeMap<>();
       while (primaryKeys.next()) {
-        var name = primaryKeys.getString(PK_NAME);
-        var columnName = primaryKeys.getString(PK_COLUMN_NAME);
-        if (name == null || name.isEmpty()) {
-          name = tableName + "_PK";
-        }
+        addPrimaryKey(primaryKeyData, tableName, primaryKeys);
+      }
+      return primaryKeyData;
+    }
+  }
 
-        var data = primaryKeyData.get(name);
-        if (data == null) {
-          data = new PrimaryKeyData(name);
-          primaryKeyData.put(name, data);
+  /**
+   * Get the primary keys of the given tables of a schema, grouped by table name
+   *
+   * <p>The keys are fetched with one metadata call for the whole schema, falling back to one call
+   * per table if the driver requires a table name.
+   *
+   * @param tableNames table names as reported by the metadata, mapped to the table names used for
+   *     per table lookups
+   * @return keys by table name as reported by the metadata
+   */
+  public Map<String, Map<String, PrimaryKeyData>> getPrimaryKeys(
+      DatabaseMetaData md, String catalog, String schema, Map<String, String> tableNames)
+      throws SQLException {
+    Map<String, Map<String, PrimaryKeyData>> rv = new HashMap<>();
+    if (schemaWidePrimaryKeys) {
+      try (var primaryKeys = md.getPrimaryKeys(catalog, schema, null)) {
+        while (primaryKeys.next()) {
+          var rawTableName = primaryKeys.getString(PK_TABLE_NAME);
+          var tableName = tableNames.get(rawTableName);
+          if (tableName != null) {
+            addPrimaryKey(
+                rv.computeIfAbsent(rawTableName, k -> new TreeMap<>()), tableName, primaryKeys);
+          }
         }
-        data.add(columnName);
+        return rv;
+      } catch (SQLException e) {
+        logger.fine("Schema wide lookup of primary keys failed: " + e.getMessage());
+        schemaWidePrimaryKeys = false;
+        rv.clear();
       }
-      return primaryKeyData;
     }
+    for (Map.Entry<String, String> entry : tableNames.entrySet()) {
+      rv.put(entry.getKey(), getPrimaryKeys(md, catalog, schema, entry.getValue()));
+    }
+    return rv;
+  }
+
+  private void addPrimaryKey(
+      Map<String, PrimaryKeyData> primaryKeyData, String tableName, ResultSet primaryKeys)
+      throws SQLException {
+    var name = primaryKeys.getString(PK_NAME);
+    var columnName = primaryKeys.getString(PK_COLUMN_NAME);
+    if (name == null || name.isEmpty()) {
+      name = tableName + "_PK";
+    }
+
+    var data = primaryKeyData.get(name);
+    if (data == null) {
+      data = new PrimaryKeyData(name);
+      primaryKeyData.put(name, data);
+    }
+    data.add(columnName);
   }
 
   private Type createType(@Nullable String schemaName, String table) {
@@ -46,6 +46,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.file.Files;
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -55,10 +56,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.logging.Logger;
 import org.jetbrains.annotations.Nullable;
@@ -75,12 +82,29 @@ import org.jetbrains.annotations.Nullable;
  * exporter.export(connection.getMetaData());
  * </pre>
  *
+ * <p>With {@link MetadataExporterConfig#isBulkMetadata()} enabled, columns and keys are fetched
+ * once per schema instead of once per table, and the schemas are fetched concurrently on separate
+ * connections when {@link #export(DatabaseMetaData, Callable)} is given a connection factory and
+ * {@link MetadataExporterConfig#getMetadataThreads()} is larger than one.
+ *
  * @author tiwe
  */
 public class MetaDataExporter {
 
   private static final Logger logger = Logger.getLogger(MetaDataExporter.class.getName());
 
+  public static final String PHASE_TABLES = "tables";
+
+  public static final String PHASE_PRIMARY_KEYS = "primaryKeys";
+
+  public static final String PHASE_FOREIGN_KEYS = "foreignKeys";
+
+  public static final String PHASE_INVERSE_FOREIGN_KEYS = "inverseForeignKeys";
+
+  public static final String PHASE_COLUMNS = "columns";
+
+  public static final String PHASE_SERIALIZE = "serialize";
+
   private final SQLTemplatesRegistry sqlTemplatesRegistry = new SQLTemplatesRegistry();
 
   private final SQLCodegenModule module = new SQLCodegenModule();
@@ -107,6 +131,8 @@ public class MetaDataExporter {
 
   private TypeMappings typeMappings;
 
+  private final Map<String, Long> phaseTimings = new LinkedHashMap<>();
+
   public MetaDataExporter(MetadataExporterConfig config) {
     this.config = config;
   }
@@ -178,6 +204,21 @@ public class MetaDataExporter {
    * @throws SQLException
    */
   public void export(DatabaseMetaData md) throws SQLException {
+    export(md, null);
+  }
+
+  /**
+   * Export the tables based on the given database metadata
+   *
+   * <p>In bulk metadata mode the metadata of the schemas is fetched in parallel on connections
+   * obtained from the given factory, the sources are still serialized on the calling thread.
+   *
+   * @param md database metadata
+   * @param connectionFactory factory for additional connections to the same database or null
+   * @throws SQLException
+   */
+  public void export(DatabaseMetaData md, @Nullable Callable<Connection> connectionFactory)
+      throws SQLException {
     configuration = module.get(Configuration.class);
     configureModule();
 
@@ -256,13 +297,42 @@ public class MetaDataExporter {
     var schemas = patternAsList(config.getSchemaPattern());
     var tables = patternAsList(config.getTableNamePattern());
 
-    for (String catalog : catalogs) {
-      catalog = trimIfNonNull(catalog);
-      for (String schema : schemas) {
-        schema = trimIfNonNull(schema);
-        for (String table : tables) {
-          table = trimIfNonNull(table);
-          handleTables(md, catalog, schema, table, typesArray);
+    synchronized (phaseTimings) {
+      phaseTimings.clear();
+      for (String phase :
+          Arrays.asList(
+              PHASE_TABLES,
+              PHASE_PRIMARY_KEYS,
+              PHASE_FOREIGN_KEYS,
+              PHASE_INVERSE_FOREIGN_KEYS,
+              PHASE_COLUMNS,
+              PHASE_SERIALIZE)) {
+        phaseTimings.put(phase, 0L);
+      }
+    }
+
+    if (config.isBulkMetadata()) {
+      Map<List<String>, Set<String>> tablesBySchema = new LinkedHashMap<>();
+      for (String catalog : catalogs) {
+        catalog = trimIfNonNull(catalog);
+        for (String schema : schemas) {
+          schema = trimIfNonNull(schema);
+          for (String table : tables) {
+            table = trimIfNonNull(table);
+            collectTables(md, catalog, schema, table, typesArray, tablesBySchema);
+          }
+        }
+      }
+      handleSchemas(md, connectionFactory, tablesBySchema);
+    } else {
+      for (String catalog : catalogs) {
+        catalog = trimIfNonNull(catalog);
+        for (String schema : schemas) {
+          schema = trimIfNonNull(schema);
+          for (String table : tables) {
+            table = trimIfNonNull(table);
+            handleTables(md, catalog, schema, table, typesArray);
+          }
         }
       }
     }
@@ -394,28 +464,178 @@ public class MetaDataExporter {
       String tablePattern,
       String[] types)
       throws SQLException {
+    var start = System.nanoTime();
     try (var tables = md.getTables(catalogPattern, schemaPattern, tablePattern, types)) {
+      addTiming(PHASE_TABLES, start);
       while (tables.next()) {
-        handleTable(md, tables);
+        handleTable(
+            md,
+            tables.getString("TABLE_CAT"),
+            tables.getString("TABLE_SCHEM"),
+            tables.getString("TABLE_NAME"),
+            null);
       }
     }
   }
 
+  private void collectTables(
+      DatabaseMetaData md,
+      String catalogPattern,
+      String schemaPattern,
+      String tablePattern,
+      String[] types,
+      Map<List<String>, Set<String>> tablesBySchema)
+      throws SQLException {
+    var start = System.nanoTime();
+    try (var tables = md.getTables(catalogPattern, schemaPattern, tablePattern, types)) {
+      while (tables.next()) {
+        var catalogAndSchema =
+            Arrays.asList(tables.getString("TABLE_CAT"), tables.getString("TABLE_SCHEM"));
+        tablesBySchema
+            .computeIfAbsent(catalogAndSchema, k -> new LinkedHashSet<>())
+            .add(tables.getString("TABLE_NAME"));
+      }
+    }
+    addTiming(PHASE_TABLES, start);
+  }
+
+  private void handleSchemas(
+      DatabaseMetaData md,
+      @Nullable Callable<Connection> connectionFactory,
+      Map<List<String>, Set<String>> tablesBySchema)
+      throws SQLException {
+    var threads = Math.min(config.getMetadataThreads(), tablesBySchema.size());
+    if (connectionFactory == null || threads < 2) {
+      for (Map.Entry<List<String>, Set<String>> entry : tablesBySchema.entrySet()) {
+        handleSchema(md, fetchSchema(md, entry.getKey(), entry.getValue()));
+      }
+      return;
+    }
+
+    // only the metadata is fetched concurrently, models are created and serialized in order
+    var executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<SchemaData>> futures = new ArrayList<>();
+      for (Map.Entry<List<String>, Set<String>> entry : tablesBySchema.entrySet()) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  try (var connection = connectionFactory.call()) {
+                    return fetchSchema(connection.getMetaData(), entry.getKey(), entry.getValue());
+                  }
+                }));
+      }
+      for (Future<SchemaData> future : futures) {
+        handleSchema(md, future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while fetching metadata", e);
+    } catch (ExecutionException e) {
+      var cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new SQLException(cause.getMessage(), cause);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private SchemaData fetchSchema(
+      DatabaseMetaData md, List<String> catalogAndSchema, Set<String> tableNames)
+      throws SQLException {
+    var catalog = catalogAndSchema.get(0);
+    var schema = catalogAndSchema.get(1);
+    var data = new SchemaData(catalog, schema, tableNames);
+    // keys are looked up and named with the same table names as in per table mode
+    Map<String, String> keyTableNames = new HashMap<>();
+    for (String tableName : tableNames) {
+      keyTableNames.put(tableName, normalize(tableName));
+    }
+
+    if (config.isExportPrimaryKeys()) {
+      var start = System.nanoTime();
+      data.primaryKeys = keyDataFactory.getPrimaryKeys(md, catalog, schema, keyTableNames);
+      addTiming(PHASE_PRIMARY_KEYS, start);
+    }
+
+    if (config.isExportForeignKeys()) {
+      if (config.isExportDirectForeignKeys()) {
+        var start = System.nanoTime();
+        data.foreignKeys = keyDataFactory.getImportedKeys(md, catalog, schema, keyTableNames);
+        addTiming(PHASE_FOREIGN_KEYS, start);
+      }
+
+      if (config.isExportInverseForeignKeys()) {
+        var start = System.nanoTime();
+        data.inverseForeignKeys =
+            keyDataFactory.getExportedKeys(md, catalog, schema, keyTableNames);
+        addTiming(PHASE_INVERSE_FOREIGN_KEYS, start);
+      }
+    }
+
+    var start = System.nanoTime();
+    try (var columns = md.getColumns(catalog, schema, null, null)) {
+      while (columns.next()) {
+        var tableName = columns.getString("TABLE_NAME");
+        // the schema argument is a pattern, so similarly named schemas may match as well
+        if (tableNames.contains(tableName)
+            && (schema == null || schema.equals(columns.getString("TABLE_SCHEM")))) {
+          data.columns
+              .computeIfAbsent(tableName, k -> new ArrayList<>())
+              .add(new ColumnData(columns));
+        }
+      }
+    }
+    addTiming(PHASE_COLUMNS, start);
+    return data;
+  }
+
+  private void handleSchema(DatabaseMetaData md, SchemaData data) throws SQLException {
+    for (String tableName : data.tableNames) {
+      handleTable(md, data.catalog, data.schema, tableName, data);
+    }
+  }
+
+  private void addTiming(String phase, long start) {
+    var elapsed = System.nanoTime() - start;
+    synchronized (phaseTimings) {
+      phaseTimings.merge(phase, elapsed, Long::sum);
+    }
+  }
+
+  /**
+   * Get the time spent in the phases of the last export in milliseconds
+   *
+   * <p>The metadata phases are summed over all threads when schemas are fetched in parallel.
+   *
+   * @return phase timings keyed by phase name
+   */
+  public Map<String, Long> getPhaseTimings() {
+    Map<String, Long> rv = new LinkedHashMap<>();
+    synchronized (phaseTimings) {
+      phaseTimings.forEach((phase, nanos) -> rv.put(phase, TimeUnit.NANOSECONDS.toMillis(nanos)));
+    }
+    return rv;
+  }
+
   Set<String> getClasses() {
     return classes;
   }
 
-  private void handleColumn(EntityType classModel, String tableName, ResultSet columns)
-      throws SQLException {
-    var columnName = normalize(columns.getString("COLUMN_NAME"));
+  private void handleColumn(EntityType classModel, String tableName, ColumnData columnData) {
+    var columnName = normalize(columnData.columnName);
     var normalizedColumnName = namingStrategy.normalizeColumnName(columnName);
-    var columnType = columns.getInt("DATA_TYPE");
-    var typeName = columns.getString("TYPE_NAME");
-    var columnSize = (Number) columns.getObject("COLUMN_SIZE");
-    var columnDigits = (Number) columns.getObject("DECIMAL_DIGITS");
-    var columnIndex = columns.getInt("ORDINAL_POSITION");
-    var nullable = columns.getInt("NULLABLE");
-    var columnDefaultValue = columns.getString("COLUMN_DEF");
+    var columnType = columnData.dataType;
+    var typeName = columnData.typeName;
+    var columnSize = columnData.columnSize;
+    var columnDigits = columnData.decimalDigits;
+    var columnIndex = columnData.ordinalPosition;
+    var nullable = columnData.nullable;
+    var columnDefaultValue = columnData.columnDefaultValue;
 
     var propertyName = namingStrategy.getPropertyName(normalizedColumnName, classModel);
     Class<?> clazz =
@@ -462,7 +682,7 @@ public class MetaDataExporter {
       if (nullable == DatabaseMetaData.columnNoNulls && columnDefaultValue == null) {
         property.addAnnotation(new NotNullImpl());
       }
-      var size = columns.getInt("COLUMN_SIZE");
+      var size = columnSize != null ? columnSize.intValue() : 0;
       if (size > 0 && clazz.equals(String.class)) {
         property.addAnnotation(new SizeImpl(0, size));
       }
@@ -478,11 +698,15 @@ public class MetaDataExporter {
         fullname.substring(fullname.lastIndexOf('.') + 1));
   }
 
-  private void handleTable(DatabaseMetaData md, ResultSet tables) throws SQLException {
-    var catalog = tables.getString("TABLE_CAT");
-    var schema = tables.getString("TABLE_SCHEM");
-    var schemaName = normalize(tables.getString("TABLE_SCHEM"));
-    var tableName = normalize(tables.getString("TABLE_NAME"));
+  private void handleTable(
+      DatabaseMetaData md,
+      String catalog,
+      String schema,
+      String rawTableName,
+      @Nullable SchemaData schemaData)
+      throws SQLException {
+    var schemaName = normalize(schema);
+    var tableName = normalize(rawTableName);
 
     var normalizedSchemaName = namingStrategy.normalizeSchemaName(schemaName);
     var normalizedTableName = namingStrategy.normalizeTableName(tableName);
@@ -498,7 +722,14 @@ public class MetaDataExporter {
 
     if (config.isExportPrimaryKeys()) {
       // collect primary keys
-      var primaryKeyData = keyDataFactory.getPrimaryKeys(md, catalog, schema, tableName);
+      Map<String, PrimaryKeyData> primaryKeyData;
+      if (schemaData != null) {
+        primaryKeyData = schemaData.primaryKeys.getOrDefault(rawTableName, Collections.emptyMap());
+      } else {
+        var start = System.nanoTime();
+        primaryKeyData = keyDataFactory.getPrimaryKeys(md, catalog, schema, tableName);
+        addTiming(PHASE_PRIMARY_KEYS, start);
+      }
       if (!primaryKeyData.isEmpty()) {
         classModel.getData().put(PrimaryKeyData.class, primaryKeyData.values());
       }
@@ -507,7 +738,15 @@ public class MetaDataExporter {
     if (config.isExportForeignKeys()) {
       if (config.isExportDirectForeignKeys()) {
         // collect foreign keys
-        var foreignKeyData = keyDataFactory.getImportedKeys(md, catalog, schema, tableName);
+        Map<String, ForeignKeyData> foreignKeyData;
+        if (schemaData != null) {
+          foreignKeyData =
+              schemaData.foreignKeys.getOrDefault(rawTableName, Collections.emptyMap());
+        } else {
+          var start = System.nanoTime();
+          foreignKeyData = keyDataFactory.getImportedKeys(md, catalog, schema, tableName);
+          addTiming(PHASE_FOREIGN_KEYS, start);
+        }
         if (!foreignKeyData.isEmpty()) {
           Collection<ForeignKeyData> foreignKeysToGenerate = new LinkedHashSet<>();
           for (ForeignKeyData fkd : foreignKeyData.values()) {
@@ -524,7 +763,15 @@ public class MetaDataExporter {
 
       if (config.isExportInverseForeignKeys()) {
         // collect inverse foreign keys
-        var inverseForeignKeyData = keyDataFactory.getExportedKeys(md, catalog, schema, tableName);
+        Map<String, InverseForeignKeyData> inverseForeignKeyData;
+        if (schemaData != null) {
+          inverseForeignKeyData =
+              schemaData.inverseForeignKeys.getOrDefault(rawTableName, Collections.emptyMap());
+        } else {
+          var start = System.nanoTime();
+          inverseForeignKeyData = keyDataFactory.getExportedKeys(md, catalog, schema, tableName);
+          addTiming(PHASE_INVERSE_FOREIGN_KEYS, start);
+        }
         if (!inverseForeignKeyData.isEmpty()) {
           classModel.getData().put(InverseForeignKeyData.class, inverseForeignKeyData.values());
         }
@@ -532,14 +779,24 @@ public class MetaDataExporter {
     }
 
     // collect columns
-    try (var columns = md.getColumns(catalog, schema, tableName.replace("/", "//"), null)) {
-      while (columns.next()) {
-        handleColumn(classModel, tableName, columns);
+    if (schemaData != null) {
+      for (ColumnData column : schemaData.columns.getOrDefault(rawTableName, List.of())) {
+        handleColumn(classModel, tableName, column);
       }
+    } else {
+      var start = System.nanoTime();
+      try (var columns = md.getColumns(catalog, schema, tableName.replace("/", "//"), null)) {
+        while (columns.next()) {
+          handleColumn(classModel, tableName, new ColumnData(columns));
+        }
+      }
+      addTiming(PHASE_COLUMNS, start);
     }
 
     // serialize model
+    var start = System.nanoTime();
     serialize(classModel, schemaAndTable);
+    addTiming(PHASE_SERIALIZE, start);
 
     logger.info("Exported " + tableName + " successfully");
   }
@@ -621,4 +878,46 @@ public class MetaDataExporter {
   public void setTypeMappings(TypeMappings typeMappings) {
     module.bind(TypeMappings.class, typeMappings);
   }
+
+  /** Metadata of the exported tables of one schema, grouped by table name */
+  private static final class SchemaData {
+
+    private final String catalog, schema;
+
+    private final Set<String> tableNames;
+
+    private Map<String, Map<String, PrimaryKeyData>> primaryKeys = Collections.emptyMap();
+
+    private Map<String, Map<String, ForeignKeyData>> foreignKeys = Collections.emptyMap();
+
+    private Map<String, Map<String, InverseForeignKeyData>> inverseForeignKeys =
+        Collections.emptyMap();
+
+    private final Map<String, List<ColumnData>> columns = new HashMap<>();
+
+    SchemaData(String catalog, String schema, Set<String> tableNames) {
+      this.catalog = catalog;
+      this.schema = schema;
+      this.tableNames = tableNames;
+    }
+  }
+
+  /** Column row of {@link DatabaseMetaData#getColumns(String, String, String, String)} */
+  private static final class ColumnData {
+
+    private final String columnName, typeName, columnDefaultValue;
+    private final int dataType, ordinalPosition, nullable;
+    @Nullable private final Number columnSize, decimalDigits;
+
+    ColumnData(ResultSet columns) throws SQLException {
+      columnName = columns.getString("COLUMN_NAME");
+      dataType = columns.getInt("DATA_TYPE");
+      typeName = columns.getString("TYPE_NAME");
+      columnSize = (Number) columns.getObject("COLUMN_SIZE");
+      decimalDigits = (Number) columns.getObject("DECIMAL_DIGITS");
+      ordinalPosition = columns.getInt("ORDINAL_POSITION");
+      nullable = columns.getInt("NULLABLE");
+      columnDefaultValue = columns.getString("COLUMN_DEF");
+    }
+  }
 }
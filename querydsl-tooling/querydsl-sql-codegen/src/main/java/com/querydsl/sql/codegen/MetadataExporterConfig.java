@@ -183,6 +183,16 @@ public interface MetadataExporterConfig {
    */
   boolean isExportInverseForeignKeys();
 
+  /**
+   * @return whether columns and keys should be fetched once per schema instead of once per table
+   */
+  boolean isBulkMetadata();
+
+  /**
+   * @return the number of schemas whose metadata is fetched concurrently in bulk metadata mode
+   */
+  int getMetadataThreads();
+
   /**
    * @return the source encoding
    */
@@ -57,6 +57,10 @@ public class MetadataExporterConfigImpl implements MetadataExporterConfig {
 
   private boolean exportInverseForeignKeys = true;
 
+  private boolean bulkMetadata;
+
+  private int metadataThreads = 1;
+
   private Charset sourceEncoding = StandardCharsets.UTF_8;
 
   private String tableTypesToExport;
@@ -321,6 +325,24 @@ public class MetadataExporterConfigImpl implements MetadataExporterConfig {
     this.exportInverseForeignKeys = exportInverseForeignKeys;
   }
 
+  @Override
+  public boolean isBulkMetadata() {
+    return bulkMetadata;
+  }
+
+  public void setBulkMetadata(boolean bulkMetadata) {
+    this.bulkMetadata = bulkMetadata;
+  }
+
+  @Override
+  public int getMetadataThreads() {
+    return metadataThreads;
+  }
+
+  public void setMetadataThreads(int metadataThreads) {
+    this.metadataThreads = metadataThreads;
+  }
+
   @Override
   public Charset getSourceEncoding() {
     return sourceEncoding;
@@ -161,6 +161,12 @@ public class AntMetaDataExporter extends Task implements MetadataExporterConfig
   /** export inverse foreign keys */
   private boolean exportInverseForeignKeys = true;
 
+  /** fetch columns and keys once per schema instead of once per table */
+  private boolean bulkMetadata;
+
+  /** number of schemas to fetch concurrently in bulk metadata mode */
+  private int metadataThreads = 1;
+
   /** override default column order (default: alphabetical) */
   private String columnComparatorClass;
 
@@ -204,7 +210,8 @@ public class AntMetaDataExporter extends Task implements MetadataExporterConfig
 
     try (Connection dbConn = DriverManager.getConnection(jdbcUrl, jdbcUser, jdbcPassword)) {
       var exporter = new MetaDataExporter(this);
-      exporter.export(dbConn.getMetaData());
+      exporter.export(
+          dbConn.getMetaData(), () -> DriverManager.getConnection(jdbcUrl, jdbcUser, jdbcPassword));
     } catch (RuntimeException | SQLException e) {
       throw new BuildException(e);
     }
@@ -557,6 +564,24 @@ public class AntMetaDataExporter extends Task implements MetadataExporterConfig
     this.exportInverseForeignKeys = exportInverseForeignKeys;
   }
 
+  @Override
+  public boolean isBulkMetadata() {
+    return bulkMetadata;
+  }
+
+  public void setBulkMetadata(boolean bulkMetadata) {
+    this.bulkMetadata = bulkMetadata;
+  }
+
+  @Override
+  public int getMetadataThreads() {
+    return metadataThreads;
+  }
+
+  public void setMetadataThreads(int metadataThreads) {
+    this.metadataThreads = metadataThreads;
+  }
+
   public void setExportForeignKeys(boolean exportForeignKeys) {
     this.exportForeignKeys = exportForeignKeys;
   }
@@ -16,38 +16,23 @@ package com.querydsl.sql.codegen;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.querydsl.sql.AbstractJDBCTest;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 
 public class KeyDataFactoryTest extends AbstractJDBCTest {
 
   @Test
   public void test() throws SQLException {
-    statement.execute("drop table employee if exists");
-    statement.execute("drop table survey if exists");
-    statement.execute("drop table date_test if exists");
-    statement.execute("drop table date_time_test if exists");
-
-    statement.execute(
-        """
-        create table survey (id int, name varchar(30), \
-        CONSTRAINT PK_survey PRIMARY KEY (id, name))\
-        """);
-
-    statement.execute(
-        """
-        create table employee(\
-        id INT, \
-        superior_id int, \
-        superior_id2 int, \
-        survey_id int, \
-        survey_name varchar(30), \
-        CONSTRAINT PK_employee PRIMARY KEY (id), \
-        CONSTRAINT FK_survey FOREIGN KEY (survey_id, survey_name) REFERENCES survey(id,name), \
-        CONSTRAINT FK_superior2 FOREIGN KEY (superior_id) REFERENCES employee(id), \
-        CONSTRAINT FK_superior1 FOREIGN KEY (superior_id2) REFERENCES employee(id))\
-        """);
-
+    createTables();
     var keyDataFactory = new KeyDataFactory(new DefaultNamingStrategy(), "Q", "", "test", false);
 
     var md = connection.getMetaData();
@@ -84,4 +69,155 @@ public class KeyDataFactoryTest extends AbstractJDBCTest {
     importedKeys = keyDataFactory.getImportedKeys(md, null, null, "SURVEY");
     assertThat(importedKeys).isEmpty();
   }
+
+  @Test
+  public void schema_wide() throws SQLException {
+    createTables();
+    var md = new CountingMetaData(connection.getMetaData(), false);
+    var keyDataFactory = new KeyDataFactory(new DefaultNamingStrategy(), "Q", "", "test", false);
+    var tableNames = Map.of("EMPLOYEE", "EMPLOYEE", "SURVEY", "SURVEY");
+
+    var primaryKeys = keyDataFactory.getPrimaryKeys(md.proxy(), null, "PUBLIC", tableNames);
+    assertThat(primaryKeys).containsOnlyKeys("EMPLOYEE", "SURVEY");
+    assertThat(primaryKeys.get("EMPLOYEE")).containsOnlyKeys("PK_EMPLOYEE");
+    assertThat(primaryKeys.get("SURVEY")).containsOnlyKeys("PK_SURVEY");
+
+    var importedKeys = keyDataFactory.getImportedKeys(md.proxy(), null, "PUBLIC", tableNames);
+    assertThat(importedKeys).containsOnlyKeys("EMPLOYEE");
+    assertThat(importedKeys.get("EMPLOYEE"))
+        .containsOnlyKeys("FK_SUPERIOR1", "FK_SUPERIOR2", "FK_SURVEY");
+
+    var exportedKeys = keyDataFactory.getExportedKeys(md.proxy(), null, "PUBLIC", tableNames);
+    assertThat(exportedKeys).containsOnlyKeys("EMPLOYEE", "SURVEY");
+    assertThat(exportedKeys.get("EMPLOYEE")).containsOnlyKeys("FK_SUPERIOR1", "FK_SUPERIOR2");
+    assertThat(exportedKeys.get("SURVEY")).containsOnlyKeys("FK_SURVEY");
+
+    // one call per lookup, without table names
+    assertThat(md.calls)
+        .containsExactly("getPrimaryKeys null", "getImportedKeys null", "getExportedKeys null");
+  }
+
+  @Test
+  public void schema_wide_failure_is_remembered() throws SQLException {
+    createTables();
+    var md = new CountingMetaData(connection.getMetaData(), true);
+    var keyDataFactory = new KeyDataFactory(new DefaultNamingStrategy(), "Q", "", "test", false);
+    var tableNames = Map.of("SURVEY", "SURVEY");
+
+    for (var i = 0; i < 2; i++) {
+      var primaryKeys = keyDataFactory.getPrimaryKeys(md.proxy(), null, "PUBLIC", tableNames);
+      assertThat(primaryKeys.get("SURVEY")).containsOnlyKeys("PK_SURVEY");
+    }
+    assertThat(md.calls)
+        .containsExactly("getPrimaryKeys null", "getPrimaryKeys SURVEY", "getPrimaryKeys SURVEY");
+  }
+
+  private void createTables() throws SQLException {
+    statement.execute("drop table employee if exists");
+    statement.execute("drop table survey if exists");
+    statement.execute("drop table date_test if exists");
+    statement.execute("drop table date_time_test if exists");
+
+    statement.execute(
+        """
+        create table survey (id int, name varchar(30), \
+        CONSTRAINT PK_survey PRIMARY KEY (id, name))\
+        """);
+
+    statement.execute(
+        """
+        create table employee(\
+        id INT, \
+        superior_id int, \
+        superior_id2 int, \
+        survey_id int, \
+        survey_name varchar(30), \
+        CONSTRAINT PK_employee PRIMARY KEY (id), \
+        CONSTRAINT FK_survey FOREIGN KEY (survey_id, survey_name) REFERENCES survey(id,name), \
+        CONSTRAINT FK_superior2 FOREIGN KEY (superior_id) REFERENCES employee(id), \
+        CONSTRAINT FK_superior1 FOREIGN KEY (superior_id2) REFERENCES employee(id))\
+        """);
+  }
+
+  /**
+   * Metadata which records the key lookups. Lookups without table name are answered with the keys
+   * of all tables of the schema, or rejected like H2 does.
+   */
+  private static class CountingMetaData implements InvocationHandler {
+
+    private final DatabaseMetaData md;
+
+    private final boolean requireTableName;
+
+    private final List<String> calls = new ArrayList<>();
+
+    CountingMetaData(DatabaseMetaData md, boolean requireTableName) {
+      this.md = md;
+      this.requireTableName = requireTableName;
+    }
+
+    DatabaseMetaData proxy() {
+      return (DatabaseMetaData)
+          Proxy.newProxyInstance(
+              getClass().getClassLoader(), new Class<?>[] {DatabaseMetaData.class}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (!method.getName().endsWith("Keys")) {
+        return delegate(md, method, args);
+      }
+      calls.add(method.getName() + " " + args[2]);
+      if (args[2] != null) {
+        return delegate(md, method, args);
+      } else if (requireTableName) {
+        throw new SQLException("table name required");
+      }
+      List<ResultSet> results = new ArrayList<>();
+      try (var tables = md.getTables((String) args[0], (String) args[1], null, null)) {
+        while (tables.next()) {
+          results.add(
+              (ResultSet)
+                  delegate(md, method, new Object[] {args[0], args[1], tables.getString(3)}));
+        }
+      }
+      return concat(results);
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    private static ResultSet concat(List<ResultSet> results) {
+      var iterator = results.iterator();
+      var current = new ResultSet[] {iterator.next()};
+      return (ResultSet)
+          Proxy.newProxyInstance(
+              ResultSet.class.getClassLoader(),
+              new Class<?>[] {ResultSet.class},
+              (proxy, method, args) -> {
+                switch (method.getName()) {
+                  case "next":
+                    while (!current[0].next()) {
+                      if (!iterator.hasNext()) {
+                        return false;
+                      }
+                      current[0] = iterator.next();
+                    }
+                    return true;
+                  case "close":
+                    for (ResultSet rs : results) {
+                      rs.close();
+                    }
+                    return null;
+                  default:
+                    return delegate(current[0], method, args);
+                }
+              });
+    }
+  }
 }
@@ -27,6 +27,8 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
@@ -41,6 +43,8 @@ import org.junit.rules.TemporaryFolder;
 
 public class MetaDataExporterTest {
 
+  private static String url;
+
   private static Connection connection;
 
   private boolean clean = true;
@@ -58,7 +62,7 @@ public class MetaDataExporterTest {
   @BeforeClass
   public static void setUpClass() throws ClassNotFoundException, SQLException {
     Class.forName("org.h2.Driver");
-    var url = "jdbc:h2:mem:testdb" + System.currentTimeMillis() + ";MODE=legacy";
+    url = "jdbc:h2:mem:testdb" + System.currentTimeMillis() + ";MODE=legacy";
     connection = DriverManager.getConnection(url, "sa", "");
     createTables(connection);
   }
@@ -371,6 +375,74 @@ public class MetaDataExporterTest {
     assertThat(new File(folder.getRoot(), "test/DateTestType.java")).exists();
   }
 
+  @Test
+  public void bulk_metadata() throws SQLException, IOException {
+    var perTable = folder.newFolder("perTable");
+    var config = new MetadataExporterConfigImpl();
+    config.setSchemaPattern("PUBLIC");
+    config.setPackageName("test");
+    config.setTargetFolder(perTable);
+    new MetaDataExporter(config).export(metadata);
+
+    var bulk = folder.newFolder("bulk");
+    config.setTargetFolder(bulk);
+    config.setBulkMetadata(true);
+    var exporter = new MetaDataExporter(config);
+    exporter.export(metadata);
+
+    assertSameSources(perTable, bulk);
+    assertThat(exporter.getPhaseTimings())
+        .containsOnlyKeys(
+            MetaDataExporter.PHASE_TABLES,
+            MetaDataExporter.PHASE_PRIMARY_KEYS,
+            MetaDataExporter.PHASE_FOREIGN_KEYS,
+            MetaDataExporter.PHASE_INVERSE_FOREIGN_KEYS,
+            MetaDataExporter.PHASE_COLUMNS,
+            MetaDataExporter.PHASE_SERIALIZE);
+  }
+
+  @Test
+  public void bulk_metadata_parallel() throws SQLException, IOException {
+    try (var stmt = connection.createStatement()) {
+      stmt.execute("create schema bulk2");
+      stmt.execute(
+          "create table bulk2.assignment (id int primary key, employee_id int, "
+              + "constraint fk_assignment_employee foreign key (employee_id) "
+              + "references public.employee(id))");
+    }
+    try {
+      var perTable = folder.newFolder("perTable");
+      var config = new MetadataExporterConfigImpl();
+      config.setSchemaPattern("PUBLIC,BULK2");
+      config.setPackageName("test");
+      config.setTargetFolder(perTable);
+      new MetaDataExporter(config).export(metadata);
+
+      var bulk = folder.newFolder("bulk");
+      config.setTargetFolder(bulk);
+      config.setBulkMetadata(true);
+      config.setMetadataThreads(2);
+      new MetaDataExporter(config)
+          .export(metadata, () -> DriverManager.getConnection(url, "sa", ""));
+
+      assertThat(new File(bulk, "test/QAssignment.java")).exists();
+      assertSameSources(perTable, bulk);
+    } finally {
+      try (var stmt = connection.createStatement()) {
+        stmt.execute("drop schema bulk2 cascade");
+      }
+    }
+  }
+
+  private static void assertSameSources(File expected, File actual) throws IOException {
+    try (var paths = Files.walk(expected.toPath())) {
+      for (Path path : paths.filter(Files::isRegularFile).toList()) {
+        var other = actual.toPath().resolve(expected.toPath().relativize(path));
+        assertThat(other).exists().hasSameTextualContentAs(path);
+      }
+    }
+  }
+
   @Test
   public void minimal_configuration_with_bean_prefix() throws SQLException {
     var config = new MetadataExporterConfigImpl();